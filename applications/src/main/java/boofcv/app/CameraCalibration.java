@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,7 +20,9 @@ package boofcv.app;
 
 import boofcv.abst.fiducial.calib.ConfigGridDimen;
 import boofcv.abst.geo.calibration.CalibrateMonoPlanar;
+import boofcv.abst.geo.calibration.DetectFiducialCalibrationBatch;
 import boofcv.abst.geo.calibration.DetectorFiducialCalibration;
+import boofcv.alg.geo.calibration.CalibrationObservation;
 import boofcv.app.calib.AssistedCalibration;
 import boofcv.app.calib.AssistedCalibrationGui;
 import boofcv.app.calib.ComputeGeometryScore;
@@ -42,6 +44,7 @@ import boofcv.struct.calib.CameraPinholeBrown;
 import boofcv.struct.calib.CameraUniversalOmni;
 import boofcv.struct.image.GrayF32;
 import com.github.sarxos.webcam.Webcam;
+import org.ddogleg.struct.Factory;
 
 import javax.swing.*;
 import java.awt.*;
@@ -64,6 +67,7 @@ public class CameraCalibration extends BaseStandardInputApp {
 	protected String inputDirectory;
 	protected String outputFileName = "intrinsic.yaml";
 	protected DetectorFiducialCalibration detector;
+	protected Factory<DetectorFiducialCalibration> detectorFactory;
 	protected boolean zeroSkew = true;
 	protected int numRadial = 2;
 	protected boolean tangential = false;
@@ -235,7 +239,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 
 		ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, 1);
 
-		detector = FactoryFiducialCalibration.chessboardX(null, config);
+		detectorFactory = () -> FactoryFiducialCalibration.chessboardX(null, config);
+		detector = detectorFactory.newInstance();
 	}
 
 	protected void parseSquareGrid( int index, String[] args ) {
@@ -276,7 +281,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 
 		ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, square, space);
 
-		detector = FactoryFiducialCalibration.squareGrid(null, config);
+		detectorFactory = () -> FactoryFiducialCalibration.squareGrid(null, config);
+		detector = detectorFactory.newInstance();
 	}
 
 	protected void parseCircle( int index, String[] args, boolean hexagonal ) {
@@ -316,12 +322,14 @@ public class CameraCalibration extends BaseStandardInputApp {
 			System.out.println("circle hexagonal: " + numRows + " x " + numColumns + " diameter = " + diameter + " center distance = " + centerDistance);
 			ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, diameter, centerDistance);
 
-			detector = FactoryFiducialCalibration.circleHexagonalGrid(null, config);
+			detectorFactory = () -> FactoryFiducialCalibration.circleHexagonalGrid(null, config);
+			detector = detectorFactory.newInstance();
 		} else {
 			System.out.println("circle regular: " + numRows + " x " + numColumns + " diameter = " + diameter + " center distance = " + centerDistance);
 			ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, diameter, centerDistance);
 
-			detector = FactoryFiducialCalibration.circleRegularGrid(null, config);
+			detectorFactory = () -> FactoryFiducialCalibration.circleRegularGrid(null, config);
+			detector = detectorFactory.newInstance();
 		}
 	}
 
@@ -405,18 +413,20 @@ public class CameraCalibration extends BaseStandardInputApp {
 		final List<File> imagesSuccess = new ArrayList<>();
 		final List<File> imagesFailed = new ArrayList<>();
 
-		boolean first = true;
-		for (File f : files) {
-			if (f.isDirectory() || f.isHidden())
-				continue;
+		if (!visualize) {
+			detectBatch(files, calibrationAlg, imagesSuccess, imagesFailed);
+		} else {
+			boolean first = true;
+			for (File f : files) {
+				if (f.isDirectory() || f.isHidden())
+					continue;
 
-			final BufferedImage buffered = UtilImageIO.loadImage(f.getPath());
-			if (buffered == null)
-				continue;
+				final BufferedImage buffered = UtilImageIO.loadImage(f.getPath());
+				if (buffered == null)
+					continue;
 
-			GrayF32 image = ConvertBufferedImage.convertFrom(buffered, (GrayF32)null);
+				GrayF32 image = ConvertBufferedImage.convertFrom(buffered, (GrayF32)null);
 
-			if (visualize) {
 				monitor.setMessage(0, f.getName());
 
 				if (first) {
@@ -436,14 +446,14 @@ public class CameraCalibration extends BaseStandardInputApp {
 						}
 					});
 				}
-			}
 
-			if (!detector.process(image)) {
-				imagesFailed.add(f);
-				System.err.println("Failed to detect target in " + f.getName());
-			} else {
-				calibrationAlg.addImage(detector.getDetectedPoints());
-				imagesSuccess.add(f);
+				if (!detector.process(image)) {
+					imagesFailed.add(f);
+					System.err.println("Failed to detect target in " + f.getName());
+				} else {
+					calibrationAlg.addImage(detector.getDetectedPoints());
+					imagesSuccess.add(f);
+				}
 			}
 		}
 
@@ -474,6 +484,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 			}
 
 			calibrationAlg.printStatistics();
+			System.out.printf("Calibration Time: linear=%.1f (ms) refine=%.1f (ms)\n",
+					calibrationAlg.getZhang99().getTimeLinear(), calibrationAlg.getZhang99().getTimeBundle());
 			System.out.println();
 			System.out.println("--- " + modeType + " Parameters ---");
 			System.out.println();
@@ -510,6 +522,44 @@ public class CameraCalibration extends BaseStandardInputApp {
 		}
 	}
 
+	/**
+	 * Loads images and detects calibration targets concurrently. Only used when there's no visualization since
+	 * the GUI displays each image as it's processed.
+	 */
+	protected void detectBatch( List<File> files, CalibrateMonoPlanar calibrationAlg,
+								List<File> imagesSuccess, List<File> imagesFailed ) {
+		var batch = new DetectFiducialCalibrationBatch(detectorFactory);
+		var loaded = new boolean[files.size()];
+		List<CalibrationObservation> found = batch.detect(files.size(), ( index, output ) -> {
+			File f = files.get(index);
+			if (f.isDirectory() || f.isHidden())
+				return false;
+			BufferedImage buffered = UtilImageIO.loadImage(f.getPath());
+			if (buffered == null)
+				return false;
+			ConvertBufferedImage.convertFrom(buffered, output);
+			loaded[index] = true;
+			return true;
+		});
+
+		for (int i = 0; i < files.size(); i++) {
+			if (!loaded[i])
+				continue;
+			File f = files.get(i);
+			CalibrationObservation o = found.get(i);
+			if (o == null) {
+				imagesFailed.add(f);
+				System.err.println("Failed to detect target in " + f.getName());
+			} else {
+				calibrationAlg.addImage(o);
+				imagesSuccess.add(f);
+			}
+		}
+
+		System.out.printf("Detection Time: load=%.1f (ms) detect=%.1f (ms) elapsed=%.1f (ms)\n",
+				batch.getTimeLoad(), batch.getTimeDetect(), batch.getTimeTotal());
+	}
+
 	/**
 	 * Displays a progress monitor and updates its state periodically
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -32,9 +32,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 /**
  * Open and view point cloud files
@@ -80,8 +78,7 @@ public class PointCloudViewerApp {
 		new Thread(()->{
 			PointCloudWriter.CloudArraysF32 cloud = new PointCloudWriter.CloudArraysF32();
 			try {
-				InputStream input = new FileInputStream(selected);
-				PointCloudIO.load(PointCloudIO.Format.PLY,input,cloud);
+				PointCloudIO.load3DArraysF32(PointCloudIO.Format.PLY, selected, cloud);
 			} catch (IOException e) {
 				BoofSwingUtil.warningDialog(frame,e);
 				BoofSwingUtil.recursiveEnable(menuBar,true);
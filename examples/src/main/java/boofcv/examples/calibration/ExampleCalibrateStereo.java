@@ -20,6 +20,7 @@ package boofcv.examples.calibration;
 
 import boofcv.abst.fiducial.calib.ConfigGridDimen;
 import boofcv.abst.geo.calibration.CalibrateStereoPlanar;
+import boofcv.abst.geo.calibration.DetectFiducialCalibrationBatch;
 import boofcv.abst.geo.calibration.DetectorFiducialCalibration;
 import boofcv.alg.geo.calibration.CalibrationObservation;
 import boofcv.factory.fiducial.FactoryFiducialCalibration;
@@ -29,6 +30,7 @@ import boofcv.io.image.ConvertBufferedImage;
 import boofcv.io.image.UtilImageIO;
 import boofcv.struct.calib.StereoParameters;
 import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.Factory;
 
 import java.awt.image.BufferedImage;
 import java.util.Collections;
@@ -53,8 +55,9 @@ import java.util.List;
  */
 public class ExampleCalibrateStereo {
 
-	// Detects the target and calibration point inside the target
-	DetectorFiducialCalibration detector;
+	// Creates detectors for the target and calibration point inside the target. A factory is used so that
+	// each thread can have its own detector
+	Factory<DetectorFiducialCalibration> detectorFactory;
 
 	// List of calibration images
 	List<String> left;
@@ -65,7 +68,7 @@ public class ExampleCalibrateStereo {
 	 */
 	public void setupBumblebeeSquare() {
 		// Creates a detector and specifies its physical characteristics
-		detector = FactoryFiducialCalibration.squareGrid(null,new ConfigGridDimen(4, 3, 30, 30));
+		detectorFactory = () -> FactoryFiducialCalibration.squareGrid(null,new ConfigGridDimen(4, 3, 30, 30));
 
 		String directory = UtilIO.pathExample("calibration/stereo/Bumblebee2_Square");
 
@@ -78,7 +81,7 @@ public class ExampleCalibrateStereo {
 	 */
 	public void setupBumblebeeChess() {
 		// Creates a detector and specifies its physical characteristics
-		detector = FactoryFiducialCalibration.chessboardX(null,new ConfigGridDimen(7, 5, 30));
+		detectorFactory = () -> FactoryFiducialCalibration.chessboardX(null,new ConfigGridDimen(7, 5, 30));
 
 		String directory = UtilIO.pathExample("calibration/stereo/Bumblebee2_Chess");
 
@@ -90,6 +93,11 @@ public class ExampleCalibrateStereo {
 	 * Process calibration images, compute intrinsic parameters, save to a file
 	 */
 	public void process() {
+		// Detects calibration targets in all the images. Images are processed concurrently
+		var detector = new DetectFiducialCalibrationBatch(detectorFactory);
+		// Uncomment to print which images failed
+//		detector.setVerbose(System.out,null);
+
 		// Declare and setup the calibration algorithm
 		var calibratorAlg = new CalibrateStereoPlanar(detector.getLayout());
 		calibratorAlg.configure(true, 2, false);
@@ -100,27 +108,11 @@ public class ExampleCalibrateStereo {
 		Collections.sort(left);
 		Collections.sort(right);
 
-		for( int i = 0; i < left.size(); i++ ) {
-			BufferedImage l = UtilImageIO.loadImage(left.get(i));
-			BufferedImage r = UtilImageIO.loadImage(right.get(i));
-
-			GrayF32 imageLeft = ConvertBufferedImage.convertFrom(l,(GrayF32)null);
-			GrayF32 imageRight = ConvertBufferedImage.convertFrom(r,(GrayF32)null);
-
-			CalibrationObservation calibLeft,calibRight;
-			if( !detector.process(imageLeft)) {
-				System.out.println("Failed to detect target in "+left.get(i));
-				continue;
-			}
-			calibLeft = detector.getDetectedPoints();
-			if( !detector.process(imageRight)) {
-				System.out.println("Failed to detect target in "+right.get(i));
-				continue;
-			}
-			calibRight = detector.getDetectedPoints();
+		List<CalibrationObservation> calibLeft = detector.detect(left.size(), (i, output) -> load(left.get(i), output));
+		List<CalibrationObservation> calibRight = detector.detect(right.size(), (i, output) -> load(right.get(i), output));
 
-			calibratorAlg.addPair(calibLeft, calibRight);
-		}
+		// Pairs where the target wasn't detected in both images are skipped
+		calibratorAlg.addPairs(calibLeft, calibRight);
 
 		// Process and compute calibration parameters
 		StereoParameters stereoCalib = calibratorAlg.process();
@@ -136,6 +128,14 @@ public class ExampleCalibrateStereo {
 		// Which is in millimeters (mm) in this example.
 	}
 
+	private static boolean load( String path, GrayF32 output ) {
+		BufferedImage buffered = UtilImageIO.loadImage(path);
+		if( buffered == null )
+			return false;
+		ConvertBufferedImage.convertFrom(buffered, output);
+		return true;
+	}
+
 	public static void main( String[] args ) {
 		ExampleCalibrateStereo alg = new ExampleCalibrateStereo();
 
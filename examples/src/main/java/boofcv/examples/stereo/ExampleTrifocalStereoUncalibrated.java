@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -67,7 +67,7 @@ import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.point.Vector3D_F64;
 import georegression.struct.se.Se3_F64;
-import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.optimization.lm.ConfigLevenbergMarquardt;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
@@ -217,7 +217,7 @@ public class ExampleTrifocalStereoUncalibrated {
 		ConfigTrifocalError configError = new ConfigTrifocalError();
 		configError.model = ConfigTrifocalError.Model.REPROJECTION_REFINE;
 
-		Ransac<TrifocalTensor, AssociatedTriple> ransac =
+		ModelMatcher<TrifocalTensor, AssociatedTriple> ransac =
 				FactoryMultiViewRobust.trifocalRansac(configTri, configError, configRansac);
 
 		DogArray<AssociatedTripleIndex> associatedIdx = associateThree.getMatches();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,6 +18,7 @@
 
 package boofcv.alg.background;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.background.ConfigBackgroundBasic;
 import boofcv.factory.background.ConfigBackgroundGaussian;
 import boofcv.factory.background.ConfigBackgroundGmm;
@@ -32,7 +33,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Profiles the time to run each algorithm but ignores the time to load an image frame from the video
+ * Profiles the time to run each algorithm but ignores the time to load an image frame from the video. Each
+ * algorithm is run with the single threaded implementation and then with the concurrent implementation
+ * using an increasing number of threads.
  *
  * @author Peter Abeles
  */
@@ -42,9 +45,13 @@ public class BenchmarkBackgroundStationary {
 	File file;
 	ImageType imageType;
 
-	public BenchmarkBackgroundStationary(File file, ImageType imageType) {
+	// Number of threads used by the concurrent implementations. 1 = single threaded implementation
+	int[] threadCounts;
+
+	public BenchmarkBackgroundStationary(File file, ImageType imageType, int ...threadCounts) {
 		this.file = file;
 		this.imageType = imageType;
+		this.threadCounts = threadCounts;
 	}
 
 	public void benchmark() {
@@ -54,8 +61,16 @@ public class BenchmarkBackgroundStationary {
 		algs.add(new GMM());
 
 		for( BackgroundBase b : algs ) {
-			b.process();
-			System.out.printf("%20s FPS = %.2f\n",b.getName(),b.getFPS());
+			double fpsSingle = 0;
+			for (int threads : threadCounts) {
+				BoofConcurrency.USE_CONCURRENT = threads > 1;
+				BoofConcurrency.setMaxThreads(threads);
+				b.process();
+				if (threads == 1)
+					fpsSingle = b.getFPS();
+				System.out.printf("%20s threads = %2d FPS = %7.2f speedup = %.2f\n",
+						b.getName(), threads, b.getFPS(), fpsSingle > 0 ? b.getFPS()/fpsSingle : Double.NaN);
+			}
 		}
 	}
 
@@ -140,9 +155,12 @@ public class BenchmarkBackgroundStationary {
 		imageTypes.add(ImageType.pl(3,GrayF32.class));
 
 
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+
 		for( ImageType type : imageTypes ) {
 			System.out.println("Image Type: "+type.toString());
-			BenchmarkBackgroundStationary b = new BenchmarkBackgroundStationary(file, type);
+			BenchmarkBackgroundStationary b = new BenchmarkBackgroundStationary(file, type,
+					1, 2, Math.max(2, maxThreads/2), maxThreads);
 			b.benchmark();
 		}
 	}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.WrapAssociateGreedy;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.associate.ConfigAssociateGreedy;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.DogArray;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares storing descriptors in a {@link DogArray} of {@link TupleDesc_F64} against a {@link PackedTupleArray_F64}.
+ * Association throughput is measured using greedy association. The cost of storing a new frame's worth of
+ * descriptors is measured by the "create" benchmarks. Run with the GC profiler to see the allocation rate.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkAssociationPacked {
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	@Param({"64"})
+	int DOF;
+
+	@Param({"2000", "10000"})
+	int NUM_FEATURES;
+
+	double[] rawValues;
+
+	DogArray<TupleDesc_F64> listA, listB;
+	PackedTupleArray_F64 packedA, packedB;
+
+	WrapAssociateGreedy<TupleDesc_F64> greedy;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		Random rand = new Random(234234);
+
+		rawValues = new double[NUM_FEATURES*DOF];
+		for (int i = 0; i < rawValues.length; i++) {
+			rawValues[i] = (rand.nextDouble() - 0.5)*20;
+		}
+
+		listA = createObjects();
+		listB = createObjects();
+		packedA = createPacked();
+		packedB = createPacked();
+
+		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true);
+		greedy = (WrapAssociateGreedy<TupleDesc_F64>)FactoryAssociation.greedy(new ConfigAssociateGreedy(true), score);
+	}
+
+	@Benchmark
+	public void greedy_objects() {
+		greedy.setSource(listA);
+		greedy.setDestination(listB);
+		greedy.associate();
+	}
+
+	@Benchmark
+	public void greedy_packed() {
+		greedy.associate(packedA, packedB);
+	}
+
+	@Benchmark
+	public DogArray<TupleDesc_F64> create_objects() {
+		return createObjects();
+	}
+
+	@Benchmark
+	public PackedTupleArray_F64 create_packed() {
+		return createPacked();
+	}
+
+	private DogArray<TupleDesc_F64> createObjects() {
+		DogArray<TupleDesc_F64> ret = new DogArray<>(() -> new TupleDesc_F64(DOF));
+		for (int i = 0; i < NUM_FEATURES; i++) {
+			System.arraycopy(rawValues, i*DOF, ret.grow().value, 0, DOF);
+		}
+		return ret;
+	}
+
+	private PackedTupleArray_F64 createPacked() {
+		PackedTupleArray_F64 ret = new PackedTupleArray_F64(DOF);
+		ret.reserve(NUM_FEATURES);
+		for (int i = 0; i < NUM_FEATURES; i++) {
+			System.arraycopy(rawValues, i*DOF, ret.array.data, ret.grow(), DOF);
+		}
+		return ret;
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkAssociationPacked.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -22,7 +22,9 @@ import boofcv.abst.feature.associate.AssociateDescription;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.feature.associate.ConfigAssociateGreedy;
+import boofcv.factory.feature.associate.ConfigMultiIndexHashing;
 import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.DogArray;
 import org.openjdk.jmh.annotations.*;
@@ -54,12 +56,20 @@ public class BenchmarkAssociationSpeedRandom {
 	DogArray<TupleDesc_F64> listA = createSet(rand);
 	DogArray<TupleDesc_F64> listB = createSet(rand);
 
+	// Binary descriptors. The destination is a noisy copy of the source so that there are true matches
+	int NUM_BITS = 256;
+	DogArray<TupleDesc_B> binaryA = createBinarySet(rand);
+	DogArray<TupleDesc_B> binaryB = createNoisyCopy(binaryA, 30, rand);
+
 	ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class,true);
 
 	AssociateDescription<TupleDesc_F64> greedy;
 	AssociateDescription<TupleDesc_F64> greedyBackwards;
 	AssociateDescription<TupleDesc_F64> kdtree;
 	AssociateDescription<TupleDesc_F64> forest;
+	AssociateDescription<TupleDesc_B> greedyHamming;
+	AssociateDescription<TupleDesc_B> mihExact;
+	AssociateDescription<TupleDesc_B> mihApprox;
 
 	@Setup
 	public void setup() {
@@ -69,6 +79,12 @@ public class BenchmarkAssociationSpeedRandom {
 		greedyBackwards = FactoryAssociation.greedy(new ConfigAssociateGreedy(true),score);
 		kdtree = FactoryAssociation.kdtree(null,DOF);
 		forest = FactoryAssociation.kdRandomForest(null,DOF,15,5,1233445565);
+		greedyHamming = FactoryAssociation.greedy(new ConfigAssociateGreedy(false),
+				FactoryAssociation.defaultScore(TupleDesc_B.class));
+		mihExact = FactoryAssociation.multiIndexHashing(null, null);
+		var configMih = new ConfigMultiIndexHashing();
+		configMih.maxSubstringRadius = 1;
+		mihApprox = FactoryAssociation.multiIndexHashing(null, configMih);
 
 //		kdtree.setSource(listA);
 	}
@@ -94,6 +110,27 @@ public class BenchmarkAssociationSpeedRandom {
 		forest.associate();
 	}
 
+	@Benchmark
+	public void greedyHamming() {
+		greedyHamming.setSource(binaryA);
+		greedyHamming.setDestination(binaryB);
+		greedyHamming.associate();
+	}
+
+	@Benchmark
+	public void mihExact() {
+		mihExact.setSource(binaryA);
+		mihExact.setDestination(binaryB);
+		mihExact.associate();
+	}
+
+	@Benchmark
+	public void mihApprox() {
+		mihApprox.setSource(binaryA);
+		mihApprox.setDestination(binaryB);
+		mihApprox.associate();
+	}
+
 //	@Benchmark
 //	public void kdtree_fixed_src() {
 ////		kdtree.setSource(listA);
@@ -113,4 +150,29 @@ public class BenchmarkAssociationSpeedRandom {
 		return ret;
 	}
 
+	private DogArray<TupleDesc_B> createBinarySet( Random rand ) {
+		DogArray<TupleDesc_B> ret = new DogArray<>(() -> new TupleDesc_B(NUM_BITS));
+
+		for (int i = 0; i < NUM_FEATURES; i++) {
+			TupleDesc_B t = ret.grow();
+			for (int j = 0; j < t.data.length; j++) {
+				t.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+
+	private DogArray<TupleDesc_B> createNoisyCopy( DogArray<TupleDesc_B> src, int numFlipped, Random rand ) {
+		DogArray<TupleDesc_B> ret = new DogArray<>(() -> new TupleDesc_B(NUM_BITS));
+
+		for (int i = 0; i < src.size; i++) {
+			TupleDesc_B t = ret.grow();
+			t.setTo(src.get(i));
+			for (int j = 0; j < numFlipped; j++) {
+				int bit = rand.nextInt(NUM_BITS);
+				t.data[bit/32] ^= 1 << (bit%32);
+			}
+		}
+		return ret;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,12 +20,19 @@ package boofcv.alg.feature.describe;
 
 import boofcv.abst.feature.describe.ConfigSurfDescribe;
 import boofcv.abst.feature.describe.DescribeRegionPoint;
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detdesc.ConfigOrb;
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
+import boofcv.alg.feature.detdesc.CompleteSift;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GConvertImage;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribeAlgs;
 import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.misc.Performer;
@@ -156,6 +163,87 @@ public class BenchmarkDescribe<I extends ImageGray<I>, D extends ImageGray<D>, I
 		}
 	}
 
+	public class DetectDescribeSift implements Performer {
+
+		CompleteSift alg;
+		String name;
+
+		public DetectDescribeSift( String name, boolean concurrent ) {
+			var config = new ConfigCompleteSift();
+			config.concurrent = concurrent;
+			this.alg = FactoryDetectDescribeAlgs.sift(config);
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.process((GrayF32)gray);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	public class DetectDescribe implements Performer {
+
+		DetectDescribePoint<I, ?> alg;
+		String name;
+
+		public DetectDescribe( String name, DetectDescribePoint<I, ?> alg ) {
+			this.alg = alg;
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.detect(gray);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Compares single threaded SIFT against the concurrent version as the number of threads is increased
+	 */
+	public void performSiftScaling() {
+		if (imageType != GrayF32.class)
+			return;
+
+		System.out.println("=========  SIFT Detect Describe Scaling " + width + " x " + height + " ==========");
+		System.out.println();
+
+		ProfileOperation.printOpsPerSec(new DetectDescribeSift("SIFT", false), TEST_TIME);
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		for (int threads = 2; threads <= maxThreads; threads *= 2) {
+			BoofConcurrency.setMaxThreads(threads);
+			ProfileOperation.printOpsPerSec(new DetectDescribeSift("SIFT_MT threads=" + threads, true), TEST_TIME);
+		}
+		BoofConcurrency.setMaxThreads(maxThreads);
+	}
+
+	/**
+	 * Compares the speed of ORB against SURF when detecting and describing features
+	 */
+	public void performOrbVsSurf() {
+		System.out.println("=========  ORB vs SURF Detect Describe " + width + " x " + height + " ==========");
+		System.out.println();
+
+		var configOrb = new ConfigOrb();
+		configOrb.concurrent = false;
+		ProfileOperation.printOpsPerSec(new DetectDescribe("SURF-F",
+				FactoryDetectDescribe.surfFast(null, null, null, imageType)), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new DetectDescribe("ORB",
+				FactoryDetectDescribe.orb(configOrb, imageType)), TEST_TIME);
+		configOrb.concurrent = true;
+		ProfileOperation.printOpsPerSec(new DetectDescribe("ORB_MT",
+				FactoryDetectDescribe.orb(configOrb, imageType)), TEST_TIME);
+	}
+
 	public void perform() {
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ========== "+imageType.getSimpleName());
 		System.out.println();
@@ -183,5 +271,7 @@ public class BenchmarkDescribe<I extends ImageGray<I>, D extends ImageGray<D>, I
 //		BenchmarkDescribe<GrayU8,?,?> alg = new BenchmarkDescribe(GrayU8.class);
 
 		alg.perform();
+		alg.performSiftScaling();
+		alg.performOrbVsSurf();
 	}
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.llah;
+
+import georegression.geometry.UtilPoint2D_F64;
+import georegression.struct.point.Point2D_F64;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link LlahHashTable} against {@link LlahPackedHashTable}. The "lookup" benchmarks measure how long
+ * it takes to look up documents. The "load" benchmarks measure how long it takes before documents can be looked up,
+ * by recomputing all the features, reading a saved table, or memory-mapping a saved table.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkLlahHashTable {
+
+	@Param({"100", "1000"})
+	int NUM_DOCUMENTS;
+
+	@Param({"30"})
+	int NUM_DOTS;
+
+	// Same as the defaults in ConfigLlah
+	int numberOfNeighborsN = 8;
+	int sizeOfCombinationM = 7;
+
+	List<List<Point2D_F64>> documents = new ArrayList<>();
+
+	LlahOperations opsObjects;
+	LlahOperations opsPacked;
+
+	File file;
+
+	List<LlahOperations.FoundDocument> found = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException {
+		Random rand = new Random(234234);
+
+		documents.clear();
+		for (int i = 0; i < NUM_DOCUMENTS; i++) {
+			documents.add(UtilPoint2D_F64.random(-5, 5, NUM_DOTS, rand));
+		}
+
+		opsObjects = createOps();
+		opsPacked = createOps();
+		for (int i = 0; i < NUM_DOCUMENTS; i++) {
+			opsObjects.createDocument(documents.get(i));
+			opsPacked.createDocument(documents.get(i));
+		}
+		opsPacked.packHashTable();
+
+		file = File.createTempFile("llah", ".bin");
+		opsPacked.getPackedTable().save(file.getPath());
+	}
+
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Benchmark
+	public void lookup_objects() {
+		lookup(opsObjects);
+	}
+
+	@Benchmark
+	public void lookup_packed() {
+		lookup(opsPacked);
+	}
+
+	@Benchmark
+	public LlahOperations load_rebuild() {
+		LlahOperations ops = createOps();
+		for (int i = 0; i < NUM_DOCUMENTS; i++) {
+			ops.createDocument(documents.get(i));
+		}
+		return ops;
+	}
+
+	@Benchmark
+	public LlahOperations load_read() {
+		LlahOperations ops = createOps();
+		ops.setPackedTable(LlahPackedHashTable.load(file.getPath()), documents);
+		return ops;
+	}
+
+	@Benchmark
+	public LlahOperations load_map() {
+		LlahOperations ops = createOps();
+		ops.setPackedTable(LlahPackedHashTable.map(file.getPath()), documents);
+		return ops;
+	}
+
+	/**
+	 * Looks up the first few documents
+	 */
+	private void lookup( LlahOperations ops ) {
+		for (int i = 0; i < 10; i++) {
+			ops.lookupDocuments(documents.get(i), 8, found);
+		}
+	}
+
+	private LlahOperations createOps() {
+		var hasher = new LlahHasher.Affine(7, (int)1.28e8);
+		return new LlahOperations(numberOfNeighborsN, sizeOfCombinationM, hasher);
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkLlahHashTable.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -84,6 +84,8 @@ public class GenerateImplSsdCorner extends CodeGeneratorBase {
 				"public class " + className + " extends ImplSsdCornerBox<" + typeInput + "," + typeOutput + "> {\n" +
 				"\n" +
 				"\tprivate GrowArray<WorkSpace> workspaces = new GrowArray<>(() -> new WorkSpace(0));\n" +
+				"\t// Image width the workspaces were declared for\n" +
+				"\tprivate int workspaceWidth = 0;\n" +
 				"\tprivate " + cornerInten + " intensity;\n" +
 				"\n" +
 				"\tpublic " + className + "(int windowRadius, " + cornerInten + " intensity) {\n" +
@@ -94,6 +96,10 @@ public class GenerateImplSsdCorner extends CodeGeneratorBase {
 				"\t@Override\n" +
 				"\tprotected void setImageShape(int imageWidth, int imageHeight) {\n" +
 				"\t\tsuper.setImageShape(imageWidth,imageHeight);\n" +
+				"\t\t// Only declare new workspaces when the width changes so that garbage isn't created every frame\n" +
+				"\t\tif (workspaceWidth == imageWidth)\n" +
+				"\t\t\treturn;\n" +
+				"\t\tworkspaceWidth = imageWidth;\n" +
 				"\t\tworkspaces = new GrowArray<>(() -> new WorkSpace(imageWidth));\n" +
 				"\t}\n\n");
 	}
@@ -210,6 +216,7 @@ public class GenerateImplSsdCorner extends CodeGeneratorBase {
 				"\n" +
 				"\t\tfinal int backStep = kernelWidth*imgWidth;\n" +
 				"\n" +
+				"\t\tworkspaces.reset(); //CONCURRENT_REMOVE_LINE\n" +
 				"\t\tWorkSpace work = workspaces.grow(); //CONCURRENT_REMOVE_LINE\n" +
 				"\t\t//CONCURRENT_BELOW BoofConcurrency.loopBlocks(radius,imgHeight-radius,workspaces,(work,y0,y1)->{\n" +
 				"\t\tint y0 = radius, y1 = imgHeight - radius;\n" +
@@ -19,9 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
-import boofcv.struct.feature.MatchScoreType;
-import boofcv.struct.feature.TupleDesc_F32;
-import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.feature.*;
 
 /**
  * Scores based on Euclidean distance squared
@@ -34,11 +32,23 @@ public interface ScoreAssociateEuclideanSq<Desc> extends ScoreAssociation<Desc>
 
 	class F32 implements ScoreAssociateEuclideanSq<TupleDesc_F32> {
 		@Override public double score(TupleDesc_F32 a, TupleDesc_F32 b) { return DescriptorDistance.euclideanSq(a, b); }
+		@Override public double score( PackedTupleArray<TupleDesc_F32> a, int indexA,
+									   PackedTupleArray<TupleDesc_F32> b, int indexB ) {
+			PackedTupleArray_F32 pa = (PackedTupleArray_F32)a;
+			PackedTupleArray_F32 pb = (PackedTupleArray_F32)b;
+			return DescriptorDistance.euclideanSq(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.dof);
+		}
 		@Override public MatchScoreType getScoreType()                  { return MatchScoreType.NORM_ERROR; }
 	}
 
 	class F64 implements ScoreAssociateEuclideanSq<TupleDesc_F64> {
 		@Override public double score(TupleDesc_F64 a, TupleDesc_F64 b) { return DescriptorDistance.euclideanSq(a, b); }
+		@Override public double score( PackedTupleArray<TupleDesc_F64> a, int indexA,
+									   PackedTupleArray<TupleDesc_F64> b, int indexB ) {
+			PackedTupleArray_F64 pa = (PackedTupleArray_F64)a;
+			PackedTupleArray_F64 pb = (PackedTupleArray_F64)b;
+			return DescriptorDistance.euclideanSq(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.dof);
+		}
 		@Override public MatchScoreType getScoreType()                  { return MatchScoreType.NORM_ERROR; }
 	}
 }
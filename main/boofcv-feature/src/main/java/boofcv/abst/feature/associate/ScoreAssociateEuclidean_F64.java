@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 
 
@@ -36,6 +38,13 @@ public class ScoreAssociateEuclidean_F64 implements ScoreAssociation<TupleDesc_F
 		return DescriptorDistance.euclidean(a,b);
 	}
 
+	@Override
+	public double score( PackedTupleArray<TupleDesc_F64> a, int indexA, PackedTupleArray<TupleDesc_F64> b, int indexB ) {
+		PackedTupleArray_F64 pa = (PackedTupleArray_F64)a;
+		PackedTupleArray_F64 pb = (PackedTupleArray_F64)b;
+		return Math.sqrt(DescriptorDistance.euclideanSq(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.dof));
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
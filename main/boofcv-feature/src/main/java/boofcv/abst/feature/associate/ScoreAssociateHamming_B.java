@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 
 /**
@@ -35,6 +37,13 @@ public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>{
 		return DescriptorDistance.hamming(a,b);
 	}
 
+	@Override
+	public double score( PackedTupleArray<TupleDesc_B> a, int indexA, PackedTupleArray<TupleDesc_B> b, int indexB ) {
+		PackedTupleArray_B pa = (PackedTupleArray_B)a;
+		PackedTupleArray_B pb = (PackedTupleArray_B)b;
+		return DescriptorDistance.hamming(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.numInts);
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
@@ -31,12 +31,24 @@ public interface ScoreAssociateSad<Desc> extends ScoreAssociation<Desc>
 	class F32 implements ScoreAssociateSad<TupleDesc_F32>
 	{
 		@Override public double score(TupleDesc_F32 a, TupleDesc_F32 b) { return DescriptorDistance.sad(a, b); }
+		@Override public double score( PackedTupleArray<TupleDesc_F32> a, int indexA,
+									   PackedTupleArray<TupleDesc_F32> b, int indexB ) {
+			PackedTupleArray_F32 pa = (PackedTupleArray_F32)a;
+			PackedTupleArray_F32 pb = (PackedTupleArray_F32)b;
+			return DescriptorDistance.sad(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.dof);
+		}
 		@Override public MatchScoreType getScoreType() {return MatchScoreType.NORM_ERROR;}
 	}
 
 	class F64 implements ScoreAssociateSad<TupleDesc_F64>
 	{
 		@Override public double score(TupleDesc_F64 a, TupleDesc_F64 b) { return DescriptorDistance.sad(a, b); }
+		@Override public double score( PackedTupleArray<TupleDesc_F64> a, int indexA,
+									   PackedTupleArray<TupleDesc_F64> b, int indexB ) {
+			PackedTupleArray_F64 pa = (PackedTupleArray_F64)a;
+			PackedTupleArray_F64 pb = (PackedTupleArray_F64)b;
+			return DescriptorDistance.sad(pa.array.data, pa.offset(indexA), pb.array.data, pb.offset(indexB), pa.dof);
+		}
 		@Override public MatchScoreType getScoreType() {return MatchScoreType.NORM_ERROR;}
 	}
 
@@ -19,6 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 
 /**
  * Scores the fit quality between two feature descriptions.  A lower score always indicate a better match a larger one.
@@ -43,6 +44,21 @@ public interface ScoreAssociation<Desc> {
 	 */
 	public double score( Desc a , Desc b );
 
+	/**
+	 * Computes the fit score between two features stored inside of packed arrays. Scores for the common
+	 * descriptor types override this function and operate directly on the packed array. The default
+	 * implementation copies the descriptors and should be avoided in performance critical code.
+	 *
+	 * @param a Array containing the first feature
+	 * @param indexA Index of the first feature
+	 * @param b Array containing the second feature
+	 * @param indexB Index of the second feature
+	 * @return Quality of fit score.  Lower is better.
+	 */
+	default double score( PackedTupleArray<Desc> a, int indexA, PackedTupleArray<Desc> b, int indexB ) {
+		return score(a.getCopy(indexA, null), b.getCopy(indexB, null));
+	}
+
 	/**
 	 * Specifies the type of score which is returned.
 	 *
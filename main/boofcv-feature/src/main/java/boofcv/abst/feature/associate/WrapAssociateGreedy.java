@@ -23,6 +23,7 @@ import boofcv.alg.feature.associate.AssociateGreedyDescBase;
 import boofcv.alg.feature.associate.FindUnassociated;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_F64;
 import org.ddogleg.struct.DogArray_I32;
@@ -44,6 +45,9 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 	FastAccess<T> listSrc;
 	FastAccess<T> listDst;
 
+	// number of features in the dst list which was last associated
+	int sizeDst;
+
 	// indexes of unassociated features
 	DogArray_I32 unassocSrc = new DogArray_I32();
 	// creates a list of unassociated features from the list of matches
@@ -81,12 +85,33 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 		unassocSrc.reset();
 		alg.associate(listSrc,listDst);
+		saveMatches(listSrc.size, listDst.size);
+	}
+
+	/**
+	 * Associates descriptors stored inside of packed arrays. This avoids the need to store each descriptor
+	 * in its own object. Results are retrieved the same way as with {@link #associate()}.
+	 *
+	 * @param src Source descriptors
+	 * @param dst Destination descriptors
+	 */
+	public void associate( PackedTupleArray<T> src, PackedTupleArray<T> dst ) {
+		unassocSrc.reset();
+		alg.associate(src,dst);
+		saveMatches(src.size(), dst.size());
+	}
+
+	/**
+	 * Converts the output of the greedy algorithm into a list of matches and unassociated features
+	 */
+	private void saveMatches( int sizeSrc, int sizeDst ) {
+		this.sizeDst = sizeDst;
 
 		DogArray_I32 pairs = alg.getPairs();
 		DogArray_F64 score = alg.getFitQuality();
 
 		matches.reset();
-		for( int i = 0; i < listSrc.size; i++ ) {
+		for( int i = 0; i < sizeSrc; i++ ) {
 			int dst = pairs.data[i];
 			if( dst >= 0 )
 				matches.grow().setTo(i,dst,score.data[i]);
@@ -102,7 +127,7 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 	@Override
 	public DogArray_I32 getUnassociatedDestination() {
-		return unassociated.checkDestination(matches,listDst.size);
+		return unassociated.checkDestination(matches,sizeDst);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -23,6 +23,7 @@ import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.orientation.ConfigSiftOrientation;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -37,6 +38,12 @@ public class ConfigCompleteSift implements Configuration{
 	public ConfigSiftOrientation orientation = new ConfigSiftOrientation();
 	public ConfigSiftDescribe describe = new ConfigSiftDescribe();
 
+	/**
+	 * If true then orientation and descriptors are computed concurrently, if concurrency is enabled in
+	 * {@link BoofConcurrency}. The results are identical either way.
+	 */
+	public boolean concurrent = true;
+
 	/**
 	 * Creates a configuration similar to how it was originally described in the paper
 	 */
@@ -75,6 +82,7 @@ public class ConfigCompleteSift implements Configuration{
 		this.detector.setTo(src.detector);
 		this.orientation.setTo(src.orientation);
 		this.describe.setTo(src.describe);
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
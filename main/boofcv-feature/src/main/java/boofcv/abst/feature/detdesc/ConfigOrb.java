@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.abst.feature.detect.interest.ConfigFastCorner;
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.Configuration;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+
+/**
+ * Configuration for {@link DetectDescribeOrb}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigOrb implements Configuration {
+	/** Maximum number of features it will return. If &le; 0 then all features are returned. */
+	public int maxFeatures = 500;
+
+	/** Specifies the number of layers in the image pyramid */
+	public ConfigDiscreteLevels pyramid = ConfigDiscreteLevels.levels(4);
+
+	/** Configuration for the FAST corner detector */
+	public ConfigFastCorner fast = new ConfigFastCorner(20, 9);
+
+	/** Harris corner tuning parameter */
+	public double harrisKappa = 0.04;
+
+	/** Radius of the window the Harris corner measure is computed inside of */
+	public int harrisRadius = 3;
+
+	/** Radius of the circular patch used to compute orientation and the descriptor */
+	public int patchRadius = 15;
+
+	/** Number of pairs compared in the descriptor. This is the number of bits in the descriptor. */
+	public int numPairs = 256;
+
+	/** Amount of blur applied to the image before computing the descriptor */
+	public double blurSigma = 2.0;
+
+	/** Radius of the blur kernel. If &le; 0 then it's selected automatically */
+	public int blurRadius = 4;
+
+	/** Seed used to generate random pairs when a learned set of pairs is not provided */
+	public long randomSeed = 0xBEEF;
+
+	/**
+	 * If true then each layer in the pyramid is processed concurrently, if concurrency is enabled in
+	 * {@link BoofConcurrency}. The results are identical either way.
+	 */
+	public boolean concurrent = true;
+
+	public void setTo( ConfigOrb src ) {
+		this.maxFeatures = src.maxFeatures;
+		this.pyramid.setTo(src.pyramid);
+		this.fast.setTo(src.fast);
+		this.harrisKappa = src.harrisKappa;
+		this.harrisRadius = src.harrisRadius;
+		this.patchRadius = src.patchRadius;
+		this.numPairs = src.numPairs;
+		this.blurSigma = src.blurSigma;
+		this.blurRadius = src.blurRadius;
+		this.randomSeed = src.randomSeed;
+		this.concurrent = src.concurrent;
+	}
+
+	@Override
+	public void checkValidity() {
+		pyramid.checkValidity();
+		fast.checkValidity();
+		if (harrisRadius <= 0)
+			throw new IllegalArgumentException("harrisRadius must be > 0");
+		if (patchRadius <= 0)
+			throw new IllegalArgumentException("patchRadius must be > 0");
+		if (numPairs <= 0)
+			throw new IllegalArgumentException("numPairs must be > 0");
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescriptorInfo;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageBase;
 
@@ -43,4 +44,19 @@ public interface DetectDescribePoint<T extends ImageBase<T>, Desc extends TupleD
 	 * @return Feature descriptor
 	 */
 	Desc getDescription(int index);
+
+	/**
+	 * Copies all the descriptors found in the most recent call to {@link #detect} into the packed array.
+	 * Unlike {@link #getDescription(int)} the output does not reference recycled internal data structures.
+	 *
+	 * @param storage (Output) Storage for the descriptors. Reset before being written to.
+	 */
+	default void copyDescriptions( PackedTupleArray<Desc> storage ) {
+		storage.reset();
+		final int N = getNumberOfFeatures();
+		storage.reserve(N);
+		for (int i = 0; i < N; i++) {
+			storage.append(getDescription(i));
+		}
+	}
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+
+/**
+ * Wrapper around {@link DetectDescribeOrb} for {@link DetectDescribePoint}. Corners which are brighter than their
+ * surroundings are put into set 0 and darker corners into set 1.
+ *
+ * @author Peter Abeles
+ */
+public class Orb_to_DetectDescribePoint<T extends ImageGray<T>>
+		implements DetectDescribePoint<T, TupleDesc_B> {
+
+	DetectDescribeOrb<T> alg;
+	ImageType<T> inputType;
+
+	public Orb_to_DetectDescribePoint( DetectDescribeOrb<T> alg, Class<T> inputType ) {
+		this.alg = alg;
+		this.inputType = ImageType.single(inputType);
+	}
+
+	@Override
+	public TupleDesc_B createDescription() {
+		return new TupleDesc_B(alg.getDescriptorBits());
+	}
+
+	@Override
+	public TupleDesc_B getDescription( int index ) {
+		return alg.getDescriptions().get(index);
+	}
+
+	@Override
+	public ImageType<T> getInputType() {
+		return inputType;
+	}
+
+	@Override
+	public Class<TupleDesc_B> getDescriptionType() {
+		return TupleDesc_B.class;
+	}
+
+	@Override
+	public void detect( T input ) {
+		alg.process(input);
+	}
+
+	@Override
+	public int getNumberOfSets() {
+		return 2;
+	}
+
+	@Override
+	public int getSet( int index ) {
+		return alg.getBrighter().get(index) ? 0 : 1;
+	}
+
+	@Override
+	public int getNumberOfFeatures() {
+		return alg.getLocations().size;
+	}
+
+	@Override
+	public Point2D_F64 getLocation( int featureIndex ) {
+		return alg.getLocations().get(featureIndex);
+	}
+
+	@Override
+	public double getRadius( int featureIndex ) {
+		return alg.getRadii().get(featureIndex);
+	}
+
+	@Override
+	public double getOrientation( int featureIndex ) {
+		return alg.getOrientations().get(featureIndex);
+	}
+
+	@Override
+	public boolean hasScale() {
+		return true;
+	}
+
+	@Override
+	public boolean hasOrientation() {
+		return true;
+	}
+}
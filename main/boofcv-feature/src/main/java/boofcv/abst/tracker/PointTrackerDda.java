@@ -21,6 +21,7 @@ package boofcv.abst.tracker;
 import boofcv.alg.tracker.dda.DetectDescribeAssociateTracker;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastAccess;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -68,7 +69,7 @@ public class PointTrackerDda<I extends ImageGray<I>, TD extends TupleDesc>
 
 	@Override
 	public List<PointTrack> getAllTracks( @Nullable List<PointTrack> list ) {
-		return addAllTracksInList(tracker.getTracksAll().toList(), list);
+		return addAllTracksInList(tracker.getTracksAll(), list);
 	}
 
 	@Override
@@ -76,13 +77,34 @@ public class PointTrackerDda<I extends ImageGray<I>, TD extends TupleDesc>
 		return addAllTracksInList(tracker.getTracksInactive(), list);
 	}
 
-	public static List<PointTrack> addAllTracksInList(List<PointTrack> tracks, @Nullable List<PointTrack> output) {
+	/**
+	 * Copies tracks into the output list. Elements are added one at a time since {@link List#addAll} creates
+	 * a temporary array, which would otherwise be allocated every frame.
+	 */
+	public static List<PointTrack> addAllTracksInList(List<? extends PointTrack> tracks, @Nullable List<PointTrack> output) {
 		if (output == null)
 			output = new ArrayList<>();
 		else
 			output.clear();
 
-		output.addAll(tracks);
+		for (int i = 0; i < tracks.size(); i++) {
+			output.add(tracks.get(i));
+		}
+		return output;
+	}
+
+	/**
+	 * Copies tracks into the output list without creating a {@link List} view of the input
+	 */
+	public static List<PointTrack> addAllTracksInList(FastAccess<? extends PointTrack> tracks, @Nullable List<PointTrack> output) {
+		if (output == null)
+			output = new ArrayList<>();
+		else
+			output.clear();
+
+		for (int i = 0; i < tracks.size; i++) {
+			output.add(tracks.get(i));
+		}
 		return output;
 	}
 }
@@ -147,26 +147,26 @@ public class PointTrackerHybrid<I extends ImageGray<I>, D extends ImageGray<D>,
 
 	@Override
 	public List<PointTrack> getAllTracks(List<PointTrack> list) {
-		return addAllTracksInList((List)tracker.getTracksAll().toList(), list);
+		return addAllTracksInList(tracker.getTracksAll(), list);
 	}
 
 	@Override
 	public List<PointTrack> getActiveTracks(List<PointTrack> list) {
-		return addAllTracksInList((List)tracker.getTracksActive().toList(), list);
+		return addAllTracksInList(tracker.getTracksActive(), list);
 	}
 
 	@Override
 	public List<PointTrack> getInactiveTracks(List<PointTrack> list) {
-		return addAllTracksInList((List)tracker.getTracksInactive().toList(), list);
+		return addAllTracksInList(tracker.getTracksInactive(), list);
 	}
 
 	@Override
 	public List<PointTrack> getDroppedTracks(List<PointTrack> list) {
-		return addAllTracksInList((List)tracker.getTracksDropped(), list);
+		return addAllTracksInList(tracker.getTracksDropped(), list);
 	}
 
 	@Override
 	public List<PointTrack> getNewTracks(List<PointTrack> list) {
-		return addAllTracksInList((List)tracker.getTracksSpawned(), list);
+		return addAllTracksInList(tracker.getTracksSpawned(), list);
 	}
 }
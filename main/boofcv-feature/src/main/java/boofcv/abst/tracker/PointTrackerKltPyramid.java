@@ -33,6 +33,7 @@ import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point2D_I16;
 import lombok.Getter;
 import lombok.Setter;
+import org.ddogleg.struct.DogArray_B;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -80,6 +81,11 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 	protected List<PyramidKltFeature> dropped = new ArrayList<>();
 	// feature data available for future tracking
 	protected List<PyramidKltFeature> unused = new ArrayList<>();
+	// features which were just detected and might be spawned
+	protected List<PyramidKltFeature> candidates = new ArrayList<>();
+
+	// Indicates if a feature was successfully tracked. Index matches the active list
+	protected DogArray_B trackSuccess = new DogArray_B();
 
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
@@ -248,20 +254,36 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		detector.process(baseLayer, currPyr.derivX[0], currPyr.derivY[0], null, null, null);
 
 		// Create new tracks from the detected features
-		addToTracks(scaleBottom, detector.getMinimums());
-		addToTracks(scaleBottom, detector.getMaximums());
+		candidates.clear();
+		addCandidates(scaleBottom, detector.getMinimums());
+		addCandidates(scaleBottom, detector.getMaximums());
+		describeCandidates();
+		addCandidatesToTracks();
 	}
 
-	private void addToTracks( float scaleBottom, QueueCorner found ) {
+	private void addCandidates( float scaleBottom, QueueCorner found ) {
 		for (int i = 0; i < found.size(); i++) {
 			Point2D_I16 pt = found.get(i);
 
-			// set up pyramid description
 			PyramidKltFeature t = getUnusedTrack();
 			t.x = pt.x*scaleBottom;
 			t.y = pt.y*scaleBottom;
+			candidates.add(t);
+		}
+	}
+
+	/**
+	 * Sets up the pyramid description of every candidate track
+	 */
+	protected void describeCandidates() {
+		for (int i = 0; i < candidates.size(); i++) {
+			tracker.setDescription(candidates.get(i));
+		}
+	}
 
-			tracker.setDescription(t);
+	private void addCandidatesToTracks() {
+		for (int i = 0; i < candidates.size(); i++) {
+			PyramidKltFeature t = candidates.get(i);
 
 			// set up point description
 			PointTrackMod p = t.getCookie();
@@ -291,7 +313,10 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 
 	@Override
 	public void dropAllTracks() {
-		unused.addAll(active);
+		// addAll() is avoided since it creates a temporary array
+		for (int i = 0; i < active.size(); i++) {
+			unused.add(active.get(i));
+		}
 		active.clear();
 		dropped.clear();
 	}
@@ -322,28 +347,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 
 		// track features
 		tracker.setImage(currPyr.basePyramid, currPyr.derivX, currPyr.derivY);
-		for (int i = active.size() - 1; i >= 0; i--) {
-			PyramidKltFeature t = active.get(i);
-			KltTrackFault ret = tracker.track(t);
-
-			boolean success = false;
-
-			if (ret == KltTrackFault.SUCCESS) {
-				// discard a track if its center drifts outside the image.
-				if (image.isInBounds((int)t.x, (int)t.y) && tracker.setDescription(t)) {
-					PointTrack p = t.getCookie();
-					p.pixel.setTo(t.x, t.y);
-					p.lastSeenFrameID = frameID;
-					success = true;
-				}
-			}
-
-			if (!success) {
-				active.remove(i);
-				dropped.add(t);
-				unused.add(t);
-			}
-		}
+		trackSuccess.resize(active.size());
+		trackActive();
+		dropFailedTracks();
 
 		if (toleranceFB >= 0) {
 			// If there are no tracks it must have been reset or this is the first frame
@@ -360,6 +366,49 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		}
 	}
 
+	/**
+	 * Tracks every feature in the active list into the current image and records which ones were successful
+	 */
+	protected void trackActive() {
+		for (int i = 0; i < active.size(); i++) {
+			trackSuccess.data[i] = trackFeature(tracker, active.get(i));
+		}
+	}
+
+	/**
+	 * Tracks a single feature into the current image and updates its description
+	 *
+	 * @param tracker The tracker that's used. Its image must already be set.
+	 * @param t The feature being tracked
+	 * @return true if it was successfully tracked
+	 */
+	protected boolean trackFeature( PyramidKltTracker<I, D> tracker, PyramidKltFeature t ) {
+		if (tracker.track(t) != KltTrackFault.SUCCESS)
+			return false;
+
+		// discard a track if its center drifts outside the image.
+		if (!input.isInBounds((int)t.x, (int)t.y) || !tracker.setDescription(t))
+			return false;
+
+		PointTrack p = t.getCookie();
+		p.pixel.setTo(t.x, t.y);
+		p.lastSeenFrameID = frameID;
+		return true;
+	}
+
+	/**
+	 * Moves tracks which were not successful from the active list into the dropped and unused lists
+	 */
+	protected void dropFailedTracks() {
+		for (int i = active.size() - 1; i >= 0; i--) {
+			if (trackSuccess.data[i])
+				continue;
+			PyramidKltFeature t = active.remove(i);
+			dropped.add(t);
+			unused.add(t);
+		}
+	}
+
 	/**
 	 * Prune tracks which are too close and adds them to the dropped list
 	 */
@@ -367,7 +416,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		pruneClose.init(input.width, input.height);
 		pruneClose.process(active, closeDropped);
 		active.removeAll(closeDropped);
-		dropped.addAll(closeDropped);
+		for (int i = 0; i < closeDropped.size(); i++) {
+			dropped.add(closeDropped.get(i));
+		}
 	}
 
 	/**
@@ -375,29 +426,44 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 	 * tracks in active list existed in the previous frame and were not spawned.
 	 */
 	protected void backwardsTrackValidate() {
-		double tol2 = toleranceFB*toleranceFB;
-
 		tracker.setImage(prevPyr.basePyramid, prevPyr.derivX, prevPyr.derivY);
-		for (int i = active.size() - 1; i >= 0; i--) {
-			PyramidKltFeature t = active.get(i);
-			PointTrackMod p = t.getCookie();
-
-			KltTrackFault ret = tracker.track(t);
+		trackSuccess.resize(active.size());
+		backwardsTrackActive();
+		dropFailedTracks();
+	}
 
-			if (ret != KltTrackFault.SUCCESS || p.prev.distance2(t.x, t.y) > tol2) {
-				active.remove(i);
-				dropped.add(t);
-				unused.add(t);
-			} else {
-				// the new previous will be the current location
-				p.prev.setTo(p.pixel);
-				// Revert the update by KLT
-				t.x = (float)p.pixel.x;
-				t.y = (float)p.pixel.y;
-			}
+	/**
+	 * Tracks every feature in the active list back into the previous image and records which ones were successful
+	 */
+	protected void backwardsTrackActive() {
+		for (int i = 0; i < active.size(); i++) {
+			trackSuccess.data[i] = backwardsTrackFeature(tracker, active.get(i));
 		}
 	}
 
+	/**
+	 * Tracks a single feature back into the previous image and sees if it ends up where it started.
+	 *
+	 * @param tracker The tracker that's used. Its image must already be set to the previous image.
+	 * @param t The feature being validated
+	 * @return true if it passed validation
+	 */
+	protected boolean backwardsTrackFeature( PyramidKltTracker<I, D> tracker, PyramidKltFeature t ) {
+		PointTrackMod p = t.getCookie();
+
+		KltTrackFault ret = tracker.track(t);
+
+		if (ret != KltTrackFault.SUCCESS || p.prev.distance2(t.x, t.y) > toleranceFB*toleranceFB)
+			return false;
+
+		// the new previous will be the current location
+		p.prev.setTo(p.pixel);
+		// Revert the update by KLT
+		t.x = (float)p.pixel.x;
+		t.y = (float)p.pixel.y;
+		return true;
+	}
+
 	@Override
 	public boolean dropTrack( PointTrack track ) {
 		if (active.remove((PyramidKltFeature)track.getDescription())) {
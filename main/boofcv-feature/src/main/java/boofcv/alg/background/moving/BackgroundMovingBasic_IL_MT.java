@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.distort.Point2Transform2_F32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundMovingBasic_IL}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundMovingBasic_IL_MT<T extends ImageInterleaved<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundMovingBasic_IL<T, Motion> {
+	// Storage for each thread
+	final GrowArray<BlockData> blocks = new GrowArray<>(BlockData::new);
+
+	public BackgroundMovingBasic_IL_MT( float learnRate, float threshold,
+										Point2Transform2Model_F32<Motion> transform,
+										InterpolationType interpType,
+										ImageType<T> imageType ) {
+		super(learnRate, threshold, transform, interpType, imageType);
+	}
+
+	@Override
+	protected void updateBackground( int x0, int y0, int x1, int y1, T frame ) {
+		transform.setModel(worldToCurrent);
+
+		final int numBands = frame.getNumBands();
+		final float minusLearn = 1.0f - learnRate;
+
+		BoofConcurrency.loopBlocks(y0, y1, blocks, ( block, blockY0, blockY1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+			final InterpolatePixelMB<T> interpolationInput = block.interpolationInput;
+			final Point2D_F32 work = block.work;
+			final float[] pixelInput = block.pixelInput;
+			interpolationInput.setImage(frame);
+
+			for (int y = blockY0; y < blockY1; y++) {
+				int indexBG = background.startIndex + y*background.stride + x0*numBands;
+				for (int x = x0; x < x1; x++) {
+					transform.compute(x, y, work);
+
+					if (work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
+
+						interpolationInput.get(work.x, work.y, pixelInput);
+
+						for (int band = 0; band < numBands; band++, indexBG++) {
+
+							float value = pixelInput[band];
+							float bg = background.data[indexBG];
+
+							if (bg == Float.MAX_VALUE) {
+								background.data[indexBG] = value;
+							} else {
+								background.data[indexBG] = minusLearn*bg + learnRate*value;
+							}
+						}
+					} else {
+						indexBG += numBands;
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void _segment( Motion currentToWorld, T frame, GrayU8 segmented ) {
+		transform.setModel(currentToWorld);
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands();
+		final float thresholdSq = numBands*threshold*threshold;
+
+		BoofConcurrency.loopBlocks(0, frame.height, blocks, ( block, y0, y1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+			final InterpolatePixelMB<InterleavedF32> interpolationBG = block.interpolationBG;
+			final Point2D_F32 work = block.work;
+			final float[] pixelBack = block.pixelBack;
+			interpolationBG.setImage(background);
+
+			for (int y = y0; y < y1; y++) {
+				int indexFrame = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				for (int x = 0; x < frame.width; x++, indexFrame += numBands, indexSegmented++) {
+					transform.compute(x, y, work);
+
+					escapeIf:
+					if (work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
+
+						interpolationBG.get(work.x, work.y, pixelBack);
+
+						double sumErrorSq = 0;
+						for (int band = 0; band < numBands; band++) {
+							float bg = pixelBack[band];
+							float pixelFrame = inputWrapper.getF(indexFrame + band);
+
+							if (bg == Float.MAX_VALUE) {
+								segmented.data[indexSegmented] = unknownValue;
+								break escapeIf;
+							} else {
+								float diff = bg - pixelFrame;
+								sumErrorSq += diff*diff;
+							}
+						}
+
+						if (sumErrorSq <= thresholdSq) {
+							segmented.data[indexSegmented] = 0;
+						} else {
+							segmented.data[indexSegmented] = 1;
+						}
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexSegmented] = unknownValue;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Interpolators and pixel storage have internal state so each thread needs its own copy
+	 */
+	class BlockData {
+		final InterpolatePixelMB<T> interpolationInput = BackgroundMovingBasic_IL_MT.this.interpolationInput.copy();
+		final InterpolatePixelMB<InterleavedF32> interpolationBG = BackgroundMovingBasic_IL_MT.this.interpolationBG.copy();
+		final Point2D_F32 work = new Point2D_F32();
+		final float[] pixelInput = new float[background.getNumBands()];
+		final float[] pixelBack = new float[background.getNumBands()];
+	}
+}
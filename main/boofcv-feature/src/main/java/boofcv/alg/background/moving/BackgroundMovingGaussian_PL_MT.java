@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.distort.Point2Transform2_F32;
+import boofcv.struct.image.*;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundMovingGaussian_PL}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundMovingGaussian_PL_MT<T extends ImageGray<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundMovingGaussian_PL<T, Motion> {
+	// Storage for each thread
+	final GrowArray<BlockData> blocks = new GrowArray<>(BlockData::new);
+
+	public BackgroundMovingGaussian_PL_MT( float learnRate, float threshold,
+										   Point2Transform2Model_F32<Motion> transform,
+										   InterpolationType interpType,
+										   ImageType<Planar<T>> imageType ) {
+		super(learnRate, threshold, transform, interpType, imageType);
+	}
+
+	@Override
+	protected void updateBackground( int x0, int y0, int x1, int y1, Planar<T> frame ) {
+		transform.setModel(worldToCurrent);
+
+		final float minusLearn = 1.0f - learnRate;
+
+		final int numBands = background.getNumBands()/2;
+
+		BoofConcurrency.loopBlocks(y0, y1, blocks, ( block, blockY0, blockY1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+			final InterpolatePixelMB<Planar<T>> interpolateInput = block.interpolateInput;
+			final Point2D_F32 work = block.work;
+			final float[] pixelInput = block.pixelInput;
+			interpolateInput.setImage(frame);
+
+			for (int y = blockY0; y < blockY1; y++) {
+				int indexBG = background.startIndex + y*background.stride + x0;
+				for (int x = x0; x < x1; x++, indexBG++) {
+					transform.compute(x, y, work);
+
+					if (work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
+						interpolateInput.get(work.x, work.y, pixelInput);
+
+						for (int band = 0; band < numBands; band++) {
+							GrayF32 backgroundMean = background.getBand(band*2);
+							GrayF32 backgroundVar = background.getBand(band*2 + 1);
+
+							float inputValue = pixelInput[band];
+							float meanBG = backgroundMean.data[indexBG];
+							float varianceBG = backgroundVar.data[indexBG];
+
+							if (varianceBG < 0) {
+								backgroundMean.data[indexBG] = inputValue;
+								backgroundVar.data[indexBG] = initialVariance;
+							} else {
+								float diff = meanBG - inputValue;
+								backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+								backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+							}
+						}
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void _segment( Motion currentToWorld, Planar<T> frame, GrayU8 segmented ) {
+		transform.setModel(currentToWorld);
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands()/2;
+		final float adjustedMinimumDifference = minimumDifference*numBands;
+
+		BoofConcurrency.loopBlocks(0, frame.height, blocks, ( block, y0, y1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+			final InterpolatePixelMB<Planar<GrayF32>> interpolationBG = block.interpolationBG;
+			final Point2D_F32 work = block.work;
+			final float[] pixelBG = block.pixelBG;
+			final float[] pixelInput = block.pixelInput;
+			interpolationBG.setImage(background);
+
+			for (int y = y0; y < y1; y++) {
+				int indexFrame = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				for (int x = 0; x < frame.width; x++, indexFrame++, indexSegmented++) {
+					transform.compute(x, y, work);
+
+					escapeIf:
+					if (work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
+						interpolationBG.get(work.x, work.y, pixelBG);
+						inputWrapper.getF(indexFrame, pixelInput);
+
+						float mahalanobis = 0;
+
+						for (int band = 0; band < numBands; band++) {
+							float meanBG = pixelBG[band*2];
+							float varBG = pixelBG[band*2 + 1];
+
+							if (varBG < 0) {
+								segmented.data[indexSegmented] = unknownValue;
+								break escapeIf;
+							} else {
+								float diff = meanBG - pixelInput[band];
+								mahalanobis += diff*diff/varBG;
+							}
+						}
+
+						if (mahalanobis <= threshold) {
+							segmented.data[indexSegmented] = 0;
+						} else {
+							if (minimumDifference > 0) {
+								float sumAbsDiff = 0;
+								for (int band = 0; band < numBands; band++) {
+									sumAbsDiff += Math.abs(pixelBG[band*2] - pixelInput[band]);
+								}
+								if (sumAbsDiff >= adjustedMinimumDifference) {
+									segmented.data[indexSegmented] = 1;
+								} else {
+									segmented.data[indexSegmented] = 0;
+								}
+							} else {
+								segmented.data[indexSegmented] = 1;
+							}
+						}
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexSegmented] = unknownValue;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Interpolators and pixel storage have internal state so each thread needs its own copy
+	 */
+	class BlockData {
+		final InterpolatePixelMB<Planar<T>> interpolateInput = BackgroundMovingGaussian_PL_MT.this.interpolateInput.copy();
+		final InterpolatePixelMB<Planar<GrayF32>> interpolationBG = BackgroundMovingGaussian_PL_MT.this.interpolationBG.copy();
+		final Point2D_F32 work = new Point2D_F32();
+		final float[] pixelBG = new float[background.getNumBands()];
+		final float[] pixelInput = new float[background.getNumBands()/2];
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.distort.Point2Transform2_F32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundMovingGmm_SB}. When updating, a row in the background only
+ * modifies the mixtures in that row, so rows can be processed in parallel.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundMovingGmm_SB_MT<T extends ImageGray<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundMovingGmm_SB<T, Motion> {
+	// Storage for the transformed point in each thread
+	final GrowArray<Point2D_F32> storagePoints = new GrowArray<>(Point2D_F32::new);
+
+	public BackgroundMovingGmm_SB_MT( float learningPeriod, float decayCoef, int maxGaussians,
+									  Point2Transform2Model_F32<Motion> transformImageType, ImageType<T> imageType ) {
+		super(learningPeriod, decayCoef, maxGaussians, transformImageType, imageType);
+	}
+
+	@Override
+	protected void updateBackground( int x0, int y0, int x1, int y1, T frame ) {
+		common.inputWrapperG.wrap(frame);
+		transform.setModel(worldToCurrent);
+
+		BoofConcurrency.loopBlocks(y0, y1, storagePoints, ( work, blockY0, blockY1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+
+			for (int y = blockY0; y < blockY1; y++) {
+				float[] modelRow = common.model.data[y];
+				for (int x = x0; x < x1; x++) {
+					int indexModel = x*common.modelStride;
+
+					transform.compute(x, y, work);
+					int xx = (int)(work.x + 0.5f);
+					int yy = (int)(work.y + 0.5f);
+
+					if (work.x >= 0 && xx < frame.width && work.y >= 0 && yy < frame.height) {
+
+						float pixelValue = common.inputWrapperG.unsafe_getF(xx, yy);
+
+						common.updateMixture(pixelValue, modelRow, indexModel);
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void _segment( Motion currentToWorld, T frame, GrayU8 segmented ) {
+		common.inputWrapperG.wrap(frame);
+		transform.setModel(currentToWorld);
+		common.unknownValue = unknownValue;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePoints, ( work, y0, y1 ) -> {
+			final Point2Transform2_F32 transform = this.transform.copyConcurrent();
+
+			for (int y = y0; y < y1; y++) {
+				int indexOut = segmented.startIndex + y*segmented.stride;
+				for (int x = 0; x < frame.width; x++, indexOut++) {
+
+					transform.compute(x, y, work);
+
+					int xx = (int)(work.x + 0.5f);
+					int yy = (int)(work.y + 0.5f);
+
+					if (work.x >= 0 && xx < backgroundWidth && work.y >= 0 && yy < backgroundHeight) {
+
+						float pixelValue = common.inputWrapperG.unsafe_getF(x, y);
+
+						float[] modelRow = common.model.data[yy];
+						int indexModel = xx*common.modelStride;
+
+						segmented.data[indexOut] = (byte)common.checkBackground(pixelValue, modelRow, indexModel);
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexOut] = unknownValue;
+					}
+				}
+			}
+		});
+	}
+}
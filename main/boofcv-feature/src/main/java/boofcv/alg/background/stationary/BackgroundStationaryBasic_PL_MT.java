@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import org.ddogleg.struct.DogArray_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryBasic_PL}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryBasic_PL_MT<T extends ImageGray<T>>
+		extends BackgroundStationaryBasic_PL<T> {
+	// Storage for the input pixel in each thread
+	final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
+
+	public BackgroundStationaryBasic_PL_MT( float learnRate, float threshold, ImageType<Planar<T>> imageType ) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	public void updateBackground( Planar<T> frame ) {
+		// The first frame is used to initialize the background
+		if (background.width != frame.width) {
+			super.updateBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame);
+
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands();
+		final float minusLearn = 1.0f - learnRate;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixels = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixels);
+
+					for (int band = 0; band < numBands; band++) {
+						GrayF32 backgroundBand = background.getBand(band);
+						backgroundBand.data[indexBG] = minusLearn*backgroundBand.data[indexBG] + learnRate*inputPixels[band];
+					}
+
+					indexInput++;
+					indexBG++;
+				}
+			}
+		});
+	}
+
+	@Override
+	public void segment( Planar<T> frame, GrayU8 segmented ) {
+		if (background.width != frame.width) {
+			super.segment(frame, segmented);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame, segmented);
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands();
+		final float thresholdSq = numBands*threshold*threshold;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixels = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixels);
+
+					double sumErrorSq = 0;
+					for (int band = 0; band < numBands; band++) {
+						float diff = background.getBand(band).data[indexBG] - inputPixels[band];
+						sumErrorSq += diff*diff;
+					}
+
+					if (sumErrorSq <= thresholdSq) {
+						segmented.data[indexSegmented] = 0;
+					} else {
+						segmented.data[indexSegmented] = 1;
+					}
+
+					indexInput++;
+					indexSegmented++;
+					indexBG++;
+				}
+			}
+		});
+	}
+}
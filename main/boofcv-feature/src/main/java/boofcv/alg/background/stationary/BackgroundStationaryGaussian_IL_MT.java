@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.DogArray_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryGaussian_IL}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGaussian_IL_MT<T extends ImageInterleaved<T>>
+		extends BackgroundStationaryGaussian_IL<T> {
+	// Storage for the input pixel in each thread
+	final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
+
+	public BackgroundStationaryGaussian_IL_MT( float learnRate, float threshold, ImageType<T> imageType ) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	public void updateBackground( T frame ) {
+		// The first frame is used to initialize the background
+		if (background.width == 1) {
+			super.updateBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame);
+
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands()/2;
+		final float minusLearn = 1.0f - learnRate;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixel = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int end = indexInput + frame.width*numBands;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixel);
+
+					for (int band = 0; band < numBands; band++) {
+						float inputValue = inputPixel[band];
+						float meanBG = background.data[indexBG];
+						float varianceBG = background.data[indexBG + 1];
+
+						float diff = meanBG - inputValue;
+						background.data[indexBG++] = minusLearn*meanBG + learnRate*inputValue;
+						background.data[indexBG++] = minusLearn*varianceBG + learnRate*diff*diff;
+					}
+
+					indexInput += frame.numBands;
+				}
+			}
+		});
+	}
+
+	@Override
+	public void segment( T frame, GrayU8 segmented ) {
+		if (background.width == 1) {
+			super.segment(frame, segmented);
+			return;
+		}
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands()/2;
+		final float adjustedMinimumDifference = minimumDifference*numBands;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixel = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				int end = indexInput + frame.width*frame.numBands;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixel);
+
+					float mahalanobis = 0;
+					for (int band = 0; band < numBands; band++) {
+						int indexBG_band = indexBG + band*2;
+
+						float meanBG = background.data[indexBG_band];
+						float varBG = background.data[indexBG_band + 1];
+
+						float diff = meanBG - inputPixel[band];
+						mahalanobis += diff*diff/varBG;
+					}
+
+					if (mahalanobis <= threshold) {
+						segmented.data[indexSegmented] = 0;
+					} else {
+						if (minimumDifference == 0) {
+							segmented.data[indexSegmented] = 1;
+						} else {
+							float sumAbsDiff = 0;
+							for (int band = 0; band < numBands; band++) {
+								int indexBG_band = indexBG + band*2;
+								sumAbsDiff += Math.abs(background.data[indexBG_band] - inputPixel[band]);
+							}
+							if (sumAbsDiff >= adjustedMinimumDifference)
+								segmented.data[indexSegmented] = 1;
+							else
+								segmented.data[indexSegmented] = 0;
+						}
+					}
+
+					indexInput += frame.numBands;
+					indexSegmented += 1;
+					indexBG += background.numBands;
+				}
+			}
+		});
+	}
+}
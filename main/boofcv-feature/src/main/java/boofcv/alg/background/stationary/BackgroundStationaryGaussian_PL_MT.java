@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import org.ddogleg.struct.DogArray_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryGaussian_PL}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGaussian_PL_MT<T extends ImageGray<T>>
+		extends BackgroundStationaryGaussian_PL<T> {
+	// Storage for the input pixel in each thread
+	final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
+
+	public BackgroundStationaryGaussian_PL_MT( float learnRate, float threshold, ImageType<Planar<T>> imageType ) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	public void updateBackground( Planar<T> frame ) {
+		// The first frame is used to initialize the background
+		if (background.width == 1) {
+			super.updateBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame);
+
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands()/2;
+		final float minusLearn = 1.0f - learnRate;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixel = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixel);
+
+					for (int band = 0; band < numBands; band++) {
+						GrayF32 backgroundMean = background.getBand(band*2);
+						GrayF32 backgroundVar = background.getBand(band*2 + 1);
+
+						float inputValue = inputPixel[band];
+						float meanBG = backgroundMean.data[indexBG];
+						float varianceBG = backgroundVar.data[indexBG];
+
+						float diff = meanBG - inputValue;
+						backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+						backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+					}
+
+					indexInput++;
+					indexBG++;
+				}
+			}
+		});
+	}
+
+	@Override
+	public void segment( Planar<T> frame, GrayU8 segmented ) {
+		if (background.width == 1) {
+			super.segment(frame, segmented);
+			return;
+		}
+		inputWrapper.wrap(frame);
+
+		final int numBands = background.getNumBands()/2;
+		final float adjustedMinimumDifference = minimumDifference*numBands;
+
+		BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+			pixel.resize(numBands);
+			final float[] inputPixel = pixel.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*background.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					inputWrapper.getF(indexInput, inputPixel);
+
+					float mahalanobis = 0;
+					for (int band = 0; band < numBands; band++) {
+						GrayF32 backgroundMean = background.getBand(band*2);
+						GrayF32 backgroundVar = background.getBand(band*2 + 1);
+
+						float meanBG = backgroundMean.data[indexBG];
+						float varBG = backgroundVar.data[indexBG];
+
+						float diff = meanBG - inputPixel[band];
+						mahalanobis += diff*diff/varBG;
+					}
+
+					if (mahalanobis <= threshold) {
+						segmented.data[indexSegmented] = 0;
+					} else {
+						if (minimumDifference == 0) {
+							segmented.data[indexSegmented] = 1;
+						} else {
+							float sumAbsDiff = 0;
+							for (int band = 0; band < numBands; band++) {
+								GrayF32 backgroundMean = background.getBand(band*2);
+								sumAbsDiff += Math.abs(backgroundMean.data[indexBG] - inputPixel[band]);
+							}
+							if (sumAbsDiff >= adjustedMinimumDifference)
+								segmented.data[indexSegmented] = 1;
+							else
+								segmented.data[indexSegmented] = 0;
+						}
+					}
+
+					indexInput++;
+					indexSegmented++;
+					indexBG++;
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Concurrent implementation of {@link BackgroundStationaryGaussian_SB}
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGaussian_SB_MT<T extends ImageGray<T>>
+		extends BackgroundStationaryGaussian_SB<T> {
+	public BackgroundStationaryGaussian_SB_MT( float learnRate, float threshold, Class<T> imageType ) {
+		super(learnRate, threshold, imageType);
+	}
+
+	@Override
+	public void updateBackground( T frame ) {
+		// The first frame is used to initialize the background
+		if (background.width == 1) {
+			super.updateBackground(frame);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame);
+
+		inputWrapper.wrap(frame);
+
+		final float minusLearn = 1.0f - learnRate;
+
+		final GrayF32 backgroundMean = background.getBand(0);
+		final GrayF32 backgroundVar = background.getBand(1);
+
+		BoofConcurrency.loopBlocks(0, frame.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*backgroundMean.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					float inputValue = inputWrapper.getF(indexInput);
+					float meanBG = backgroundMean.data[indexBG];
+					float varianceBG = backgroundVar.data[indexBG];
+
+					float diff = meanBG - inputValue;
+					backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+					backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+
+					indexBG++;
+					indexInput++;
+				}
+			}
+		});
+	}
+
+	@Override
+	public void segment( T frame, GrayU8 segmented ) {
+		if (background.width == 1) {
+			super.segment(frame, segmented);
+			return;
+		}
+		InputSanityCheck.checkSameShape(background, frame, segmented);
+		inputWrapper.wrap(frame);
+
+		final GrayF32 backgroundMean = background.getBand(0);
+		final GrayF32 backgroundVar = background.getBand(1);
+
+		BoofConcurrency.loopBlocks(0, frame.height, ( y0, y1 ) -> {
+			for (int y = y0; y < y1; y++) {
+				int indexBG = y*backgroundMean.stride;
+				int indexInput = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				int end = indexInput + frame.width;
+				while (indexInput < end) {
+					float pixelFrame = inputWrapper.getF(indexInput);
+
+					float meanBG = backgroundMean.data[indexBG];
+					float varBG = backgroundVar.data[indexBG];
+
+					float diff = meanBG - pixelFrame;
+					float chisq = diff*diff/varBG;
+
+					if (chisq <= threshold) {
+						segmented.data[indexSegmented] = 0;
+					} else {
+						if (diff >= minimumDifference || -diff >= minimumDifference)
+							segmented.data[indexSegmented] = 1;
+						else
+							segmented.data[indexSegmented] = 0;
+					}
+
+					indexInput++;
+					indexSegmented++;
+					indexBG++;
+				}
+			}
+		});
+	}
+}
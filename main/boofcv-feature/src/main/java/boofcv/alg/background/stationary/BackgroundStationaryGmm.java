@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -58,7 +58,15 @@ public abstract class BackgroundStationaryGmm<T extends ImageBase<T>>
 	 */
 	@Override
 	public void updateBackground( T frame, @Nullable GrayU8 mask ) {
+		initializeModel(frame, mask);
+	}
 
+	/**
+	 * Ensures the model and mask match the shape of the input frame
+	 *
+	 * @param mask If null then the background mask is ignored
+	 */
+	protected void initializeModel( T frame, @Nullable GrayU8 mask ) {
 		// if the image size has changed it's safe to assume it needs to be re-initialized
 		if (common.imageWidth != frame.width || common.imageHeight != frame.height) {
 			common.imageWidth = frame.width;
@@ -202,6 +202,80 @@ public class DescriptorDistance {
 		return score;
 	}
 
+	/**
+	 * Returns the Euclidean distance squared between two descriptors stored inside of packed arrays.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first element in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the first element in the second descriptor
+	 * @param length Number of elements in a descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+		double total = 0;
+		for (int i = 0; i < length; i++) {
+			double d = a[offsetA + i] - b[offsetB + i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Returns the Euclidean distance squared between two descriptors stored inside of packed arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double euclideanSq( float[] a, int offsetA, float[] b, int offsetB, int length ) {
+		float total = 0;
+		for (int i = 0; i < length; i++) {
+			float d = a[offsetA + i] - b[offsetB + i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors stored inside of packed arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static double sad( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+		double total = 0;
+		for (int i = 0; i < length; i++) {
+			total += Math.abs(a[offsetA + i] - b[offsetB + i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Sum of absolute difference (SAD) score between two descriptors stored inside of packed arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static float sad( float[] a, int offsetA, float[] b, int offsetB, int length ) {
+		float total = 0;
+		for (int i = 0; i < length; i++) {
+			total += Math.abs(a[offsetA + i] - b[offsetB + i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Computes the hamming distance between two binary feature descriptors stored inside of packed arrays.
+	 *
+	 * @see #euclideanSq(double[], int, double[], int, int)
+	 */
+	public static int hamming( int[] a, int offsetA, int[] b, int offsetB, int length ) {
+		int score = 0;
+		for (int i = 0; i < length; i++) {
+			score += hamming(a[offsetA + i] ^ b[offsetB + i]);
+		}
+		return score;
+	}
+
 	/**
 	 * <p>Computes the hamming distance.  A bit = 0 is a match and 1 is not match<p>
 	 *
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import boofcv.struct.feature.TupleDesc_B;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Nearest neighbor search for binary descriptors using Multi-Index Hashing (MIH) [1]. The descriptor is split into
+ * several disjoint substrings and each substring is used as the key in its own hash table. If two descriptors are
+ * within a Hamming distance of r, then by the pigeon hole principle at least one of their m substrings must be within
+ * a distance of floor(r/m). Candidates are found by looking up every key within an increasing substring radius
+ * in each table. Once the k-th best distance is less than the smallest distance an unseen descriptor could have
+ * the search stops and the solution is exact.
+ * </p>
+ *
+ * <p>
+ * Search speed can be traded for recall by limiting the substring radius which is searched or the maximum number of
+ * candidates which are examined. In both cases the search is no longer guaranteed to find the true nearest
+ * neighbor. Hash tables are stored as a compressed array of buckets with one entry for every possible key,
+ * so substrings are limited to {@link #MAX_SUBSTRING_BITS} bits.
+ * </p>
+ *
+ * <p>
+ * The distance returned is the Hamming distance. Searches are thread safe as long as each thread uses its own
+ * {@link Search} and the points are not modified.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index hashing."
+ * CVPR 2012.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MultiIndexHashing_B implements NearestNeighbor<TupleDesc_B> {
+	/** Maximum number of bits in a substring */
+	public static final int MAX_SUBSTRING_BITS = 20;
+
+	/** Number of hash tables. If &le; 0 then it's selected using the number of points. */
+	@Getter @Setter int numTables;
+
+	/** Maximum radius searched inside each substring. If &lt; 0 then there is no limit and the search is exact. */
+	@Getter @Setter int maxSubstringRadius = -1;
+
+	/** Maximum number of candidates examined in a search. If &le; 0 then there is no limit. */
+	@Getter @Setter int maxCandidates = -1;
+
+	// Points which are being searched
+	List<TupleDesc_B> points;
+
+	// Hash tables for each substring
+	final DogArray<Table> tables = new DogArray<>(Table::new);
+
+	/**
+	 * @param numTables Number of hash tables. If &le; 0 then it's selected using the number of points.
+	 */
+	public MultiIndexHashing_B( int numTables ) {
+		this.numTables = numTables;
+	}
+
+	public MultiIndexHashing_B() {
+		this(-1);
+	}
+
+	@Override
+	public void setPoints( List<TupleDesc_B> points, boolean trackIndicies ) {
+		this.points = points;
+		tables.reset();
+		if (points.isEmpty())
+			return;
+
+		final int numBits = points.get(0).numBits;
+		selectSubstrings(numBits, points.size());
+
+		for (int tableIdx = 0; tableIdx < tables.size; tableIdx++) {
+			tables.get(tableIdx).build(points);
+		}
+	}
+
+	/**
+	 * Splits the descriptor into substrings of nearly equal length. If not specified, the number of tables is
+	 * selected so that the number of bits in a substring is about log2 of the number of points, as recommended
+	 * in the paper.
+	 */
+	void selectSubstrings( int numBits, int numPoints ) {
+		int m = numTables;
+		if (m <= 0) {
+			int targetBits = Math.max(1, (int)Math.round(Math.log(numPoints)/Math.log(2)));
+			m = Math.max(1, (int)Math.round(numBits/(double)targetBits));
+		}
+		m = Math.min(m, numBits);
+		if ((numBits + m - 1)/m > MAX_SUBSTRING_BITS) {
+			if (numTables > 0)
+				throw new IllegalArgumentException("Too few tables. Substrings would have more than " +
+						MAX_SUBSTRING_BITS + " bits");
+			m = (numBits + MAX_SUBSTRING_BITS - 1)/MAX_SUBSTRING_BITS;
+		}
+
+		int offset = 0;
+		for (int i = 0; i < m; i++) {
+			Table t = tables.grow();
+			t.bitOffset = offset;
+			t.bitLength = numBits/m + (i < numBits%m ? 1 : 0);
+			offset += t.bitLength;
+		}
+	}
+
+	@Override
+	public Search<TupleDesc_B> createSearch() {
+		return new MihSearch();
+	}
+
+	/**
+	 * Extracts a substring from the descriptor and returns it as an integer
+	 */
+	static int substring( TupleDesc_B desc, int bitOffset, int bitLength ) {
+		final int[] data = desc.data;
+		int word = bitOffset/32;
+		int shift = bitOffset%32;
+		long bits = data[word] & 0xFFFFFFFFL;
+		if (shift + bitLength > 32)
+			bits |= ((long)data[word + 1]) << 32;
+		return (int)((bits >>> shift) & ((1L << bitLength) - 1));
+	}
+
+	/**
+	 * Hash table for a single substring. Point indexes are sorted by their key and the start of each bucket is saved.
+	 */
+	static class Table {
+		// Location and size of the substring
+		int bitOffset;
+		int bitLength;
+
+		// Index in 'indexes' that each bucket starts at. Bucket 'i' ends at bucketStart[i+1]
+		final DogArray_I32 bucketStart = new DogArray_I32();
+		// Point indexes sorted by key
+		final DogArray_I32 indexes = new DogArray_I32();
+		// Key for each point
+		final DogArray_I32 keys = new DogArray_I32();
+
+		void build( List<TupleDesc_B> points ) {
+			final int numBuckets = 1 << bitLength;
+			final int N = points.size();
+
+			// count the number of points in each bucket
+			keys.resize(N);
+			bucketStart.resize(numBuckets + 1);
+			bucketStart.fill(0);
+			for (int i = 0; i < N; i++) {
+				int key = substring(points.get(i), bitOffset, bitLength);
+				keys.data[i] = key;
+				bucketStart.data[key + 1]++;
+			}
+
+			// convert the counts into the start of each bucket
+			for (int i = 0; i < numBuckets; i++) {
+				bucketStart.data[i + 1] += bucketStart.data[i];
+			}
+
+			// fill in the buckets. keys is used to track where the next point goes
+			indexes.resize(N);
+			for (int i = 0; i < N; i++) {
+				int key = keys.data[i];
+				indexes.data[bucketStart.data[key]++] = i;
+			}
+
+			// undo the shift caused by filling in the buckets
+			for (int i = numBuckets; i > 0; i--) {
+				bucketStart.data[i] = bucketStart.data[i - 1];
+			}
+			bucketStart.data[0] = 0;
+		}
+	}
+
+	/**
+	 * Searches the hash tables for the closest points. Each thread should have its own instance.
+	 */
+	public class MihSearch implements Search<TupleDesc_B> {
+		// Used to mark which points have already been examined. A point was examined if its value is 'stamp'
+		final DogArray_I32 visited = new DogArray_I32();
+		int stamp = 0;
+
+		// Best points found so far sorted by distance
+		final DogArray_I32 bestIndexes = new DogArray_I32();
+		final DogArray_I32 bestDistances = new DogArray_I32();
+
+		// Number of neighbors being searched for and the maximum allowed distance
+		int numNeighbors;
+		int maxDistance;
+		// Number of candidates which have been examined
+		int totalCandidates;
+
+		@Override
+		public boolean findNearest( TupleDesc_B point, double maxDistance, NnData<TupleDesc_B> result ) {
+			search(point, maxDistance, 1);
+			if (bestIndexes.size == 0)
+				return false;
+			int index = bestIndexes.get(0);
+			result.point = points.get(index);
+			result.index = index;
+			result.distance = bestDistances.get(0);
+			return true;
+		}
+
+		@Override
+		public void findNearest( TupleDesc_B point, double maxDistance, int numNeighbors,
+								 DogArray<NnData<TupleDesc_B>> results ) {
+			results.reset();
+			search(point, maxDistance, numNeighbors);
+			for (int i = 0; i < bestIndexes.size; i++) {
+				int index = bestIndexes.get(i);
+				NnData<TupleDesc_B> r = results.grow();
+				r.point = points.get(index);
+				r.index = index;
+				r.distance = bestDistances.get(i);
+			}
+		}
+
+		/**
+		 * Searches each table using an increasing substring radius until the best solution is known or a limit
+		 * has been reached
+		 */
+		void search( TupleDesc_B point, double maxDistance, int numNeighbors ) {
+			bestIndexes.reset();
+			bestDistances.reset();
+			if (tables.size == 0)
+				return;
+
+			this.numNeighbors = numNeighbors;
+			this.maxDistance = maxDistance < 0 ? Integer.MAX_VALUE : (int)maxDistance;
+			this.totalCandidates = 0;
+			startNewSearch();
+
+			int largestLength = 0;
+			for (int tableIdx = 0; tableIdx < tables.size; tableIdx++) {
+				largestLength = Math.max(largestLength, tables.get(tableIdx).bitLength);
+			}
+			int radiusLimit = maxSubstringRadius < 0 ? largestLength : Math.min(largestLength, maxSubstringRadius);
+
+			for (int radius = 0; radius <= radiusLimit; radius++) {
+				for (int tableIdx = 0; tableIdx < tables.size; tableIdx++) {
+					if (!searchTable(tables.get(tableIdx), point, radius))
+						return;
+				}
+
+				// Any point which has not been examined must differ by at least radius+1 in every substring
+				long lowerBound = (long)tables.size*(radius + 1);
+				if (lowerBound > this.maxDistance)
+					return;
+				if (bestDistances.size == numNeighbors && bestDistances.getTail(0) < lowerBound)
+					return;
+			}
+		}
+
+		/**
+		 * Examines every point in the table whose key differs from the point's key by exactly 'radius' bits
+		 *
+		 * @return false if the maximum number of candidates has been exceeded
+		 */
+		boolean searchTable( Table table, TupleDesc_B point, int radius ) {
+			if (radius > table.bitLength)
+				return true;
+
+			final int key = substring(point, table.bitOffset, table.bitLength);
+			final int limit = 1 << table.bitLength;
+
+			// Go through all the bit masks with 'radius' bits set using Gosper's hack
+			int mask = (1 << radius) - 1;
+			while (mask < limit) {
+				int bucket = key ^ mask;
+				int idx0 = table.bucketStart.data[bucket];
+				int idx1 = table.bucketStart.data[bucket + 1];
+				for (int i = idx0; i < idx1; i++) {
+					checkCandidate(table.indexes.data[i], point);
+				}
+				if (maxCandidates > 0 && totalCandidates >= maxCandidates)
+					return false;
+
+				if (mask == 0)
+					break;
+				int c = mask & -mask;
+				int r = mask + c;
+				mask = (((r ^ mask) >>> 2)/c) | r;
+			}
+			return true;
+		}
+
+		/**
+		 * Computes the distance to the candidate, if it has not already been examined, and adds it to the
+		 * list of best solutions if it's good enough
+		 */
+		void checkCandidate( int index, TupleDesc_B point ) {
+			if (visited.data[index] == stamp)
+				return;
+			visited.data[index] = stamp;
+			totalCandidates++;
+
+			int distance = DescriptorDistance.hamming(point, points.get(index));
+			if (distance > maxDistance)
+				return;
+			if (bestDistances.size == numNeighbors) {
+				if (distance >= bestDistances.getTail(0))
+					return;
+				bestDistances.removeTail();
+				bestIndexes.removeTail();
+			}
+
+			// insertion sort to keep the best solutions in order
+			int location = bestDistances.size;
+			while (location > 0 && bestDistances.data[location - 1] > distance) {
+				location--;
+			}
+			bestDistances.insert(location, distance);
+			bestIndexes.insert(location, index);
+		}
+
+		/**
+		 * Updates the stamp so that all points are marked as not visited
+		 */
+		void startNewSearch() {
+			int N = points.size();
+			if (visited.size != N || stamp == Integer.MAX_VALUE) {
+				visited.resize(N);
+				visited.fill(0);
+				stamp = 0;
+			}
+			stamp++;
+		}
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastAccess;
 
@@ -112,4 +113,64 @@ public class AssociateGreedyDesc<D> extends AssociateGreedyDescBase<D> {
 			//CONCURRENT_ABOVE });
 		}
 	}
+
+	/**
+	 * Associates the two sets objects against each other by minimizing fit score. Same as
+	 * {@link #associate(FastAccess, FastAccess)} but descriptors are read directly from packed arrays.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	@Override
+	public void associate( final PackedTupleArray<D> src , final PackedTupleArray<D> dst )
+	{
+		final int sizeSrc = src.size();
+		final int sizeDst = dst.size();
+		setupForAssociate(sizeSrc,sizeDst);
+
+		final double ratioTest = this.ratioTest;
+
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, sizeSrc, i -> {
+		for( int i = 0; i < sizeSrc; i++ ) {
+			double bestScore = maxFitError;
+			double secondBest = bestScore;
+			int bestIndex = -1;
+
+			final int workIdx = i*sizeDst;
+			for( int j = 0; j < sizeDst; j++ ) {
+				double fit = score.score(src,i,dst,j);
+				scoreMatrix.set(workIdx+j,fit);
+
+				if( fit <= bestScore ) {
+					bestIndex = j;
+					secondBest = bestScore;
+					bestScore = fit;
+				}
+			}
+
+			if( ratioTest < 1.0 && bestIndex != -1 && bestScore != 0.0 ) {
+				// the second best could lie after the best was seen
+				for (int j = bestIndex+1; j < sizeDst; j++) {
+					double fit = scoreMatrix.get(workIdx+j);
+					if( fit < secondBest ) {
+						secondBest = fit;
+					}
+				}
+				pairs.set(i,secondBest*ratioTest >= bestScore ? bestIndex : -1);
+			} else {
+				pairs.set(i,bestIndex);
+			}
+
+			fitQuality.set(i,bestScore);
+		}
+		//CONCURRENT_ABOVE });
+
+		if( backwardsValidation ) {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, sizeSrc, i -> {
+			for( int i = 0; i < sizeSrc; i++ ) {
+				forwardsBackwards(i,sizeSrc,sizeDst);
+			}
+			//CONCURRENT_ABOVE });
+		}
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.struct.FastAccess;
 
 /**
@@ -39,4 +40,13 @@ public abstract class AssociateGreedyDescBase<D> extends AssociateGreedyBase<D>{
 	 */
 	public abstract void associate(FastAccess<D> src , FastAccess<D> dst );
 
+	/**
+	 * Associates the two sets objects against each other by minimizing fit score. Descriptors are read
+	 * directly from the packed arrays.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	public abstract void associate(PackedTupleArray<D> src , PackedTupleArray<D> dst );
+
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.brief;
+
+import boofcv.core.image.FactoryGImageGray;
+import boofcv.core.image.GImageGray;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I32;
+import lombok.Getter;
+import org.ddogleg.sorting.QuickSort_F32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Learns which pairs of points should be compared in a BRIEF descriptor using the greedy search described in the ORB
+ * paper [1]. A large set of candidate tests are randomly generated and evaluated on training patches. Tests are
+ * then considered in order of how close their mean response is to 0.5, i.e. how much variance they have, and
+ * selected only if their correlation with all previously selected tests is below a threshold. If not enough
+ * tests are found then the threshold is relaxed and the search is repeated.
+ * </p>
+ *
+ * <p>
+ * Training patches should come from the same detector and should be sampled from an image which has been blurred
+ * the same way the descriptor will blur it. The orientation of each patch is removed before its tests are evaluated.
+ * </p>
+ *
+ * <p>
+ * [1] Rublee, Ethan, et al. "ORB: An efficient alternative to SIFT or SURF." ICCV 2011.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LearnBriefDefinition {
+	/** Radius of the region the tests are sampled inside of */
+	@Getter final int radius;
+
+	/** Correlation threshold that the selected tests satisfy. Can be larger than requested if it was relaxed */
+	@Getter double selectedThreshold;
+
+	// Candidate tests. Each test compares the value at pointA against the value at pointB
+	final DogArray<Point2D_I32> pointsA = new DogArray<>(Point2D_I32::new);
+	final DogArray<Point2D_I32> pointsB = new DogArray<>(Point2D_I32::new);
+
+	// Outcome of every candidate test for each patch. Each patch is stored as a bit field in a block of words
+	final DogArray_I32 outcomes = new DogArray_I32();
+	// Number of words in each patch's block
+	final int wordsPerPatch;
+	/** Number of training patches which have been added */
+	@Getter int numPatches;
+
+	/**
+	 * Creates the set of candidate tests.
+	 *
+	 * @param radius Radius of the region tests are sampled inside of
+	 * @param numCandidates Number of randomly generated candidate tests
+	 * @param rand Random number generator
+	 */
+	public LearnBriefDefinition( int radius, int numCandidates, Random rand ) {
+		this.radius = radius;
+		this.wordsPerPatch = (numCandidates + 31)/32;
+
+		for (int i = 0; i < numCandidates; i++) {
+			Point2D_I32 a = pointsA.grow();
+			Point2D_I32 b = pointsB.grow();
+			randomInsideCircle(rand, a);
+			do {
+				randomInsideCircle(rand, b);
+			} while (a.x == b.x && a.y == b.y);
+		}
+	}
+
+	private void randomInsideCircle( Random rand, Point2D_I32 p ) {
+		do {
+			p.x = rand.nextInt(radius*2 + 1) - radius;
+			p.y = rand.nextInt(radius*2 + 1) - radius;
+		} while (p.x*p.x + p.y*p.y > radius*radius);
+	}
+
+	/**
+	 * Discards all training patches
+	 */
+	public void reset() {
+		outcomes.reset();
+		numPatches = 0;
+	}
+
+	/**
+	 * Evaluates all the candidate tests on the patch centered at the specified location.
+	 *
+	 * @param input Image the patch is sampled from
+	 * @param cx Patch center x-coordinate
+	 * @param cy Patch center y-coordinate
+	 * @param orientation Orientation of the patch
+	 * @return true if the patch was added or false if it was too close to the image border
+	 */
+	public boolean addPatch( ImageGray<?> input, double cx, double cy, double orientation ) {
+		// make sure every rotated point is inside the image
+		if (cx - radius - 1 < 0 || cy - radius - 1 < 0 || cx + radius + 1 >= input.width || cy + radius + 1 >= input.height)
+			return false;
+
+		GImageGray image = FactoryGImageGray.wrap(input);
+
+		double c = Math.cos(orientation);
+		double s = Math.sin(orientation);
+
+		int offset = outcomes.size;
+		outcomes.extend(offset + wordsPerPatch);
+		Arrays.fill(outcomes.data, offset, outcomes.size, 0);
+
+		for (int i = 0; i < pointsA.size; i++) {
+			float valueA = sample(image, pointsA.get(i), cx, cy, c, s);
+			float valueB = sample(image, pointsB.get(i), cx, cy, c, s);
+			if (valueA < valueB) {
+				outcomes.data[offset + i/32] |= 1 << (i%32);
+			}
+		}
+		numPatches++;
+		return true;
+	}
+
+	private static float sample( GImageGray image, Point2D_I32 p, double cx, double cy, double c, double s ) {
+		int x = (int)(cx + c*p.x - s*p.y + 0.5);
+		int y = (int)(cy + s*p.x + c*p.y + 0.5);
+		return image.unsafe_getF(x, y);
+	}
+
+	/**
+	 * Selects tests from the candidates using the training patches.
+	 *
+	 * @param numPairs Number of tests in the descriptor
+	 * @param maxCorrelation Initial maximum allowed correlation between two selected tests. Try 0.2
+	 * @return Definition of the descriptor
+	 */
+	public BinaryCompareDefinition_I32 learn( int numPairs, double maxCorrelation ) {
+		if (numPatches < 2)
+			throw new IllegalArgumentException("Need at least two training patches");
+		if (numPairs > pointsA.size)
+			throw new IllegalArgumentException("More pairs requested than there are candidates");
+
+		final int numCandidates = pointsA.size;
+
+		// Transpose so that the outcome of a test across all patches is in a contiguous bit field
+		int wordsPerTest = (numPatches + 31)/32;
+		int[] responses = new int[numCandidates*wordsPerTest];
+		for (int patch = 0; patch < numPatches; patch++) {
+			int offset = patch*wordsPerPatch;
+			for (int test = 0; test < numCandidates; test++) {
+				if ((outcomes.data[offset + test/32] & (1 << (test%32))) != 0) {
+					responses[test*wordsPerTest + patch/32] |= 1 << (patch%32);
+				}
+			}
+		}
+
+		// Order the tests by how close their mean response is to 0.5
+		double[] means = new double[numCandidates];
+		float[] distance = new float[numCandidates];
+		int[] order = new int[numCandidates];
+		for (int test = 0; test < numCandidates; test++) {
+			means[test] = countOnes(responses, test*wordsPerTest, wordsPerTest)/(double)numPatches;
+			distance[test] = (float)Math.abs(means[test] - 0.5);
+		}
+		new QuickSort_F32().sort(distance, 0, numCandidates, order);
+
+		// Greedily select tests, relaxing the threshold if not enough uncorrelated tests could be found
+		var selected = new DogArray_I32(numPairs);
+		double threshold = maxCorrelation;
+		while (true) {
+			selected.reset();
+			for (int i = 0; i < numCandidates && selected.size < numPairs; i++) {
+				int test = order[i];
+				boolean accept = true;
+				for (int j = 0; j < selected.size; j++) {
+					int other = selected.data[j];
+					if (Math.abs(correlation(responses, wordsPerTest, test, other, means)) > threshold) {
+						accept = false;
+						break;
+					}
+				}
+				if (accept)
+					selected.add(test);
+			}
+			if (selected.size == numPairs || threshold >= 1.0)
+				break;
+			threshold = Math.min(1.0, threshold + 0.05);
+		}
+		selectedThreshold = threshold;
+
+		var definition = new BinaryCompareDefinition_I32(radius, numPairs*2, numPairs);
+		for (int i = 0; i < numPairs; i++) {
+			int test = selected.get(i);
+			definition.samplePoints[i].setTo(pointsA.get(test));
+			definition.samplePoints[i + numPairs].setTo(pointsB.get(test));
+			definition.compare[i].setTo(i, i + numPairs);
+		}
+		return definition;
+	}
+
+	/**
+	 * Pearson correlation between the outcomes of two binary tests across all the training patches. Tests which
+	 * always have the same outcome carry no information and are treated as perfectly correlated.
+	 */
+	double correlation( int[] responses, int wordsPerTest, int testA, int testB, double[] means ) {
+		double meanA = means[testA];
+		double meanB = means[testB];
+		double variance = meanA*(1.0 - meanA)*meanB*(1.0 - meanB);
+		if (variance == 0.0)
+			return 1.0;
+
+		int offsetA = testA*wordsPerTest;
+		int offsetB = testB*wordsPerTest;
+		int both = 0;
+		for (int i = 0; i < wordsPerTest; i++) {
+			both += Integer.bitCount(responses[offsetA + i] & responses[offsetB + i]);
+		}
+		return (both/(double)numPatches - meanA*meanB)/Math.sqrt(variance);
+	}
+
+	private static int countOnes( int[] bits, int offset, int length ) {
+		int total = 0;
+		for (int i = 0; i < length; i++) {
+			total += Integer.bitCount(bits[offset + i]);
+		}
+		return total;
+	}
+
+	/** Number of candidate tests */
+	public int getNumCandidates() {
+		return pointsA.size;
+	}
+}
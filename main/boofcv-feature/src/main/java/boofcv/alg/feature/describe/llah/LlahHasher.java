@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -52,11 +52,11 @@ public abstract class LlahHasher {
 	/**
 	 * k^i in the hash function
 	 */
-	private long hashK;
+	@Getter private long hashK;
 	/**
 	 * The maximum value of the hash code
 	 */
-	private int hashSize;
+	@Getter private int hashSize;
 
 	// Used to compute all the combinations of a set
 	private Combinations<Point2D_F64> combinator = new Combinations<>();
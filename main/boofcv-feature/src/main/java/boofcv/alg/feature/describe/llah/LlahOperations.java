@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -30,6 +30,7 @@ import org.ddogleg.nn.NnData;
 import org.ddogleg.sorting.QuickSort_F64;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +51,10 @@ import java.util.stream.IntStream;
  * looking up documents these features are again computed for all points in view, but then the document
  * type is voted upon and returned.</p>
  *
+ * <p>Once all the documents have been added, {@link #packHashTable()} can be called to move the features into a
+ * {@link LlahPackedHashTable}, which uses much less memory and can be saved to disk. A saved table can be
+ * loaded again with {@link #setPackedTable} instead of recomputing the features of every document.</p>
+ *
  * <ol>
  *     <li>Nakai, Tomohiro, Koichi Kise, and Masakazu Iwamura.
  *     "Use of affine invariants in locally likely arrangement hashing for camera-based document image retrieval."
@@ -74,6 +79,8 @@ public class LlahOperations {
 	@Getter LlahHasher hasher;
 	// Used to look up features/documents
 	@Getter final LlahHashTable hashTable = new LlahHashTable();
+	// If not null then features are stored and looked up in this table instead of the hash table
+	@Getter @Nullable LlahPackedHashTable packedTable;
 
 	// List of all documents
 	@Getter final DogArray<LlahDocument> documents = new DogArray<>(LlahDocument::new, LlahDocument::reset);
@@ -88,7 +95,9 @@ public class LlahOperations {
 	private final DogArray<FoundDocument> resultsStorage = new DogArray<>(FoundDocument::new);
 	private final TIntObjectHashMap<FoundDocument> foundMap = new TIntObjectHashMap<>();
 
-	private final DogArray<LlahFeature> allFeatures;
+	private DogArray<LlahFeature> allFeatures;
+	// Storage for a feature being added to the packed table
+	private final LlahFeature featureWork;
 
 	// Used to compute all the combinations of a set
 	private final Combinations<Point2D_F64> combinator = new Combinations<>();
@@ -111,7 +120,12 @@ public class LlahOperations {
 		this.hasher = hasher;
 
 		angles = new double[numberOfNeighborsN];
-		allFeatures = new DogArray<>(() -> new LlahFeature(numberOfInvariants), LlahFeature::reset);
+		allFeatures = createFeatureStorage();
+		featureWork = new LlahFeature(numberOfInvariants);
+	}
+
+	private DogArray<LlahFeature> createFeatureStorage() {
+		return new DogArray<>(() -> new LlahFeature(numberOfInvariants), LlahFeature::reset);
 	}
 
 	/**
@@ -121,6 +135,61 @@ public class LlahOperations {
 		documents.reset();
 		allFeatures.reset();
 		hashTable.reset();
+		packedTable = null;
+	}
+
+	/**
+	 * Moves all the features from the hash table into a {@link LlahPackedHashTable}. Memory used by the features
+	 * is released and {@link LlahDocument#features} will be empty. Documents created after this will be
+	 * added to the packed table.
+	 *
+	 * @return The packed table
+	 */
+	public LlahPackedHashTable packHashTable() {
+		if (packedTable != null)
+			return packedTable;
+
+		var table = new LlahPackedHashTable(numberOfInvariants);
+		table.setFeatureSettings(numberOfNeighborsN, sizeOfCombinationM, hasher);
+		table.reserve(allFeatures.size);
+		for (int i = 0; i < allFeatures.size; i++) {
+			table.add(allFeatures.get(i));
+		}
+
+		// Release the memory used by the features
+		for (int i = 0; i < documents.size; i++) {
+			documents.get(i).features.clear();
+		}
+		hashTable.reset();
+		allFeatures = createFeatureStorage();
+		packedTable = table;
+		return table;
+	}
+
+	/**
+	 * Replaces all documents with the ones in a packed table, which was previously created by
+	 * {@link #packHashTable()}. Features are not recomputed, only landmark locations are copied.
+	 *
+	 * @param table Table containing the features of each document
+	 * @param landmarks Landmark locations in each document. Must be in the same order as when the table was created
+	 */
+	public void setPackedTable( LlahPackedHashTable table, List<List<Point2D_F64>> landmarks ) {
+		if (!table.isCompatible(numberOfNeighborsN, sizeOfCombinationM, hasher))
+			throw new IllegalArgumentException("Table was created with different settings");
+		if (table.getNumDocuments() != landmarks.size())
+			throw new IllegalArgumentException("Number of documents doesn't match. table=" +
+					table.getNumDocuments() + " landmarks=" + landmarks.size());
+
+		clearDocuments();
+		for (int i = 0; i < landmarks.size(); i++) {
+			List<Point2D_F64> locations2D = landmarks.get(i);
+			checkListSize(locations2D);
+
+			LlahDocument doc = documents.grow();
+			doc.documentID = i;
+			doc.landmarks.copyAll(locations2D, ( src, dst ) -> dst.setTo(src));
+		}
+		packedTable = table;
 	}
 
 	/**
@@ -195,6 +264,14 @@ public class LlahOperations {
 	}
 
 	private void createProcessor( LlahDocument doc, int idx ) {
+		if (packedTable != null) {
+			hasher.computeHash(permuteM, featureWork);
+			featureWork.landmarkID = idx;
+			featureWork.documentID = doc.documentID;
+			packedTable.add(featureWork);
+			return;
+		}
+
 		// Given this set compute the feature
 		LlahFeature feature = allFeatures.grow();
 		hasher.computeHash(permuteM, feature);
@@ -363,6 +440,11 @@ public class LlahOperations {
 		// Compute the feature for this set
 		hasher.computeHash(pointSet, featureComputed);
 
+		if (packedTable != null) {
+			lookupPacked(packedTable, featureComputed, booth);
+			return;
+		}
+
 		// Find the set of features which match this has code
 		LlahFeature foundFeat = hashTable.lookup(featureComputed.hashCode);
 		while (foundFeat != null) {
@@ -376,6 +458,21 @@ public class LlahOperations {
 		}
 	}
 
+	/**
+	 * Same as the inner loop in {@link #lookupProcessor} but with a packed table
+	 */
+	private void lookupPacked( LlahPackedHashTable table, LlahFeature featureComputed, DotVotingBooth booth ) {
+		int hashCode = featureComputed.hashCode;
+		int slot = table.lookupFirst(hashCode);
+		while (slot >= 0) {
+			if (table.doInvariantsMatch(slot, featureComputed)) {
+				DotToLandmark vote = booth.lookup(table.getDocumentID(slot), table.getLandmarkID(slot));
+				vote.count += 1;
+			}
+			slot = table.lookupNext(hashCode, slot);
+		}
+	}
+
 	/**
 	 * Abstracts the inner most step when computing features
 	 */
@@ -0,0 +1,505 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.llah;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Compact hash table for LLAH features that is an alternative to {@link LlahHashTable}. Instead of one object
+ * per feature, features are stored in primitive arrays and found using open addressing with linear probing.
+ * Invariants are stored as one byte each. This greatly reduces memory and makes it possible to save the table
+ * and then memory-map it, so a large library of documents can be used without recomputing its features at
+ * startup.
+ * </p>
+ *
+ * <p>
+ * Features are stored densely in the order they were added. A separate array of slots, whose size is a power
+ * of two, references each feature by its index. Features with the same hash code are found by probing until an
+ * empty slot is reached. Use {@link #lookupFirst(int)} and {@link #lookupNext(int, int)} to iterate through them.
+ * </p>
+ *
+ * <p>
+ * File format: A header of ints (magic, version, numInvariants, size, capacity, numDocuments, numberOfNeighborsN,
+ * sizeOfCombinationM, hashSize, samplesHash) and a long (hashK), followed by the slots, hash codes, document IDs,
+ * landmark IDs, and invariants. All values are big endian. A memory-mapped table is read only.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LlahPackedHashTable {
+	/** Identifies the file as a packed LLAH table. ASCII for "LLAH" */
+	public static final int MAGIC = 0x4C4C4148;
+	/** Current version of the format */
+	public static final int VERSION = 1;
+
+	// Number of bytes in the header
+	static final int HEADER_SIZE = 10*4 + 8;
+	// Number of ints written at once
+	static final int BUFFER_INTS = 16*1024;
+
+	/** Number of invariants in each feature */
+	@Getter final int numInvariants;
+	/** Number of features in the table */
+	@Getter int size;
+	/** Number of documents. One more than the largest document ID */
+	@Getter int numDocuments;
+
+	/** Fraction of slots which can be filled before the table grows. */
+	@Getter double maxLoadFactor = 0.5;
+
+	// Describes how the features were computed. Used to make sure a loaded table is compatible
+	@Getter int numberOfNeighborsN, sizeOfCombinationM, hashSize;
+	@Getter long hashK;
+	// Hash of the hasher's discretization samples
+	@Getter int samplesHash;
+
+	// If true then the table can't be modified
+	@Getter boolean readOnly;
+
+	// Index of the feature + 1 that is in each slot. 0 indicates that it's empty
+	IntBuffer slots;
+	// Number of bits in the slot index
+	int slotBits;
+
+	// Information on each feature
+	IntBuffer hashCodes;
+	IntBuffer documentIDs;
+	IntBuffer landmarkIDs;
+	ByteBuffer invariants;
+
+	/**
+	 * Creates an empty table
+	 *
+	 * @param numInvariants Number of invariants in each feature
+	 */
+	public LlahPackedHashTable( int numInvariants ) {
+		this.numInvariants = numInvariants;
+		allocateSlots(16);
+		allocateFeatures(16);
+	}
+
+	/**
+	 * Constructor used when loading a table
+	 */
+	LlahPackedHashTable( int numInvariants, int size, int capacity, IntBuffer slots,
+						 IntBuffer hashCodes, IntBuffer documentIDs, IntBuffer landmarkIDs, ByteBuffer invariants ) {
+		this.numInvariants = numInvariants;
+		this.size = size;
+		this.slots = slots;
+		this.slotBits = Integer.numberOfTrailingZeros(capacity);
+		this.hashCodes = hashCodes;
+		this.documentIDs = documentIDs;
+		this.landmarkIDs = landmarkIDs;
+		this.invariants = invariants;
+	}
+
+	/**
+	 * Specifies the settings used to compute the features. These are saved with the table.
+	 */
+	public void setFeatureSettings( int numberOfNeighborsN, int sizeOfCombinationM, LlahHasher hasher ) {
+		this.numberOfNeighborsN = numberOfNeighborsN;
+		this.sizeOfCombinationM = sizeOfCombinationM;
+		this.hashK = hasher.getHashK();
+		this.hashSize = hasher.getHashSize();
+		this.samplesHash = Arrays.hashCode(hasher.getSamples());
+	}
+
+	/**
+	 * Returns true if the features in this table were computed using the same settings
+	 */
+	public boolean isCompatible( int numberOfNeighborsN, int sizeOfCombinationM, LlahHasher hasher ) {
+		return this.numberOfNeighborsN == numberOfNeighborsN && this.sizeOfCombinationM == sizeOfCombinationM &&
+				this.numInvariants == hasher.getNumberOfInvariants(sizeOfCombinationM) &&
+				this.hashK == hasher.getHashK() && this.hashSize == hasher.getHashSize() &&
+				this.samplesHash == Arrays.hashCode(hasher.getSamples());
+	}
+
+	/**
+	 * Specifies the maximum load factor. Smaller values use more memory but lookups are faster.
+	 */
+	public void setMaxLoadFactor( double maxLoadFactor ) {
+		if (maxLoadFactor <= 0.0 || maxLoadFactor >= 1.0)
+			throw new IllegalArgumentException("Load factor must be between 0 and 1, exclusive");
+		this.maxLoadFactor = maxLoadFactor;
+	}
+
+	/**
+	 * Ensures there's enough space for the specified number of features without growing
+	 */
+	public void reserve( int numFeatures ) {
+		checkWritable();
+		if (numFeatures > hashCodes.capacity())
+			allocateFeatures(numFeatures);
+		int requiredSlots = Integer.highestOneBit((int)Math.min(1 << 30, (long)(numFeatures/maxLoadFactor)) - 1) << 1;
+		if (requiredSlots > slots.capacity())
+			rehash(requiredSlots);
+	}
+
+	/**
+	 * Adds a feature to the table
+	 */
+	public void add( LlahFeature feature ) {
+		add(feature.hashCode, feature.documentID, feature.landmarkID, feature.invariants);
+	}
+
+	/**
+	 * Adds a feature to the table
+	 */
+	public void add( int hashCode, int documentID, int landmarkID, int[] featureInvariants ) {
+		checkWritable();
+		if (featureInvariants.length != numInvariants)
+			throw new IllegalArgumentException("Unexpected number of invariants " + featureInvariants.length);
+
+		if (size == hashCodes.capacity())
+			allocateFeatures(size*2);
+		if (size + 1 > slots.capacity()*maxLoadFactor)
+			rehash(slots.capacity()*2);
+
+		int index = size++;
+		hashCodes.put(index, hashCode);
+		documentIDs.put(index, documentID);
+		landmarkIDs.put(index, landmarkID);
+		int offset = index*numInvariants;
+		for (int i = 0; i < numInvariants; i++) {
+			int value = featureInvariants[i];
+			if (value < 0 || value > 255)
+				throw new IllegalArgumentException("Invariants must be from 0 to 255, inclusive. value=" + value);
+			invariants.put(offset + i, (byte)value);
+		}
+		numDocuments = Math.max(numDocuments, documentID + 1);
+		insertSlot(index);
+	}
+
+	/**
+	 * Returns the slot of the first feature with the hash code or -1 if there is none
+	 */
+	public int lookupFirst( int hashCode ) {
+		return search(hashCode, firstSlot(hashCode));
+	}
+
+	/**
+	 * Returns the slot of the next feature with the hash code or -1 if there are no more
+	 *
+	 * @param slot The slot of the previous match
+	 */
+	public int lookupNext( int hashCode, int slot ) {
+		return search(hashCode, (slot + 1) & (slots.capacity() - 1));
+	}
+
+	/**
+	 * Searches for a matching feature starting at the specified slot
+	 */
+	private int search( int hashCode, int slot ) {
+		final int mask = slots.capacity() - 1;
+		while (true) {
+			int value = slots.get(slot);
+			if (value == 0)
+				return -1;
+			if (hashCodes.get(value - 1) == hashCode)
+				return slot;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Returns true if the invariants of the feature in the slot are identical
+	 */
+	public boolean doInvariantsMatch( int slot, LlahFeature feature ) {
+		int offset = (slots.get(slot) - 1)*numInvariants;
+		final int[] values = feature.invariants;
+		for (int i = 0; i < numInvariants; i++) {
+			if ((invariants.get(offset + i) & 0xFF) != values[i])
+				return false;
+		}
+		return true;
+	}
+
+	/** Returns the document ID of the feature in the slot */
+	public int getDocumentID( int slot ) {
+		return documentIDs.get(slots.get(slot) - 1);
+	}
+
+	/** Returns the landmark ID of the feature in the slot */
+	public int getLandmarkID( int slot ) {
+		return landmarkIDs.get(slots.get(slot) - 1);
+	}
+
+	/** Number of slots in the table */
+	public int getCapacity() {
+		return slots.capacity();
+	}
+
+	/**
+	 * Removes all features
+	 */
+	public void reset() {
+		checkWritable();
+		size = 0;
+		numDocuments = 0;
+		allocateSlots(16);
+	}
+
+	/**
+	 * Selects the first slot that a hash code is searched for in. Fibonacci hashing is used since LLAH hash codes
+	 * are not uniformly distributed in their lower bits.
+	 */
+	int firstSlot( int hashCode ) {
+		return (hashCode*0x9E3779B9) >>> (32 - slotBits);
+	}
+
+	private void insertSlot( int index ) {
+		final int mask = slots.capacity() - 1;
+		int slot = firstSlot(hashCodes.get(index));
+		while (slots.get(slot) != 0) {
+			slot = (slot + 1) & mask;
+		}
+		slots.put(slot, index + 1);
+	}
+
+	private void allocateSlots( int capacity ) {
+		slots = IntBuffer.wrap(new int[capacity]);
+		slotBits = Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/**
+	 * Increases the number of slots and adds all the features into their new slots
+	 */
+	private void rehash( int capacity ) {
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("Too many features");
+		allocateSlots(capacity);
+		for (int i = 0; i < size; i++) {
+			insertSlot(i);
+		}
+	}
+
+	/**
+	 * Increases the storage for features while keeping the old values
+	 */
+	private void allocateFeatures( int numFeatures ) {
+		if ((long)numFeatures*numInvariants > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Too many features");
+		hashCodes = copy(hashCodes, numFeatures);
+		documentIDs = copy(documentIDs, numFeatures);
+		landmarkIDs = copy(landmarkIDs, numFeatures);
+
+		var bytes = new byte[numFeatures*numInvariants];
+		if (invariants != null)
+			System.arraycopy(invariants.array(), 0, bytes, 0, size*numInvariants);
+		invariants = ByteBuffer.wrap(bytes);
+	}
+
+	private IntBuffer copy( IntBuffer src, int length ) {
+		var dst = new int[length];
+		if (src != null)
+			System.arraycopy(src.array(), 0, dst, 0, size);
+		return IntBuffer.wrap(dst);
+	}
+
+	private void checkWritable() {
+		if (readOnly)
+			throw new IllegalStateException("Table is read only");
+	}
+
+	/**
+	 * Saves the table to a file
+	 *
+	 * @param path Path to the file
+	 */
+	public void save( String path ) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC);
+			header.putInt(VERSION);
+			header.putInt(numInvariants);
+			header.putInt(size);
+			header.putInt(slots.capacity());
+			header.putInt(numDocuments);
+			header.putInt(numberOfNeighborsN);
+			header.putInt(sizeOfCombinationM);
+			header.putInt(hashSize);
+			header.putInt(samplesHash);
+			header.putLong(hashK);
+			header.flip();
+			writeFully(channel, header);
+
+			writeInts(channel, slots, slots.capacity());
+			writeInts(channel, hashCodes, size);
+			writeInts(channel, documentIDs, size);
+			writeInts(channel, landmarkIDs, size);
+
+			ByteBuffer bytes = invariants.duplicate();
+			bytes.position(0);
+			bytes.limit(size*numInvariants);
+			writeFully(channel, bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeInts( FileChannel channel, IntBuffer src, int length ) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_INTS*4);
+		for (int start = 0; start < length; start += BUFFER_INTS) {
+			int end = Math.min(length, start + BUFFER_INTS);
+			buffer.clear();
+			for (int i = start; i < end; i++) {
+				buffer.putInt(src.get(i));
+			}
+			buffer.flip();
+			writeFully(channel, buffer);
+		}
+	}
+
+	private static void writeFully( FileChannel channel, ByteBuffer buffer ) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Memory-maps a saved table. This is very fast since the data is only read from disk when it's needed. The
+	 * returned table is read only.
+	 *
+	 * @param path Path to the file
+	 * @return The table
+	 */
+	public static LlahPackedHashTable map( String path ) {
+		return open(path, true);
+	}
+
+	/**
+	 * Reads a saved table into memory. The returned table can be modified.
+	 *
+	 * @param path Path to the file
+	 * @return The table
+	 */
+	public static LlahPackedHashTable load( String path ) {
+		return open(path, false);
+	}
+
+	private static LlahPackedHashTable open( String path, boolean mapped ) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0)
+					throw new IOException("Unexpected end of file");
+			}
+			header.flip();
+			if (header.getInt() != MAGIC)
+				throw new IOException("Not a packed LLAH table");
+			int version = header.getInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported version " + version);
+			int numInvariants = header.getInt();
+			int size = header.getInt();
+			int capacity = header.getInt();
+			int numDocuments = header.getInt();
+			int numberOfNeighborsN = header.getInt();
+			int sizeOfCombinationM = header.getInt();
+			int hashSize = header.getInt();
+			int samplesHash = header.getInt();
+			long hashK = header.getLong();
+
+			if (Integer.bitCount(capacity) != 1 || size > capacity)
+				throw new IOException("Corrupted header");
+			long expected = HEADER_SIZE + 4L*capacity + 12L*size + (long)size*numInvariants;
+			if (channel.size() != expected)
+				throw new IOException("Unexpected file size. Found " + channel.size() + " expected " + expected);
+
+			long position = HEADER_SIZE;
+			IntBuffer slots = readInts(channel, position, capacity, capacity, mapped);
+			position += 4L*capacity;
+			IntBuffer hashCodes = readInts(channel, position, size, Math.max(1, size), mapped);
+			position += 4L*size;
+			IntBuffer documentIDs = readInts(channel, position, size, Math.max(1, size), mapped);
+			position += 4L*size;
+			IntBuffer landmarkIDs = readInts(channel, position, size, Math.max(1, size), mapped);
+			position += 4L*size;
+
+			ByteBuffer invariants;
+			int numBytes = size*numInvariants;
+			if (mapped) {
+				invariants = channel.map(FileChannel.MapMode.READ_ONLY, position, numBytes);
+			} else {
+				invariants = ByteBuffer.allocate(Math.max(1, size)*numInvariants);
+				invariants.limit(numBytes);
+				channel.position(position);
+				while (invariants.hasRemaining()) {
+					if (channel.read(invariants) < 0)
+						throw new IOException("Unexpected end of file");
+				}
+				invariants.clear();
+			}
+
+			var table = new LlahPackedHashTable(numInvariants, size, capacity,
+					slots, hashCodes, documentIDs, landmarkIDs, invariants);
+			table.numDocuments = numDocuments;
+			table.numberOfNeighborsN = numberOfNeighborsN;
+			table.sizeOfCombinationM = sizeOfCombinationM;
+			table.hashK = hashK;
+			table.hashSize = hashSize;
+			table.samplesHash = samplesHash;
+			table.readOnly = mapped;
+			return table;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Reads an array of ints either by mapping the file or copying it into an array
+	 *
+	 * @param length Number of ints in the file
+	 * @param arrayLength Length of the array if it is copied
+	 */
+	private static IntBuffer readInts( FileChannel channel, long position, int length, int arrayLength,
+									   boolean mapped ) throws IOException {
+		if (mapped)
+			return channel.map(FileChannel.MapMode.READ_ONLY, position, 4L*length).asIntBuffer();
+
+		var array = new int[arrayLength];
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_INTS*4);
+		channel.position(position);
+		for (int start = 0; start < length; start += BUFFER_INTS) {
+			int end = Math.min(length, start + BUFFER_INTS);
+			buffer.clear();
+			buffer.limit((end - start)*4);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					throw new IOException("Unexpected end of file");
+			}
+			buffer.flip();
+			for (int i = start; i < end; i++) {
+				array[i] = buffer.getInt();
+			}
+		}
+		return IntBuffer.wrap(array);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.Factory;
+import org.ddogleg.struct.FastArray;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Multi-threaded version of {@link CompleteSift}. Detections in each scale are collected first, then their
+ * orientations and descriptors are computed concurrently. Results are added in the same order as the single
+ * threaded version so the output is identical.
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift {
+	// Detections in the current scale which need to be described
+	final FastArray<ScalePoint> pending = new FastArray<>(ScalePoint.class);
+
+	// Orientation and descriptor algorithms and results for each thread
+	final GrowArray<ThreadData> threads;
+
+	/**
+	 * Configures SIFT. See {@link CompleteSift} for a description of the parameters
+	 *
+	 * @param factoryOrientation Creates a new instance of the orientation algorithm
+	 * @param factoryDescribe Creates a new instance of the descriptor algorithm
+	 */
+	public CompleteSift_MT( SiftScaleSpace scaleSpace,
+							FeatureSelectLimitIntensity<ScalePoint> selectFeaturesAll,
+							double edgeR, NonMaxLimiter extractor,
+							Factory<OrientationHistogramSift<GrayF32>> factoryOrientation,
+							Factory<DescribePointSift<GrayF32>> factoryDescribe ) {
+		super(scaleSpace, selectFeaturesAll, edgeR, extractor,
+				factoryOrientation.newInstance(), factoryDescribe.newInstance());
+
+		final int dof = describe.getDescriptorLength();
+		threads = new GrowArray<>(() -> new ThreadData(
+				factoryOrientation.newInstance(), factoryDescribe.newInstance(), dof));
+	}
+
+	@Override
+	protected void detectFeatures( int scaleIndex ) {
+		pending.reset();
+		super.detectFeatures(scaleIndex);
+		if (pending.size == 0)
+			return;
+
+		BoofConcurrency.loopBlocks(0, pending.size, threads, ( data, idx0, idx1 ) -> {
+			data.orientation.setImageGradient(derivX, derivY);
+			data.describe.setImageGradient(derivX, derivY);
+			data.reset(idx0, idx1);
+
+			for (int i = idx0; i < idx1; i++) {
+				ScalePoint p = pending.get(i);
+
+				// adjust the image for the down sampling in each octave
+				double localX = p.pixel.x/pixelScaleToInput;
+				double localY = p.pixel.y/pixelScaleToInput;
+				double localSigma = p.scale/pixelScaleToInput;
+
+				data.orientation.process(localX, localY, localSigma);
+
+				DogArray_F64 angles = data.orientation.getOrientations();
+				for (int j = 0; j < angles.size; j++) {
+					data.describe.process(localX, localY, localSigma, angles.get(j), data.features.grow());
+					data.orientations.add(angles.get(j));
+					data.locations.add(i);
+				}
+			}
+		});
+
+		// Add the results in the order the detections were found in
+		for (int blockStart = 0; blockStart < pending.size; ) {
+			ThreadData data = findBlock(blockStart);
+			for (int i = 0; i < data.features.size; i++) {
+				features.grow().setTo(data.features.get(i));
+				orientations.add(data.orientations.get(i));
+				locations.add(pending.get(data.locations.get(i)));
+			}
+			blockStart = data.idx1;
+		}
+	}
+
+	/**
+	 * Returns the thread data which processed the block that starts at the specified index
+	 */
+	ThreadData findBlock( int idx0 ) {
+		for (int i = 0; i < threads.size(); i++) {
+			if (threads.get(i).idx0 == idx0)
+				return threads.get(i);
+		}
+		throw new IllegalStateException("BUG! No block starts at " + idx0);
+	}
+
+	@Override
+	protected void handleDetection( ScalePoint p ) {
+		// Orientation and description is done after all the detections in this scale have been found
+		pending.add(p);
+	}
+
+	static class ThreadData {
+		final OrientationHistogramSift<GrayF32> orientation;
+		final DescribePointSift<GrayF32> describe;
+
+		// Range of detections processed by this thread
+		int idx0, idx1;
+
+		// Found descriptors, their orientation, and the index of the detection they came from
+		final DogArray<TupleDesc_F64> features;
+		final DogArray_F64 orientations = new DogArray_F64();
+		final DogArray_I32 locations = new DogArray_I32();
+
+		ThreadData( OrientationHistogramSift<GrayF32> orientation, DescribePointSift<GrayF32> describe, int dof ) {
+			this.orientation = orientation;
+			this.describe = describe;
+			this.features = new DogArray<>(() -> new TupleDesc_F64(dof));
+		}
+
+		void reset( int idx0, int idx1 ) {
+			this.idx0 = idx0;
+			this.idx1 = idx1;
+			features.reset();
+			orientations.reset();
+			locations.reset();
+		}
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.BoofDefaults;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.alg.feature.describe.brief.LearnBriefDefinition;
+import boofcv.alg.feature.detect.intensity.FastCornerDetector;
+import boofcv.core.image.FactoryGImageGray;
+import boofcv.core.image.GImageGray;
+import boofcv.struct.ListIntPoint2D;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point2D_I16;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.sorting.QuickSort_F32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.Factory;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * <p>
+ * Implementation of Oriented FAST and Rotated BRIEF (ORB) [1]. FAST corners are detected in each layer of an
+ * image pyramid and ranked using the Harris corner measure. The best corners in each layer are assigned an orientation
+ * using the intensity centroid of a circular patch and described with a BRIEF descriptor whose sample points are
+ * rotated (steered) by the orientation.
+ * </p>
+ *
+ * <p>
+ * The number of features kept in each layer is proportional to the layer's area. Non-maximum suppression is
+ * applied to the FAST score in a 3x3 neighborhood and corners whose patch touches the image border are discarded.
+ * </p>
+ *
+ * <p>Differences from the paper:</p>
+ * <ul>
+ *     <li>{@link PyramidDiscrete} is used, so the scale changes by a factor of 2 between layers instead of 1.2</li>
+ *     <li>The pairs compared by the descriptor are provided by the user. The pairs learned in the paper
+ *     are not included but {@link LearnBriefDefinition} can be used to learn them.</li>
+ * </ul>
+ *
+ * <p>
+ * [1] Rublee, Ethan, et al. "ORB: An efficient alternative to SIFT or SURF." ICCV 2011.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DetectDescribeOrb<T extends ImageGray<T>> {
+	/** Maximum number of features it will return. If &le; 0 then all features are returned. */
+	@Getter @Setter int maxFeatures = 500;
+
+	/** Harris corner tuning parameter */
+	@Getter @Setter float harrisKappa = 0.04f;
+
+	/** Radius of the window Harris corner measure is computed inside of */
+	@Getter @Setter int harrisRadius = 3;
+
+	/** Radius of the circular patch used to compute orientation */
+	@Getter final int patchRadius;
+
+	/** Number of bits in the descriptor */
+	@Getter final int descriptorBits;
+
+	// The image pyramid
+	protected final PyramidDiscrete<T> pyramid;
+
+	// Creates instances of algorithms which need to be unique to each thread
+	protected final Factory<FastCornerDetector<T>> factoryFast;
+	protected final Factory<DescribePointBriefSO<T>> factoryDescribe;
+
+	// half width of each row in the circular patch
+	protected final int[] patchHalfWidth;
+
+	// Found features in input image coordinates and their description
+	@Getter protected final DogArray<Point2D_F64> locations = new DogArray<>(Point2D_F64::new);
+	@Getter protected final DogArray_F64 orientations = new DogArray_F64();
+	@Getter protected final DogArray_F64 radii = new DogArray_F64();
+	@Getter protected final DogArray<TupleDesc_B> descriptions;
+	// If true then the FAST corner had a center pixel brighter than its surroundings
+	@Getter protected final DogArray_B brighter = new DogArray_B();
+
+	// Features found inside of each layer
+	protected final DogArray<LayerFeatures> layerFeatures;
+	// Maximum number of features inside each layer
+	protected final DogArray_I32 layerLimit = new DogArray_I32();
+
+	// Workspace for each thread
+	protected final GrowArray<LayerWorkspace> workspaces;
+
+	/**
+	 * Configures ORB
+	 *
+	 * @param pyramid Image pyramid
+	 * @param factoryFast Creates the FAST corner detector
+	 * @param factoryDescribe Creates the steered BRIEF descriptor
+	 * @param descriptorBits Number of bits in the descriptor
+	 * @param patchRadius Radius of the circular patch used to compute orientation
+	 */
+	public DetectDescribeOrb( PyramidDiscrete<T> pyramid,
+							  Factory<FastCornerDetector<T>> factoryFast,
+							  Factory<DescribePointBriefSO<T>> factoryDescribe,
+							  int descriptorBits, int patchRadius ) {
+		this.pyramid = pyramid;
+		this.factoryFast = factoryFast;
+		this.factoryDescribe = factoryDescribe;
+		this.descriptorBits = descriptorBits;
+		this.patchRadius = patchRadius;
+
+		this.descriptions = new DogArray<>(() -> new TupleDesc_B(descriptorBits));
+		this.layerFeatures = new DogArray<>(LayerFeatures::new, LayerFeatures::reset);
+		// GrowArray creates the first workspace immediately, which requires the factories
+		this.workspaces = new GrowArray<>(LayerWorkspace::new);
+
+		patchHalfWidth = new int[patchRadius + 1];
+		for (int v = 0; v <= patchRadius; v++) {
+			patchHalfWidth[v] = (int)Math.sqrt(patchRadius*patchRadius - v*v);
+		}
+	}
+
+	/**
+	 * Detects and describes features inside the image
+	 *
+	 * @param image Input image. Not modified.
+	 */
+	public void process( T image ) {
+		pyramid.process(image);
+
+		final int numLayers = pyramid.getNumLayers();
+		computeLayerLimits(numLayers);
+		layerFeatures.resize(numLayers);
+
+		processLayers();
+
+		// Combine the results from each layer together in order
+		locations.reset();
+		orientations.reset();
+		radii.reset();
+		descriptions.reset();
+		brighter.reset();
+		for (int layer = 0; layer < numLayers; layer++) {
+			LayerFeatures found = layerFeatures.get(layer);
+			double scale = pyramid.getScale(layer);
+			for (int i = 0; i < found.pixels.size; i++) {
+				Point2D_I16 p = found.pixels.get(i);
+				locations.grow().setTo(p.x*scale, p.y*scale);
+				orientations.add(found.orientations.get(i));
+				radii.add(patchRadius*scale);
+				descriptions.grow().setTo(found.descriptions.get(i));
+				brighter.add(found.brighter.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Processes each layer in the pyramid
+	 */
+	protected void processLayers() {
+		workspaces.reset();
+		LayerWorkspace workspace = workspaces.grow();
+		for (int layer = 0; layer < pyramid.getNumLayers(); layer++) {
+			processLayer(layer, workspace);
+		}
+	}
+
+	/**
+	 * Splits the total number of features between layers in proportion to each layer's area
+	 */
+	protected void computeLayerLimits( int numLayers ) {
+		layerLimit.resize(numLayers);
+		if (maxFeatures <= 0) {
+			layerLimit.fill(Integer.MAX_VALUE);
+			return;
+		}
+
+		double totalArea = 0;
+		for (int layer = 0; layer < numLayers; layer++) {
+			double scale = pyramid.getScale(layer);
+			totalArea += 1.0/(scale*scale);
+		}
+		for (int layer = 0; layer < numLayers; layer++) {
+			double scale = pyramid.getScale(layer);
+			layerLimit.data[layer] = (int)Math.round(maxFeatures/(scale*scale*totalArea));
+		}
+	}
+
+	/**
+	 * Detects and describes the features in a single layer
+	 */
+	protected void processLayer( int layer, LayerWorkspace work ) {
+		T image = pyramid.getLayer(layer);
+		LayerFeatures found = layerFeatures.get(layer);
+		found.reset();
+
+		// Corners need to be far enough from the border that the patch and Harris window are inside the image
+		int border = Math.max(patchRadius, harrisRadius + 1);
+		if (image.width <= 2*border || image.height <= 2*border)
+			return;
+
+		work.intensity.reshape(image.width, image.height);
+		work.fast.process(image, work.intensity);
+		work.image.wrap(image);
+
+		// Select corners and score them using the Harris measure
+		work.corners.reset();
+		work.scores.reset();
+		work.brighter.reset();
+		selectCandidates(work.fast.getCandidatesLow(), true, border, work);
+		selectCandidates(work.fast.getCandidatesHigh(), false, border, work);
+
+		// Keep the corners with the best score
+		int N = work.corners.size;
+		work.indexes.resize(N);
+		work.sorter.sort(work.scores.data, 0, N, work.indexes.data);
+		int limit = Math.min(N, layerLimit.get(layer));
+
+		work.describe.setImage(image);
+		float radius = (float)BoofDefaults.BRIEF_SCALE_TO_RADIUS;
+		for (int i = 0; i < limit; i++) {
+			int index = work.indexes.data[N - 1 - i];
+			Point2D_I16 p = work.corners.get(index);
+
+			double angle = computeOrientation(work.image, p.x, p.y);
+
+			found.pixels.grow().setTo(p.x, p.y);
+			found.orientations.add(angle);
+			found.brighter.add(work.brighter.get(index));
+			work.describe.process(p.x, p.y, (float)angle, radius, found.descriptions.grow());
+		}
+	}
+
+	/**
+	 * Adds candidate corners which are local maximums and are not too close to the image border
+	 *
+	 * @param brighter true if the candidates have a center which is brighter than the surrounding pixels
+	 */
+	void selectCandidates( ListIntPoint2D candidates, boolean brighter, int border, LayerWorkspace work ) {
+		final GrayF32 intensity = work.intensity;
+		final int x1 = intensity.width - border;
+		final int y1 = intensity.height - border;
+
+		Point2D_I16 p = work.point;
+		for (int i = 0; i < candidates.size(); i++) {
+			candidates.get(i, p);
+			if (p.x < border || p.y < border || p.x >= x1 || p.y >= y1)
+				continue;
+
+			if (!isLocalMaximum(intensity, p.x, p.y))
+				continue;
+
+			work.corners.grow().setTo(p.x, p.y);
+			work.scores.add(computeHarris(work.image, p.x, p.y));
+			work.brighter.add(brighter);
+		}
+	}
+
+	/**
+	 * Checks to see if the magnitude of the FAST score is the largest in a 3x3 neighborhood
+	 */
+	static boolean isLocalMaximum( GrayF32 intensity, int cx, int cy ) {
+		float center = Math.abs(intensity.unsafe_get(cx, cy));
+		for (int y = cy - 1; y <= cy + 1; y++) {
+			for (int x = cx - 1; x <= cx + 1; x++) {
+				if (Math.abs(intensity.unsafe_get(x, y)) > center)
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the Harris corner measure inside a square window centered at the pixel
+	 */
+	float computeHarris( GImageGray image, int cx, int cy ) {
+		float xx = 0, xy = 0, yy = 0;
+		for (int y = cy - harrisRadius; y <= cy + harrisRadius; y++) {
+			for (int x = cx - harrisRadius; x <= cx + harrisRadius; x++) {
+				float dx = image.unsafe_getF(x + 1, y) - image.unsafe_getF(x - 1, y);
+				float dy = image.unsafe_getF(x, y + 1) - image.unsafe_getF(x, y - 1);
+				xx += dx*dx;
+				xy += dx*dy;
+				yy += dy*dy;
+			}
+		}
+		float trace = xx + yy;
+		return xx*yy - xy*xy - harrisKappa*trace*trace;
+	}
+
+	/**
+	 * Computes the orientation from the intensity centroid of a circular patch
+	 */
+	double computeOrientation( GImageGray image, int cx, int cy ) {
+		double m10 = 0, m01 = 0;
+		for (int v = -patchRadius; v <= patchRadius; v++) {
+			int halfWidth = patchHalfWidth[Math.abs(v)];
+			double sumRow = 0;
+			for (int u = -halfWidth; u <= halfWidth; u++) {
+				float value = image.unsafe_getF(cx + u, cy + v);
+				m10 += u*value;
+				sumRow += value;
+			}
+			m01 += v*sumRow;
+		}
+		return Math.atan2(m01, m10);
+	}
+
+	/**
+	 * Features found inside a single layer
+	 */
+	protected class LayerFeatures {
+		final DogArray<Point2D_I16> pixels = new DogArray<>(Point2D_I16::new);
+		final DogArray_F64 orientations = new DogArray_F64();
+		final DogArray<TupleDesc_B> descriptions = new DogArray<>(() -> new TupleDesc_B(descriptorBits));
+		final DogArray_B brighter = new DogArray_B();
+
+		public void reset() {
+			pixels.reset();
+			orientations.reset();
+			descriptions.reset();
+			brighter.reset();
+		}
+	}
+
+	/**
+	 * Algorithms and storage used to process a layer. One is created for each thread.
+	 */
+	protected class LayerWorkspace {
+		final FastCornerDetector<T> fast = factoryFast.newInstance();
+		final DescribePointBriefSO<T> describe = factoryDescribe.newInstance();
+		final GImageGray image = FactoryGImageGray.create(pyramid.getImageType().getImageClass());
+		final GrayF32 intensity = new GrayF32(1, 1);
+
+		// Candidate corners, their Harris score, and FAST type
+		final Point2D_I16 point = new Point2D_I16();
+		final DogArray<Point2D_I16> corners = new DogArray<>(Point2D_I16::new);
+		final DogArray_F32 scores = new DogArray_F32();
+		final DogArray_B brighter = new DogArray_B();
+
+		final DogArray_I32 indexes = new DogArray_I32();
+		final QuickSort_F32 sorter = new QuickSort_F32();
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.alg.feature.describe.DescribePointBriefSO;
+import boofcv.alg.feature.detect.intensity.FastCornerDetector;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.Factory;
+
+/**
+ * Multi-threaded version of {@link DetectDescribeOrb}. Each layer in the pyramid is processed in its own thread.
+ * Results from each layer are combined in the same order as the single threaded version so the output is identical.
+ *
+ * @author Peter Abeles
+ */
+public class DetectDescribeOrb_MT<T extends ImageGray<T>> extends DetectDescribeOrb<T> {
+	/**
+	 * Configures ORB. See {@link DetectDescribeOrb} for a description of the parameters
+	 */
+	public DetectDescribeOrb_MT( PyramidDiscrete<T> pyramid,
+								 Factory<FastCornerDetector<T>> factoryFast,
+								 Factory<DescribePointBriefSO<T>> factoryDescribe,
+								 int descriptorBits, int patchRadius ) {
+		super(pyramid, factoryFast, factoryDescribe, descriptorBits, patchRadius);
+	}
+
+	@Override
+	protected void processLayers() {
+		BoofConcurrency.loopBlocks(0, pyramid.getNumLayers(), 1, workspaces, ( work, idx0, idx1 ) -> {
+			for (int layer = idx0; layer < idx1; layer++) {
+				processLayer(layer, work);
+			}
+		});
+	}
+}
@@ -41,6 +41,8 @@ import javax.annotation.Generated;
 public class ImplSsdCorner_S16 extends ImplSsdCornerBox<GrayS16,GrayS32> {
 
 	private GrowArray<WorkSpace> workspaces = new GrowArray<>(() -> new WorkSpace(0));
+	// Image width the workspaces were declared for
+	private int workspaceWidth = 0;
 	private CornerIntensity_S32 intensity;
 
 	public ImplSsdCorner_S16(int windowRadius, CornerIntensity_S32 intensity) {
@@ -51,6 +53,10 @@ public class ImplSsdCorner_S16 extends ImplSsdCornerBox<GrayS16,GrayS32> {
 	@Override
 	protected void setImageShape(int imageWidth, int imageHeight) {
 		super.setImageShape(imageWidth,imageHeight);
+		// Only declare new workspaces when the width changes so that garbage isn't created every frame
+		if (workspaceWidth == imageWidth)
+			return;
+		workspaceWidth = imageWidth;
 		workspaces = new GrowArray<>(() -> new WorkSpace(imageWidth));
 	}
 
@@ -148,6 +154,7 @@ public class ImplSsdCorner_S16 extends ImplSsdCornerBox<GrayS16,GrayS32> {
 
 		final int backStep = kernelWidth*imgWidth;
 
+		workspaces.reset(); //CONCURRENT_REMOVE_LINE
 		WorkSpace work = workspaces.grow(); //CONCURRENT_REMOVE_LINE
 		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(radius,imgHeight-radius,workspaces,(work,y0,y1)->{
 		int y0 = radius, y1 = imgHeight - radius;
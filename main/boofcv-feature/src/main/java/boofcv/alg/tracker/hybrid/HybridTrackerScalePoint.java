@@ -97,6 +97,8 @@ public class HybridTrackerScalePoint<I extends ImageGray<I>, D extends ImageGray
 	// Used to prune points close by
 	PruneCloseTracks<HybridTrack<TD>> pruneClose;
 	List<HybridTrack<TD>> closeDropped = new ArrayList<>();
+	// copy of the active list, since PruneCloseTracks needs a List
+	List<HybridTrack<TD>> closeActive = new ArrayList<>();
 
 	/**
 	 * Configures tracker
@@ -198,8 +200,14 @@ public class HybridTrackerScalePoint<I extends ImageGray<I>, D extends ImageGray
 		if (pruneClose == null)
 			return;
 
+		// Copy into a list that's recycled instead of creating a new view each time
+		closeActive.clear();
+		for (int i = 0; i < tracksActive.size; i++) {
+			closeActive.add(tracksActive.get(i));
+		}
+
 		pruneClose.init(imageWidth, imageHeight);
-		pruneClose.process(tracksActive.toList(), closeDropped);
+		pruneClose.process(closeActive, closeDropped);
 
 		for (int dropIdx = 0; dropIdx < closeDropped.size(); dropIdx++) {
 			HybridTrack<TD> track = closeDropped.get(dropIdx);
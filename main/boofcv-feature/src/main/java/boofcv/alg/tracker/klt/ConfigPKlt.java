@@ -61,6 +61,12 @@ public class ConfigPKlt implements Configuration
 	 */
 	public ConfigLength maximumTracks = ConfigLength.relative(0.002,50);
 
+	/**
+	 * If true then a concurrent implementation will be used, if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT}
+	 * is also true. Tracks produced by the concurrent implementation are identical to the single threaded one.
+	 */
+	public boolean concurrent = true;
+
 	public ConfigPKlt() {}
 
 	public ConfigPKlt(int templateRadius) {
@@ -89,6 +95,7 @@ public class ConfigPKlt implements Configuration
 		this.pyramidLevels.setTo(src.pyramidLevels);
 		this.pruneClose = src.pruneClose;
 		this.maximumTracks.setTo(src.maximumTracks);
+		this.concurrent = src.concurrent;
 	}
 
 	public ConfigPKlt copy() {
@@ -112,6 +112,14 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 		this.config = config;
 	}
 
+	/**
+	 * Creates a new tracker with the same configuration. Internal workspace and interpolation are not shared
+	 * so the copy can be used in a different thread.
+	 */
+	public KltTracker<I, D> copy() {
+		return new KltTracker<>(interpInput.copy(), interpDeriv.copy(), config);
+	}
+
 	/**
 	 * Sets the current image it should be tracking with.
 	 *
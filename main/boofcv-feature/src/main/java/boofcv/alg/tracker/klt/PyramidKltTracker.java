@@ -48,6 +48,14 @@ public class PyramidKltTracker<InputImage extends ImageGray<InputImage>, Derivat
 		this.tracker = tracker;
 	}
 
+	/**
+	 * Creates a new tracker which can be used independently of this one. The image pyramid is not copied
+	 * and must be specified by calling {@link #setImage}.
+	 */
+	public PyramidKltTracker<InputImage, DerivativeImage> copy() {
+		return new PyramidKltTracker<>(tracker.copy());
+	}
+
 	/**
 	 * Sets the feature's description up.  The feature's (x,y) must have already been set
 	 * and {@link #setImage} been called.
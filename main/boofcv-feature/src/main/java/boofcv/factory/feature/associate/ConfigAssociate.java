@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -35,6 +35,7 @@ public class ConfigAssociate implements Configuration {
 
 	public ConfigAssociateGreedy greedy = new ConfigAssociateGreedy();
 	public ConfigAssociateNearestNeighbor nearestNeighbor = new ConfigAssociateNearestNeighbor();
+	public ConfigMultiIndexHashing multiIndexHashing = new ConfigMultiIndexHashing();
 
 	/**
 	 * Specifies the maximum distance allowed between associated pixels. This is only used when creating
@@ -49,16 +50,20 @@ public class ConfigAssociate implements Configuration {
 	public void checkValidity() {
 		greedy.checkValidity();
 		nearestNeighbor.checkValidity();
+		multiIndexHashing.checkValidity();
 	}
 
 	public enum AssociationType {
 		GREEDY, KD_TREE, RANDOM_FOREST,
+		/** Multi-index hashing. Only works with binary descriptors */
+		MULTI_INDEX_HASHING,
 	}
 
 	public void setTo( ConfigAssociate src ) {
 		this.type = src.type;
 		this.greedy.setTo(src.greedy);
 		this.nearestNeighbor.setTo(src.nearestNeighbor);
+		this.multiIndexHashing.setTo(src.multiIndexHashing);
 	}
 
 	public ConfigAssociate copy() {
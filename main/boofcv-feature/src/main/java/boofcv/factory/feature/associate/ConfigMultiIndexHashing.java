@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.associate;
+
+import boofcv.alg.descriptor.MultiIndexHashing_B;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link MultiIndexHashing_B}. The default settings will find the exact nearest neighbor. Limiting
+ * the search radius or number of candidates will increase speed but reduce recall.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigMultiIndexHashing implements Configuration {
+	/**
+	 * Number of hash tables the descriptor is split into. If &le; 0 then it's selected automatically so that each
+	 * substring has about log2(N) bits, where N is the number of source features.
+	 */
+	public int numTables = -1;
+
+	/**
+	 * Maximum Hamming distance from the query's substring which is searched inside each table. If &lt; 0 then there
+	 * is no limit. A match within a distance of (numTables*(radius+1)-1) is guaranteed to be found.
+	 */
+	public int maxSubstringRadius = -1;
+
+	/**
+	 * Maximum number of candidates examined for each query. If &le; 0 then there is no limit.
+	 */
+	public int maxCandidates = -1;
+
+	@Override
+	public void checkValidity() {}
+
+	public void setTo( ConfigMultiIndexHashing src ) {
+		this.numTables = src.numTables;
+		this.maxSubstringRadius = src.maxSubstringRadius;
+		this.maxCandidates = src.maxCandidates;
+	}
+}
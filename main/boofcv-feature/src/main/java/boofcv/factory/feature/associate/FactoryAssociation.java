@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,6 +21,7 @@ package boofcv.factory.feature.associate;
 import boofcv.abst.feature.associate.*;
 import boofcv.abst.feature.describe.DescriptorInfo;
 import boofcv.alg.descriptor.KdTreeTuple_F64;
+import boofcv.alg.descriptor.MultiIndexHashing_B;
 import boofcv.alg.feature.associate.*;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ConfigLength;
@@ -50,6 +51,12 @@ public class FactoryAssociation {
 			case KD_TREE: return (AssociateDescription)FactoryAssociation.kdtree(config.nearestNeighbor,DOF);
 			case RANDOM_FOREST: return (AssociateDescription)FactoryAssociation.kdRandomForest(
 					config.nearestNeighbor,DOF, 10, 5, 1233445565);
+			case MULTI_INDEX_HASHING: {
+				if (info.getDescriptionType() != TupleDesc_B.class)
+					throw new IllegalArgumentException("Multi-index hashing requires binary descriptors");
+				return (AssociateDescription)FactoryAssociation.multiIndexHashing(
+						config.nearestNeighbor, config.multiIndexHashing);
+			}
 			default: throw new IllegalArgumentException("Unknown association: "+config.type);
 		}
 	}
@@ -206,6 +213,46 @@ public class FactoryAssociation {
 		return associateNearestNeighbor(configNN,nn);
 	}
 
+	/**
+	 * Association for binary descriptors using Multi-Index Hashing. The speed of each query grows sub-linearly
+	 * with the number of source features. Recall can be traded for speed using {@link ConfigMultiIndexHashing}.
+	 * The association score is the Hamming distance and the ratio test is applied to it directly.
+	 *
+	 * @see MultiIndexHashing_B
+	 * @see AssociateNearestNeighbor_ST
+	 *
+	 * @param configNN Configuration for association. If null the default is used.
+	 * @param configMih Configuration for multi-index hashing. If null the default is used.
+	 * @return Association using multi-index hashing
+	 */
+	public static AssociateNearestNeighbor<TupleDesc_B>
+	multiIndexHashing( @Nullable ConfigAssociateNearestNeighbor configNN,
+					   @Nullable ConfigMultiIndexHashing configMih ) {
+		if (configNN == null)
+			configNN = new ConfigAssociateNearestNeighbor();
+		if (configMih == null)
+			configMih = new ConfigMultiIndexHashing();
+
+		configNN.checkValidity();
+		configMih.checkValidity();
+
+		var nn = new MultiIndexHashing_B(configMih.numTables);
+		nn.setMaxSubstringRadius(configMih.maxSubstringRadius);
+		nn.setMaxCandidates(configMih.maxCandidates);
+
+		AssociateNearestNeighbor<TupleDesc_B> assoc;
+		if (BoofConcurrency.USE_CONCURRENT) {
+			assoc = new AssociateNearestNeighbor_MT<>(nn);
+		} else {
+			assoc = new AssociateNearestNeighbor_ST<>(nn);
+		}
+		// Hamming distance is not squared
+		assoc.setRatioUsesSqrt(false);
+		assoc.setMaxScoreThreshold(configNN.maxErrorThreshold);
+		assoc.setScoreRatioThreshold(configNN.scoreRatioThreshold);
+		return assoc;
+	}
+
 	public static AssociateNearestNeighbor<TupleDesc_F64>
 	associateNearestNeighbor( @Nullable ConfigAssociateNearestNeighbor config ,  NearestNeighbor nn )
 	{
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -30,7 +30,9 @@ import boofcv.abst.feature.orientation.OrientationIntegral;
 import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfMod;
 import boofcv.alg.feature.describe.DescribePointSurfPlanar;
+import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfPlanar;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfPlanar_MT;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
@@ -47,6 +49,7 @@ import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
 import boofcv.factory.feature.orientation.FactoryOrientation;
 import boofcv.factory.feature.orientation.FactoryOrientationAlgs;
 import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_B;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageMultiBand;
@@ -143,6 +146,37 @@ public class FactoryDetectDescribe {
 		return new DetectDescribe_CompleteSift<>(dds,imageType);
 	}
 
+	/**
+	 * Creates ORB, oriented FAST and rotated BRIEF. The descriptor compares randomly selected pairs of pixels.
+	 *
+	 * @see DetectDescribeOrb
+	 *
+	 * @param config Configuration for ORB. If null then the default is used.
+	 * @return ORB
+	 */
+	public static <T extends ImageGray<T>>
+	DetectDescribePoint<T, TupleDesc_B> orb( @Nullable ConfigOrb config, Class<T> imageType ) {
+		return orb(config, null, imageType);
+	}
+
+	/**
+	 * Creates ORB, oriented FAST and rotated BRIEF, using the specified pairs in the descriptor. Learned pairs
+	 * can be created using {@link boofcv.alg.feature.describe.brief.LearnBriefDefinition}.
+	 *
+	 * @see DetectDescribeOrb
+	 *
+	 * @param config Configuration for ORB. If null then the default is used.
+	 * @param definition Pairs compared by the descriptor. If null then random pairs are generated.
+	 * @return ORB
+	 */
+	public static <T extends ImageGray<T>>
+	DetectDescribePoint<T, TupleDesc_B> orb( @Nullable ConfigOrb config,
+											 @Nullable BinaryCompareDefinition_I32 definition,
+											 Class<T> imageType ) {
+		DetectDescribeOrb<T> alg = FactoryDetectDescribeAlgs.orb(config, definition, imageType);
+		return new Orb_to_DetectDescribePoint<>(alg, imageType);
+	}
+
 	/**
 	 * <p>
 	 * Creates a SURF descriptor.  SURF descriptors are invariant to illumination, orientation, and scale.
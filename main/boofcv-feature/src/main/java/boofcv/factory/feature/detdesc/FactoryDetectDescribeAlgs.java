@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,20 +21,40 @@ package boofcv.factory.feature.detdesc;
 import boofcv.abst.feature.describe.ConfigSiftDescribe;
 import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
 import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detdesc.ConfigOrb;
 import boofcv.abst.feature.detect.extract.NonMaxLimiter;
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.orientation.ConfigSiftOrientation;
+import boofcv.abst.filter.blur.BlurFilter;
+import boofcv.alg.feature.describe.DescribePointBriefSO;
 import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
+import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
+import boofcv.alg.feature.detdesc.DetectDescribeOrb;
+import boofcv.alg.feature.detdesc.DetectDescribeOrb_MT;
+import boofcv.alg.feature.detect.intensity.FastCornerDetector;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
 import boofcv.factory.feature.detect.selector.FactorySelectLimit;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.ddogleg.struct.Factory;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -50,9 +70,9 @@ public class FactoryDetectDescribeAlgs {
 
 		SiftScaleSpace scaleSpace = new SiftScaleSpace(
 				configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0);
-		OrientationHistogramSift<GrayF32> orientation = new OrientationHistogramSift<>(
+		Factory<OrientationHistogramSift<GrayF32>> factoryOrientation = () -> new OrientationHistogramSift<>(
 				configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
-		DescribePointSift<GrayF32> describe = new DescribePointSift<>(
+		Factory<DescribePointSift<GrayF32>> factoryDescribe = () -> new DescribePointSift<>(
 				configDesc.widthSubregion,configDesc.widthGrid, configDesc.numHistogramBins,
 				configDesc.sigmaToPixels, configDesc.weightingSigmaFraction,
 				configDesc.maxDescriptorElementValue,GrayF32.class);
@@ -60,9 +80,60 @@ public class FactoryDetectDescribeAlgs {
 		NonMaxLimiter nonMax = FactoryFeatureExtractor.nonmaxLimiter(
 				configDetector.extract,configDetector.selector,configDetector.maxFeaturesPerScale);
 		FeatureSelectLimitIntensity<ScalePoint> selectorAll = FactorySelectLimit.intensity(configDetector.selector);
-		CompleteSift dds = new CompleteSift(scaleSpace,selectorAll,
-				configDetector.edgeR,nonMax,orientation,describe);
+		CompleteSift dds;
+		if (config.concurrent && BoofConcurrency.USE_CONCURRENT) {
+			dds = new CompleteSift_MT(scaleSpace,selectorAll,
+					configDetector.edgeR,nonMax,factoryOrientation,factoryDescribe);
+		} else {
+			dds = new CompleteSift(scaleSpace,selectorAll,
+					configDetector.edgeR,nonMax,factoryOrientation.newInstance(),factoryDescribe.newInstance());
+		}
 		dds.maxFeaturesAll = configDetector.maxFeaturesAll;
 		return dds;
 	}
+
+	/**
+	 * Creates ORB, oriented FAST and rotated BRIEF.
+	 *
+	 * @see DetectDescribeOrb
+	 *
+	 * @param config Configuration. If null then the default is used.
+	 * @param definition Pairs compared by the descriptor. If null then random pairs are generated.
+	 * @param imageType Type of input image
+	 * @return ORB
+	 */
+	public static <T extends ImageGray<T>>
+	DetectDescribeOrb<T> orb( @Nullable ConfigOrb config, @Nullable BinaryCompareDefinition_I32 definition,
+							  Class<T> imageType ) {
+		if (config == null)
+			config = new ConfigOrb();
+		config.checkValidity();
+
+		if (definition == null)
+			definition = FactoryBriefDefinition.gaussian2(
+					new Random(config.randomSeed), config.patchRadius, config.numPairs);
+		final BinaryCompareDefinition_I32 _definition = definition;
+		final int numBits = definition.compare.length;
+
+		final ConfigOrb _config = config;
+		PyramidDiscrete<T> pyramid = FactoryPyramid.discreteGaussian(
+				config.pyramid, -1, 2, true, ImageType.single(imageType));
+		Factory<FastCornerDetector<T>> factoryFast = () -> FactoryIntensityPointAlg.fast(
+				_config.fast.pixelTol, _config.fast.minContinuous, imageType);
+		Factory<DescribePointBriefSO<T>> factoryDescribe = () -> {
+			BlurFilter<T> blur = FactoryBlurFilter.gaussian(imageType, _config.blurSigma, _config.blurRadius);
+			return FactoryDescribePointAlgs.briefso(_definition, blur);
+		};
+
+		DetectDescribeOrb<T> alg;
+		if (config.concurrent && BoofConcurrency.USE_CONCURRENT) {
+			alg = new DetectDescribeOrb_MT<>(pyramid, factoryFast, factoryDescribe, numBits, config.patchRadius);
+		} else {
+			alg = new DetectDescribeOrb<>(pyramid, factoryFast, factoryDescribe, numBits, config.patchRadius);
+		}
+		alg.setMaxFeatures(config.maxFeatures);
+		alg.setHarrisKappa((float)config.harrisKappa);
+		alg.setHarrisRadius(config.harrisRadius);
+		return alg;
+	}
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastAccess;
+
+/**
+ * Stores a set of {@link TupleDesc} inside a single contiguous primitive array instead of as an array of objects.
+ * Element 'i' starts at index i*DOF in the internal array. This avoids creating one small array per descriptor
+ * and improves cache locality when every descriptor is traversed, e.g. during association.
+ *
+ * @param <D> Type of descriptor being stored
+ *
+ * @author Peter Abeles
+ */
+public interface PackedTupleArray<D> {
+	/**
+	 * Discards all the descriptors but does not free memory
+	 */
+	void reset();
+
+	/**
+	 * Ensures that there is enough storage for the specified number of descriptors without needing to
+	 * allocate more memory.
+	 *
+	 * @param numElements Number of descriptors
+	 */
+	void reserve( int numElements );
+
+	/**
+	 * Copies the descriptor into the end of the array
+	 *
+	 * @param element (Input) The descriptor which is to be added
+	 */
+	void append( D element );
+
+	/**
+	 * Copies the specified descriptor into the provided storage
+	 *
+	 * @param index Index of the descriptor
+	 * @param storage (Output) Storage for the copy. If null a new instance is created.
+	 * @return The copy
+	 */
+	D getCopy( int index, D storage );
+
+	/**
+	 * Returns a descriptor which has the value of the specified element. The returned instance is owned by
+	 * this class and is modified the next time this function is called. Not thread safe.
+	 *
+	 * @param index Index of the descriptor
+	 * @return Internal temporary descriptor
+	 */
+	D getTemp( int index );
+
+	/**
+	 * Number of descriptors stored in this array
+	 */
+	int size();
+
+	/**
+	 * Number of elements in each descriptor
+	 */
+	int getDOF();
+
+	/**
+	 * Type of descriptor stored in this array
+	 */
+	Class<D> getElementType();
+
+	/**
+	 * Appends all the descriptors in the list
+	 */
+	default void appendAll( FastAccess<D> list ) {
+		reserve(size() + list.size);
+		for (int i = 0; i < list.size; i++) {
+			append(list.data[i]);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.DogArray_I32;
+
+/**
+ * Packed array of {@link TupleDesc_B}. All descriptors are stored in a single int[] array.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B implements PackedTupleArray<TupleDesc_B> {
+	/** Number of bits in each descriptor */
+	public final int numBits;
+	/** Number of integers used to store each descriptor */
+	public final int numInts;
+	/** Stores the packed descriptors. Descriptor 'i' starts at i*numInts */
+	public final DogArray_I32 array = new DogArray_I32();
+	/** Number of descriptors stored */
+	public int numElements;
+
+	// Used as temporary storage
+	protected final TupleDesc_B temp;
+
+	public PackedTupleArray_B( int numBits ) {
+		this.numBits = numBits;
+		this.temp = new TupleDesc_B(numBits);
+		this.numInts = temp.data.length;
+	}
+
+	@Override public void reset() {
+		numElements = 0;
+		array.reset();
+	}
+
+	@Override public void reserve( int numElements ) {
+		array.reserve(numElements*numInts);
+	}
+
+	@Override public void append( TupleDesc_B element ) {
+		if (element.numBits != numBits)
+			throw new IllegalArgumentException("Element has an unexpected number of bits. " + element.numBits + " vs " + numBits);
+		array.extend(array.size + numInts);
+		System.arraycopy(element.data, 0, array.data, numElements*numInts, numInts);
+		numElements++;
+	}
+
+	/**
+	 * Adds a new descriptor to the end and returns the offset of its first element in {@link #array}
+	 */
+	public int grow() {
+		array.extend(array.size + numInts);
+		return numInts*numElements++;
+	}
+
+	@Override public TupleDesc_B getCopy( int index, TupleDesc_B storage ) {
+		if (storage == null)
+			storage = new TupleDesc_B(numBits);
+		System.arraycopy(array.data, index*numInts, storage.data, 0, numInts);
+		return storage;
+	}
+
+	@Override public TupleDesc_B getTemp( int index ) {
+		System.arraycopy(array.data, index*numInts, temp.data, 0, numInts);
+		return temp;
+	}
+
+	/**
+	 * Index of the first element in the specified descriptor inside of {@link #array}
+	 */
+	public int offset( int index ) {
+		return index*numInts;
+	}
+
+	@Override public int size() {
+		return numElements;
+	}
+
+	@Override public int getDOF() {
+		return numBits;
+	}
+
+	@Override public Class<TupleDesc_B> getElementType() {
+		return TupleDesc_B.class;
+	}
+}
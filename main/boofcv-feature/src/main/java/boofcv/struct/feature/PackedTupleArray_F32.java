@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.DogArray_F32;
+
+/**
+ * Packed array of {@link TupleDesc_F32}. All descriptors are stored in a single float[] array.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_F32 implements PackedTupleArray<TupleDesc_F32> {
+	/** Degree-of-freedom or number of elements in each tuple */
+	public final int dof;
+	/** Stores the packed descriptors. Descriptor 'i' starts at i*dof */
+	public final DogArray_F32 array = new DogArray_F32();
+	/** Number of descriptors stored */
+	public int numElements;
+
+	// Used as temporary storage
+	protected final TupleDesc_F32 temp;
+
+	public PackedTupleArray_F32( int dof ) {
+		this.dof = dof;
+		this.temp = new TupleDesc_F32(dof);
+	}
+
+	@Override public void reset() {
+		numElements = 0;
+		array.reset();
+	}
+
+	@Override public void reserve( int numElements ) {
+		array.reserve(numElements*dof);
+	}
+
+	@Override public void append( TupleDesc_F32 element ) {
+		if (element.value.length != dof)
+			throw new IllegalArgumentException("Element has an unexpected DOF. " + element.value.length + " vs " + dof);
+		array.extend(array.size + dof);
+		System.arraycopy(element.value, 0, array.data, numElements*dof, dof);
+		numElements++;
+	}
+
+	/**
+	 * Adds a new descriptor to the end and returns the offset of its first element in {@link #array}
+	 */
+	public int grow() {
+		array.extend(array.size + dof);
+		return dof*numElements++;
+	}
+
+	@Override public TupleDesc_F32 getCopy( int index, TupleDesc_F32 storage ) {
+		if (storage == null)
+			storage = new TupleDesc_F32(dof);
+		System.arraycopy(array.data, index*dof, storage.value, 0, dof);
+		return storage;
+	}
+
+	@Override public TupleDesc_F32 getTemp( int index ) {
+		System.arraycopy(array.data, index*dof, temp.value, 0, dof);
+		return temp;
+	}
+
+	/**
+	 * Index of the first element in the specified descriptor inside of {@link #array}
+	 */
+	public int offset( int index ) {
+		return index*dof;
+	}
+
+	@Override public int size() {
+		return numElements;
+	}
+
+	@Override public int getDOF() {
+		return dof;
+	}
+
+	@Override public Class<TupleDesc_F32> getElementType() {
+		return TupleDesc_F32.class;
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detdesc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Nested;
+
+/**
+ * Creates ORB through the factory so that the full construction path is exercised
+ *
+ * @author Peter Abeles
+ */
+class TestOrb_to_DetectDescribePoint extends BoofStandardJUnit {
+	static {
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@Nested
+	class SingleThread extends GenericTestsDetectDescribePoint<GrayU8, TupleDesc_B> {
+		SingleThread() {
+			super(true, true, ImageType.single(GrayU8.class), TupleDesc_B.class);
+		}
+
+		@Override
+		public DetectDescribePoint<GrayU8, TupleDesc_B> createDetDesc() {
+			var config = new ConfigOrb();
+			config.concurrent = false;
+			return FactoryDetectDescribe.orb(config, GrayU8.class);
+		}
+	}
+
+	@Nested
+	class Concurrent extends GenericTestsDetectDescribePoint<GrayU8, TupleDesc_B> {
+		Concurrent() {
+			super(true, true, ImageType.single(GrayU8.class), TupleDesc_B.class);
+		}
+
+		@Override
+		public DetectDescribePoint<GrayU8, TupleDesc_B> createDetDesc() {
+			var config = new ConfigOrb();
+			config.concurrent = true;
+			return FactoryDetectDescribe.orb(config, GrayU8.class);
+		}
+	}
+}
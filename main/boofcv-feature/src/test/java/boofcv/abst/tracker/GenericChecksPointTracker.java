@@ -18,8 +18,11 @@
 
 package boofcv.abst.tracker;
 
+import boofcv.BoofTesting;
+import boofcv.abst.distort.FDistort;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
 import boofcv.testing.BoofStandardJUnit;
@@ -32,6 +35,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 
 /**
@@ -489,6 +493,75 @@ public abstract class GenericChecksPointTracker<T extends ImageGray<T>> extends
 		checkIdentical(input, ret);
 	}
 
+	/**
+	 * Once a list has grown to its final size, requesting tracks should not create any garbage
+	 */
+	@Test
+	void getTracks_noAllocation() {
+		tracker = createTracker();
+		processImage((T)image);
+		tracker.spawnTracks();
+		processImage((T)image);
+
+		List<PointTrack> list = new ArrayList<>();
+		Runnable getTracks = () -> {
+			tracker.getAllTracks(list);
+			tracker.getActiveTracks(list);
+			tracker.getInactiveTracks(list);
+			tracker.getDroppedTracks(list);
+			tracker.getNewTracks(list);
+		};
+		for (int i = 0; i < 20; i++) {
+			getTracks.run();
+		}
+
+		long allocated = BoofTesting.allocatedBytes(getTracks);
+		assumeTrue(allocated != Long.MIN_VALUE, "JVM can't measure allocations");
+		assertTrue(allocated <= 0, "allocated " + allocated + " bytes");
+	}
+
+	/**
+	 * After warming up, processing a frame, dropping tracks, and spawning tracks should not create any garbage.
+	 * The image is shifted each frame so that tracks are updated, dropped and spawned. Concurrent implementations
+	 * are turned off since threads allocate tasks.
+	 */
+	protected void checkSteadyStateNoAllocation() {
+		boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+		BoofConcurrency.USE_CONCURRENT = false;
+		try {
+			tracker = createTracker();
+
+			var frames = new ArrayList<GrayF32>();
+			for (int i = 0; i < 4; i++) {
+				GrayF32 shifted = image.createSameShape();
+				new FDistort(image, shifted).affine(1, 0, 0, 1, i*1.5, -i*0.5).borderExt().apply();
+				frames.add(shifted);
+			}
+
+			// Drop some tracks every frame so that they are constantly recycled
+			PointTracker.Dropper dropper = ( track ) -> track.featureId%5 == tracker.getFrameID()%5;
+			Runnable frame = () -> {
+				processImage((T)frames.get((int)((tracker.getFrameID() + 1)%frames.size())));
+				tracker.dropTracks(dropper);
+				tracker.spawnTracks();
+			};
+			for (int i = 0; i < 200; i++) {
+				frame.run();
+			}
+			assertTrue(tracker.getTotalActive() > 0);
+
+			long allocated = BoofTesting.minAllocatedBytes(5, () -> {
+				for (int i = 0; i < 20; i++) {
+					frame.run();
+				}
+			});
+			assumeTrue(allocated != Long.MIN_VALUE, "JVM can't measure allocations");
+			assertTrue(allocated <= 0, "allocated " + allocated + " bytes");
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = concurrent;
+		}
+	}
+
 	/**
 	 * Makes sure the number of active tracks makes sense
 	 */
@@ -23,6 +23,7 @@ import boofcv.factory.feature.detect.interest.ConfigDetectInterestPoint;
 import boofcv.factory.tracker.ConfigPointTracker;
 import boofcv.factory.tracker.FactoryPointTracker;
 import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
 
 /**
  * @author Peter Abeles
@@ -47,4 +48,8 @@ class TestPointTrackerHybrid extends GenericChecksPointTracker<GrayF32> {
 
 		return FactoryPointTracker.tracker(config, GrayF32.class, null);
 	}
+
+	@Test void steadyState_noAllocation() {
+		checkSteadyStateNoAllocation();
+	}
 }
@@ -49,6 +49,10 @@ class TestPointTrackerKltPyramid extends GenericChecksPointTracker<GrayF32> {
 		return createKLT(config);
 	}
 
+	@Test void steadyState_noAllocation() {
+		checkSteadyStateNoAllocation();
+	}
+
 	/**
 	 * Checks to see if tracks are correctly recycled by process and spawn
 	 */
@@ -179,6 +183,9 @@ class TestPointTrackerKltPyramid extends GenericChecksPointTracker<GrayF32> {
 	}
 
 	private PointTrackerKltPyramid<GrayF32, GrayF32> createKLT( ConfigPKlt config ) {
+		// The concurrent implementation is tested in its own class
+		config.concurrent = false;
+
 		var configDetector = new ConfigPointDetector();
 		configDetector.type = PointDetectorTypes.SHI_TOMASI;
 		configDetector.general.maxFeatures = 200;
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.distort.FDistort;
+import boofcv.abst.feature.detect.interest.ConfigPointDetector;
+import boofcv.abst.feature.detect.interest.PointDetectorTypes;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPointTrackerKltPyramid_MT extends GenericChecksPointTracker<GrayF32> {
+
+	public TestPointTrackerKltPyramid_MT() {
+		super(false, true);
+	}
+
+	@Override public PointTracker<GrayF32> createTracker() {
+		var config = new ConfigPKlt();
+		config.maximumTracks.setFixed(0);
+		return createKLT(config, true);
+	}
+
+	/**
+	 * Compares the output against the single threaded version while the image moves around
+	 */
+	@Test void compareToSingleThread() {
+		var config = new ConfigPKlt();
+		config.maximumTracks.setFixed(0);
+		config.toleranceFB = 0.5;
+
+		PointTrackerKltPyramid<GrayF32, GrayF32> single = createKLT(config, false);
+		PointTrackerKltPyramid<GrayF32, GrayF32> multi = createKLT(config, true);
+		assertTrue(multi instanceof PointTrackerKltPyramid_MT);
+
+		GrayF32 moved = image.createSameShape();
+		for (int frame = 0; frame < 6; frame++) {
+			// shift the image and add some rotation so that tracks are dropped as well as tracked
+			double theta = frame*0.03;
+			double c = Math.cos(theta), s = Math.sin(theta);
+			new FDistort(image, moved).affine(c, -s, s, c, frame*1.5, -frame*0.5).borderExt().apply();
+
+			single.process(moved);
+			multi.process(moved);
+			compare(single.getDroppedTracks(null), multi.getDroppedTracks(null));
+
+			single.spawnTracks();
+			multi.spawnTracks();
+			compare(single.getNewTracks(null), multi.getNewTracks(null));
+			compare(single.getActiveTracks(null), multi.getActiveTracks(null));
+			assertTrue(single.getTotalActive() > 10);
+		}
+	}
+
+	private void compare( List<PointTrack> expected, List<PointTrack> found ) {
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			PointTrack a = expected.get(i);
+			PointTrack b = found.get(i);
+			assertEquals(a.featureId, b.featureId);
+			assertEquals(a.spawnFrameID, b.spawnFrameID);
+			assertEquals(a.lastSeenFrameID, b.lastSeenFrameID);
+			assertEquals(0.0, a.pixel.distance(b.pixel));
+		}
+	}
+
+	private PointTrackerKltPyramid<GrayF32, GrayF32> createKLT( ConfigPKlt config, boolean concurrent ) {
+		config.concurrent = concurrent;
+
+		var configDetector = new ConfigPointDetector();
+		configDetector.type = PointDetectorTypes.SHI_TOMASI;
+		configDetector.general.maxFeatures = 200;
+		configDetector.general.radius = 3;
+		configDetector.general.threshold = 1000;
+
+		return FactoryPointTracker.klt(config, configDetector, GrayF32.class, GrayF32.class);
+	}
+}
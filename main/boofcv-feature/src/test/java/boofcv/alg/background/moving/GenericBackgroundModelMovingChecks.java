@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -29,6 +29,7 @@ import boofcv.testing.BoofStandardJUnit;
 import georegression.struct.homography.Homography2D_F32;
 import georegression.struct.point.Point2D_F32;
 import georegression.transform.homography.HomographyPointOps_F32;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -56,6 +57,14 @@ public abstract class GenericBackgroundModelMovingChecks extends BoofStandardJUn
 	public abstract<T extends ImageBase<T>>
 	BackgroundModelMoving<T,Homography2D_F32> create( ImageType<T> imageType );
 
+	/**
+	 * If not null then the output of {@link #create} is compared against this single threaded implementation
+	 */
+	public <T extends ImageBase<T>> @Nullable
+	BackgroundModelMoving<T,Homography2D_F32> createSingleThread( ImageType<T> imageType ) {
+		return null;
+	}
+
 	/**
 	 * Basic check were multiple images are feed into the algorithm and another image,
 	 * which has a region which is clearly different is then segmented.
@@ -352,6 +361,47 @@ public abstract class GenericBackgroundModelMovingChecks extends BoofStandardJUn
 		alg.segment(homeToCurrent, frame, segmented);
 	}
 
+	/**
+	 * Compares a concurrent implementation against its single threaded counterpart. Results should be identical.
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( ImageType type : imageTypes ) {
+			compareToSingleThread(type);
+		}
+	}
+
+	private <T extends ImageBase<T>>
+	void compareToSingleThread( ImageType<T> imageType ) {
+		BackgroundModelMoving<T,Homography2D_F32> expectedAlg = createSingleThread(imageType);
+		if (expectedAlg == null)
+			return;
+		BackgroundModelMoving<T,Homography2D_F32> alg = create(imageType);
+
+		T frame = imageType.createImage(width, height);
+		GrayU8 segmented = new GrayU8(width, height);
+		GrayU8 expected = new GrayU8(width, height);
+
+		Homography2D_F32 homeToWorld = new Homography2D_F32(1,0,width/2,0,1,height/2,0,0,1);
+		alg.initialize(width*2, height*2, homeToWorld);
+		expectedAlg.initialize(width*2, height*2, homeToWorld);
+
+		for (int i = 0; i < 10; i++) {
+			Homography2D_F32 homeToCurrent = new Homography2D_F32();
+			homeToCurrent.a13 = rand.nextFloat()*10 - 5f;
+			homeToCurrent.a23 = rand.nextFloat()*10 - 5f;
+
+			noise(100, 30, frame);
+			alg.updateBackground(homeToCurrent, frame);
+			expectedAlg.updateBackground(homeToCurrent, frame);
+
+			noise(100, 30, frame);
+			alg.segment(homeToCurrent, frame, segmented);
+			expectedAlg.segment(homeToCurrent, frame, expected);
+			BoofTesting.assertEquals(expected, segmented, 0);
+		}
+	}
+
 	private void noise( double mean , double range , ImageBase image ) {
 		GImageMiscOps.fill(image,mean);
 		GImageMiscOps.addUniform(image,rand,-range,range);
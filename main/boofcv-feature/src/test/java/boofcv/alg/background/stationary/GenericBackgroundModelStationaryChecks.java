@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -27,6 +27,7 @@ import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import boofcv.testing.BoofStandardJUnit;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -50,6 +51,14 @@ public abstract class GenericBackgroundModelStationaryChecks extends BoofStandar
 	public abstract<T extends ImageBase<T>>
 	BackgroundModelStationary<T> create( ImageType<T> imageType );
 
+	/**
+	 * If not null then the output of {@link #create} is compared against this single threaded implementation
+	 */
+	public <T extends ImageBase<T>> @Nullable
+	BackgroundModelStationary<T> createSingleThread( ImageType<T> imageType ) {
+		return null;
+	}
+
 	/**
 	 * Basic check were multiple images are feed into the algorithm and another image,
 	 * which has a region which is clearly different is then segmented.
@@ -244,6 +253,39 @@ public abstract class GenericBackgroundModelStationaryChecks extends BoofStandar
 		}
 	}
 
+	/**
+	 * Compares a concurrent implementation against its single threaded counterpart. Results should be identical.
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( ImageType type : imageTypes ) {
+			compareToSingleThread(type);
+		}
+	}
+
+	private <T extends ImageBase<T>>
+	void compareToSingleThread( ImageType<T> imageType ) {
+		BackgroundModelStationary<T> expectedAlg = createSingleThread(imageType);
+		if (expectedAlg == null)
+			return;
+		BackgroundModelStationary<T> alg = create(imageType);
+
+		T frame = imageType.createImage(width, height);
+		GrayU8 segmented = new GrayU8(width, height);
+		GrayU8 expected = new GrayU8(width, height);
+
+		for (int i = 0; i < 10; i++) {
+			noise(100, 30, frame);
+			alg.updateBackground(frame);
+			expectedAlg.updateBackground(frame);
+
+			noise(100, 30, frame);
+			alg.segment(frame, segmented);
+			expectedAlg.segment(frame, expected);
+			BoofTesting.assertEquals(expected, segmented, 0);
+		}
+	}
+
 	protected void noiseBand( double mean , double range , ImageBase image , int band ) {
 		double pixel[] = new double[ image.getImageType().getNumBands() ];
 		Arrays.fill(pixel,10);
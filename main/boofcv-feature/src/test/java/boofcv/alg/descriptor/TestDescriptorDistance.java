@@ -174,6 +174,45 @@ public class TestDescriptorDistance extends BoofStandardJUnit {
 		}
 	}
 
+	/**
+	 * The packed array variants should produce the same results as the functions which take in descriptors
+	 */
+	@Test
+	public void packed() {
+		int N = 9;
+		TupleDesc_F64 a64 = new TupleDesc_F64(N);
+		TupleDesc_F64 b64 = new TupleDesc_F64(N);
+		TupleDesc_F32 a32 = new TupleDesc_F32(N);
+		TupleDesc_F32 b32 = new TupleDesc_F32(N);
+		TupleDesc_B aB = new TupleDesc_B(N*32);
+		TupleDesc_B bB = new TupleDesc_B(N*32);
+		for (int i = 0; i < N; i++) {
+			a64.value[i] = rand.nextGaussian();
+			b64.value[i] = rand.nextGaussian();
+			a32.value[i] = (float)rand.nextGaussian();
+			b32.value[i] = (float)rand.nextGaussian();
+			aB.data[i] = rand.nextInt();
+			bB.data[i] = rand.nextInt();
+		}
+
+		// place the descriptors at different offsets inside of the array
+		double[] arrayA64 = new double[N + 2], arrayB64 = new double[N + 5];
+		float[] arrayA32 = new float[N + 2], arrayB32 = new float[N + 5];
+		int[] arrayAB = new int[N + 2], arrayBB = new int[N + 5];
+		System.arraycopy(a64.value, 0, arrayA64, 2, N);
+		System.arraycopy(b64.value, 0, arrayB64, 5, N);
+		System.arraycopy(a32.value, 0, arrayA32, 2, N);
+		System.arraycopy(b32.value, 0, arrayB32, 5, N);
+		System.arraycopy(aB.data, 0, arrayAB, 2, N);
+		System.arraycopy(bB.data, 0, arrayBB, 5, N);
+
+		assertEquals(DescriptorDistance.euclideanSq(a64, b64), DescriptorDistance.euclideanSq(arrayA64, 2, arrayB64, 5, N), 1e-8);
+		assertEquals(DescriptorDistance.euclideanSq(a32, b32), DescriptorDistance.euclideanSq(arrayA32, 2, arrayB32, 5, N), 1e-4);
+		assertEquals(DescriptorDistance.sad(a64, b64), DescriptorDistance.sad(arrayA64, 2, arrayB64, 5, N), 1e-8);
+		assertEquals(DescriptorDistance.sad(a32, b32), DescriptorDistance.sad(arrayA32, 2, arrayB32, 5, N), 1e-4);
+		assertEquals(DescriptorDistance.hamming(aB, bB), DescriptorDistance.hamming(arrayAB, 2, arrayBB, 5, N));
+	}
+
 	@Test
 	public void hamming_int() {
 		assertEquals(0,DescriptorDistance.hamming(0));
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import boofcv.alg.feature.associate.AssociateNearestNeighbor;
+import boofcv.alg.feature.associate.AssociateNearestNeighbor_MT;
+import boofcv.alg.feature.associate.AssociateNearestNeighbor_ST;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestMultiIndexHashing_B extends BoofStandardJUnit {
+	int numBits = 256;
+
+	DogArray<TupleDesc_B> createRandom( int N ) {
+		var list = new DogArray<>(() -> new TupleDesc_B(numBits));
+		for (int i = 0; i < N; i++) {
+			TupleDesc_B d = list.grow();
+			for (int j = 0; j < d.data.length; j++) {
+				d.data[j] = rand.nextInt();
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Creates a copy of the descriptor with the specified number of bits flipped
+	 */
+	TupleDesc_B addNoise( TupleDesc_B src, int numFlipped ) {
+		TupleDesc_B dst = src.copy();
+		for (int i = 0; i < numFlipped; i++) {
+			int bit = rand.nextInt(numBits);
+			dst.data[bit/32] ^= 1 << (bit%32);
+		}
+		return dst;
+	}
+
+	/**
+	 * Brute force search for the closest point
+	 */
+	int bruteForceDistance( DogArray<TupleDesc_B> points, TupleDesc_B query ) {
+		int best = Integer.MAX_VALUE;
+		for (int i = 0; i < points.size; i++) {
+			best = Math.min(best, DescriptorDistance.hamming(points.get(i), query));
+		}
+		return best;
+	}
+
+	/**
+	 * Exact search should always find a point as close as the brute force solution
+	 */
+	@Test void findNearest_exact() {
+		DogArray<TupleDesc_B> points = createRandom(1000);
+		var alg = new MultiIndexHashing_B();
+		alg.setPoints(points.toList(), true);
+		NearestNeighbor.Search<TupleDesc_B> search = alg.createSearch();
+		var result = new NnData<TupleDesc_B>();
+
+		for (int trial = 0; trial < 100; trial++) {
+			TupleDesc_B query;
+			// test both close and far away queries
+			if (trial%2 == 0)
+				query = addNoise(points.get(rand.nextInt(points.size)), rand.nextInt(40));
+			else
+				query = createRandom(1).get(0);
+
+			assertTrue(search.findNearest(query, -1, result));
+			assertEquals(bruteForceDistance(points, query), result.distance);
+			assertSame(points.get(result.index), result.point);
+			assertEquals(DescriptorDistance.hamming(query, result.point), result.distance);
+		}
+	}
+
+	@Test void findNearest_k() {
+		DogArray<TupleDesc_B> points = createRandom(500);
+		var alg = new MultiIndexHashing_B(16);
+		alg.setPoints(points.toList(), true);
+		NearestNeighbor.Search<TupleDesc_B> search = alg.createSearch();
+		var results = new DogArray<>(NnData<TupleDesc_B>::new);
+
+		for (int trial = 0; trial < 50; trial++) {
+			TupleDesc_B query = addNoise(points.get(rand.nextInt(points.size)), rand.nextInt(60));
+			search.findNearest(query, -1, 3, results);
+			assertEquals(3, results.size);
+
+			// the results should be in order and match the three best found by brute force
+			int[] distances = new int[points.size];
+			for (int i = 0; i < points.size; i++) {
+				distances[i] = DescriptorDistance.hamming(points.get(i), query);
+			}
+			Arrays.sort(distances);
+			for (int i = 0; i < 3; i++) {
+				assertEquals(distances[i], results.get(i).distance);
+			}
+		}
+	}
+
+	@Test void findNearest_maxDistance() {
+		DogArray<TupleDesc_B> points = createRandom(200);
+		var alg = new MultiIndexHashing_B();
+		alg.setPoints(points.toList(), true);
+		NearestNeighbor.Search<TupleDesc_B> search = alg.createSearch();
+		var result = new NnData<TupleDesc_B>();
+
+		TupleDesc_B query = points.get(5).copy();
+		for (int i = 0; i < 10; i++) {
+			int bit = i*20;
+			query.data[bit/32] ^= 1 << (bit%32);
+		}
+
+		assertFalse(search.findNearest(query, 9, result));
+		assertTrue(search.findNearest(query, 10, result));
+		assertEquals(5, result.index);
+		assertEquals(10, result.distance);
+	}
+
+	/**
+	 * Limiting the search should still return valid results and find close matches
+	 */
+	@Test void findNearest_approximate() {
+		DogArray<TupleDesc_B> points = createRandom(1000);
+		var alg = new MultiIndexHashing_B();
+		alg.setMaxSubstringRadius(1);
+		alg.setPoints(points.toList(), true);
+		NearestNeighbor.Search<TupleDesc_B> search = alg.createSearch();
+		var result = new NnData<TupleDesc_B>();
+
+		int numTables = alg.tables.size;
+		for (int trial = 0; trial < 50; trial++) {
+			int target = rand.nextInt(points.size);
+			// with this many bits flipped at least one substring must be within a distance of 1
+			TupleDesc_B query = addNoise(points.get(target), 2*numTables - 1);
+			assertTrue(search.findNearest(query, -1, result));
+			assertEquals(DescriptorDistance.hamming(query, result.point), result.distance);
+			assertEquals(target, result.index);
+		}
+
+		// Very few candidates. The result should still be valid
+		alg.setMaxSubstringRadius(-1);
+		alg.setMaxCandidates(5);
+		TupleDesc_B query = createRandom(1).get(0);
+		assertTrue(search.findNearest(query, -1, result));
+		assertEquals(DescriptorDistance.hamming(query, result.point), result.distance);
+	}
+
+	@Test void selectSubstrings() {
+		var alg = new MultiIndexHashing_B(24);
+		alg.selectSubstrings(256, 1000);
+		assertEquals(24, alg.tables.size);
+		int total = 0;
+		for (int i = 0; i < alg.tables.size; i++) {
+			MultiIndexHashing_B.Table t = alg.tables.get(i);
+			assertEquals(total, t.bitOffset);
+			assertEquals(i < 16 ? 11 : 10, t.bitLength);
+			total += t.bitLength;
+		}
+		assertEquals(256, total);
+
+		// too few tables
+		alg = new MultiIndexHashing_B(2);
+		MultiIndexHashing_B _alg = alg;
+		assertThrows(IllegalArgumentException.class, () -> _alg.selectSubstrings(256, 1000));
+
+		// automatic selection. log2(1024) = 10
+		alg = new MultiIndexHashing_B();
+		alg.selectSubstrings(250, 1024);
+		assertEquals(25, alg.tables.size);
+	}
+
+	@Test void substring() {
+		var desc = new TupleDesc_B(96);
+		desc.data[0] = 0xF0000000;
+		desc.data[1] = 0x0000000A;
+
+		assertEquals(0xF, MultiIndexHashing_B.substring(desc, 28, 4));
+		// crosses the word boundary
+		assertEquals(0xAF, MultiIndexHashing_B.substring(desc, 28, 8));
+		assertEquals(0x5, MultiIndexHashing_B.substring(desc, 33, 3));
+	}
+
+	/**
+	 * Every point should be inside the bucket for its key
+	 */
+	@Test void table_build() {
+		DogArray<TupleDesc_B> points = createRandom(300);
+		var alg = new MultiIndexHashing_B(16);
+		alg.setPoints(points.toList(), true);
+
+		for (int tableIdx = 0; tableIdx < alg.tables.size; tableIdx++) {
+			MultiIndexHashing_B.Table t = alg.tables.get(tableIdx);
+			assertEquals(points.size, t.bucketStart.getTail(0));
+			for (int i = 0; i < points.size; i++) {
+				int key = MultiIndexHashing_B.substring(points.get(i), t.bitOffset, t.bitLength);
+				boolean found = false;
+				for (int j = t.bucketStart.get(key); j < t.bucketStart.get(key + 1); j++) {
+					if (t.indexes.get(j) == i) {
+						found = true;
+						break;
+					}
+				}
+				assertTrue(found);
+			}
+		}
+	}
+
+	/**
+	 * The concurrent association should produce the same matches
+	 */
+	@Test void associate_MT() {
+		DogArray<TupleDesc_B> src = createRandom(500);
+		var dst = new DogArray<>(() -> new TupleDesc_B(numBits));
+		for (int i = 0; i < src.size; i++) {
+			dst.grow().setTo(addNoise(src.get(i), 20));
+		}
+
+		AssociateNearestNeighbor<TupleDesc_B> alg_ST = new AssociateNearestNeighbor_ST<>(new MultiIndexHashing_B());
+		AssociateNearestNeighbor<TupleDesc_B> alg_MT = new AssociateNearestNeighbor_MT<>(new MultiIndexHashing_B());
+		alg_ST.setSource(src);
+		alg_ST.setDestination(dst);
+		alg_MT.setSource(src);
+		alg_MT.setDestination(dst);
+		alg_ST.associate();
+		alg_MT.associate();
+
+		assertEquals(src.size, alg_ST.getMatches().size);
+		assertEquals(src.size, alg_MT.getMatches().size);
+		for (int i = 0; i < alg_ST.getMatches().size; i++) {
+			AssociatedIndex a = alg_ST.getMatches().get(i);
+			assertEquals(a.src, a.dst);
+		}
+		for (int i = 0; i < alg_MT.getMatches().size; i++) {
+			AssociatedIndex a = alg_MT.getMatches().get(i);
+			assertEquals(a.src, a.dst);
+		}
+	}
+}
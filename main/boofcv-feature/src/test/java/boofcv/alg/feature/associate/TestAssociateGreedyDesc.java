@@ -20,8 +20,10 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastAccess;
+import org.junit.jupiter.api.Nested;
 
 
 /**
@@ -42,4 +44,26 @@ class TestAssociateGreedyDesc extends GenericAssociateGreedyChecks {
 							 FastAccess<TupleDesc_F64> dst) {
 		((AssociateGreedyDesc<TupleDesc_F64>)alg).associate(src,dst);
 	}
+
+	/**
+	 * Runs the same checks but with the descriptors stored in packed arrays
+	 */
+	@Nested
+	class Packed extends GenericAssociateGreedyChecks {
+		@Override
+		protected AssociateGreedyBase<TupleDesc_F64> createAlgorithm() {
+			return new AssociateGreedyDesc<>(score);
+		}
+
+		@Override
+		protected void associate(AssociateGreedyBase<TupleDesc_F64> alg,
+								 FastAccess<TupleDesc_F64> src,
+								 FastAccess<TupleDesc_F64> dst) {
+			var packedSrc = new PackedTupleArray_F64(src.get(0).size());
+			var packedDst = new PackedTupleArray_F64(dst.get(0).size());
+			packedSrc.appendAll(src);
+			packedDst.appendAll(dst);
+			((AssociateGreedyDesc<TupleDesc_F64>)alg).associate(packedSrc,packedDst);
+		}
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.testing.BoofStandardJUnit;
 import org.ddogleg.struct.DogArray;
@@ -37,6 +38,42 @@ class TestAssociateGreedyDesc_MT extends BoofStandardJUnit {
 		compare(true , 0.1);
 	}
 
+	/**
+	 * Compares the concurrent packed implementation against the single threaded object implementation
+	 */
+	@Test
+	void comparePacked() {
+		comparePacked(false, 1.0);
+		comparePacked(true , 0.1);
+	}
+
+	void comparePacked( boolean backwards , double ratioTest ) {
+		DogArray<TupleDesc_F64> a = createData(200);
+		DogArray<TupleDesc_F64> b = createData(200);
+		var packedA = new PackedTupleArray_F64(1);
+		var packedB = new PackedTupleArray_F64(1);
+		packedA.appendAll(a);
+		packedB.appendAll(b);
+
+		AssociateGreedyDesc<TupleDesc_F64> sequentialAlg = new AssociateGreedyDesc<>( new ScoreAssociateEuclidean_F64());
+		sequentialAlg.backwardsValidation = backwards;
+		sequentialAlg.setRatioTest(ratioTest);
+		sequentialAlg.setMaxFitError(0.5);
+		sequentialAlg.associate(a,b);
+
+		AssociateGreedyDesc_MT<TupleDesc_F64> parallelAlg = new AssociateGreedyDesc_MT<>( new ScoreAssociateEuclidean_F64());
+		parallelAlg.backwardsValidation = backwards;
+		parallelAlg.setRatioTest(ratioTest);
+		parallelAlg.setMaxFitError(0.5);
+		parallelAlg.associate(packedA,packedB);
+
+		assertEquals(sequentialAlg.getPairs().size, parallelAlg.getPairs().size);
+		for (int i = 0; i < sequentialAlg.getPairs().size; i++) {
+			assertEquals(sequentialAlg.getPairs().get(i), parallelAlg.getPairs().get(i));
+			assertEquals(sequentialAlg.getFitQuality().get(i), parallelAlg.getFitQuality().get(i));
+		}
+	}
+
 	void compare( boolean backwards , double ratioTest ) {
 		DogArray<TupleDesc_F64> a = createData(200);
 		DogArray<TupleDesc_F64> b = createData(200);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.brief;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_I32;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLearnBriefDefinition extends BoofStandardJUnit {
+	int width = 200;
+	int height = 150;
+	int radius = 10;
+
+	GrayF32 createImage() {
+		var image = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 255);
+		return BlurImageOps.gaussian(image, null, -1, 2, null);
+	}
+
+	@Test void learn() {
+		GrayF32 image = createImage();
+		var alg = new LearnBriefDefinition(radius, 300, new Random(234));
+		assertEquals(300, alg.getNumCandidates());
+
+		for (int i = 0; i < 400; i++) {
+			double x = rand.nextDouble()*width;
+			double y = rand.nextDouble()*height;
+			alg.addPatch(image, x, y, (rand.nextDouble() - 0.5)*Math.PI);
+		}
+		assertTrue(alg.getNumPatches() > 100);
+
+		int numPairs = 64;
+		BinaryCompareDefinition_I32 found = alg.learn(numPairs, 0.2);
+		assertEquals(numPairs, found.compare.length);
+		assertEquals(numPairs*2, found.samplePoints.length);
+		assertEquals(radius, found.radius);
+		assertTrue(alg.getSelectedThreshold() >= 0.2);
+
+		// every point should be inside the circle and no test should be selected twice
+		Set<String> tests = new HashSet<>();
+		for (int i = 0; i < numPairs; i++) {
+			Point2D_I32 a = found.samplePoints[found.compare[i].x];
+			Point2D_I32 b = found.samplePoints[found.compare[i].y];
+			assertTrue(a.x*a.x + a.y*a.y <= radius*radius);
+			assertTrue(b.x*b.x + b.y*b.y <= radius*radius);
+			assertFalse(a.x == b.x && a.y == b.y);
+			assertTrue(tests.add(a.x + " " + a.y + " " + b.x + " " + b.y));
+		}
+	}
+
+	/**
+	 * If the tests are all perfectly correlated it should relax the threshold until it has enough
+	 */
+	@Test void learn_relaxThreshold() {
+		var image = new GrayF32(width, height);
+		ImageMiscOps.fill(image, 50);
+		var alg = new LearnBriefDefinition(radius, 50, new Random(234));
+		for (int i = 0; i < 10; i++) {
+			assertTrue(alg.addPatch(image, width/2, height/2, 0.0));
+		}
+
+		BinaryCompareDefinition_I32 found = alg.learn(20, 0.2);
+		assertEquals(20, found.compare.length);
+		assertEquals(1.0, alg.getSelectedThreshold(), 1e-8);
+	}
+
+	@Test void addPatch_border() {
+		GrayF32 image = createImage();
+		var alg = new LearnBriefDefinition(radius, 50, new Random(234));
+
+		assertFalse(alg.addPatch(image, radius, height/2, 0.0));
+		assertFalse(alg.addPatch(image, width/2, height - radius - 1, 0.0));
+		assertTrue(alg.addPatch(image, radius + 1, radius + 1, 0.0));
+		assertEquals(1, alg.getNumPatches());
+
+		alg.reset();
+		assertEquals(0, alg.getNumPatches());
+	}
+
+	@Test void learn_badInput() {
+		GrayF32 image = createImage();
+		var alg = new LearnBriefDefinition(radius, 50, new Random(234));
+		alg.addPatch(image, width/2, height/2, 0.0);
+
+		// not enough patches
+		assertThrows(IllegalArgumentException.class, () -> alg.learn(10, 0.2));
+
+		alg.addPatch(image, width/2 + 5, height/2, 0.0);
+		// too many pairs
+		assertThrows(IllegalArgumentException.class, () -> alg.learn(51, 0.2));
+	}
+}
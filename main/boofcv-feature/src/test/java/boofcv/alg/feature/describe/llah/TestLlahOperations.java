@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -28,6 +28,8 @@ import org.ddogleg.sorting.QuickSort_F64;
 import org.ddogleg.struct.DogArray_I32;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -125,6 +127,92 @@ class TestLlahOperations extends BoofStandardJUnit {
 		}
 	}
 
+	/**
+	 * Packing the hash table should not change the results
+	 */
+	@Test
+	void packHashTable() {
+		for (LlahInvariant type : LlahInvariant.values()) {
+			LlahOperations llahOps = createLlahOps(type);
+			for (int docID = 0; docID < 5; docID++) {
+				llahOps.createDocument(documents.get(docID));
+			}
+
+			List<List<Integer>> expected = lookupAllHits(llahOps);
+			LlahPackedHashTable table = llahOps.packHashTable();
+			assertSame(table, llahOps.getPackedTable());
+			assertEquals(5, table.getNumDocuments());
+			assertEquals(0, llahOps.getHashTable().map.size());
+			assertEquals(0, llahOps.getDocuments().get(0).features.size());
+			assertEquals(expected, lookupAllHits(llahOps));
+
+			// Documents added after packing should go into the packed table
+			llahOps.createDocument(documents.get(5));
+			assertEquals(6, table.getNumDocuments());
+			var found = new ArrayList<LlahOperations.FoundDocument>();
+			llahOps.lookupDocuments(documents.get(5), 8, found);
+			assertTrue(found.stream().anyMatch(f -> f.document.documentID == 5));
+
+			// Clearing the documents should remove the packed table
+			llahOps.clearDocuments();
+			assertNull(llahOps.getPackedTable());
+		}
+	}
+
+	/**
+	 * Save a packed table then use it in a new instance
+	 */
+	@Test
+	void setPackedTable() throws IOException {
+		LlahOperations original = createLlahOps(LlahInvariant.AFFINE);
+		for (int docID = 0; docID < 5; docID++) {
+			original.createDocument(documents.get(docID));
+		}
+		List<List<Integer>> expected = lookupAllHits(original);
+
+		File file = File.createTempFile("llah", ".bin");
+		try {
+			original.packHashTable().save(file.getPath());
+
+			LlahOperations llahOps = createLlahOps(LlahInvariant.AFFINE);
+			llahOps.setPackedTable(LlahPackedHashTable.map(file.getPath()), documents.subList(0, 5));
+			assertEquals(5, llahOps.getDocuments().size);
+			assertEquals(expected, lookupAllHits(llahOps));
+
+			// Wrong number of documents
+			assertThrows(IllegalArgumentException.class, () ->
+					llahOps.setPackedTable(LlahPackedHashTable.map(file.getPath()), documents));
+			// Different settings
+			assertThrows(IllegalArgumentException.class, () ->
+					createLlahOps(LlahInvariant.CROSS_RATIO).setPackedTable(
+							LlahPackedHashTable.map(file.getPath()), documents.subList(0, 5)));
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Looks up every document and returns the landmark hits for the best document
+	 */
+	private List<List<Integer>> lookupAllHits( LlahOperations llahOps ) {
+		List<List<Integer>> output = new ArrayList<>();
+		var found = new ArrayList<LlahOperations.FoundDocument>();
+		for (int docID = 0; docID < documents.size(); docID++) {
+			llahOps.lookupDocuments(documents.get(docID), 8, found);
+			List<Integer> hits = new ArrayList<>();
+			for (int i = 0; i < found.size(); i++) {
+				LlahOperations.FoundDocument f = found.get(i);
+				if (f.document.documentID != docID)
+					continue;
+				for (int j = 0; j < f.landmarkHits.size; j++) {
+					hits.add(f.landmarkHits.get(j));
+				}
+			}
+			output.add(hits);
+		}
+		return output;
+	}
+
 	private LlahOperations createLlahOps(LlahInvariant invariantType) {
 		switch (invariantType) {
 			case AFFINE:
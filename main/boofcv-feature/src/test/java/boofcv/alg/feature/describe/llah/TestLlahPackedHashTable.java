@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.describe.llah;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_I32;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestLlahPackedHashTable extends BoofStandardJUnit {
+	int numInvariants = 5;
+
+	@Test void add_lookup() {
+		List<LlahFeature> features = createFeatures(2000, 100);
+
+		var alg = new LlahPackedHashTable(numInvariants);
+		for (int i = 0; i < features.size(); i++) {
+			alg.add(features.get(i));
+		}
+		assertEquals(features.size(), alg.getSize());
+		assertEquals(10, alg.getNumDocuments());
+		assertTrue(alg.getSize() <= alg.getCapacity()*alg.getMaxLoadFactor());
+
+		checkLookup(features, alg);
+
+		// Hash code which isn't in the table
+		assertEquals(-1, alg.lookupFirst(100_000));
+	}
+
+	@Test void doInvariantsMatch() {
+		var a = new LlahFeature(numInvariants);
+		System.arraycopy(new int[]{0, 1, 20, 255, 3}, 0, a.invariants, 0, numInvariants);
+
+		var alg = new LlahPackedHashTable(numInvariants);
+		alg.add(a);
+
+		int slot = alg.lookupFirst(a.hashCode);
+		assertTrue(alg.doInvariantsMatch(slot, a));
+		a.invariants[2] = 21;
+		assertFalse(alg.doInvariantsMatch(slot, a));
+	}
+
+	/**
+	 * Invariants are stored as bytes so larger values are not allowed
+	 */
+	@Test void add_invariantTooLarge() {
+		var a = new LlahFeature(numInvariants);
+		a.invariants[1] = 256;
+
+		var alg = new LlahPackedHashTable(numInvariants);
+		assertThrows(IllegalArgumentException.class, () -> alg.add(a));
+	}
+
+	@Test void reserve() {
+		List<LlahFeature> features = createFeatures(500, 50);
+
+		var alg = new LlahPackedHashTable(numInvariants);
+		alg.reserve(features.size());
+		int capacity = alg.getCapacity();
+		for (int i = 0; i < features.size(); i++) {
+			alg.add(features.get(i));
+		}
+		assertEquals(capacity, alg.getCapacity());
+		checkLookup(features, alg);
+	}
+
+	@Test void reset() {
+		List<LlahFeature> features = createFeatures(100, 50);
+
+		var alg = new LlahPackedHashTable(numInvariants);
+		for (int i = 0; i < features.size(); i++) {
+			alg.add(features.get(i));
+		}
+		alg.reset();
+		assertEquals(0, alg.getSize());
+		assertEquals(0, alg.getNumDocuments());
+		for (int i = 0; i < features.size(); i++) {
+			assertEquals(-1, alg.lookupFirst(features.get(i).hashCode));
+		}
+	}
+
+	@Test void save_load() throws IOException {
+		List<LlahFeature> features = createFeatures(1000, 100);
+		LlahPackedHashTable expected = createTable(features);
+
+		File file = File.createTempFile("llah", ".bin");
+		try {
+			expected.save(file.getPath());
+			LlahPackedHashTable found = LlahPackedHashTable.load(file.getPath());
+			checkSettings(expected, found);
+			assertFalse(found.isReadOnly());
+			checkLookup(features, found);
+
+			// it should be possible to add more features to it
+			List<LlahFeature> more = createFeatures(500, 100);
+			for (int i = 0; i < more.size(); i++) {
+				// landmark IDs need to be unique so the match check isn't ambiguous
+				more.get(i).landmarkID += features.size();
+				found.add(more.get(i));
+			}
+			features.addAll(more);
+			checkLookup(features, found);
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test void save_map() throws IOException {
+		List<LlahFeature> features = createFeatures(1000, 100);
+		LlahPackedHashTable expected = createTable(features);
+
+		File file = File.createTempFile("llah", ".bin");
+		try {
+			expected.save(file.getPath());
+			LlahPackedHashTable found = LlahPackedHashTable.map(file.getPath());
+			checkSettings(expected, found);
+			assertTrue(found.isReadOnly());
+			checkLookup(features, found);
+
+			assertThrows(IllegalStateException.class, () -> found.add(features.get(0)));
+		} finally {
+			file.delete();
+		}
+	}
+
+	/**
+	 * Save then load an empty table
+	 */
+	@Test void save_load_empty() throws IOException {
+		var expected = new LlahPackedHashTable(numInvariants);
+
+		File file = File.createTempFile("llah", ".bin");
+		try {
+			expected.save(file.getPath());
+			LlahPackedHashTable found = LlahPackedHashTable.load(file.getPath());
+			assertEquals(0, found.getSize());
+			assertEquals(-1, found.lookupFirst(5));
+
+			List<LlahFeature> features = createFeatures(10, 5);
+			for (int i = 0; i < features.size(); i++) {
+				found.add(features.get(i));
+			}
+			checkLookup(features, found);
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test void isCompatible() {
+		var hasher = new LlahHasher.Affine(8, 1000);
+		hasher.setSamples(new double[]{0.1, 0.5, 2.0});
+
+		var alg = new LlahPackedHashTable(hasher.getNumberOfInvariants(5));
+		alg.setFeatureSettings(7, 5, hasher);
+		assertTrue(alg.isCompatible(7, 5, hasher));
+		assertFalse(alg.isCompatible(6, 5, hasher));
+		assertFalse(alg.isCompatible(7, 5, new LlahHasher.Affine(9, 1000)));
+
+		hasher.setSamples(new double[]{0.1, 0.6, 2.0});
+		assertFalse(alg.isCompatible(7, 5, hasher));
+	}
+
+	private void checkSettings( LlahPackedHashTable expected, LlahPackedHashTable found ) {
+		assertEquals(expected.getNumInvariants(), found.getNumInvariants());
+		assertEquals(expected.getSize(), found.getSize());
+		assertEquals(expected.getCapacity(), found.getCapacity());
+		assertEquals(expected.getNumDocuments(), found.getNumDocuments());
+		assertEquals(expected.getNumberOfNeighborsN(), found.getNumberOfNeighborsN());
+		assertEquals(expected.getSizeOfCombinationM(), found.getSizeOfCombinationM());
+		assertEquals(expected.getHashK(), found.getHashK());
+		assertEquals(expected.getHashSize(), found.getHashSize());
+		assertEquals(expected.getSamplesHash(), found.getSamplesHash());
+	}
+
+	/**
+	 * Makes sure all the features with the same hash code are found, and only those features
+	 */
+	private void checkLookup( List<LlahFeature> features, LlahPackedHashTable alg ) {
+		var found = new DogArray_I32();
+		for (int i = 0; i < features.size(); i++) {
+			LlahFeature f = features.get(i);
+
+			found.reset();
+			int slot = alg.lookupFirst(f.hashCode);
+			while (slot >= 0) {
+				found.add(slot);
+				slot = alg.lookupNext(f.hashCode, slot);
+			}
+
+			int expected = 0;
+			boolean matched = false;
+			for (int j = 0; j < features.size(); j++) {
+				if (features.get(j).hashCode == f.hashCode)
+					expected++;
+			}
+			assertEquals(expected, found.size);
+
+			for (int j = 0; j < found.size; j++) {
+				slot = found.get(j);
+				if (alg.getDocumentID(slot) == f.documentID && alg.getLandmarkID(slot) == f.landmarkID) {
+					assertTrue(alg.doInvariantsMatch(slot, f));
+					matched = true;
+				}
+			}
+			assertTrue(matched);
+		}
+	}
+
+	private LlahPackedHashTable createTable( List<LlahFeature> features ) {
+		var alg = new LlahPackedHashTable(numInvariants);
+		alg.setFeatureSettings(7, 5, new LlahHasher.Affine(8, 1000));
+		for (int i = 0; i < features.size(); i++) {
+			alg.add(features.get(i));
+		}
+		return alg;
+	}
+
+	/**
+	 * Creates features with random hash codes. Hash codes will often be repeated.
+	 */
+	private List<LlahFeature> createFeatures( int count, int maxHash ) {
+		List<LlahFeature> features = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			var f = new LlahFeature(numInvariants);
+			f.hashCode = rand.nextInt(maxHash);
+			f.documentID = i%10;
+			f.landmarkID = i;
+			for (int j = 0; j < numInvariants; j++) {
+				f.invariants[j] = rand.nextInt(30);
+			}
+			features.add(f);
+		}
+		return features;
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribeAlgs;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCompleteSift_MT extends BoofStandardJUnit {
+	int width = 200;
+	int height = 250;
+
+	@Test void compare_Single_to_MT() {
+		var image = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		var config = new ConfigCompleteSift();
+		config.concurrent = false;
+		CompleteSift alg_ST = FactoryDetectDescribeAlgs.sift(config);
+		config.concurrent = true;
+		CompleteSift alg_MT = FactoryDetectDescribeAlgs.sift(config);
+		assertSame(CompleteSift_MT.class, alg_MT.getClass());
+
+		// process twice to make sure internal data structures are reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			alg_ST.process(image);
+			alg_MT.process(image);
+
+			int N = alg_ST.getLocations().size;
+			assertTrue(N > 20);
+			assertEquals(N, alg_MT.getLocations().size);
+			assertEquals(N, alg_MT.getDescriptions().size);
+			assertEquals(N, alg_MT.getOrientations().size);
+
+			for (int i = 0; i < N; i++) {
+				ScalePoint a = alg_ST.getLocations().get(i);
+				ScalePoint b = alg_MT.getLocations().get(i);
+				assertEquals(0.0, a.pixel.distance(b.pixel));
+				assertEquals(a.scale, b.scale);
+				assertEquals(alg_ST.getOrientations().get(i), alg_MT.getOrientations().get(i));
+
+				TupleDesc_F64 descA = alg_ST.getDescriptions().get(i);
+				TupleDesc_F64 descB = alg_MT.getDescriptions().get(i);
+				for (int j = 0; j < descA.size(); j++) {
+					assertEquals(descA.value[j], descB.value[j]);
+				}
+			}
+		}
+	}
+}
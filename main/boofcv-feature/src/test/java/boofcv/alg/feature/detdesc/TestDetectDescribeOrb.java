@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigOrb;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.FactoryGImageGray;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribeAlgs;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDetectDescribeOrb extends BoofStandardJUnit {
+	int width = 320;
+	int height = 240;
+
+	GrayU8 createImage() {
+		var image = new GrayU8(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+		return image;
+	}
+
+	DetectDescribeOrb<GrayU8> createAlg( ConfigOrb config ) {
+		config.concurrent = false;
+		return FactoryDetectDescribeAlgs.orb(config, null, GrayU8.class);
+	}
+
+	/**
+	 * Makes sure features are found and that their location, scale, and descriptions are reasonable
+	 */
+	@Test void process() {
+		var config = new ConfigOrb();
+		config.maxFeatures = 200;
+		DetectDescribeOrb<GrayU8> alg = createAlg(config);
+
+		GrayU8 image = createImage();
+		alg.process(image);
+
+		int N = alg.getLocations().size;
+		assertTrue(N > 50);
+		// rounding in each layer can add a few extra features
+		assertTrue(N <= config.maxFeatures + config.pyramid.numLevelsRequested);
+		assertEquals(N, alg.getDescriptions().size);
+		assertEquals(N, alg.getOrientations().size);
+		assertEquals(N, alg.getRadii().size);
+		assertEquals(N, alg.getBrighter().size);
+
+		boolean foundLargerScale = false;
+		for (int i = 0; i < N; i++) {
+			Point2D_F64 p = alg.getLocations().get(i);
+			double r = alg.getRadii().get(i);
+			assertTrue(p.x - r >= 0 && p.y - r >= 0);
+			assertTrue(p.x + r < width && p.y + r < height);
+			assertEquals(config.numPairs, alg.getDescriptions().get(i).numBits);
+			if (r > config.patchRadius)
+				foundLargerScale = true;
+		}
+		assertTrue(foundLargerScale);
+
+		// processing the same image again should produce identical results
+		double x = alg.getLocations().get(N - 1).x;
+		double orientation = alg.getOrientations().get(N - 1);
+		alg.process(image);
+		assertEquals(N, alg.getLocations().size);
+		assertEquals(x, alg.getLocations().get(N - 1).x);
+		assertEquals(orientation, alg.getOrientations().get(N - 1));
+	}
+
+	/**
+	 * Features should be split between layers in proportion to their area
+	 */
+	@Test void computeLayerLimits() {
+		var config = new ConfigOrb();
+		config.maxFeatures = 300;
+		config.pyramid.numLevelsRequested = 3;
+		DetectDescribeOrb<GrayU8> alg = createAlg(config);
+		alg.pyramid.process(new GrayU8(width, height));
+		alg.computeLayerLimits(3);
+
+		// areas are 1, 1/4, 1/16
+		assertEquals(229, alg.layerLimit.get(0), 1);
+		assertEquals(57, alg.layerLimit.get(1), 1);
+		assertEquals(14, alg.layerLimit.get(2), 1);
+
+		// No limit
+		alg.setMaxFeatures(0);
+		alg.computeLayerLimits(3);
+		assertEquals(Integer.MAX_VALUE, alg.layerLimit.get(2));
+	}
+
+	/**
+	 * The intensity centroid should point in the direction the image gets brighter
+	 */
+	@Test void computeOrientation() {
+		DetectDescribeOrb<GrayU8> alg = createAlg(new ConfigOrb());
+
+		var image = new GrayU8(100, 100);
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				image.set(x, y, x + 2*y);
+			}
+		}
+
+		double found = alg.computeOrientation(FactoryGImageGray.wrap(image), 50, 50);
+		assertEquals(Math.atan2(2, 1), found, 0.01);
+
+		// flip the direction along the x-axis
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				image.set(x, y, 100 - x);
+			}
+		}
+		found = alg.computeOrientation(FactoryGImageGray.wrap(image), 50, 50);
+		assertEquals(Math.PI, Math.abs(found), 0.01);
+	}
+
+	@Test void isLocalMaximum() {
+		var intensity = new GrayF32(5, 5);
+		intensity.set(2, 2, -5);
+		intensity.set(1, 1, 4);
+		assertTrue(DetectDescribeOrb.isLocalMaximum(intensity, 2, 2));
+		intensity.set(3, 2, 6);
+		assertFalse(DetectDescribeOrb.isLocalMaximum(intensity, 2, 2));
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detdesc.ConfigOrb;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribeAlgs;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDetectDescribeOrb_MT extends BoofStandardJUnit {
+	int width = 320;
+	int height = 240;
+
+	@Test void compare_Single_to_MT() {
+		var image = new GrayU8(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		var config = new ConfigOrb();
+		config.concurrent = false;
+		DetectDescribeOrb<GrayU8> alg_ST = FactoryDetectDescribeAlgs.orb(config, null, GrayU8.class);
+		config.concurrent = true;
+		DetectDescribeOrb<GrayU8> alg_MT = FactoryDetectDescribeAlgs.orb(config, null, GrayU8.class);
+		assertSame(DetectDescribeOrb_MT.class, alg_MT.getClass());
+
+		// process twice to make sure internal data structures are reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			alg_ST.process(image);
+			alg_MT.process(image);
+
+			int N = alg_ST.getLocations().size;
+			assertTrue(N > 20);
+			assertEquals(N, alg_MT.getLocations().size);
+			assertEquals(N, alg_MT.getDescriptions().size);
+
+			for (int i = 0; i < N; i++) {
+				Point2D_F64 a = alg_ST.getLocations().get(i);
+				Point2D_F64 b = alg_MT.getLocations().get(i);
+				assertEquals(0.0, a.distance(b));
+				assertEquals(alg_ST.getRadii().get(i), alg_MT.getRadii().get(i));
+				assertEquals(alg_ST.getOrientations().get(i), alg_MT.getOrientations().get(i));
+				assertEquals(alg_ST.getBrighter().get(i), alg_MT.getBrighter().get(i));
+
+				TupleDesc_B descA = alg_ST.getDescriptions().get(i);
+				TupleDesc_B descB = alg_MT.getDescriptions().get(i);
+				assertArrayEquals(descA.data, descB.data);
+			}
+		}
+	}
+}
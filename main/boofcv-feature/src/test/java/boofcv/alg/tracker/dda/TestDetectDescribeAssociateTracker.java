@@ -18,10 +18,12 @@
 
 package boofcv.alg.tracker.dda;
 
+import boofcv.BoofTesting;
 import boofcv.abst.feature.associate.AbstractAssociateDescription2D;
 import boofcv.abst.feature.detdesc.DetectDescribePointAbstract;
 import boofcv.abst.tracker.ConfigTrackerDda;
 import boofcv.abst.tracker.PointTrack;
+import boofcv.abst.tracker.PointTracker;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
@@ -34,6 +36,8 @@ import org.ejml.UtilEjml;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * @author Peter Abeles
@@ -84,6 +88,38 @@ class TestDetectDescribeAssociateTracker extends BoofStandardJUnit {
 		assertEquals(2,t.pixel.y, UtilEjml.TEST_F64);
 	}
 
+	/**
+	 * After the pools have warmed up, processing a frame, dropping tracks, and spawning tracks should not
+	 * allocate any memory
+	 */
+	@Test
+	void steadyState_noAllocation() {
+		var detector = new StaticDetector(30);
+		var alg = new DetectDescribeAssociateTracker<>(detector, new EveryOtherAssoc(), new ConfigTrackerDda());
+		var image = new GrayF32(100, 100);
+
+		// Drop tracks so that the pool is constantly recycling
+		PointTracker.Dropper dropper = ( track ) -> track.featureId%4 == alg.getFrameID()%4;
+		Runnable frame = () -> {
+			alg.process(image);
+			alg.dropTracks(dropper);
+			alg.spawnTracks();
+		};
+		for (int i = 0; i < 200; i++) {
+			frame.run();
+		}
+		assertTrue(alg.getTracksActive().size() > 0);
+		assertTrue(alg.getTracksNew().size() > 0);
+
+		long allocated = BoofTesting.minAllocatedBytes(5, () -> {
+			for (int i = 0; i < 20; i++) {
+				frame.run();
+			}
+		});
+		assumeTrue(allocated != Long.MIN_VALUE, "JVM can't measure allocations");
+		assertTrue(allocated <= 0, "allocated " + allocated + " bytes");
+	}
+
 	private void addTracks(DogArray<PointTrack> l , int num ) {
 		for( int i = 0; i < num; i++ ) {
 			l.grow();
@@ -112,6 +148,68 @@ class TestDetectDescribeAssociateTracker extends BoofStandardJUnit {
 		@Override public boolean uniqueDestination() {return true;}
 	}
 
+	/**
+	 * Associates every other source feature with a destination feature. Output is recycled.
+	 */
+	private static class EveryOtherAssoc extends AbstractAssociateDescription2D<TupleDesc_F64> {
+		int numSrc, numDst;
+		DogArray<AssociatedIndex> matches = new DogArray<>(AssociatedIndex::new);
+		DogArray_I32 unassociatedSrc = new DogArray_I32();
+		DogArray_I32 unassociatedDst = new DogArray_I32();
+
+		@Override public void setSource( FastAccess<Point2D_F64> location, FastAccess<TupleDesc_F64> descriptions ) {
+			numSrc = descriptions.size;
+		}
+
+		@Override public void setDestination( FastAccess<Point2D_F64> location, FastAccess<TupleDesc_F64> descriptions ) {
+			numDst = descriptions.size;
+		}
+
+		@Override public void associate() {
+			matches.reset();
+			unassociatedSrc.reset();
+			unassociatedDst.reset();
+			int dst = 0;
+			for (int src = 0; src < numSrc; src++) {
+				if (src%2 == 0 && dst < numDst) {
+					matches.grow().setTo(src, dst++, 1);
+				} else {
+					unassociatedSrc.add(src);
+				}
+			}
+			for (; dst < numDst; dst++) {
+				unassociatedDst.add(dst);
+			}
+		}
+
+		@Override public FastAccess<AssociatedIndex> getMatches() {return matches;}
+		@Override public DogArray_I32 getUnassociatedSource() {return unassociatedSrc;}
+		@Override public DogArray_I32 getUnassociatedDestination() {return unassociatedDst;}
+		@Override public boolean uniqueSource() {return true;}
+		@Override public boolean uniqueDestination() {return true;}
+	}
+
+	/**
+	 * Detects the same features every frame without creating new objects
+	 */
+	private static class StaticDetector extends DetectDescribePointAbstract<GrayF32, TupleDesc_F64> {
+		DogArray<Point2D_F64> locations = new DogArray<>(Point2D_F64::new);
+		DogArray<TupleDesc_F64> descriptions = new DogArray<>(() -> new TupleDesc_F64(1));
+
+		private StaticDetector( int n ) {
+			for (int i = 0; i < n; i++) {
+				locations.grow().setTo(i, 2*i);
+				descriptions.grow().value[0] = i;
+			}
+		}
+
+		@Override public int getNumberOfFeatures() {return locations.size;}
+		@Override public Point2D_F64 getLocation( int featureIndex ) {return locations.get(featureIndex);}
+		@Override public TupleDesc_F64 getDescription( int index ) {return descriptions.get(index);}
+		@Override public TupleDesc_F64 createDescription() {return new TupleDesc_F64(1);}
+		@Override public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+	}
+
 	private static class DummyDetector extends DetectDescribePointAbstract<GrayF32,TupleDesc_F64> {
 		int N;
 		private DummyDetector(int n) {N = n;}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generic tests for implementations of {@link PackedTupleArray}
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericPackedTupleArrayChecks<D extends TupleDesc<D>> extends BoofStandardJUnit {
+
+	protected abstract PackedTupleArray<D> createAlg();
+
+	protected abstract D createRandomDescriptor();
+
+	@Test
+	void append_getCopy() {
+		PackedTupleArray<D> alg = createAlg();
+		DogArray<D> expected = new DogArray<>(this::createRandomDescriptor);
+		for (int i = 0; i < 30; i++) {
+			alg.append(expected.grow());
+		}
+
+		assertEquals(30, alg.size());
+		for (int i = 0; i < expected.size; i++) {
+			D found = alg.getCopy(i, null);
+			assertNotSame(found, expected.get(i));
+			checkEquals(expected.get(i), found);
+			checkEquals(expected.get(i), alg.getTemp(i));
+		}
+
+		// Storage should be used if provided
+		D storage = createRandomDescriptor();
+		assertSame(storage, alg.getCopy(4, storage));
+		checkEquals(expected.get(4), storage);
+	}
+
+	@Test
+	void appendAll() {
+		DogArray<D> list = new DogArray<>(this::createRandomDescriptor);
+		list.resize(10);
+
+		PackedTupleArray<D> alg = createAlg();
+		alg.append(createRandomDescriptor());
+		alg.appendAll(list);
+
+		assertEquals(11, alg.size());
+		for (int i = 0; i < list.size; i++) {
+			checkEquals(list.get(i), alg.getTemp(i + 1));
+		}
+	}
+
+	@Test
+	void reset() {
+		PackedTupleArray<D> alg = createAlg();
+		for (int i = 0; i < 5; i++) {
+			alg.append(createRandomDescriptor());
+		}
+		alg.reset();
+		assertEquals(0, alg.size());
+
+		D d = createRandomDescriptor();
+		alg.append(d);
+		assertEquals(1, alg.size());
+		checkEquals(d, alg.getTemp(0));
+	}
+
+	@Test
+	void getElementType() {
+		assertSame(createRandomDescriptor().getClass(), createAlg().getElementType());
+	}
+
+	void checkEquals( D expected, D found ) {
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.getDouble(i), found.getDouble(i));
+		}
+	}
+}
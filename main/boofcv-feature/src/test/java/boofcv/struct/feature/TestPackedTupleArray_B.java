@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPackedTupleArray_B extends GenericPackedTupleArrayChecks<TupleDesc_B> {
+	int numBits = 70;
+
+	@Override protected PackedTupleArray<TupleDesc_B> createAlg() {
+		return new PackedTupleArray_B(numBits);
+	}
+
+	@Override protected TupleDesc_B createRandomDescriptor() {
+		var d = new TupleDesc_B(numBits);
+		for (int i = 0; i < d.data.length; i++) {
+			d.data[i] = rand.nextInt();
+		}
+		return d;
+	}
+}
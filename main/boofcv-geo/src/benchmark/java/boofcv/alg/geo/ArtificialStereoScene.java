@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -114,6 +114,22 @@ public class ArtificialStereoScene {
 		// observationCurrent simply references the data in pairs
 	}
 
+	/**
+	 * Moves the second observation in a fraction of the pairs to a random location, turning them into outliers.
+	 * Pose observations reference the same points and are modified too.
+	 */
+	public void addOutliers( double fraction ) {
+		for (int i = 0; i < pairs.size(); i++) {
+			if (rand.nextDouble() >= fraction)
+				continue;
+
+			AssociatedPair p = pairs.get(i);
+			p.p2.setTo(rand.nextDouble()*2.0 - 1.0, rand.nextDouble()*2.0 - 1.0);
+			if (isPixels)
+				PerspectiveOps.convertNormToPixel(K, p.p2, p.p2);
+		}
+	}
+
 	private List<Point3D_F64> createPlanarScene( int N ) {
 		List<Point3D_F64> ret = new ArrayList<>();
 
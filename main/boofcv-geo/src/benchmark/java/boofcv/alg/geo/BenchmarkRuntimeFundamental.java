@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,11 +19,15 @@
 package boofcv.alg.geo;
 
 import boofcv.abst.geo.Estimate1ofEpipolar;
+import boofcv.alg.geo.robust.ModelMatcherMultiview;
+import boofcv.factory.geo.ConfigRansac;
 import boofcv.factory.geo.EnumEssential;
 import boofcv.factory.geo.EnumFundamental;
 import boofcv.factory.geo.FactoryMultiView;
+import boofcv.factory.geo.FactoryMultiViewRobust;
 import boofcv.misc.Performer;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.calib.CameraPinhole;
 import boofcv.struct.geo.AssociatedPair;
 import org.ejml.data.DMatrixRMaj;
 
@@ -71,6 +75,33 @@ public class BenchmarkRuntimeFundamental extends ArtificialStereoScene{
 		}
 	}
 	
+	/**
+	 * Robust estimation with the standard and parallel RANSAC implementations
+	 */
+	public class Robust implements Performer {
+		ModelMatcherMultiview<DMatrixRMaj, AssociatedPair> alg;
+		String name;
+
+		public Robust( String name, ModelMatcherMultiview<DMatrixRMaj, AssociatedPair> alg ) {
+			this.alg = alg;
+			this.name = name;
+			CameraPinhole intrinsic = PerspectiveOps.matrixToPinhole(K, 640, 480, null);
+			for (int view = 0; view < alg.getNumberOfViews(); view++) {
+				alg.setIntrinsic(view, intrinsic);
+			}
+		}
+
+		@Override
+		public void process() {
+			alg.process(pairs);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
 	public void runAll() {
 		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
 		System.out.println();
@@ -100,9 +131,31 @@ public class BenchmarkRuntimeFundamental extends ArtificialStereoScene{
 
 	}
 	
+	/**
+	 * Compares ddogleg's RANSAC against {@link boofcv.alg.geo.robust.RansacParallel} with different settings
+	 */
+	public void runRobust() {
+		System.out.println("=========  Robust numFeatures " + NUM_POINTS + " outliers 50%");
+		System.out.println();
+
+		init(NUM_POINTS, false, false);
+		addOutliers(0.5);
+
+		var config = new ConfigRansac(500, 2.0);
+		ProfileOperation.printOpsPerSec(new Robust("RANSAC", FactoryMultiViewRobust.essentialRansac(null, config)), TEST_TIME);
+		config.parallel = true;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel", FactoryMultiViewRobust.essentialRansac(null, config)), TEST_TIME);
+		config.confidence = 0.99;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel Adaptive", FactoryMultiViewRobust.essentialRansac(null, config)), TEST_TIME);
+		config.confidence = 0.0;
+		config.preemptiveBlockSize = 50;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel Preemptive", FactoryMultiViewRobust.essentialRansac(null, config)), TEST_TIME);
+	}
+
 	public static void main( String[] args ) {
 		BenchmarkRuntimeFundamental alg = new BenchmarkRuntimeFundamental();
 
 		alg.runAll();
+		alg.runRobust();
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,10 +21,15 @@ package boofcv.alg.geo;
 import boofcv.abst.geo.Estimate1ofPnP;
 import boofcv.alg.geo.pose.PnPLepetitEPnP;
 import boofcv.alg.geo.pose.PoseFromPairLinear6;
+import boofcv.alg.geo.robust.ModelMatcherMultiview;
+import boofcv.factory.geo.ConfigRansac;
 import boofcv.factory.geo.EnumPNP;
 import boofcv.factory.geo.FactoryMultiView;
+import boofcv.factory.geo.FactoryMultiViewRobust;
+import boofcv.misc.Performer;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.calib.CameraPinhole;
 import boofcv.struct.geo.Point2D3D;
 import georegression.struct.se.Se3_F64;
 
@@ -113,6 +118,33 @@ public class BenchmarkRuntimePnP extends ArtificialStereoScene {
 		}
 	}
 	
+	/**
+	 * Robust estimation with the standard and parallel RANSAC implementations
+	 */
+	public class Robust implements Performer {
+		ModelMatcherMultiview<Se3_F64, Point2D3D> alg;
+		String name;
+
+		public Robust( String name, ModelMatcherMultiview<Se3_F64, Point2D3D> alg ) {
+			this.alg = alg;
+			this.name = name;
+			CameraPinhole intrinsic = PerspectiveOps.matrixToPinhole(K, 640, 480, null);
+			for (int view = 0; view < alg.getNumberOfViews(); view++) {
+				alg.setIntrinsic(view, intrinsic);
+			}
+		}
+
+		@Override
+		public void process() {
+			alg.process(observationPose);
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
 	public void runAll() {
 		System.out.println("=========  Profile numFeatures "+NUM_POINTS);
 		System.out.println();
@@ -136,9 +168,31 @@ public class BenchmarkRuntimePnP extends ArtificialStereoScene {
 		System.out.println("Done");
 	}
 	
+	/**
+	 * Compares ddogleg's RANSAC against {@link boofcv.alg.geo.robust.RansacParallel} with different settings
+	 */
+	public void runRobust() {
+		System.out.println("=========  Robust numFeatures " + NUM_POINTS + " outliers 50%");
+		System.out.println();
+
+		init(NUM_POINTS, false, false);
+		addOutliers(0.5);
+
+		var config = new ConfigRansac(500, 2.0);
+		ProfileOperation.printOpsPerSec(new Robust("RANSAC", FactoryMultiViewRobust.pnpRansac(null, config)), TEST_TIME);
+		config.parallel = true;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel", FactoryMultiViewRobust.pnpRansac(null, config)), TEST_TIME);
+		config.confidence = 0.99;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel Adaptive", FactoryMultiViewRobust.pnpRansac(null, config)), TEST_TIME);
+		config.confidence = 0.0;
+		config.preemptiveBlockSize = 50;
+		ProfileOperation.printOpsPerSec(new Robust("Parallel Preemptive", FactoryMultiViewRobust.pnpRansac(null, config)), TEST_TIME);
+	}
+
 	public static void main( String[] args ) {
 		BenchmarkRuntimePnP alg = new BenchmarkRuntimePnP();
 
 		alg.runAll();
+		alg.runRobust();
 	}
 }
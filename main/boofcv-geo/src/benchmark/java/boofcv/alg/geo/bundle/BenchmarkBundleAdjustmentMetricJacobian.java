@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import boofcv.alg.geo.PerspectiveOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.calib.CameraPinhole;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.struct.se.SpecialEuclideanOps_F64;
+import org.ejml.data.DMatrixSparseCSC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks computing the residuals and sparse Jacobian for metric bundle adjustment on a synthetic scene.
+ * The camera moves sideways along a wall of points and each point is observed by a few consecutive views.
+ * The largest scene requires several GB of memory.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx10G")
+public class BenchmarkBundleAdjustmentMetricJacobian {
+
+	@Param({"100:100000", "1000:1000000"})
+	String viewsPoints;
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	/** Number of views which observe each point */
+	int viewsPerPoint = 3;
+	/** Distance the camera moves between views */
+	double stepSize = 0.2;
+
+	CameraPinhole intrinsic = new CameraPinhole(500, 500, 0, 500, 400, 1000, 800);
+
+	SceneStructureMetric structure;
+	SceneObservations observations;
+	double[] parameters;
+	double[] residuals;
+
+	BundleAdjustmentMetricResidualFunction functionResiduals;
+	BundleAdjustmentMetricSchurJacobian_DSCC functionJacobian;
+
+	DMatrixSparseCSC left = new DMatrixSparseCSC(1, 1);
+	DMatrixSparseCSC right = new DMatrixSparseCSC(1, 1);
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		String[] words = viewsPoints.split(":");
+		createScene(Integer.parseInt(words[0]), Integer.parseInt(words[1]), new Random(0xBEEF));
+
+		functionResiduals = concurrent ?
+				new BundleAdjustmentMetricResidualFunction_MT() : new BundleAdjustmentMetricResidualFunction();
+		functionJacobian = concurrent ?
+				new BundleAdjustmentMetricSchurJacobian_DSCC_MT() : new BundleAdjustmentMetricSchurJacobian_DSCC();
+
+		functionResiduals.configure(structure, observations);
+		functionJacobian.configure(structure, observations);
+
+		parameters = new double[structure.getParameterCount()];
+		residuals = new double[functionResiduals.getNumOfOutputsM()];
+		new CodecSceneStructureMetric().encode(structure, parameters);
+	}
+
+	@Benchmark
+	public double[] residuals() {
+		functionResiduals.process(parameters, residuals);
+		return residuals;
+	}
+
+	@Benchmark
+	public DMatrixSparseCSC jacobian() {
+		functionJacobian.process(parameters, left, right);
+		return left;
+	}
+
+	/**
+	 * Creates a scene where the camera moves sideways along a wall of points
+	 */
+	void createScene( int numViews, int numPoints, Random rand ) {
+		structure = new SceneStructureMetric(false);
+		structure.initialize(1, numViews, numPoints);
+		structure.setCamera(0, false, intrinsic);
+
+		observations = new SceneObservations();
+		observations.initialize(numViews);
+
+		var listWorldToView = new Se3_F64[numViews];
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			Se3_F64 cameraToWorld = SpecialEuclideanOps_F64.eulerXyz(viewIdx*stepSize, 0, 0,
+					0.02*Math.sin(viewIdx*0.7), 0.03*Math.cos(viewIdx*0.5), 0, null);
+			listWorldToView[viewIdx] = cameraToWorld.invert(null);
+			structure.setView(viewIdx, 0, viewIdx == 0, listWorldToView[viewIdx]);
+		}
+
+		var X = new Point3D_F64();
+		var pixel = new Point2D_F64();
+		int numFirstViews = numViews - viewsPerPoint + 1;
+		for (int pointIdx = 0; pointIdx < numPoints; pointIdx++) {
+			// Place the point in front of the views that observe it
+			int firstView = (int)(pointIdx*(long)numFirstViews/numPoints);
+			double centerX = (firstView + (viewsPerPoint - 1)/2.0)*stepSize;
+			X.x = centerX + (rand.nextDouble() - 0.5)*stepSize;
+			X.y = (rand.nextDouble() - 0.5)*2.0;
+			X.z = 3.0 + rand.nextDouble()*2.0;
+			structure.setPoint(pointIdx, X.x, X.y, X.z);
+
+			for (int viewIdx = firstView; viewIdx < firstView + viewsPerPoint; viewIdx++) {
+				PerspectiveOps.renderPixel(listWorldToView[viewIdx], intrinsic, X, pixel);
+				observations.getView(viewIdx).add(pointIdx, (float)pixel.x, (float)pixel.y);
+				structure.points.get(pointIdx).views.add(viewIdx);
+			}
+		}
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkBundleAdjustmentMetricJacobian.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
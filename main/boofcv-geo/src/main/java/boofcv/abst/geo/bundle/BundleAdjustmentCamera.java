@@ -25,6 +25,11 @@ import org.jetbrains.annotations.Nullable;
  * Generalized camera model for bundle adjustment. By implementing this function you can swap in and out
  * arbitrary camera models.
  *
+ * <p>When bundle adjustment is run concurrently, see {@link boofcv.factory.geo.ConfigBundleAdjustment#concurrent},
+ * {@link #project} and {@link #jacobian} will be called by multiple threads at the same time. Implementations
+ * must not modify any member variables inside of these functions, e.g. by using them as work space.
+ * {@link #setIntrinsic} is only called from a single thread.</p>
+ *
  * @author Peter Abeles
  */
 public interface BundleAdjustmentCamera {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -146,6 +146,20 @@ public class CalibrateMonoPlanar implements VerbosePrint {
 		observations.add(observation);
 	}
 
+	/**
+	 * Adds observations from multiple images, such as those found by {@link DetectFiducialCalibrationBatch}.
+	 * Images where the target wasn't detected, indicated by a null element, are skipped.
+	 *
+	 * @param observations Detected calibration points for each image
+	 */
+	public void addImages( List<@Nullable CalibrationObservation> observations ) {
+		for (int i = 0; i < observations.size(); i++) {
+			CalibrationObservation o = observations.get(i);
+			if (o != null)
+				addImage(o);
+		}
+	}
+
 	/**
 	 * Removes the most recently added image
 	 */
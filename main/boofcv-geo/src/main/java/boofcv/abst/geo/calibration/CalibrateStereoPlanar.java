@@ -22,10 +22,14 @@ import boofcv.abst.geo.bundle.MetricBundleAdjustmentUtils;
 import boofcv.abst.geo.bundle.SceneObservations;
 import boofcv.abst.geo.bundle.SceneStructureMetric;
 import boofcv.alg.geo.bundle.BundleAdjustmentMetricResidualFunction;
+import boofcv.alg.geo.bundle.BundleAdjustmentMetricResidualFunction_MT;
 import boofcv.alg.geo.bundle.BundleAdjustmentOps;
 import boofcv.alg.geo.bundle.CodecSceneStructureMetric;
 import boofcv.alg.geo.bundle.cameras.BundlePinholeBrown;
 import boofcv.alg.geo.calibration.CalibrationObservation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.geo.ConfigBundleAdjustment;
+import boofcv.factory.geo.FactoryMultiView;
 import boofcv.struct.calib.CameraPinholeBrown;
 import boofcv.struct.calib.StereoParameters;
 import boofcv.struct.geo.PointIndex2D_F64;
@@ -34,6 +38,8 @@ import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
+import lombok.Getter;
+import lombok.Setter;
 import org.ddogleg.struct.VerbosePrint;
 import org.jetbrains.annotations.Nullable;
 
@@ -60,9 +66,19 @@ import java.util.Set;
  * See comments in {@link CalibrateMonoPlanar} about when the y-axis should be inverted.
  * </p>
  *
+ * <p>
+ * Observations for many image pairs can be found concurrently using {@link DetectFiducialCalibrationBatch} and then
+ * added with {@link #addPairs}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class CalibrateStereoPlanar implements VerbosePrint {
+	/**
+	 * If true then the homographies, residuals, and Jacobians are computed concurrently, if concurrency is enabled
+	 * in {@link BoofConcurrency}
+	 */
+	@Getter @Setter boolean concurrent = true;
 
 	// transform from world to camera in each view
 	List<Se3_F64> viewLeft = new ArrayList<>();
@@ -124,6 +140,25 @@ public class CalibrateStereoPlanar implements VerbosePrint {
 		calibRight.addImage(right);
 	}
 
+	/**
+	 * Adds observations from multiple image pairs, such as those found by {@link DetectFiducialCalibrationBatch}.
+	 * A pair is skipped if the target wasn't detected in either image, indicated by a null element.
+	 *
+	 * @param left Detected calibration points in each left image
+	 * @param right Detected calibration points in each right image. Same order as left.
+	 */
+	public void addPairs( List<@Nullable CalibrationObservation> left, List<@Nullable CalibrationObservation> right ) {
+		if (left.size() != right.size())
+			throw new IllegalArgumentException("Left and right must have the same number of images");
+		for (int i = 0; i < left.size(); i++) {
+			CalibrationObservation l = left.get(i);
+			CalibrationObservation r = right.get(i);
+			if (l == null || r == null)
+				continue;
+			addPair(l, r);
+		}
+	}
+
 	/**
 	 * Compute stereo calibration parameters
 	 *
@@ -150,6 +185,8 @@ public class CalibrateStereoPlanar implements VerbosePrint {
 	 */
 	private CameraPinholeBrown calibrateMono( CalibrateMonoPlanar calib, List<Se3_F64> location ) {
 		calib.setVerbose(verbose, null);
+		if (calib.getZhang99() != null)
+			calib.getZhang99().setConcurrent(concurrent);
 		CameraPinholeBrown intrinsic = calib.process();
 
 		SceneStructureMetric structure = calib.getStructure();
@@ -257,6 +294,9 @@ public class CalibrateStereoPlanar implements VerbosePrint {
 		}
 
 		if (verbose != null) verbose.println("Joint bundle adjustment");
+		var configSBA = new ConfigBundleAdjustment();
+		configSBA.concurrent = concurrent;
+		bundleUtils.sba = FactoryMultiView.bundleSparseMetric(configSBA);
 		if (!bundleUtils.process(verbose))
 			return;
 
@@ -301,7 +341,8 @@ public class CalibrateStereoPlanar implements VerbosePrint {
 		CodecSceneStructureMetric codec = new CodecSceneStructureMetric();
 		codec.encode(structure, parameters);
 
-		BundleAdjustmentMetricResidualFunction function = new BundleAdjustmentMetricResidualFunction();
+		BundleAdjustmentMetricResidualFunction function = concurrent && BoofConcurrency.USE_CONCURRENT ?
+				new BundleAdjustmentMetricResidualFunction_MT() : new BundleAdjustmentMetricResidualFunction();
 		function.configure(structure, observations);
 		function.process(parameters, residuals);
 
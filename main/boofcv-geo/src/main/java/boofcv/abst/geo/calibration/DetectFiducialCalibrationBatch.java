@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.geo.calibration;
+
+import boofcv.alg.geo.calibration.CalibrationObservation;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.Factory;
+import org.ddogleg.struct.VerbosePrint;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Detects calibration targets in a large set of images. Images are loaded and processed concurrently, with each
+ * thread having its own instance of {@link DetectorFiducialCalibration}. The results are in the same order as the
+ * images and can be passed to {@link CalibrateMonoPlanar#addImages}.
+ *
+ * @author Peter Abeles
+ */
+public class DetectFiducialCalibrationBatch implements VerbosePrint {
+	/** If true then images are processed concurrently, if concurrency is enabled in {@link BoofConcurrency} */
+	@Getter @Setter boolean concurrent = true;
+
+	/** Total time spent loading images summed across all threads, in milliseconds */
+	@Getter double timeLoad;
+	/** Total time spent detecting targets summed across all threads, in milliseconds */
+	@Getter double timeDetect;
+	/** Elapsed time to process all the images, in milliseconds */
+	@Getter double timeTotal;
+
+	/** Layout of points on the calibration target */
+	@Getter final List<Point2D_F64> layout;
+
+	// Detector and image for each thread
+	final GrowArray<Workspace> workspace;
+
+	@Nullable PrintStream verbose;
+
+	/**
+	 * @param factory Creates a new detector instance. Every instance must be configured the same way.
+	 */
+	public DetectFiducialCalibrationBatch( Factory<DetectorFiducialCalibration> factory ) {
+		this.workspace = new GrowArray<>(() -> new Workspace(factory.newInstance()));
+		this.layout = workspace.grow().detector.getLayout();
+	}
+
+	/**
+	 * Loads each image and detects the calibration target inside of it.
+	 *
+	 * @param numImages Number of images
+	 * @param loader Used to load images. Must be thread safe if concurrency is used.
+	 * @return The detected points for each image. An element is null if the image couldn't be loaded or the target
+	 * wasn't detected.
+	 */
+	public List<@Nullable CalibrationObservation> detect( int numImages, LoadImage loader ) {
+		var found = new CalibrationObservation[numImages];
+		timeLoad = timeDetect = 0;
+
+		long time0 = System.nanoTime();
+		if (concurrent && BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, numImages, workspace,
+					( w, idx0, idx1 ) -> detect(w, loader, idx0, idx1, found));
+		} else {
+			workspace.reset();
+			detect(workspace.grow(), loader, 0, numImages, found);
+		}
+		timeTotal = (System.nanoTime() - time0)*1e-6;
+
+		if (verbose != null) {
+			int count = 0;
+			for (int i = 0; i < found.length; i++) {
+				if (found[i] != null)
+					count++;
+			}
+			verbose.printf("detected %d/%d. Time (ms): load=%.1f detect=%.1f total=%.1f\n",
+					count, numImages, timeLoad, timeDetect, timeTotal);
+		}
+
+		return new ArrayList<>(Arrays.asList(found));
+	}
+
+	/**
+	 * Processes images in the specified range using the provided workspace
+	 */
+	void detect( Workspace w, LoadImage loader, int idx0, int idx1, CalibrationObservation[] found ) {
+		long nanoLoad = 0, nanoDetect = 0;
+		for (int i = idx0; i < idx1; i++) {
+			long time0 = System.nanoTime();
+			boolean loaded = loader.load(i, w.image);
+			long time1 = System.nanoTime();
+			nanoLoad += time1 - time0;
+			if (!loaded) {
+				if (verbose != null) verbose.println("Failed to load image " + i);
+				continue;
+			}
+
+			if (w.detector.process(w.image))
+				found[i] = w.detector.getDetectedPoints();
+			else if (verbose != null)
+				verbose.println("Failed to detect target in image " + i);
+			nanoDetect += System.nanoTime() - time1;
+		}
+
+		synchronized (this) {
+			timeLoad += nanoLoad*1e-6;
+			timeDetect += nanoDetect*1e-6;
+		}
+	}
+
+	@Override public void setVerbose( @Nullable PrintStream out, @Nullable Set<String> configuration ) {
+		this.verbose = out;
+	}
+
+	/**
+	 * Loads an image by index.
+	 */
+	@FunctionalInterface
+	public interface LoadImage {
+		/**
+		 * @param index Index of the image
+		 * @param output (Output) storage for the loaded image
+		 * @return true if the image was loaded
+		 */
+		boolean load( int index, GrayF32 output );
+	}
+
+	static class Workspace {
+		final DetectorFiducialCalibration detector;
+		final GrayF32 image = new GrayF32(1, 1);
+
+		Workspace( DetectorFiducialCalibration detector ) {
+			this.detector = detector;
+		}
+	}
+}
@@ -29,6 +29,7 @@ import georegression.struct.point.Point4D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -44,6 +45,11 @@ import java.util.Map;
  * cost(P) = (1/(m*n))*&sum;<sub>i</sub> &sum;<sub>j</sub> ||x<sub>j</sub> - (1/z)*[R<sub>i</sub>|T<sub>i</sub>]*X<sub>j</sub>||<sup>2</sup>
  * </p>
  *
+ * <p>
+ * The world to view transform for every view is computed first. After that the observations in each view
+ * can be projected independently using a {@link Workspace}.
+ * </p>
+ *
  * @author Peter Abeles
  * @see SceneStructureMetric
  * @see SceneObservations
@@ -53,21 +59,11 @@ public class BundleAdjustmentMetricResidualFunction
 	private SceneStructureMetric structure;
 	private SceneObservations observations;
 
-	// feature location in world coordinates
-	private final Point3D_F64 worldPt = new Point3D_F64();
-
 	// number of parameters being optimised
 	private int numParameters;
 	// number of observations.  2 for each point in each view
 	private int numObservations;
 
-	// local variable which stores the predicted location of the feature in the camera frame
-	private final Point3D_F64 cameraPt = new Point3D_F64();
-
-	// Storage for rendered output
-	private final Point2D_F64 predictedPixel = new Point2D_F64();
-	private final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
-
 	// Used to write the "unknown" parameters into the scene
 	private final CodecSceneStructureMetric codec = new CodecSceneStructureMetric();
 
@@ -76,9 +72,13 @@ public class BundleAdjustmentMetricResidualFunction
 	// Look up workspace by view ID when relative view
 	private final Map<SceneStructureMetric.View, Se3_F64> mapWorldToView = new HashMap<>();
 
-	// Storage for 3D points in Cartesian and homogenous coordinates
-	private final Point3D_F64 p3 = new Point3D_F64();
-	private final Point4D_F64 p4 = new Point4D_F64();
+	// World to view transform for each view
+	private final DogArray<Se3_F64> listWorldToView = new DogArray<>(Se3_F64::new);
+	// Index of the first observation in each view
+	private final DogArray_I32 viewObservationOffset = new DogArray_I32();
+
+	// Workspace used when projecting views in a single thread
+	private final Workspace workspace = new Workspace();
 
 	/**
 	 * Specifies the scenes structure and observed feature locations
@@ -121,71 +121,112 @@ public class BundleAdjustmentMetricResidualFunction
 		// write the current parameters into the scene's structure
 		codec.decode(input, structure);
 
+		// A parent always has a lower index, so views must be traversed in order
+		listWorldToView.resize(structure.views.size);
+		viewObservationOffset.resize(structure.views.size);
+		int observationIndex = 0;
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			listWorldToView.get(viewIndex).setTo(lookupWorldToView(structure.views.get(viewIndex)));
+
+			viewObservationOffset.data[viewIndex] = observationIndex;
+			observationIndex += observations.views.get(viewIndex).size();
+			if (observations.hasRigid())
+				observationIndex += observations.viewsRigid.get(viewIndex).size();
+		}
+
+		projectViews(output);
+	}
+
+	/**
+	 * Computes the residuals for every view. Override to process the views concurrently.
+	 */
+	protected void projectViews( double[] output ) {
+		projectViews(workspace, 0, structure.views.size, output);
+	}
+
+	/**
+	 * Computes the residuals for observations in views in the specified range. Only elements in the output
+	 * which belong to these views are modified.
+	 *
+	 * @param ws Workspace that's only used by the caller
+	 * @param view0 First view, inclusive
+	 * @param view1 Last view, exclusive
+	 */
+	protected void projectViews( Workspace ws, int view0, int view1, double[] output ) {
 		// Project the general scene now
-		if (structure.isHomogenous())
-			project4(output);
-		else
-			project3(output);
+		for (int viewIndex = view0; viewIndex < view1; viewIndex++) {
+			if (structure.isHomogenous())
+				project4(ws, viewIndex, output);
+			else
+				project3(ws, viewIndex, output);
+		}
+	}
+
+	/** Number of views in the scene */
+	protected int getViewCount() {
+		return structure.views.size;
 	}
 
 	/**
 	 * projection from 3D coordinates
 	 */
-	private void project3( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.get(viewIndex);
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+	private void project3( Workspace ws, int viewIndex, double[] output ) {
+		final PointIndex2D_F64 observedPixel = ws.observedPixel;
+		final Point2D_F64 predictedPixel = ws.predictedPixel;
+		final Point3D_F64 cameraPt = ws.cameraPt;
+
+		int observationIndex = viewObservationOffset.get(viewIndex);
+		SceneStructureMetric.View view = structure.views.get(viewIndex);
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
 
-			Se3_F64 world_to_view = lookupWorldToView(view);
+		Se3_F64 world_to_view = listWorldToView.get(viewIndex);
 
-			//=========== Project General Points in this View
-			{
-				SceneObservations.View obsView = observations.views.get(viewIndex);
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-					SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-					worldPt.get(p3);
+		//=========== Project General Points in this View
+		{
+			SceneObservations.View obsView = observations.views.get(viewIndex);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+				worldPt.get(ws.p3);
 
-					SePointOps_F64.transform(world_to_view, p3, cameraPt);
+				SePointOps_F64.transform(world_to_view, ws.p3, cameraPt);
 
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
 
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
+		}
 
-			//=========== Project Rigid Object Points in this View
-			if (observations.hasRigid()) {
-				SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-
-					// Use lookup table to figure out which rigid object it belongs to
-					int rigidIndex = structure.lookupRigid[observedPixel.index];
-					SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
-					// Compute the point's index on the rigid object
-					int pointIndex = observedPixel.index - rigid.indexFirst;
-
-					// Load the 3D location of point on the rigid body
-					SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
-					objectPt.get(p3);
-
-					// Transform to world frame and from world to camera
-					SePointOps_F64.transform(rigid.object_to_world, p3, worldPt);
-					SePointOps_F64.transform(world_to_view, worldPt, cameraPt);
-
-					// Project and compute residual
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
-
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+		//=========== Project Rigid Object Points in this View
+		if (observations.hasRigid()) {
+			SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+
+				// Use lookup table to figure out which rigid object it belongs to
+				int rigidIndex = structure.lookupRigid[observedPixel.index];
+				SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
+				// Compute the point's index on the rigid object
+				int pointIndex = observedPixel.index - rigid.indexFirst;
+
+				// Load the 3D location of point on the rigid body
+				SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
+				objectPt.get(ws.p3);
+
+				// Transform to world frame and from world to camera
+				SePointOps_F64.transform(rigid.object_to_world, ws.p3, ws.worldPt);
+				SePointOps_F64.transform(world_to_view, ws.worldPt, cameraPt);
+
+				// Project and compute residual
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
 		}
 	}
@@ -193,63 +234,65 @@ public class BundleAdjustmentMetricResidualFunction
 	/**
 	 * projection from homogenous coordinates
 	 */
-	private void project4( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.get(viewIndex);
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+	private void project4( Workspace ws, int viewIndex, double[] output ) {
+		final PointIndex2D_F64 observedPixel = ws.observedPixel;
+		final Point2D_F64 predictedPixel = ws.predictedPixel;
+		final Point3D_F64 cameraPt = ws.cameraPt;
 
-			Se3_F64 world_to_view = lookupWorldToView(view);
+		int observationIndex = viewObservationOffset.get(viewIndex);
+		SceneStructureMetric.View view = structure.views.get(viewIndex);
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
 
-			//=========== Project General Points in this View
-			{
-				SceneObservations.View obsView = observations.views.get(viewIndex);
+		Se3_F64 world_to_view = listWorldToView.get(viewIndex);
 
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-					SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-					worldPt.get(p4);
+		//=========== Project General Points in this View
+		{
+			SceneObservations.View obsView = observations.views.get(viewIndex);
 
-					// TODO Explain why this is correct. The last row is omitted when converted to 3D
-					SePointOps_F64.transformV(world_to_view, p4, cameraPt);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+				worldPt.get(ws.p4);
 
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+				// TODO Explain why this is correct. The last row is omitted when converted to 3D
+				SePointOps_F64.transformV(world_to_view, ws.p4, cameraPt);
 
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
+		}
 
-			//=========== Project Rigid Object Points in this View
-			if (observations.hasRigid()) {
-				SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
+		//=========== Project Rigid Object Points in this View
+		if (observations.hasRigid()) {
+			SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
 
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
 
-					// Use lookup table to figure out which rigid object it belongs to
-					int rigidIndex = structure.lookupRigid[observedPixel.index];
-					SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
-					// Compute the point's index on the rigid object
-					int pointIndex = observedPixel.index - rigid.indexFirst;
+				// Use lookup table to figure out which rigid object it belongs to
+				int rigidIndex = structure.lookupRigid[observedPixel.index];
+				SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
+				// Compute the point's index on the rigid object
+				int pointIndex = observedPixel.index - rigid.indexFirst;
 
-					// Load the 3D location of point on the rigid body
-					SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
-					objectPt.get(p4);
+				// Load the 3D location of point on the rigid body
+				SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
+				objectPt.get(ws.p4);
 
-					// Transform to world frame and from world to camera
-					SePointOps_F64.transformV(rigid.object_to_world, p4, worldPt);
-					SePointOps_F64.transform(world_to_view, worldPt, cameraPt);
+				// Transform to world frame and from world to camera
+				SePointOps_F64.transformV(rigid.object_to_world, ws.p4, ws.worldPt);
+				SePointOps_F64.transform(world_to_view, ws.worldPt, cameraPt);
 
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
 
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
 		}
 	}
@@ -277,4 +320,23 @@ public class BundleAdjustmentMetricResidualFunction
 		}
 		return world_to_view;
 	}
+
+	/**
+	 * Storage for everything which is modified while projecting a single observation
+	 */
+	protected static class Workspace {
+		// feature location in world coordinates
+		final Point3D_F64 worldPt = new Point3D_F64();
+
+		// local variable which stores the predicted location of the feature in the camera frame
+		final Point3D_F64 cameraPt = new Point3D_F64();
+
+		// Storage for rendered output
+		final Point2D_F64 predictedPixel = new Point2D_F64();
+		final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
+
+		// Storage for 3D points in Cartesian and homogenous coordinates
+		final Point3D_F64 p3 = new Point3D_F64();
+		final Point4D_F64 p4 = new Point4D_F64();
+	}
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.concurrency.BoofConcurrency;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BundleAdjustmentMetricResidualFunction}. Views are split into blocks
+ * and each block writes to a different part of the output array. The camera models must be thread safe.
+ *
+ * @author Peter Abeles
+ */
+public class BundleAdjustmentMetricResidualFunction_MT extends BundleAdjustmentMetricResidualFunction {
+	// Workspace for each block of views
+	private final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+	@Override
+	protected void projectViews( double[] output ) {
+		BoofConcurrency.loopBlocks(0, getViewCount(), workspaces,
+				( ws, view0, view1 ) -> projectViews(ws, view0, view1, output));
+	}
+}
@@ -29,11 +29,10 @@ import georegression.struct.point.Point4D_F64;
 import georegression.struct.point.Vector3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
 import org.ejml.data.DMatrix;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.ReshapeMatrix;
@@ -46,6 +45,11 @@ import java.util.Map;
  * Computes the Jacobian for bundle adjustment with a Schur implementation. This is the base class
  * for specific types of matrices
  *
+ * Parameters which are shared between observations, e.g. view motion, SO3 partials, and camera intrinsics, are
+ * decoded first. Then each view's observations are processed using only its own {@link Workspace} and
+ * writing only to the rows of the Jacobian which belong to its observations. This allows views to be
+ * processed independently of each other.
+ *
  * @author Peter Abeles
  */
 public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
@@ -68,27 +72,19 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 
 	// Recycled data structures for use in the maps below
 	private final DogArray<Se3_F64> storageSe3 = new DogArray<>(Se3_F64::new);
-	private final DogArray<DMatrixRMaj[]> storageSO3Jac = new DogArray<>(this::declareRotJacStorage);
 	// Look up workspace by view ID when relative view. Only filled in when a relative view is encountered
 	private final Map<SceneStructureMetric.View, Se3_F64> mapWorldToView = new HashMap<>();
-	private final TIntObjectMap<DMatrixRMaj[]> mapSO3Jac = new TIntObjectHashMap<>();
-	// If only one view will use a particular motion then we don't want to store the Jacobian for future use
+	// SO3 partials for each motion. Only filled in for unknown motions
+	private final DogArray<DMatrixRMaj[]> storageSO3Jac = new DogArray<>(this::declareRotJacStorage);
 
-	// Workspace for world to view transform
-	private final Se3_F64 world_to_view = new Se3_F64();
+	// World to view transform for each view
+	private final DogArray<Se3_F64> listWorldToView = new DogArray<>(Se3_F64::new);
+	// Index of the first observation in each view
+	private final DogArray_I32 viewObservationOffset = new DogArray_I32();
 
 	// Jacobians for rigid objects
 	private JacobianSo3[] jacRigidS03;
 
-	// feature location in world coordinates
-	private final Point3D_F64 worldPt3 = new Point3D_F64();
-	private final Point4D_F64 worldPt4 = new Point4D_F64();
-	// feature location in rigid body coordinates
-	private final Point3D_F64 rigidPt3 = new Point3D_F64();
-	private final Point4D_F64 rigidPt4 = new Point4D_F64();
-	// feature location in camera coordinates
-	private final Point3D_F64 cameraPt = new Point3D_F64();
-
 	// Number of parameters to describe SE3 (rotation + translation)
 	private int lengthSE3;
 	// first index for rigid body parameters
@@ -102,25 +98,11 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	private int[] motionParameterIndexes;
 	// first index in input/parameters vector for each camera. Right side
 	private int[] cameraParameterIndexes;
+	// Largest number of intrinsic parameters in any unknown camera
+	private int largestCameraSize;
 
-	// Jacobian matrix index of x and y partial
-	private int jacRowX, jacRowY;
-
-	// Storage for gradients
-	private final double[] pointGradX = new double[3];
-	private final double[] pointGradY = new double[3];
-	private double[] calibGradX = null;
-	private double[] calibGradY = null;
-
-	// work space for R2*R1
-	DMatrixRMaj RR = new DMatrixRMaj(3, 3);
-
-	// Storage for current view's partials of SO3
-	private DMatrixRMaj[] arraySO3 = new DMatrixRMaj[0];
-	private final DMatrixRMaj accumulatedR = new DMatrixRMaj(3, 3);
-	private final Point4D_F64 worldX = new Point4D_F64();
-	private final Point3D_F64 pt3 = new Point3D_F64();
-	private final DMatrixRMaj tmp3x3 = new DMatrixRMaj(3, 3);
+	// Workspace used when processing views in a single thread
+	private final Workspace workspace = new Workspace();
 
 	@Override
 	public void configure( SceneStructureMetric structure, SceneObservations observations ) {
@@ -168,7 +150,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 
 		// Create a lookup table for each camera. Camera ID to location in parameter vector
 		cameraParameterIndexes = new int[structure.cameras.size];
-		int largestCameraSize = 0;
+		largestCameraSize = 0;
 		for (int i = 0, index = 0; i < structure.cameras.size; i++) {
 			if (!structure.cameras.get(i).known) {
 				cameraParameterIndexes[i] = index;
@@ -178,12 +160,9 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			}
 		}
 
-		calibGradX = new double[largestCameraSize];
-		calibGradY = new double[largestCameraSize];
-
 		// Storage for relative views
 		declareStorageWorldToView(structure);
-		declareStoragePartialsSE3(structure);
+		declareStoragePartialsSO3(structure);
 	}
 
 	/**
@@ -202,14 +181,12 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	}
 
 	/**
-	 * Pre-declare storage for all the SO3 Jacobians that will need to be retrieved as part of a relative view
-	 * in the future. This is needed when relative views are in use. When there are no regular views then
-	 * these sparse data structures will be empty.
+	 * Pre-declare storage for the SO3 Jacobian of every motion. They are saved so that views which share a motion,
+	 * or are relative to another view, can look them up without recomputing them.
 	 */
-	private void declareStoragePartialsSE3( SceneStructureMetric structure ) {
+	private void declareStoragePartialsSO3( SceneStructureMetric structure ) {
 		int lengthParam = storageSO3Jac.grow().length;
 
-		mapSO3Jac.clear();
 		// see if the parameterization changed. If so discard all the old data
 		if (jacSO3.getParameterLength() != lengthParam) {
 			storageSO3Jac.data = new DMatrixRMaj[0][];
@@ -217,22 +194,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		} else {
 			storageSO3Jac.reset();
 		}
-		arraySO3 = arraySO3.length != lengthParam ? new DMatrixRMaj[lengthParam] : arraySO3;
-		for (int viewIdx = 0; viewIdx < structure.views.size; viewIdx++) {
-			SceneStructureMetric.View v = structure.views.get(viewIdx);
-			if (v.parent == null)
-				continue;
-
-			// if this view is relative to another we don't need to store the Jacobian since we already have it
-			// However, the parent it refers to needs to be stored. We do not need to traverse back any more due
-			// since all potential ancestors have already been processed
-			SceneStructureMetric.View vp = v.parent;
-			SceneStructureMetric.Motion mp = structure.motions.get(vp.parent_to_view);
-			if (mp.known || mapSO3Jac.containsKey(vp.parent_to_view))
-				continue;
-
-			mapSO3Jac.put(vp.parent_to_view, storageSO3Jac.grow());
-		}
+		storageSO3Jac.resize(structure.motions.size);
 	}
 
 	@Override
@@ -245,7 +207,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observations.getObservationCount()*2;
 	}
 
-	private int computeGeneralPoints( DMatrix leftPoint, DMatrix rightView,
+	private int computeGeneralPoints( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 									  double[] input, int observationIndex, int viewIndex,
 									  SceneStructureCommon.Camera camera,
 									  int cameraParamStartIndex ) {
@@ -257,43 +219,31 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			int columnOfPointInJac = featureIndex*lengthPoint;
 
 			if (structure.isHomogenous()) {
-				worldPt4.x = input[columnOfPointInJac];
-				worldPt4.y = input[columnOfPointInJac + 1];
-				worldPt4.z = input[columnOfPointInJac + 2];
-				worldPt4.w = input[columnOfPointInJac + 3];
+				ws.worldPt4.x = input[columnOfPointInJac];
+				ws.worldPt4.y = input[columnOfPointInJac + 1];
+				ws.worldPt4.z = input[columnOfPointInJac + 2];
+				ws.worldPt4.w = input[columnOfPointInJac + 3];
 
-				SePointOps_F64.transformV(world_to_view, worldPt4, cameraPt);
+				SePointOps_F64.transformV(ws.world_to_view, ws.worldPt4, ws.cameraPt);
 			} else {
-				worldPt3.x = input[columnOfPointInJac];
-				worldPt3.y = input[columnOfPointInJac + 1];
-				worldPt3.z = input[columnOfPointInJac + 2];
+				ws.worldPt3.x = input[columnOfPointInJac];
+				ws.worldPt3.y = input[columnOfPointInJac + 1];
+				ws.worldPt3.z = input[columnOfPointInJac + 2];
 
-				SePointOps_F64.transform(world_to_view, worldPt3, cameraPt);
+				SePointOps_F64.transform(ws.world_to_view, ws.worldPt3, ws.cameraPt);
 			}
 
-			jacRowX = observationIndex*2;
-			jacRowY = jacRowX + 1;
+			ws.jacRowX = observationIndex*2;
+			ws.jacRowY = ws.jacRowX + 1;
 
 			//============ Partial of camera parameters
-			if (!camera.known) {
-				int N = camera.model.getIntrinsicCount();
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z,
-						pointGradX, pointGradY, true, calibGradX, calibGradY);
-
-				int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
-				for (int j = 0; j < N; j++) {
-					set(rightView, jacRowX, location + j, calibGradX[j]);
-					set(rightView, jacRowY, location + j, calibGradY[j]);
-				}
-			} else {
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z, pointGradX, pointGradY,
-						false, null, null);
-			}
+			computeCameraPartials(ws, rightView, camera, cameraParamStartIndex);
+
 			//============ Partial of worldPt
 			if (structure.isHomogenous()) {
-				partialPointH(leftPoint, rightView, strView, columnOfPointInJac);
+				partialPointH(ws, leftPoint, rightView, strView, columnOfPointInJac);
 			} else {
-				partialPoint3(leftPoint, rightView, strView, columnOfPointInJac);
+				partialPoint3(ws, leftPoint, rightView, strView, columnOfPointInJac);
 			}
 
 			observationIndex++;
@@ -301,6 +251,29 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observationIndex;
 	}
 
+	/**
+	 * Computes the gradient of the projected point and, if the camera is unknown, the partials of the camera's
+	 * intrinsic parameters
+	 */
+	private void computeCameraPartials( Workspace ws, DMatrix rightView,
+										SceneStructureCommon.Camera camera, int cameraParamStartIndex ) {
+		Point3D_F64 cameraPt = ws.cameraPt;
+		if (!camera.known) {
+			int N = camera.model.getIntrinsicCount();
+			camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z,
+					ws.pointGradX, ws.pointGradY, true, ws.calibGradX, ws.calibGradY);
+
+			int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
+			for (int j = 0; j < N; j++) {
+				set(rightView, ws.jacRowX, location + j, ws.calibGradX[j]);
+				set(rightView, ws.jacRowY, location + j, ws.calibGradY[j]);
+			}
+		} else {
+			camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z, ws.pointGradX, ws.pointGradY,
+					false, null, null);
+		}
+	}
+
 	/**
 	 * Internal matrix type agnostic process function.
 	 *
@@ -320,6 +293,15 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		leftPoint.zero();
 		rightView.zero();
 
+		decodeSharedParameters(input);
+		computeViews(input, leftPoint, rightView);
+	}
+
+	/**
+	 * Decodes parameters which are shared by multiple views and precomputes everything which is needed
+	 * to process a view independently of all the others.
+	 */
+	private void decodeSharedParameters( double[] input ) {
 		// parse parameters for rigid bodies. the translation + rotation is the same for all views
 		for (int rigidIndex = 0; rigidIndex < structure.rigids.size; rigidIndex++) {
 			if (!structure.rigids.get(rigidIndex).known) {
@@ -327,47 +309,89 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			}
 		}
 
-		int observationIndex = 0;
-		// first decode the transformation
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.data[viewIndex];
-			SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
-			SceneStructureMetric.Motion motion = structure.motions.data[view.parent_to_view];
+		// decode the motions and save their Jacobians
+		for (int motionIndex = 0; motionIndex < structure.motions.size; motionIndex++) {
+			SceneStructureMetric.Motion motion = structure.motions.data[motionIndex];
+			if (motion.known)
+				continue;
 
-			if (!motion.known) {
-				int paramIndex = motionParameterIndexes[view.parent_to_view] + indexFirstMotion;
-				jacSO3.setParameters(input, paramIndex);
-				paramIndex += jacSO3.getParameterLength();
+			int paramIndex = motionParameterIndexes[motionIndex] + indexFirstMotion;
+			jacSO3.setParameters(input, paramIndex);
+			paramIndex += jacSO3.getParameterLength();
 
-				motion.motion.T.x = input[paramIndex];
-				motion.motion.T.y = input[paramIndex + 1];
-				motion.motion.T.z = input[paramIndex + 2];
+			motion.motion.T.x = input[paramIndex];
+			motion.motion.T.y = input[paramIndex + 1];
+			motion.motion.T.z = input[paramIndex + 2];
 
-				motion.motion.getR().setTo(jacSO3.getRotationMatrix());
+			motion.motion.getR().setTo(jacSO3.getRotationMatrix());
 
-				// save the Jacobian if we need to
-				DMatrixRMaj[] savedJac = mapSO3Jac.get(view.parent_to_view);
-				if (savedJac != null) {
-					for (int i = 0; i < savedJac.length; i++) {
-						savedJac[i].setTo(jacSO3.getPartial(i));
-					}
-				}
+			DMatrixRMaj[] savedJac = storageSO3Jac.get(motionIndex);
+			for (int i = 0; i < savedJac.length; i++) {
+				savedJac[i].setTo(jacSO3.getPartial(i));
 			}
+		}
 
-			lookupWorldToView(view, world_to_view);
+		// A parent always has a lower index, so views must be traversed in order
+		listWorldToView.resize(structure.views.size);
+		viewObservationOffset.resize(structure.views.size);
+		int observationIndex = 0;
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			lookupWorldToView(structure.views.data[viewIndex], listWorldToView.get(viewIndex));
 
-			int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+			viewObservationOffset.data[viewIndex] = observationIndex;
+			observationIndex += observations.views.get(viewIndex).size();
+			if (observations.hasRigid())
+				observationIndex += observations.viewsRigid.get(viewIndex).size();
+		}
+
+		for (int cameraIndex = 0; cameraIndex < structure.cameras.size; cameraIndex++) {
+			SceneStructureCommon.Camera camera = structure.cameras.data[cameraIndex];
 			if (!camera.known) {
-				camera.model.setIntrinsic(input, indexLastMotion + cameraParamStartIndex);
+				camera.model.setIntrinsic(input, indexLastMotion + cameraParameterIndexes[cameraIndex]);
 			}
+		}
+	}
+
+	/**
+	 * Computes the Jacobian for the observations in every view. Override to process the views concurrently.
+	 */
+	protected void computeViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		computeViews(workspace, 0, structure.views.size, input, leftPoint, rightView);
+	}
+
+	/**
+	 * Computes the Jacobian for observations in views in the specified range. Only rows in the Jacobian which
+	 * belong to these views are modified.
+	 *
+	 * @param ws Workspace that's only used by the caller
+	 * @param view0 First view, inclusive
+	 * @param view1 Last view, exclusive
+	 */
+	protected void computeViews( Workspace ws, int view0, int view1,
+								 double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		ws.declareCalibration(largestCameraSize);
 
-			observationIndex = computeGeneralPoints(leftPoint, rightView, input, observationIndex, viewIndex, camera, cameraParamStartIndex);
+		for (int viewIndex = view0; viewIndex < view1; viewIndex++) {
+			SceneStructureMetric.View view = structure.views.data[viewIndex];
+			SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
+
+			ws.world_to_view = listWorldToView.get(viewIndex);
+
+			int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+			int observationIndex = viewObservationOffset.get(viewIndex);
+
+			observationIndex = computeGeneralPoints(ws, leftPoint, rightView, input, observationIndex, viewIndex, camera, cameraParamStartIndex);
 			if (observations.hasRigid())
-				observationIndex = computeRigidPoints(leftPoint, rightView, observationIndex, viewIndex, camera, cameraParamStartIndex);
+				computeRigidPoints(ws, leftPoint, rightView, observationIndex, viewIndex, camera, cameraParamStartIndex);
 		}
 	}
 
-	private int computeRigidPoints( DMatrix leftPoint, DMatrix rightView,
+	/** Number of views in the scene */
+	protected int getViewCount() {
+		return structure.views.size;
+	}
+
+	private int computeRigidPoints( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 									int observationIndex, int viewIndex,
 									SceneStructureCommon.Camera camera,
 									int cameraParamStartIndex ) {
@@ -381,35 +405,22 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			int pointIndex = featureIndex - rigid.indexFirst; // index of point in rigid body
 
 			if (structure.isHomogenous()) {
-				rigid.getPoint(pointIndex, rigidPt4);
-				SePointOps_F64.transformV(rigid.object_to_world, rigidPt4, worldPt3);
+				rigid.getPoint(pointIndex, ws.rigidPt4);
+				SePointOps_F64.transformV(rigid.object_to_world, ws.rigidPt4, ws.worldPt3);
 			} else {
-				rigid.getPoint(pointIndex, rigidPt3);
-				SePointOps_F64.transform(rigid.object_to_world, rigidPt3, worldPt3);
+				rigid.getPoint(pointIndex, ws.rigidPt3);
+				SePointOps_F64.transform(rigid.object_to_world, ws.rigidPt3, ws.worldPt3);
 			}
-			SePointOps_F64.transform(world_to_view, worldPt3, cameraPt);
+			SePointOps_F64.transform(ws.world_to_view, ws.worldPt3, ws.cameraPt);
 
-			jacRowX = observationIndex*2;
-			jacRowY = jacRowX + 1;
+			ws.jacRowX = observationIndex*2;
+			ws.jacRowY = ws.jacRowX + 1;
 
 			//============ Partial of camera parameters
-			if (!camera.known) {
-				int N = camera.model.getIntrinsicCount();
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z,
-						pointGradX, pointGradY, true, calibGradX, calibGradY);
-
-				int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
-				for (int j = 0; j < N; j++) {
-					set(rightView, jacRowX, location + j, calibGradX[j]);
-					set(rightView, jacRowY, location + j, calibGradY[j]);
-				}
-			} else {
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z, pointGradX, pointGradY,
-						false, null, null);
-			}
+			computeCameraPartials(ws, rightView, camera, cameraParamStartIndex);
 
 			//============ Partial of world to view
-			partialViewSE3(rightView, view, worldPt3.x, worldPt3.y, worldPt3.z, 1);
+			partialViewSE3(ws, rightView, view, ws.worldPt3.x, ws.worldPt3.y, ws.worldPt3.z, 1);
 
 			//============ Partial of body to world
 			// R2*(R1*X+T1)+T2
@@ -419,9 +430,9 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			// partial T1 is R2*(@T1)
 			if (!rigid.known) {
 				if (structure.isHomogenous()) {
-					partialRigidSE3(leftPoint, rigidIndex, rigidPt4.x, rigidPt4.y, rigidPt4.z, rigidPt4.w);
+					partialRigidSE3(ws, leftPoint, rigidIndex, ws.rigidPt4.x, ws.rigidPt4.y, ws.rigidPt4.z, ws.rigidPt4.w);
 				} else {
-					partialRigidSE3(leftPoint, rigidIndex, rigidPt3.x, rigidPt3.y, rigidPt3.z, 1);
+					partialRigidSE3(ws, leftPoint, rigidIndex, ws.rigidPt3.x, ws.rigidPt3.y, ws.rigidPt3.z, 1);
 				}
 			}
 
@@ -430,25 +441,25 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observationIndex;
 	}
 
-	private void partialPoint3( DMatrix leftPoint, DMatrix rightView,
+	private void partialPoint3( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 								SceneStructureMetric.View view, int columnOfPointInJac ) {
 		// partial of (R*X + T) with respect to X is a 3 by 3 matrix
 		// This turns out to be just R
 		// grad F(G(X)) = 2 x 3 matrix which is then multiplied by R
-		addToJacobian(leftPoint, columnOfPointInJac, pointGradX, pointGradY, world_to_view.R);
+		addToJacobian(ws, leftPoint, columnOfPointInJac, ws.pointGradX, ws.pointGradY, ws.world_to_view.R);
 
-		partialViewSE3(rightView, view, worldPt3.x, worldPt3.y, worldPt3.z, 1);
+		partialViewSE3(ws, rightView, view, ws.worldPt3.x, ws.worldPt3.y, ws.worldPt3.z, 1);
 	}
 
-	private void partialPointH( DMatrix leftPoint, DMatrix rightView,
+	private void partialPointH( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 								SceneStructureMetric.View view, int columnOfPointInJac ) {
 		// partial of (R*[x,y,z]' + T*w) with respect to X=[x,y,z,w] is a 3 by 4 matrix, [R|T]
 		//
 		// grad F(G(X)) = 2 x 4 matrix which is then multiplied by R
-		addToJacobian(leftPoint, columnOfPointInJac, pointGradX, pointGradY, world_to_view.R);
-		addToJacobian(leftPoint, columnOfPointInJac + 3, pointGradX, pointGradY, world_to_view.T);
+		addToJacobian(ws, leftPoint, columnOfPointInJac, ws.pointGradX, ws.pointGradY, ws.world_to_view.R);
+		addToJacobian(ws, leftPoint, columnOfPointInJac + 3, ws.pointGradX, ws.pointGradY, ws.world_to_view.T);
 
-		partialViewSE3(rightView, view, worldPt4.x, worldPt4.y, worldPt4.z, worldPt4.w);
+		partialViewSE3(ws, rightView, view, ws.worldPt4.x, ws.worldPt4.y, ws.worldPt4.z, ws.worldPt4.w);
 	}
 
 	/**
@@ -472,7 +483,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	 * </pre>
 	 * The chained view can be writen as a recursive formula where a rotation matrix is updated each iteration.
 	 */
-	private void partialViewSE3( DMatrix rightView,
+	private void partialViewSE3( Workspace ws, DMatrix rightView,
 								 SceneStructureMetric.View view,
 								 double X, double Y, double Z, double W ) {
 		{ // Abort if there is no partial derivative to compute
@@ -481,8 +492,13 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 				return;
 		}
 
-		boolean firstView = true;
-		worldX.setTo(X, Y, Z, W);
+		final DMatrixRMaj accumulatedR = ws.accumulatedR;
+		final DMatrixRMaj tmp3x3 = ws.tmp3x3;
+		final Point3D_F64 pt3 = ws.pt3;
+		final double[] pointGradX = ws.pointGradX;
+		final double[] pointGradY = ws.pointGradY;
+
+		ws.worldX.setTo(X, Y, Z, W);
 
 		// Recursively computed rotation R[i]*R[i-1] ... etc
 		CommonOps_DDRM.setIdentity(accumulatedR);
@@ -503,31 +519,21 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 				continue;
 			}
 			// look up the SO3 Jacobian
-			DMatrixRMaj[] jacobianSO3;
-			if (firstView) {
-				firstView = false;
-				// Current view isn't saved in storage and needs to have a reference copied to the array
-				for (int i = 0; i < arraySO3.length; i++) {
-					arraySO3[i] = jacSO3.getPartial(i);
-				}
-				jacobianSO3 = arraySO3;
-			} else {
-				jacobianSO3 = mapSO3Jac.get(view.parent_to_view);
-			}
+			DMatrixRMaj[] jacobianSO3 = storageSO3Jac.get(view.parent_to_view);
 
 			//============== Partial of view rotation parameters
 			final int paramLength = jacSO3.getParameterLength();
 			if (view.parent == null) {
 				for (int i = 0; i < paramLength; i++) {
 					CommonOps_DDRM.mult(accumulatedR, jacobianSO3[i], tmp3x3);
-					addToJacobian(rightView, col + i, pointGradX, pointGradY, tmp3x3, X, Y, Z);
+					addToJacobian(ws, rightView, col + i, pointGradX, pointGradY, tmp3x3, X, Y, Z);
 				}
 			} else {
 				Se3_F64 world_to_parent = getWorldToView(view.parent);
 				for (int i = 0; i < paramLength; i++) {
-					SePointOps_F64.transformV(world_to_parent, worldX, pt3);
+					SePointOps_F64.transformV(world_to_parent, ws.worldX, pt3);
 					CommonOps_DDRM.mult(accumulatedR, jacobianSO3[i], tmp3x3);
-					addToJacobian(rightView, col + i, pointGradX, pointGradY, tmp3x3, pt3.x, pt3.y, pt3.z);
+					addToJacobian(ws, rightView, col + i, pointGradX, pointGradY, tmp3x3, pt3.x, pt3.y, pt3.z);
 				}
 			}
 
@@ -540,8 +546,8 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 					sumX += r_ji*pointGradX[j];
 					sumY += r_ji*pointGradY[j];
 				}
-				add(rightView, jacRowX, col + paramLength + i, sumX*W);
-				add(rightView, jacRowY, col + paramLength + i, sumY*W);
+				add(rightView, ws.jacRowX, col + paramLength + i, sumX*W);
+				add(rightView, ws.jacRowY, col + paramLength + i, sumY*W);
 			}
 
 			// If there is a parent then traverse to it next
@@ -568,29 +574,34 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return world_to_view;
 	}
 
-	private void partialRigidSE3( DMatrix leftPoint, int rigidIndex,
+	private void partialRigidSE3( Workspace ws, DMatrix leftPoint, int rigidIndex,
 								  double X, double Y, double Z, double W ) {
 		int col = rigidParameterIndexes[rigidIndex] + indexFirstRigid;
 
 		JacobianSo3 jac = jacRigidS03[rigidIndex];
+		final DMatrixRMaj R = ws.world_to_view.R;
+		final double[] pointGradX = ws.pointGradX;
+		final double[] pointGradY = ws.pointGradY;
+		final int jacRowX = ws.jacRowX;
+		final int jacRowY = ws.jacRowY;
 
 		//============== Partial of view rotation parameters
 		final int N = jac.getParameterLength();
 		for (int i = 0; i < N; i++) {
-			CommonOps_DDRM.mult(world_to_view.R, jac.getPartial(i), RR);
-			addToJacobian(leftPoint, col + i, pointGradX, pointGradY, RR, X, Y, Z);
+			CommonOps_DDRM.mult(R, jac.getPartial(i), ws.RR);
+			addToJacobian(ws, leftPoint, col + i, pointGradX, pointGradY, ws.RR, X, Y, Z);
 		}
 
 		//============== Partial of view translation parameters
 		// Apply rotation matrix to gradX and gradY.
 		// RX = gradX'*R
-		double RX0 = world_to_view.R.data[0]*pointGradX[0] + world_to_view.R.data[3]*pointGradX[1] + world_to_view.R.data[6]*pointGradX[2];
-		double RX1 = world_to_view.R.data[1]*pointGradX[0] + world_to_view.R.data[4]*pointGradX[1] + world_to_view.R.data[7]*pointGradX[2];
-		double RX2 = world_to_view.R.data[2]*pointGradX[0] + world_to_view.R.data[5]*pointGradX[1] + world_to_view.R.data[8]*pointGradX[2];
+		double RX0 = R.data[0]*pointGradX[0] + R.data[3]*pointGradX[1] + R.data[6]*pointGradX[2];
+		double RX1 = R.data[1]*pointGradX[0] + R.data[4]*pointGradX[1] + R.data[7]*pointGradX[2];
+		double RX2 = R.data[2]*pointGradX[0] + R.data[5]*pointGradX[1] + R.data[8]*pointGradX[2];
 		// RY = gradY'*R
-		double RY0 = world_to_view.R.data[0]*pointGradY[0] + world_to_view.R.data[3]*pointGradY[1] + world_to_view.R.data[6]*pointGradY[2];
-		double RY1 = world_to_view.R.data[1]*pointGradY[0] + world_to_view.R.data[4]*pointGradY[1] + world_to_view.R.data[7]*pointGradY[2];
-		double RY2 = world_to_view.R.data[2]*pointGradY[0] + world_to_view.R.data[5]*pointGradY[1] + world_to_view.R.data[8]*pointGradY[2];
+		double RY0 = R.data[0]*pointGradY[0] + R.data[3]*pointGradY[1] + R.data[6]*pointGradY[2];
+		double RY1 = R.data[1]*pointGradY[0] + R.data[4]*pointGradY[1] + R.data[7]*pointGradY[2];
+		double RY2 = R.data[2]*pointGradY[0] + R.data[5]*pointGradY[1] + R.data[8]*pointGradY[2];
 
 		set(leftPoint, jacRowX, col + N, RX0*W);
 		set(leftPoint, jacRowY, col + N, RY0*W);
@@ -603,7 +614,9 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	/**
 	 * J[rows,col:(col+3)] =  [a;b]*R
 	 */
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b, DMatrixRMaj R ) {
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b, DMatrixRMaj R ) {
+		final int jacRowX = ws.jacRowX;
+		final int jacRowY = ws.jacRowY;
 		set(matrix, jacRowX, col + 0, a[0]*R.data[0] + a[1]*R.data[3] + a[2]*R.data[6]);
 		set(matrix, jacRowX, col + 1, a[0]*R.data[1] + a[1]*R.data[4] + a[2]*R.data[7]);
 		set(matrix, jacRowX, col + 2, a[0]*R.data[2] + a[1]*R.data[5] + a[2]*R.data[8]);
@@ -613,20 +626,20 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		set(matrix, jacRowY, col + 2, b[0]*R.data[2] + b[1]*R.data[5] + b[2]*R.data[8]);
 	}
 
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b,
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b,
 								DMatrixRMaj R, double X, double Y, double Z ) {
 
 		double x = R.data[0]*X + R.data[1]*Y + R.data[2]*Z;
 		double y = R.data[3]*X + R.data[4]*Y + R.data[5]*Z;
 		double z = R.data[6]*X + R.data[7]*Y + R.data[8]*Z;
 
-		add(matrix, jacRowX, col, a[0]*x + a[1]*y + a[2]*z);
-		add(matrix, jacRowY, col, b[0]*x + b[1]*y + b[2]*z);
+		add(matrix, ws.jacRowX, col, a[0]*x + a[1]*y + a[2]*z);
+		add(matrix, ws.jacRowY, col, b[0]*x + b[1]*y + b[2]*z);
 	}
 
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b, Vector3D_F64 X ) {
-		set(matrix, jacRowX, col, a[0]*X.x + a[1]*X.y + a[2]*X.z);
-		set(matrix, jacRowY, col, b[0]*X.x + b[1]*X.y + b[2]*X.z);
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b, Vector3D_F64 X ) {
+		set(matrix, ws.jacRowX, col, a[0]*X.x + a[1]*X.y + a[2]*X.z);
+		set(matrix, ws.jacRowY, col, b[0]*X.x + b[1]*X.y + b[2]*X.z);
 	}
 
 	/**
@@ -675,4 +688,46 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		}
 		return partials;
 	}
+
+	/**
+	 * Storage for everything which is modified while computing the Jacobian of a single observation
+	 */
+	protected static class Workspace {
+		// world to view transform for the view being processed. Read only.
+		Se3_F64 world_to_view;
+
+		// feature location in world coordinates
+		final Point3D_F64 worldPt3 = new Point3D_F64();
+		final Point4D_F64 worldPt4 = new Point4D_F64();
+		// feature location in rigid body coordinates
+		final Point3D_F64 rigidPt3 = new Point3D_F64();
+		final Point4D_F64 rigidPt4 = new Point4D_F64();
+		// feature location in camera coordinates
+		final Point3D_F64 cameraPt = new Point3D_F64();
+
+		// Jacobian matrix index of x and y partial
+		int jacRowX, jacRowY;
+
+		// Storage for gradients
+		final double[] pointGradX = new double[3];
+		final double[] pointGradY = new double[3];
+		double[] calibGradX = new double[0];
+		double[] calibGradY = new double[0];
+
+		// work space for R2*R1
+		final DMatrixRMaj RR = new DMatrixRMaj(3, 3);
+
+		// Storage for computing partials of relative views
+		final DMatrixRMaj accumulatedR = new DMatrixRMaj(3, 3);
+		final Point4D_F64 worldX = new Point4D_F64();
+		final Point3D_F64 pt3 = new Point3D_F64();
+		final DMatrixRMaj tmp3x3 = new DMatrixRMaj(3, 3);
+
+		void declareCalibration( int length ) {
+			if (calibGradX.length == length)
+				return;
+			calibGradX = new double[length];
+			calibGradY = new double[length];
+		}
+	}
 }
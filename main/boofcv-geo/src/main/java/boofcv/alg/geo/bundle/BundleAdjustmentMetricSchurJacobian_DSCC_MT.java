@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.ejml.data.DMatrix;
+import org.ejml.data.DMatrixSparseTriplet;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BundleAdjustmentMetricSchurJacobian_DSCC}. Views are split into blocks and
+ * each block writes to its own sparse matrices. Once all the blocks are done their elements are added to the
+ * output in the same order as the single threaded implementation, producing an identical Jacobian. The camera
+ * models must be thread safe.
+ *
+ * @author Peter Abeles
+ */
+public class BundleAdjustmentMetricSchurJacobian_DSCC_MT extends BundleAdjustmentMetricSchurJacobian_DSCC {
+	// Workspace and Jacobian for each block of views
+	private final GrowArray<Block> blocks = new GrowArray<>(Block::new);
+
+	@Override
+	protected void computeViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		DMatrixSparseTriplet left = (DMatrixSparseTriplet)leftPoint;
+		DMatrixSparseTriplet right = (DMatrixSparseTriplet)rightView;
+
+		BoofConcurrency.loopBlocks(0, getViewCount(), blocks, ( block, view0, view1 ) -> {
+			block.view0 = view0;
+			block.left.reshape(left.numRows, left.numCols);
+			block.right.reshape(right.numRows, right.numCols);
+			computeViews(block.workspace, view0, view1, input, block.left, block.right);
+		});
+
+		// Blocks are added in the order of their views so that the output doesn't depend on the number of threads
+		int previousView = -1;
+		for (int count = 0; count < blocks.size(); count++) {
+			Block next = null;
+			for (int i = 0; i < blocks.size(); i++) {
+				Block b = blocks.get(i);
+				if (b.view0 > previousView && (next == null || b.view0 < next.view0))
+					next = b;
+			}
+			if (next == null)
+				break;
+			previousView = next.view0;
+			append(next.left, left);
+			append(next.right, right);
+		}
+	}
+
+	/**
+	 * Adds all the elements in src to the end of dst
+	 */
+	static void append( DMatrixSparseTriplet src, DMatrixSparseTriplet dst ) {
+		for (int i = 0; i < src.nz_length; i++) {
+			dst.addItem(src.nz_rowcol.data[i*2], src.nz_rowcol.data[i*2 + 1], src.nz_value.data[i]);
+		}
+	}
+
+	private static class Block {
+		final Workspace workspace = new Workspace();
+		final DMatrixSparseTriplet left = new DMatrixSparseTriplet(1, 1, 1);
+		final DMatrixSparseTriplet right = new DMatrixSparseTriplet(1, 1, 1);
+		// index of the first view in this block
+		int view0;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -23,18 +23,23 @@ import boofcv.abst.geo.bundle.SceneObservations;
 import boofcv.abst.geo.bundle.SceneStructureMetric;
 import boofcv.abst.geo.calibration.ImageResults;
 import boofcv.alg.geo.bundle.BundleAdjustmentMetricResidualFunction;
+import boofcv.alg.geo.bundle.BundleAdjustmentMetricResidualFunction_MT;
 import boofcv.alg.geo.bundle.CodecSceneStructureMetric;
 import boofcv.alg.geo.calibration.cameras.Zhang99Camera;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.geo.ConfigBundleAdjustment;
 import boofcv.factory.geo.FactoryMultiView;
 import boofcv.struct.calib.CameraModel;
 import boofcv.struct.geo.PointIndex2D_F64;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.se.Se3_F64;
+import lombok.Getter;
+import lombok.Setter;
 import org.ddogleg.optimization.lm.ConfigLevenbergMarquardt;
 import org.ddogleg.struct.VerbosePrint;
 import org.ejml.data.DMatrixRMaj;
 import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
@@ -56,6 +61,11 @@ import java.util.Set;
  * </p>
  *
  * <p>
+ * If concurrency is turned on then the homography for each view is found in parallel and the residuals and Jacobian
+ * are computed in parallel during non-linear refinement.
+ * </p>
+ *
+ * <p>
  * A listener can be provide that will give status updates and allows requests for early termination.  If a request
  * for early termination is made then a RuntimeException will be thrown.
  * </p>
@@ -90,6 +100,19 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 	// Use a robust non-linear solver. This can run significantly slower
 	private boolean robust = false;
 
+	/** If true then concurrent algorithms will be used, if concurrency is enabled in {@link BoofConcurrency} */
+	@Getter @Setter private boolean concurrent = true;
+
+	// Used to compute homographies concurrently
+	private final GrowArray<Zhang99ComputeTargetHomography> workHomography;
+
+	/** Time to compute homographies for all views in milliseconds */
+	@Getter double timeHomography;
+	/** Time to compute the entire linear estimate in milliseconds */
+	@Getter double timeLinear;
+	/** Time for non-linear refinement in milliseconds */
+	@Getter double timeBundle;
+
 	private PrintStream verbose = null;
 
 	/**
@@ -103,6 +126,7 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 		computeHomography = new Zhang99ComputeTargetHomography(layout);
 		computeK = new Zhang99CalibrationMatrixFromHomographies(cameraGenerator.isZeroSkew());
 		computeRadial = new RadialDistortionEstimateLinear(layout, cameraGenerator.numRadial());
+		workHomography = new GrowArray<>(() -> new Zhang99ComputeTargetHomography(layout));
 	}
 
 	/**
@@ -122,17 +146,25 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 	 * @return true if successful and false if it failed
 	 */
 	public boolean process( List<CalibrationObservation> observations ) {
+		timeHomography = timeLinear = timeBundle = 0;
 
 		// compute initial parameter estimates using linear algebra
+		long time0 = System.nanoTime();
 		if (!linearEstimate(observations))
 			return false;
+		long time1 = System.nanoTime();
+		timeLinear = (time1 - time0)*1e-6;
 
 		status("Non-linear refinement");
 		// perform non-linear optimization to improve results
-		if (!performBundleAdjustment())
-			return false;
+		boolean success = performBundleAdjustment();
+		timeBundle = (System.nanoTime() - time1)*1e-6;
 
-		return true;
+		if (verbose != null)
+			verbose.printf("Time (ms): homography=%.1f linear=%.1f bundle=%.1f\n",
+					timeHomography, timeLinear, timeBundle);
+
+		return success;
 	}
 
 	/**
@@ -140,19 +172,13 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 	 */
 	protected boolean linearEstimate( List<CalibrationObservation> observations ) {
 		status("Estimating Homographies");
-		List<DMatrixRMaj> homographies = new ArrayList<>();
-		List<Se3_F64> motions = new ArrayList<>();
-
-		for (int i = 0; i < observations.size(); i++) {
-			CalibrationObservation obs = observations.get(i);
-
-			if (!computeHomography.computeHomography(obs))
-				return false;
-
-			DMatrixRMaj H = computeHomography.getHomography();
+		long time0 = System.nanoTime();
+		List<DMatrixRMaj> homographies = estimateHomographies(observations);
+		timeHomography = (System.nanoTime() - time0)*1e-6;
+		if (homographies == null)
+			return false;
 
-			homographies.add(H);
-		}
+		List<Se3_F64> motions = new ArrayList<>();
 
 		status("Estimating Calibration Matrix");
 		computeK.process(homographies);
@@ -174,6 +200,38 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 		return true;
 	}
 
+	/**
+	 * Computes the homography for each view independently
+	 *
+	 * @return List of homographies or null if one of them failed
+	 */
+	@Nullable List<DMatrixRMaj> estimateHomographies( List<CalibrationObservation> observations ) {
+		var homographies = new DMatrixRMaj[observations.size()];
+
+		if (concurrent && BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, observations.size(), workHomography, ( alg, idx0, idx1 ) -> {
+				for (int i = idx0; i < idx1; i++) {
+					if (alg.computeHomography(observations.get(i)))
+						homographies[i] = alg.getHomography();
+				}
+			});
+		} else {
+			for (int i = 0; i < observations.size(); i++) {
+				if (!computeHomography.computeHomography(observations.get(i)))
+					return null;
+				homographies[i] = computeHomography.getHomography();
+			}
+		}
+
+		List<DMatrixRMaj> found = new ArrayList<>();
+		for (int i = 0; i < homographies.length; i++) {
+			if (homographies[i] == null)
+				return null;
+			found.add(homographies[i]);
+		}
+		return found;
+	}
+
 	private void status( String message ) {
 		if (listener != null) {
 			if (!listener.zhangUpdate(message))
@@ -191,6 +249,7 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 
 		ConfigBundleAdjustment configSBA = new ConfigBundleAdjustment();
 		configSBA.configOptimizer = configLM;
+		configSBA.concurrent = concurrent;
 
 		BundleAdjustment<SceneStructureMetric> bundleAdjustment;
 		if (robust) {
@@ -253,7 +312,8 @@ public class CalibrationPlanarGridZhang99 implements VerbosePrint {
 		CodecSceneStructureMetric codec = new CodecSceneStructureMetric();
 		codec.encode(structure, parameters);
 
-		BundleAdjustmentMetricResidualFunction function = new BundleAdjustmentMetricResidualFunction();
+		BundleAdjustmentMetricResidualFunction function = concurrent && BoofConcurrency.USE_CONCURRENT ?
+				new BundleAdjustmentMetricResidualFunction_MT() : new BundleAdjustmentMetricResidualFunction();
 		function.configure(structure, observations);
 		function.process(parameters, residuals);
 
@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.robust;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofMiscOps;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.fitting.modelset.DistanceFromModel;
+import org.ddogleg.fitting.modelset.ModelGenerator;
+import org.ddogleg.fitting.modelset.ModelManager;
+import org.ddogleg.fitting.modelset.ModelMatcher;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.Factory;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * RANSAC which generates and scores hypotheses in batches. Hypotheses inside a batch are independent of each other,
+ * which allows them to be evaluated concurrently. The random samples are always drawn by a single thread so the
+ * solution does not depend on the number of threads. Optionally, two improvements over standard RANSAC are
+ * available:
+ * </p>
+ *
+ * <ul>
+ *     <li>Adaptive termination. After each batch the number of iterations needed to have drawn an all inlier
+ *     sample with the specified {@link #confidence} is recomputed from the best inlier fraction found so far.</li>
+ *     <li>Preemptive scoring [1]. All hypotheses are generated at once and then scored against blocks of
+ *     observations in a random order. After each block the worst half of the hypotheses is discarded.</li>
+ * </ul>
+ *
+ * <p>
+ * When a hypothesis is scored against all the observations it stops as soon as it can't beat the best hypothesis
+ * from a previous batch.
+ * </p>
+ *
+ * <p>
+ * [1] Nister, David. "Preemptive RANSAC for live structure and motion estimation." ICCV 2003
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RansacParallel<Model, Point> implements ModelMatcher<Model, Point> {
+	// Seed used to initialize the random number generator when reset is called
+	protected final long randSeed;
+	protected final Random rand;
+
+	protected final ModelManager<Model> manager;
+
+	// Used to create a new model generator and distance function for each thread
+	protected final Factory<? extends ModelGenerator<Model, Point>> factoryGenerator;
+	protected final Factory<? extends DistanceFromModel<Model, Point>> factoryDistance;
+
+	/** The maximum number of hypotheses which will be generated */
+	@Getter @Setter protected int maxIterations;
+
+	/** A point is an inlier if its distance from the model is less than or equal to this value */
+	@Getter @Setter protected double thresholdFit;
+
+	/**
+	 * Adaptive termination confidence. If 0 then it will always run for {@link #maxIterations}. Termination is
+	 * only checked after a batch has been scored, so the number of iterations will be a multiple of
+	 * {@link #batchSize} unless it's limited by {@link #maxIterations}.
+	 */
+	@Getter @Setter protected double confidence = 0.0;
+
+	/** Preemptive RANSAC is used if more than 0. Number of observations in each scoring block. */
+	@Getter @Setter protected int preemptiveBlockSize = 0;
+
+	/** Number of hypotheses which are generated and scored together */
+	@Getter @Setter protected int batchSize = 50;
+
+	/** If true then hypotheses will be evaluated concurrently if {@link BoofConcurrency#USE_CONCURRENT} is also true */
+	@Getter @Setter protected boolean concurrent = true;
+
+	/** Number of hypotheses generated in the most recent call to process */
+	@Getter protected int iterations;
+
+	// Workspace for each thread. Created on first use, see getWorkspace()
+	protected @Nullable GrowArray<Workspace> workspace;
+	// Every workspace that has been created
+	protected final List<Workspace> workspaces = new ArrayList<>();
+
+	// number of points needed to generate a hypothesis
+	protected final int sampleSize;
+	protected final Class<Point> pointType;
+	protected final Class<Model> modelType;
+
+	// Input observations
+	protected List<Point> dataSet = new ArrayList<>();
+
+	// Hypotheses that are being evaluated
+	protected final DogArray<Model> hypotheses;
+	// Indexes of observations in the sample for each hypothesis
+	protected final DogArray_I32 sampleIndexes = new DogArray_I32();
+	// If a valid model could be generated from the sample
+	protected final DogArray_B valid = new DogArray_B();
+	// Number of inliers each hypothesis has
+	protected final DogArray_I32 scores = new DogArray_I32();
+
+	// Storage for preemptive RANSAC
+	// Order the observations are scored in
+	protected final DogArray_I32 order = new DogArray_I32();
+	// Hypotheses which have not been discarded yet
+	protected final DogArray_I32 alive = new DogArray_I32();
+	protected long[] sortKeys = new long[0];
+
+	// The best hypothesis found and the points which are inliers to it
+	protected final Model bestModel;
+	protected int bestInliers;
+	protected final List<Point> matchSet = new ArrayList<>();
+	protected final DogArray_I32 matchToInput = new DogArray_I32();
+
+	/**
+	 * @param randSeed Seed for the random number generator
+	 * @param manager Model manager
+	 * @param factoryGenerator Creates a new model generator for each thread
+	 * @param factoryDistance Creates a new distance function for each thread
+	 * @param maxIterations Maximum number of hypotheses which are generated
+	 * @param thresholdFit A point is an inlier if its distance from the model is &le; this value
+	 */
+	public RansacParallel( long randSeed, ModelManager<Model> manager,
+						   Factory<? extends ModelGenerator<Model, Point>> factoryGenerator,
+						   Factory<? extends DistanceFromModel<Model, Point>> factoryDistance,
+						   int maxIterations, double thresholdFit ) {
+		this.randSeed = randSeed;
+		this.rand = new Random(randSeed);
+		this.manager = manager;
+		this.factoryGenerator = factoryGenerator;
+		this.factoryDistance = factoryDistance;
+		this.maxIterations = maxIterations;
+		this.thresholdFit = thresholdFit;
+
+		this.hypotheses = new DogArray<>(manager::createModelInstance);
+		this.bestModel = manager.createModelInstance();
+
+		DistanceFromModel<Model, Point> distance = factoryDistance.newInstance();
+		this.sampleSize = factoryGenerator.newInstance().getMinimumPoints();
+		this.pointType = distance.getPointType();
+		this.modelType = distance.getModelType();
+	}
+
+	/**
+	 * Creates a new workspace. Called when a thread needs a workspace and none are available. Subclasses can
+	 * override this to configure the workspace using their own fields.
+	 */
+	protected Workspace createWorkspace() {
+		var w = new Workspace(factoryGenerator.newInstance(), factoryDistance.newInstance());
+		workspaces.add(w);
+		return w;
+	}
+
+	/**
+	 * Returns the workspace for each thread. It's created the first time it's needed and not in the constructor,
+	 * because GrowArray creates a workspace immediately and {@link #createWorkspace} can be overridden by a
+	 * subclass that has not been initialized yet.
+	 */
+	protected GrowArray<Workspace> getWorkspace() {
+		if (workspace == null)
+			workspace = new GrowArray<>(this::createWorkspace);
+		return workspace;
+	}
+
+	@Override
+	public boolean process( List<Point> dataSet ) {
+		this.dataSet = dataSet;
+		this.iterations = 0;
+		this.bestInliers = 0;
+		this.matchSet.clear();
+		this.matchToInput.reset();
+
+		if (dataSet.size() < sampleSize)
+			return false;
+
+		boolean found;
+		if (preemptiveBlockSize > 0) {
+			found = processPreemptive();
+		} else {
+			found = processStandard();
+		}
+
+		if (found)
+			selectMatchSet();
+
+		return found && matchSet.size() > 0;
+	}
+
+	/**
+	 * Generates hypotheses in batches and scores them against all the observations
+	 *
+	 * @return true if a valid hypothesis was found
+	 */
+	protected boolean processStandard() {
+		int N = dataSet.size();
+		int target = maxIterations;
+		boolean found = false;
+
+		while (iterations < target) {
+			// Adaptive termination is only checked between batches, so only maxIterations can shorten a batch
+			int count = Math.min(batchSize, maxIterations - iterations);
+			drawSamples(count);
+			// A hypothesis needs to have more inliers than the best so far to be selected
+			final int atLeast = bestInliers;
+			evaluate(count, ( w, index ) -> {
+				if (generate(w, index))
+					scores.data[index] = countInliers(w, hypotheses.get(index), atLeast);
+			});
+
+			// Select the best hypothesis in the same order they were generated in
+			for (int i = 0; i < count; i++) {
+				if (!valid.data[i] || (found && scores.data[i] <= bestInliers))
+					continue;
+				found = true;
+				bestInliers = scores.data[i];
+				manager.copyModel(hypotheses.get(i), bestModel);
+			}
+			iterations += count;
+
+			if (confidence > 0.0 && bestInliers > 0) {
+				int required = requiredIterations((double)bestInliers/N, sampleSize, confidence);
+				target = Math.min(maxIterations, required);
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Generates all the hypotheses then scores them against blocks of observations. After each block
+	 * the hypotheses with the lowest score are discarded.
+	 *
+	 * @return true if a valid hypothesis was found
+	 */
+	protected boolean processPreemptive() {
+		int N = dataSet.size();
+		int M = maxIterations;
+
+		drawSamples(M);
+		evaluate(M, ( w, index ) -> generate(w, index));
+		iterations = M;
+
+		// Observations are scored in a random order so that a block isn't biased by how the input was sorted
+		order.resize(N);
+		for (int i = 0; i < N; i++) {
+			order.data[i] = i;
+		}
+		for (int i = N - 1; i > 0; i--) {
+			int j = rand.nextInt(i + 1);
+			int tmp = order.data[i];
+			order.data[i] = order.data[j];
+			order.data[j] = tmp;
+		}
+
+		alive.reset();
+		for (int i = 0; i < M; i++) {
+			scores.data[i] = 0;
+			if (valid.data[i])
+				alive.add(i);
+		}
+		if (alive.size == 0)
+			return false;
+
+		int scored = 0;
+		while (alive.size > 1 && scored < N) {
+			final int idx0 = scored;
+			final int idx1 = Math.min(N, scored + preemptiveBlockSize);
+			evaluateAlive(( w, index ) -> scores.data[index] += countInliers(w, hypotheses.get(index), idx0, idx1));
+			scored = idx1;
+
+			// Number of hypotheses which survive is halved after each block
+			int halvings = scored/preemptiveBlockSize;
+			int keep = Math.max(1, halvings >= 31 ? 0 : M >> halvings);
+			if (alive.size > keep) {
+				sortAliveByScore();
+				alive.size = keep;
+			}
+		}
+
+		sortAliveByScore();
+		manager.copyModel(hypotheses.get(alive.get(0)), bestModel);
+		return true;
+	}
+
+	/**
+	 * Sorts alive hypotheses by score from best to worst. Ties are broken by the order they were generated in.
+	 */
+	void sortAliveByScore() {
+		if (sortKeys.length < alive.size)
+			sortKeys = new long[alive.size];
+		for (int i = 0; i < alive.size; i++) {
+			int index = alive.data[i];
+			sortKeys[i] = ((long)scores.data[index] << 32) | (Integer.MAX_VALUE - index);
+		}
+		Arrays.sort(sortKeys, 0, alive.size);
+		for (int i = 0; i < alive.size; i++) {
+			alive.data[i] = Integer.MAX_VALUE - (int)sortKeys[alive.size - 1 - i];
+		}
+	}
+
+	/**
+	 * Randomly selects the observations in each sample. Always done in a single thread so that the results
+	 * are independent of the number of threads.
+	 */
+	void drawSamples( int count ) {
+		int N = dataSet.size();
+		hypotheses.resize(count);
+		valid.resize(count);
+		scores.resize(count);
+		sampleIndexes.resize(count*sampleSize);
+
+		for (int hypo = 0; hypo < count; hypo++) {
+			int offset = hypo*sampleSize;
+			for (int i = 0; i < sampleSize; i++) {
+				int selected;
+				boolean duplicate;
+				do {
+					selected = rand.nextInt(N);
+					duplicate = false;
+					for (int j = 0; j < i; j++) {
+						if (sampleIndexes.data[offset + j] == selected) {
+							duplicate = true;
+							break;
+						}
+					}
+				} while (duplicate);
+				sampleIndexes.data[offset + i] = selected;
+			}
+		}
+	}
+
+	/**
+	 * Generates the hypothesis from its sample
+	 *
+	 * @return true if a valid hypothesis was generated
+	 */
+	boolean generate( Workspace w, int index ) {
+		w.sample.clear();
+		int offset = index*sampleSize;
+		for (int i = 0; i < sampleSize; i++) {
+			w.sample.add(dataSet.get(sampleIndexes.data[offset + i]));
+		}
+		scores.data[index] = 0;
+		return valid.data[index] = w.generator.generate(w.sample, hypotheses.get(index));
+	}
+
+	/**
+	 * Counts the number of inliers in the entire data set. Stops early if it can't have more than 'atLeast' inliers.
+	 */
+	int countInliers( Workspace w, Model model, int atLeast ) {
+		w.distance.setModel(model);
+
+		int N = dataSet.size();
+		int count = 0;
+		for (int i = 0; i < N; i++) {
+			if (w.distance.distance(dataSet.get(i)) <= thresholdFit) {
+				count++;
+			} else if (count + N - i - 1 <= atLeast) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the number of inliers inside the specified range of {@link #order}
+	 */
+	int countInliers( Workspace w, Model model, int idx0, int idx1 ) {
+		w.distance.setModel(model);
+
+		int count = 0;
+		for (int i = idx0; i < idx1; i++) {
+			if (w.distance.distance(dataSet.get(order.data[i])) <= thresholdFit) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Applies the operation to every hypothesis in the range 0 to count-1
+	 */
+	void evaluate( int count, HypothesisOp<Workspace> op ) {
+		GrowArray<Workspace> workspace = getWorkspace();
+		if (concurrent && BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, count, workspace, ( w, idx0, idx1 ) -> {
+				for (int i = idx0; i < idx1; i++) {
+					op.process(w, i);
+				}
+			});
+		} else {
+			workspace.reset();
+			Workspace w = workspace.grow();
+			for (int i = 0; i < count; i++) {
+				op.process(w, i);
+			}
+		}
+	}
+
+	/**
+	 * Applies the operation to every hypothesis which is still alive
+	 */
+	void evaluateAlive( HypothesisOp<Workspace> op ) {
+		evaluate(alive.size, ( w, i ) -> op.process(w, alive.data[i]));
+	}
+
+	/**
+	 * Finds the inliers for the best model using all the observations
+	 */
+	void selectMatchSet() {
+		GrowArray<Workspace> workspace = getWorkspace();
+		workspace.reset();
+		Workspace w = workspace.grow();
+		w.distance.setModel(bestModel);
+
+		for (int i = 0; i < dataSet.size(); i++) {
+			Point p = dataSet.get(i);
+			if (w.distance.distance(p) <= thresholdFit) {
+				matchSet.add(p);
+				matchToInput.add(i);
+			}
+		}
+		bestInliers = matchSet.size();
+	}
+
+	/**
+	 * Computes the number of iterations required to draw a sample with only inliers in it at the specified
+	 * confidence level.
+	 *
+	 * @param inlierFraction Fraction of observations which are inliers
+	 * @param sampleSize Number of observations in a sample
+	 * @param confidence Desired probability of drawing a good sample
+	 * @return Number of iterations
+	 */
+	public static int requiredIterations( double inlierFraction, int sampleSize, double confidence ) {
+		BoofMiscOps.checkTrue(confidence > 0.0 && confidence < 1.0);
+		double probGood = Math.pow(inlierFraction, sampleSize);
+		if (probGood >= 1.0)
+			return 1;
+		if (probGood <= 0.0)
+			return Integer.MAX_VALUE;
+		double required = Math.ceil(Math.log(1.0 - confidence)/Math.log(1.0 - probGood));
+		return required >= Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.max(1, (int)required);
+	}
+
+	@Override public Model getModelParameters() {return bestModel;}
+
+	@Override public List<Point> getMatchSet() {return matchSet;}
+
+	@Override public int getInputIndex( int matchIndex ) {return matchToInput.get(matchIndex);}
+
+	/**
+	 * Returns the number of inliers
+	 */
+	@Override public double getFitQuality() {return matchSet.size();}
+
+	@Override public int getMinimumSize() {return sampleSize;}
+
+	@Override public void reset() {rand.setSeed(randSeed);}
+
+	@Override public Class<Point> getPointType() {return pointType;}
+
+	@Override public Class<Model> getModelType() {return modelType;}
+
+	/**
+	 * Operation applied to a single hypothesis
+	 */
+	@FunctionalInterface
+	protected interface HypothesisOp<W> {
+		void process( W w, int index );
+	}
+
+	/**
+	 * Data structures which can't be shared between threads
+	 */
+	protected class Workspace {
+		public final ModelGenerator<Model, Point> generator;
+		public final DistanceFromModel<Model, Point> distance;
+		public final List<Point> sample = new ArrayList<>();
+
+		public Workspace( ModelGenerator<Model, Point> generator, DistanceFromModel<Model, Point> distance ) {
+			this.generator = generator;
+			this.distance = distance;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.robust;
+
+import boofcv.alg.geo.DistanceFromModelMultiView;
+import boofcv.struct.calib.CameraPinhole;
+import org.ddogleg.fitting.modelset.ModelGenerator;
+import org.ddogleg.fitting.modelset.ModelManager;
+import org.ddogleg.struct.Factory;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extension of {@link RansacParallel} for two calibrated camera views. Input point will be in normalized image
+ * coordinates
+ *
+ * @author Peter Abeles
+ */
+public class RansacParallelCalibrated<Model, Point> extends RansacParallel<Model, Point>
+		implements ModelMatcherMultiview<Model, Point> {
+
+	// Intrinsic parameters for each view. Applied to each distance function when it's created
+	private final List<@Nullable CameraPinhole> intrinsics = new ArrayList<>();
+	private final int numberOfViews;
+
+	public RansacParallelCalibrated( long randSeed, ModelManager<Model> manager,
+									 Factory<? extends ModelGenerator<Model, Point>> factoryGenerator,
+									 Factory<? extends DistanceFromModelMultiView<Model, Point>> factoryDistance,
+									 int maxIterations, double thresholdFit ) {
+		super(randSeed, manager, factoryGenerator, factoryDistance, maxIterations, thresholdFit);
+		this.numberOfViews = factoryDistance.newInstance().getNumberOfViews();
+	}
+
+	@Override
+	protected Workspace createWorkspace() {
+		Workspace w = super.createWorkspace();
+		for (int view = 0; view < intrinsics.size(); view++) {
+			CameraPinhole intrinsic = intrinsics.get(view);
+			if (intrinsic != null)
+				distance(w).setIntrinsic(view, intrinsic);
+		}
+		return w;
+	}
+
+	@Override
+	public void setIntrinsic( int view, CameraPinhole intrinsic ) {
+		while (intrinsics.size() <= view) {
+			intrinsics.add(null);
+		}
+		intrinsics.set(view, new CameraPinhole(intrinsic));
+		for (int i = 0; i < workspaces.size(); i++) {
+			distance(workspaces.get(i)).setIntrinsic(view, intrinsic);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private DistanceFromModelMultiView<Model, Point> distance( Workspace w ) {
+		return (DistanceFromModelMultiView<Model, Point>)w.distance;
+	}
+
+	@Override
+	public int getNumberOfViews() {
+		return numberOfViews;
+	}
+}
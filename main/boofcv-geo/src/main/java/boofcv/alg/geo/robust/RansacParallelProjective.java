@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.robust;
+
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.image.ImageDimension;
+import org.ddogleg.fitting.modelset.ModelManager;
+import org.ddogleg.struct.Factory;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extension of {@link RansacParallel} for projective geometry. Shape of input images is provided and that allows
+ * for proper normalization / scaling of input data.
+ *
+ * @author Peter Abeles
+ */
+public class RansacParallelProjective<Model, Point> extends RansacParallel<Model, Point>
+		implements ModelMatcherViews<Model, Point, ImageDimension> {
+
+	// Shape of each view. Applied to each generator and distance function when they are created
+	private final List<@Nullable ImageDimension> views = new ArrayList<>();
+	private final int numberOfViews;
+
+	public RansacParallelProjective( long randSeed, ModelManager<Model> manager,
+									 Factory<? extends ModelGeneratorViews<Model, Point, ImageDimension>> factoryGenerator,
+									 Factory<? extends DistanceFromModelViews<Model, Point, ImageDimension>> factoryDistance,
+									 int maxIterations, double thresholdFit ) {
+		super(randSeed, manager, factoryGenerator, factoryDistance, maxIterations, thresholdFit);
+		this.numberOfViews = factoryDistance.newInstance().getNumberOfViews();
+		BoofMiscOps.checkTrue(numberOfViews == factoryGenerator.newInstance().getNumberOfViews());
+	}
+
+	@Override
+	protected Workspace createWorkspace() {
+		Workspace w = super.createWorkspace();
+		for (int view = 0; view < views.size(); view++) {
+			ImageDimension shape = views.get(view);
+			if (shape != null)
+				setView(w, view, shape);
+		}
+		return w;
+	}
+
+	@Override
+	public void setView( int view, ImageDimension viewInfo ) {
+		while (views.size() <= view) {
+			views.add(null);
+		}
+		views.set(view, new ImageDimension(viewInfo.width, viewInfo.height));
+		for (int i = 0; i < workspaces.size(); i++) {
+			setView(workspaces.get(i), view, viewInfo);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void setView( Workspace w, int view, ImageDimension viewInfo ) {
+		((ModelGeneratorViews<Model, Point, ImageDimension>)w.generator).setView(view, viewInfo);
+		((DistanceFromModelViews<Model, Point, ImageDimension>)w.distance).setView(view, viewInfo);
+	}
+
+	@Override
+	public int getNumberOfViews() {
+		return numberOfViews;
+	}
+}
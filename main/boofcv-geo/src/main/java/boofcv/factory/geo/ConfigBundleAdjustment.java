@@ -35,8 +35,17 @@ public class ConfigBundleAdjustment {
 	 */
 	public Object configOptimizer = new ConfigLevenbergMarquardt();
 
+	/**
+	 * If true then the residuals and Jacobian will be computed concurrently, if concurrency is enabled
+	 * in {@link boofcv.concurrency.BoofConcurrency}. Off by default because every
+	 * {@link boofcv.abst.geo.bundle.BundleAdjustmentCamera} in the scene must then be thread safe. The camera
+	 * models included with BoofCV are thread safe.
+	 */
+	public boolean concurrent = false;
+
 	public void setTo( ConfigBundleAdjustment src ) {
 		// it should copy / overwrite but that isn'y possible/easy. So this is the compromise
 		this.configOptimizer = src.configOptimizer;
+		this.concurrent = src.concurrent;
 	}
 }
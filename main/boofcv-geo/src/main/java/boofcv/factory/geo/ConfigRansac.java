@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,6 +18,7 @@
 
 package boofcv.factory.geo;
 
+import boofcv.misc.BoofMiscOps;
 import boofcv.struct.Configuration;
 
 /**
@@ -39,6 +40,28 @@ public class ConfigRansac implements Configuration {
 	 */
 	public double inlierThreshold;
 
+	/**
+	 * If true then {@link boofcv.alg.geo.robust.RansacParallel} is used instead of ddogleg's RANSAC. Hypotheses
+	 * are evaluated in batches concurrently, if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true,
+	 * and the options below become available. Hypotheses are sampled differently so results will not be identical
+	 * to the standard implementation, but they do not depend on the number of threads.
+	 */
+	public boolean parallel = false;
+
+	/**
+	 * Adaptive termination. Stops once the probability of having drawn at least one all inlier sample, given the
+	 * best inlier fraction so far, reaches this value. 0 disables it and all iterations will be run.
+	 * Only used when {@link #parallel} is true.
+	 */
+	public double confidence = 0.0;
+
+	/**
+	 * If more than zero then preemptive RANSAC is used. All hypotheses are generated at once then scored
+	 * against blocks with this many observations, with half of them being discarded after each block.
+	 * Only used when {@link #parallel} is true.
+	 */
+	public int preemptiveBlockSize = 0;
+
 	public ConfigRansac(int iterations, double inlierThreshold) {
 		this.iterations = iterations;
 		this.inlierThreshold = inlierThreshold;
@@ -49,12 +72,16 @@ public class ConfigRansac implements Configuration {
 
 	@Override
 	public void checkValidity() {
-
+		BoofMiscOps.checkTrue(confidence >= 0.0 && confidence < 1.0, "confidence must be 0 <= x < 1");
+		BoofMiscOps.checkTrue(preemptiveBlockSize >= 0, "preemptiveBlockSize can't be negative");
 	}
 
 	public void setTo( ConfigRansac src ) {
 		this.randSeed = src.randSeed;
 		this.iterations = src.iterations;
 		this.inlierThreshold = src.inlierThreshold;
+		this.parallel = src.parallel;
+		this.confidence = src.confidence;
+		this.preemptiveBlockSize = src.preemptiveBlockSize;
 	}
 }
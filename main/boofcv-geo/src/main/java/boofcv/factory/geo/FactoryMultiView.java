@@ -46,6 +46,7 @@ import boofcv.alg.geo.selfcalib.SelfCalibrationPraticalGuessAndCheckFocus;
 import boofcv.alg.geo.triangulate.*;
 import boofcv.alg.geo.trifocal.RefineThreeViewProjectiveGeometric;
 import boofcv.alg.geo.trifocal.TrifocalAlgebraicPoint7;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.misc.ConfigConverge;
 import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.geo.AssociatedTriple;
@@ -92,6 +93,13 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimizationSparse.levenbergMarquardtSchur((ConfigLevenbergMarquardt)config.configOptimizer);
 
+		if (config.concurrent && BoofConcurrency.USE_CONCURRENT) {
+			return new BundleAdjustmentSchur_DSCC<>(minimizer,
+					new BundleAdjustmentMetricResidualFunction_MT(),
+					new BundleAdjustmentMetricSchurJacobian_DSCC_MT(),
+					new CodecSceneStructureMetric());
+		}
+
 		return new BundleAdjustmentSchur_DSCC<>(minimizer,
 				new BundleAdjustmentMetricResidualFunction(),
 				new BundleAdjustmentMetricSchurJacobian_DSCC(),
@@ -142,6 +150,13 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimization.levenbergMarquardtSchur(robust, (ConfigLevenbergMarquardt)config.configOptimizer);
 
+		if (config.concurrent && BoofConcurrency.USE_CONCURRENT) {
+			return new BundleAdjustmentSchur_DDRM<>(minimizer,
+					new BundleAdjustmentMetricResidualFunction_MT(),
+					new BundleAdjustmentMetricSchurJacobian_DDRM_MT(),
+					new CodecSceneStructureMetric());
+		}
+
 		return new BundleAdjustmentSchur_DDRM<>(minimizer,
 				new BundleAdjustmentMetricResidualFunction(),
 				new BundleAdjustmentMetricSchurJacobian_DDRM(),
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,7 +20,6 @@ package boofcv.factory.geo;
 
 import boofcv.abst.geo.Estimate1ofEpipolar;
 import boofcv.abst.geo.Estimate1ofPnP;
-import boofcv.abst.geo.Estimate1ofTrifocalTensor;
 import boofcv.abst.geo.Triangulate2ViewsMetric;
 import boofcv.abst.geo.fitting.DistanceFromModelResidual;
 import boofcv.abst.geo.fitting.GenerateEpipolarMatrix;
@@ -47,6 +46,7 @@ import org.ddogleg.fitting.modelset.ModelManager;
 import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.fitting.modelset.lmeds.LeastMedianOfSquares;
 import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.struct.Factory;
 import org.ejml.data.DMatrixRMaj;
 import org.jetbrains.annotations.Nullable;
 
@@ -111,21 +111,19 @@ public class FactoryMultiViewRobust {
 	public static ModelMatcherMultiview<Se3_F64, Point2D3D> pnpRansac( @Nullable ConfigPnP pnp,
 																	   ConfigRansac ransac )
 	{
-		if( pnp == null )
-			pnp = new ConfigPnP();
-		pnp.checkValidity();
+		ConfigPnP configPnP = pnp == null ? new ConfigPnP() : pnp;
+		configPnP.checkValidity();
 		ransac.checkValidity();
 
-		Estimate1ofPnP estimatorPnP = FactoryMultiView.pnp_1(pnp.which, pnp.epnpIterations, pnp.numResolve);
-		DistanceFromModelMultiView<Se3_F64,Point2D3D> distance = new PnPDistanceReprojectionSq();
+		Factory<ModelGenerator<Se3_F64,Point2D3D>> factoryGenerator = () -> new EstimatorToGenerator<>(
+				FactoryMultiView.pnp_1(configPnP.which, configPnP.epnpIterations, configPnP.numResolve));
+		Factory<DistanceFromModelMultiView<Se3_F64,Point2D3D>> factoryDistance = PnPDistanceReprojectionSq::new;
 		ModelManagerSe3_F64 manager = new ModelManagerSe3_F64();
-		EstimatorToGenerator<Se3_F64,Point2D3D> generator =
-				new EstimatorToGenerator<>(estimatorPnP);
 
 		// convert from pixels to pixels squared
 		double threshold = ransac.inlierThreshold*ransac.inlierThreshold;
 
-		return new RansacCalibrated<>(ransac.randSeed, manager, generator, distance, ransac.iterations, threshold);
+		return ransacCalibrated(ransac, manager, factoryGenerator, factoryDistance, threshold);
 	}
 
 	/**
@@ -217,22 +215,19 @@ public class FactoryMultiViewRobust {
 			throw new RuntimeException("Error model has to be Euclidean");
 		}
 
-		Estimate1ofEpipolar epipolar = FactoryMultiView.
-				essential_1(essential.which, essential.numResolve);
-
-		Triangulate2ViewsMetric triangulate = FactoryMultiView.triangulate2ViewMetric(
-				new ConfigTriangulation(ConfigTriangulation.Type.GEOMETRIC));
+		ConfigEssential configEssential = essential;
+		var configTriangulation = new ConfigTriangulation(ConfigTriangulation.Type.GEOMETRIC);
 		ModelManager<Se3_F64> manager = new ModelManagerSe3_F64();
-		ModelGenerator<Se3_F64, AssociatedPair> generateEpipolarMotion =
-				new Se3FromEssentialGenerator(epipolar, triangulate);
+		Factory<ModelGenerator<Se3_F64, AssociatedPair>> factoryGenerator = () -> new Se3FromEssentialGenerator(
+				FactoryMultiView.essential_1(configEssential.which, configEssential.numResolve),
+				FactoryMultiView.triangulate2ViewMetric(configTriangulation));
 
-		DistanceFromModelMultiView<Se3_F64, AssociatedPair> distanceSe3 =
-				new DistanceSe3SymmetricSq(triangulate);
+		Factory<DistanceFromModelMultiView<Se3_F64, AssociatedPair>> factoryDistance = () ->
+				new DistanceSe3SymmetricSq(FactoryMultiView.triangulate2ViewMetric(configTriangulation));
 
 		double ransacTOL = ransac.inlierThreshold * ransac.inlierThreshold * 2.0;
 
-		return new RansacCalibrated<>(ransac.randSeed, manager, generateEpipolarMotion, distanceSe3,
-				ransac.iterations, ransacTOL);
+		return ransacCalibrated(ransac, manager, factoryGenerator, factoryDistance, ransacTOL);
 	}
 
 	public static ModelMatcherMultiview<DMatrixRMaj, AssociatedPair>  essentialRansac(@Nullable ConfigEssential essential,
@@ -250,18 +245,17 @@ public class FactoryMultiViewRobust {
 			return new MmmvSe3ToEssential(baselineRansac(essential,ransac));
 		}
 
+		ConfigEssential configEssential = essential;
 		ModelManager<DMatrixRMaj> managerE = new ModelManagerEpipolarMatrix();
-		Estimate1ofEpipolar estimateF = FactoryMultiView.essential_1(essential.which,
-				essential.numResolve);
-		GenerateEpipolarMatrix generateE = new GenerateEpipolarMatrix(estimateF);
+		Factory<ModelGenerator<DMatrixRMaj, AssociatedPair>> factoryGenerator = () -> new GenerateEpipolarMatrix(
+				FactoryMultiView.essential_1(configEssential.which, configEssential.numResolve));
 
 		// How the error is measured
-		DistanceFromModelMultiView<DMatrixRMaj,AssociatedPair> errorMetric =
-				new DistanceMultiView_EssentialSampson();
+		Factory<DistanceFromModelMultiView<DMatrixRMaj,AssociatedPair>> factoryDistance =
+				DistanceMultiView_EssentialSampson::new;
 		double ransacTOL = ransac.inlierThreshold * ransac.inlierThreshold;
 
-		return new RansacCalibrated<>(ransac.randSeed, managerE, generateE, errorMetric,
-				ransac.iterations, ransacTOL);
+		return ransacCalibrated(ransac, managerE, factoryGenerator, factoryDistance, ransacTOL);
 	}
 
 
@@ -273,29 +267,19 @@ public class FactoryMultiViewRobust {
 		ransac.checkValidity();
 
 		ModelManager<DMatrixRMaj> managerF = new ModelManagerEpipolarMatrix();
-		Estimate1ofEpipolar estimateF = FactoryMultiView.fundamental_1(fundamental.which,
-				fundamental.numResolve);
-		GenerateEpipolarMatrix generateF = new GenerateEpipolarMatrix(estimateF);
+		Factory<ModelGenerator<DMatrixRMaj, AssociatedPair>> factoryGenerator = () -> new GenerateEpipolarMatrix(
+				FactoryMultiView.fundamental_1(fundamental.which, fundamental.numResolve));
 
 		// How the error is measured
-		DistanceFromModel<DMatrixRMaj,AssociatedPair> errorMetric;
-
-		switch( fundamental.errorModel ) {
-			case SAMPSON:
-				errorMetric = new DistanceFromModelResidual<>(new FundamentalResidualSampson());
-				break;
-
-			case GEOMETRIC:
-				errorMetric = new DistanceFundamentalGeometric();
-				break;
-
-			default:
-				throw new RuntimeException("Unknown");
-		}
+		Factory<DistanceFromModel<DMatrixRMaj,AssociatedPair>> factoryDistance = switch (fundamental.errorModel) {
+			case SAMPSON -> () -> new DistanceFromModelResidual<>(new FundamentalResidualSampson());
+			case GEOMETRIC -> DistanceFundamentalGeometric::new;
+			default -> throw new RuntimeException("Unknown");
+		};
 
 		double ransacTOL = ransac.inlierThreshold * ransac.inlierThreshold;
 
-		return new Ransac<>(ransac.randSeed, managerF, generateF, errorMetric, ransac.iterations, ransacTOL);
+		return ransac(ransac, managerF, factoryGenerator, factoryDistance, ransacTOL);
 	}
 
 	/**
@@ -344,19 +328,20 @@ public class FactoryMultiViewRobust {
 	 * @param ransac Parameters for RANSAC.  Can't be null.
 	 * @return Homography estimator
 	 */
-	public static Ransac<Homography2D_F64,AssociatedPair>
+	public static ModelMatcher<Homography2D_F64,AssociatedPair>
 	homographyRansac( @Nullable ConfigHomography homography , ConfigRansac ransac )
 	{
-		if( homography == null )
-			homography = new ConfigHomography();
+		boolean normalize = homography == null ? new ConfigHomography().normalize : homography.normalize;
+		ransac.checkValidity();
 
 		ModelManager<Homography2D_F64> manager = new ModelManagerHomography2D_F64();
-		GenerateHomographyLinear modelFitter = new GenerateHomographyLinear(homography.normalize);
-		DistanceHomographySq distance = new DistanceHomographySq();
+		Factory<ModelGenerator<Homography2D_F64,AssociatedPair>> factoryGenerator =
+				() -> new GenerateHomographyLinear(normalize);
+		Factory<DistanceFromModel<Homography2D_F64,AssociatedPair>> factoryDistance = DistanceHomographySq::new;
 
 		double ransacTol = ransac.inlierThreshold*ransac.inlierThreshold;
 
-		return new Ransac<>(ransac.randSeed, manager, modelFitter, distance, ransac.iterations, ransacTol);
+		return ransac(ransac, manager, factoryGenerator, factoryDistance, ransacTol);
 	}
 
 	/**
@@ -368,17 +353,20 @@ public class FactoryMultiViewRobust {
 	 * @param ransac RANSAC configuration
 	 * @return Ransac
 	 */
-	public static RansacCalibrated<Homography2D_F64,AssociatedPair>
+	public static ModelMatcherMultiview<Homography2D_F64,AssociatedPair>
 	homographyCalibratedRansac( ConfigRansac ransac )
 	{
+		ransac.checkValidity();
+
 		ModelManager<Homography2D_F64> manager = new ModelManagerHomography2D_F64();
-		GenerateHomographyLinear modelFitter = new GenerateHomographyLinear(false);
-		DistanceHomographyCalibratedSq distance = new DistanceHomographyCalibratedSq();
+		Factory<ModelGenerator<Homography2D_F64,AssociatedPair>> factoryGenerator =
+				() -> new GenerateHomographyLinear(false);
+		Factory<DistanceFromModelMultiView<Homography2D_F64,AssociatedPair>> factoryDistance =
+				DistanceHomographyCalibratedSq::new;
 
 		double ransacTol = ransac.inlierThreshold*ransac.inlierThreshold;
 
-		return new RansacCalibrated<>
-				(ransac.randSeed, manager, modelFitter, distance, ransac.iterations, ransacTol);
+		return ransacCalibrated(ransac, manager, factoryGenerator, factoryDistance, ransacTol);
 	}
 
 	/**
@@ -391,7 +379,7 @@ public class FactoryMultiViewRobust {
 	 * @param ransac Configuration for RANSAC
 	 * @return RANSAC
 	 */
-	public static Ransac<TrifocalTensor, AssociatedTriple>
+	public static ModelMatcher<TrifocalTensor, AssociatedTriple>
 	trifocalRansac( @Nullable ConfigTrifocal trifocal ,
 					@Nullable ConfigTrifocalError error,
 					ConfigRansac ransac ) {
@@ -401,31 +389,35 @@ public class FactoryMultiViewRobust {
 			error = new ConfigTrifocalError();
 
 		trifocal.checkValidity();
+		ransac.checkValidity();
 
+		ConfigTrifocal configTrifocal = trifocal;
+		ConfigTrifocalError configError = error;
 		double ransacTol;
-		DistanceFromModel<TrifocalTensor,AssociatedTriple> distance;
+		Factory<DistanceFromModel<TrifocalTensor,AssociatedTriple>> factoryDistance;
 
 		switch (error.model) {
 			case REPROJECTION -> {
 				ransacTol = 3.0 * ransac.inlierThreshold * ransac.inlierThreshold;
-				distance = new DistanceTrifocalReprojectionSq();
+				factoryDistance = DistanceTrifocalReprojectionSq::new;
 			}
 			case REPROJECTION_REFINE -> {
 				ransacTol = 3.0 * ransac.inlierThreshold * ransac.inlierThreshold;
-				distance = new DistanceTrifocalReprojectionSq(error.converge.gtol, error.converge.maxIterations);
+				factoryDistance = () -> new DistanceTrifocalReprojectionSq(
+						configError.converge.gtol, configError.converge.maxIterations);
 			}
 			case POINT_TRANSFER -> {
 				ransacTol = 2.0 * ransac.inlierThreshold * ransac.inlierThreshold;
-				distance = new DistanceTrifocalTransferSq();
+				factoryDistance = DistanceTrifocalTransferSq::new;
 			}
 			default -> throw new IllegalArgumentException("Unknown error model " + error.model);
 		}
 
-		Estimate1ofTrifocalTensor estimator = FactoryMultiView.trifocal_1(trifocal);
 		ModelManager<TrifocalTensor> manager = new ManagerTrifocalTensor();
-		ModelGenerator<TrifocalTensor,AssociatedTriple> generator = new GenerateTrifocalTensor(estimator);
+		Factory<ModelGenerator<TrifocalTensor,AssociatedTriple>> factoryGenerator =
+				() -> new GenerateTrifocalTensor(FactoryMultiView.trifocal_1(configTrifocal));
 
-		return new Ransac<>(ransac.randSeed, manager, generator, distance, ransac.iterations, ransacTol);
+		return ransac(ransac, manager, factoryGenerator, factoryDistance, ransacTol);
 	}
 
 	/**
@@ -435,19 +427,68 @@ public class FactoryMultiViewRobust {
 	 * @param ransac (Input) configuration for RANSAC
 	 * @return RANSAC
 	 */
-	public static RansacProjective<MetricCameraTriple, AssociatedTriple>
+	public static ModelMatcherViews<MetricCameraTriple, AssociatedTriple, ImageDimension>
 	metricThreeViewRansac( @Nullable ConfigPixelsToMetric selfcalib,
 						   ConfigRansac ransac)
 	{
+		ransac.checkValidity();
+
 		// Pixel error squared in two views
 		double ransacTol = ransac.inlierThreshold*ransac.inlierThreshold*2;
 
-		// lint:forbidden ignore_below 1
-		var generator = FactoryMultiView.selfCalibThree(selfcalib);
 		var manager = new ModelManagerMetricCameraTriple();
-		var distance = new DistanceFromModelIntoViews<MetricCameraTriple, AssociatedTriple, ImageDimension>
-				(new DistanceMetricTripleReprojection23(),3);
+		Factory<ModelGeneratorViews<MetricCameraTriple, AssociatedTriple, ImageDimension>> factoryGenerator =
+				() -> FactoryMultiView.selfCalibThree(selfcalib);
+		Factory<DistanceFromModelViews<MetricCameraTriple, AssociatedTriple, ImageDimension>> factoryDistance =
+				() -> new DistanceFromModelIntoViews<>(new DistanceMetricTripleReprojection23(), 3);
+
+		if (ransac.parallel) {
+			return configure(new RansacParallelProjective<>(ransac.randSeed, manager, factoryGenerator, factoryDistance,
+					ransac.iterations, ransacTol), ransac);
+		}
+
+		return new RansacProjective<>(ransac.randSeed, manager, factoryGenerator.newInstance(),
+				factoryDistance.newInstance(), ransac.iterations, ransacTol);
+	}
 
-		return new RansacProjective<>(ransac.randSeed, manager, generator, distance, ransac.iterations, ransacTol);
+	/**
+	 * Creates {@link RansacParallel} if requested by the configuration, otherwise {@link Ransac}.
+	 */
+	private static <Model, Point> ModelMatcher<Model, Point>
+	ransac( ConfigRansac config, ModelManager<Model> manager,
+			Factory<ModelGenerator<Model, Point>> factoryGenerator,
+			Factory<DistanceFromModel<Model, Point>> factoryDistance,
+			double inlierThreshold ) {
+		if (config.parallel) {
+			return configure(new RansacParallel<>(config.randSeed, manager, factoryGenerator, factoryDistance,
+					config.iterations, inlierThreshold), config);
+		}
+		return new Ransac<>(config.randSeed, manager, factoryGenerator.newInstance(), factoryDistance.newInstance(),
+				config.iterations, inlierThreshold);
+	}
+
+	/**
+	 * Creates {@link RansacParallelCalibrated} if requested by the configuration, otherwise {@link RansacCalibrated}.
+	 */
+	private static <Model, Point> ModelMatcherMultiview<Model, Point>
+	ransacCalibrated( ConfigRansac config, ModelManager<Model> manager,
+					  Factory<ModelGenerator<Model, Point>> factoryGenerator,
+					  Factory<DistanceFromModelMultiView<Model, Point>> factoryDistance,
+					  double inlierThreshold ) {
+		if (config.parallel) {
+			return configure(new RansacParallelCalibrated<>(config.randSeed, manager, factoryGenerator,
+					factoryDistance, config.iterations, inlierThreshold), config);
+		}
+		return new RansacCalibrated<>(config.randSeed, manager, factoryGenerator.newInstance(),
+				factoryDistance.newInstance(), config.iterations, inlierThreshold);
+	}
+
+	/**
+	 * Applies settings which are specific to {@link RansacParallel}
+	 */
+	private static <T extends RansacParallel<?, ?>> T configure( T ransac, ConfigRansac config ) {
+		ransac.setConfidence(config.confidence);
+		ransac.setPreemptiveBlockSize(config.preemptiveBlockSize);
+		return ransac;
 	}
 }
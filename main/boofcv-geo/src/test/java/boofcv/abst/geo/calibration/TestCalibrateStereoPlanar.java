@@ -93,6 +93,39 @@ public class TestCalibrateStereoPlanar extends BoofStandardJUnit {
 		assertTrue(MatrixFeatures_DDRM.isIdentity(rightToLeft.getR(), 2e-3));
 	}
 
+	/**
+	 * Add the observations as a batch with failed detections and see if the concurrent and single threaded
+	 * results are the same
+	 */
+	@Test
+	public void addPairs_concurrent() {
+		List<CalibrationObservation> left = new ArrayList<>();
+		List<CalibrationObservation> right = new ArrayList<>();
+		for (int i = 0; i < targetToLeft.size(); i++) {
+			left.add(createFakeObservations(i,true));
+			right.add(createFakeObservations(i,false));
+		}
+		// the target wasn't detected in one of the images
+		left.add(null);
+		right.add(createFakeObservations(0,false));
+
+		StereoParameters[] found = new StereoParameters[2];
+		for (int trial = 0; trial < 2; trial++) {
+			CalibrateStereoPlanar alg = new CalibrateStereoPlanar(layout);
+			alg.configure(true, 2, true);
+			alg.setConcurrent(trial == 0);
+			alg.addPairs(left, right);
+			assertEquals(targetToLeft.size(), alg.getCalibLeft().getObservations().size());
+			found[trial] = alg.process();
+		}
+
+		checkIntrinsic(found[0].left);
+		checkIntrinsic(found[0].right);
+		assertEquals(found[1].left.fx, found[0].left.fx, 1e-8);
+		assertEquals(found[1].right.cy, found[0].right.cy, 1e-8);
+		assertEquals(0, found[1].right_to_left.T.distance(found[0].right_to_left.T), 1e-8);
+	}
+
 	private void checkIntrinsic(CameraPinholeBrown found) {
 		assertEquals(intrinsic.fx,found.fx,intrinsic.width*1e-3);
 		assertEquals(intrinsic.fy,found.fy,intrinsic.width*1e-3);
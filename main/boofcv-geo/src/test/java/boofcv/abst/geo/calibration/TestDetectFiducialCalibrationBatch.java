@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.geo.calibration;
+
+import boofcv.alg.distort.LensDistortionNarrowFOV;
+import boofcv.alg.geo.calibration.CalibrationObservation;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDetectFiducialCalibrationBatch extends BoofStandardJUnit {
+	@Test void detect() {
+		for (boolean concurrent : new boolean[]{false, true}) {
+			var alg = new DetectFiducialCalibrationBatch(DummyDetector::new);
+			alg.setConcurrent(concurrent);
+
+			// Image 0 will have no detection and image 7 will fail to load
+			List<CalibrationObservation> found = alg.detect(30, ( index, output ) -> {
+				if (index == 7)
+					return false;
+				output.reshape(20, 15);
+				ImageMiscOps.fill(output, index);
+				return true;
+			});
+
+			assertEquals(30, found.size());
+			for (int i = 0; i < found.size(); i++) {
+				if (i == 0 || i == 7) {
+					assertNull(found.get(i));
+					continue;
+				}
+				CalibrationObservation o = found.get(i);
+				assertEquals(20, o.getWidth());
+				assertEquals(i, o.get(0).p.x);
+			}
+		}
+	}
+
+	/**
+	 * Null observations should be skipped when added
+	 */
+	@Test void addToCalibrateMonoPlanar() {
+		var alg = new DetectFiducialCalibrationBatch(DummyDetector::new);
+		List<CalibrationObservation> found = alg.detect(5, ( index, output ) -> {
+			ImageMiscOps.fill(output, index);
+			return true;
+		});
+
+		var calibrator = new CalibrateMonoPlanar(alg.getLayout());
+		calibrator.addImages(found);
+		assertEquals(4, calibrator.getObservations().size());
+	}
+
+	/**
+	 * Detects the target if the image's value is greater than zero. The detected point's x-coordinate is the value.
+	 */
+	static class DummyDetector implements DetectorFiducialCalibration {
+		GrayF32 image;
+
+		@Override public boolean process( GrayF32 input ) {
+			image = input;
+			return input.get(0, 0) > 0;
+		}
+
+		@Override public CalibrationObservation getDetectedPoints() {
+			var found = new CalibrationObservation(image.width, image.height);
+			found.add(new Point2D_F64(image.get(0, 0), 0), 0);
+			return found;
+		}
+
+		@Override public List<Point2D_F64> getLayout() {
+			var layout = new ArrayList<Point2D_F64>();
+			layout.add(new Point2D_F64());
+			return layout;
+		}
+
+		@Override public void setLensDistortion( LensDistortionNarrowFOV distortion, int width, int height ) {}
+	}
+}
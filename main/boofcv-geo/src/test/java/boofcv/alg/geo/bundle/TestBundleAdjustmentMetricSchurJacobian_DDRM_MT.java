@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import org.ddogleg.optimization.wrap.SchurJacobian_to_NtoMxN;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static boofcv.alg.geo.bundle.TestBundleAdjustmentMetricResidualFunction.createObservations;
+import static boofcv.alg.geo.bundle.TestCodecSceneStructureMetric.createScene;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBundleAdjustmentMetricSchurJacobian_DDRM_MT
+		extends CommonBundleAdjustmentMetricSchurJacobian<DMatrixRMaj> {
+
+	@Override
+	protected BundleAdjustmentMetricSchurJacobian<DMatrixRMaj> createAlg() {
+		return new BundleAdjustmentMetricSchurJacobian_DDRM_MT();
+	}
+
+	@Override
+	protected SchurJacobian_to_NtoMxN<DMatrixRMaj>
+	createJacobian( BundleAdjustmentMetricSchurJacobian<DMatrixRMaj> alg ) {
+		return new SchurJacobian_to_NtoMxN.DDRM(alg);
+	}
+
+	@Test
+	void compareToSingleThread() {
+		compareToSingleThread(true, false, false);
+		compareToSingleThread(false, false, false);
+		compareToSingleThread(true, true, false);
+		compareToSingleThread(false, true, false);
+		compareToSingleThread(true, false, true);
+		compareToSingleThread(false, true, true);
+	}
+
+	void compareToSingleThread( boolean homogenous, boolean hasRigid, boolean hasRelative ) {
+		SceneStructureMetric structure = createScene(rand, homogenous, hasRigid, hasRelative);
+		SceneObservations observations = createObservations(rand, structure);
+
+		var param = new double[structure.getParameterCount()];
+		new CodecSceneStructureMetric().encode(structure, param);
+
+		var single = new BundleAdjustmentMetricSchurJacobian_DDRM();
+		var alg = createAlg();
+		single.configure(structure, observations);
+		alg.configure(structure, observations);
+
+		var expected = new DMatrixRMaj(1, 1);
+		var found = new DMatrixRMaj(1, 1);
+		var right = new DMatrixRMaj(1, 1);
+
+		// Left side
+		single.process(param, expected, right);
+		alg.process(param, found, right);
+		assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, 0.0));
+
+		// Right side
+		single.process(param, right, expected);
+		alg.process(param, right, found);
+		assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, 0.0));
+	}
+}
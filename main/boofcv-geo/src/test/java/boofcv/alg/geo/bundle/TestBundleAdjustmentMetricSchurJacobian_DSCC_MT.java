@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import org.ddogleg.optimization.wrap.SchurJacobian_to_NtoMxN;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.MatrixFeatures_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static boofcv.alg.geo.bundle.TestBundleAdjustmentMetricResidualFunction.createObservations;
+import static boofcv.alg.geo.bundle.TestCodecSceneStructureMetric.createScene;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBundleAdjustmentMetricSchurJacobian_DSCC_MT
+		extends CommonBundleAdjustmentMetricSchurJacobian<DMatrixSparseCSC> {
+
+	@Override
+	protected BundleAdjustmentMetricSchurJacobian<DMatrixSparseCSC> createAlg() {
+		return new BundleAdjustmentMetricSchurJacobian_DSCC_MT();
+	}
+
+	@Override
+	protected SchurJacobian_to_NtoMxN<DMatrixSparseCSC>
+	createJacobian( BundleAdjustmentMetricSchurJacobian<DMatrixSparseCSC> alg ) {
+		return new SchurJacobian_to_NtoMxN.DSCC(alg);
+	}
+
+	@Test
+	void compareToSingleThread() {
+		compareToSingleThread(true, false, false);
+		compareToSingleThread(false, false, false);
+		compareToSingleThread(true, true, false);
+		compareToSingleThread(false, true, false);
+		compareToSingleThread(true, false, true);
+		compareToSingleThread(false, true, true);
+	}
+
+	void compareToSingleThread( boolean homogenous, boolean hasRigid, boolean hasRelative ) {
+		SceneStructureMetric structure = createScene(rand, homogenous, hasRigid, hasRelative);
+		SceneObservations observations = createObservations(rand, structure);
+
+		var param = new double[structure.getParameterCount()];
+		new CodecSceneStructureMetric().encode(structure, param);
+
+		var single = new BundleAdjustmentMetricSchurJacobian_DSCC();
+		var alg = createAlg();
+		single.configure(structure, observations);
+		alg.configure(structure, observations);
+
+		var expected = new DMatrixSparseCSC(1, 1);
+		var found = new DMatrixSparseCSC(1, 1);
+		var right = new DMatrixSparseCSC(1, 1);
+
+		// Left side
+		single.process(param, expected, right);
+		alg.process(param, found, right);
+		assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, found, 0.0));
+
+		// Right side
+		single.process(param, right, expected);
+		alg.process(param, right, found);
+		assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, found, 0.0));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -21,6 +21,7 @@ package boofcv.alg.geo.calibration;
 import boofcv.abst.geo.bundle.SceneStructureMetric;
 import boofcv.abst.geo.calibration.ImageResults;
 import boofcv.alg.distort.SphereToNarrowPixel_F64;
+import boofcv.alg.geo.bundle.CodecSceneStructureMetric;
 import boofcv.alg.geo.calibration.cameras.Zhang99Camera;
 import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.struct.calib.CameraModel;
@@ -91,6 +92,33 @@ public abstract class GenericCalibrationZhang99<CM extends CameraModel> extends
 		}
 	}
 
+	/**
+	 * The concurrent and single threaded implementations should produce the same results
+	 */
+	@Test
+	void compareConcurrent() {
+		for (CameraConfig config : createCamera(rand)) {
+			CalibInputs inputs = createInputs(config.model, 3, rand);
+
+			var found = new ArrayList<double[]>();
+			for (boolean concurrent : new boolean[]{false, true}) {
+				var alg = new CalibrationPlanarGridZhang99(inputs.layout, createGenerator(config));
+				alg.setConcurrent(concurrent);
+				assertTrue(alg.process(inputs.observations));
+				assertTrue(alg.getTimeLinear() > 0);
+				assertTrue(alg.getTimeBundle() > 0);
+
+				double[] parameters = new double[alg.getStructure().getParameterCount()];
+				new CodecSceneStructureMetric().encode(alg.getStructure(), parameters);
+				found.add(parameters);
+			}
+
+			for (int i = 0; i < found.get(0).length; i++) {
+				assertEquals(found.get(0)[i], found.get(1)[i], 1e-6);
+			}
+		}
+	}
+
 	/**
 	 * See how well it computes an initial guess at the parameters given perfect inputs
 	 */
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.robust;
+
+import boofcv.struct.geo.AssociatedPair;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.fitting.homography.ModelManagerHomography2D_F64;
+import georegression.struct.homography.Homography2D_F64;
+import georegression.transform.homography.HomographyPointOps_F64;
+import org.ejml.UtilEjml;
+import org.ejml.dense.fixed.MatrixFeatures_DDF3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestRansacParallel extends BoofStandardJUnit {
+	Homography2D_F64 truth = new Homography2D_F64(1.1, 0.05, 20, -0.04, 0.95, -10, 1e-4, -2e-4, 1.0);
+	List<AssociatedPair> observations = new ArrayList<>();
+	int numInliers = 150;
+
+	@BeforeEach
+	void createObservations() {
+		for (int i = 0; i < numInliers; i++) {
+			var p = new AssociatedPair();
+			p.p1.setTo(rand.nextDouble()*640, rand.nextDouble()*480);
+			HomographyPointOps_F64.transform(truth, p.p1, p.p2);
+			observations.add(p);
+		}
+		for (int i = 0; i < 100; i++) {
+			var p = new AssociatedPair();
+			p.p1.setTo(rand.nextDouble()*640, rand.nextDouble()*480);
+			p.p2.setTo(rand.nextDouble()*640, rand.nextDouble()*480);
+			observations.add(p);
+		}
+	}
+
+	RansacParallel<Homography2D_F64, AssociatedPair> createAlg() {
+		return new RansacParallel<>(0xBEEF, new ModelManagerHomography2D_F64(),
+				() -> new GenerateHomographyLinear(true), DistanceHomographySq::new, 200, 4.0);
+	}
+
+	/**
+	 * Checks to see if the inliers were found
+	 */
+	void checkSolution( RansacParallel<Homography2D_F64, AssociatedPair> alg ) {
+		assertTrue(alg.process(observations));
+
+		// An outlier might fit by chance
+		List<AssociatedPair> matches = alg.getMatchSet();
+		assertTrue(matches.size() >= numInliers && matches.size() <= numInliers + 2);
+		int outliers = 0;
+		for (int i = 0; i < matches.size(); i++) {
+			assertSame(observations.get(alg.getInputIndex(i)), matches.get(i));
+			if (alg.getInputIndex(i) >= numInliers)
+				outliers++;
+		}
+		assertEquals(numInliers, matches.size() - outliers);
+		assertEquals(matches.size(), alg.getFitQuality());
+	}
+
+	@Test
+	void standard() {
+		RansacParallel<Homography2D_F64, AssociatedPair> alg = createAlg();
+		checkSolution(alg);
+		assertEquals(200, alg.getIterations());
+	}
+
+	@Test
+	void adaptiveTermination() {
+		RansacParallel<Homography2D_F64, AssociatedPair> alg = createAlg();
+		alg.setConfidence(0.99);
+		alg.setBatchSize(10);
+		checkSolution(alg);
+		assertTrue(alg.getIterations() < 200);
+		assertEquals(0, alg.getIterations()%10);
+	}
+
+	@Test
+	void preemptive() {
+		RansacParallel<Homography2D_F64, AssociatedPair> alg = createAlg();
+		alg.setPreemptiveBlockSize(20);
+		checkSolution(alg);
+	}
+
+	/**
+	 * The found solution should not depend on if it's run concurrently or not
+	 */
+	@Test
+	void concurrentMatchesSingle() {
+		for (int config = 0; config < 3; config++) {
+			RansacParallel<Homography2D_F64, AssociatedPair> single = createAlg();
+			RansacParallel<Homography2D_F64, AssociatedPair> multi = createAlg();
+			single.setConcurrent(false);
+			for (RansacParallel<Homography2D_F64, AssociatedPair> alg : List.of(single, multi)) {
+				alg.setBatchSize(7);
+				if (config == 1)
+					alg.setConfidence(0.999);
+				else if (config == 2)
+					alg.setPreemptiveBlockSize(15);
+			}
+
+			assertTrue(single.process(observations));
+			assertTrue(multi.process(observations));
+
+			assertEquals(single.getIterations(), multi.getIterations());
+			assertTrue(MatrixFeatures_DDF3.isIdentical(
+					single.getModelParameters(), multi.getModelParameters(), UtilEjml.TEST_F64));
+			assertEquals(single.getMatchSet().size(), multi.getMatchSet().size());
+			for (int i = 0; i < single.getMatchSet().size(); i++) {
+				assertEquals(single.getInputIndex(i), multi.getInputIndex(i));
+			}
+		}
+	}
+
+	/**
+	 * After reset it should produce the same solution
+	 */
+	@Test
+	void reset() {
+		RansacParallel<Homography2D_F64, AssociatedPair> alg = createAlg();
+		alg.setConfidence(0.99);
+		assertTrue(alg.process(observations));
+		var expected = new Homography2D_F64();
+		expected.setTo(alg.getModelParameters());
+		int iterations = alg.getIterations();
+
+		alg.reset();
+		assertTrue(alg.process(observations));
+		assertTrue(MatrixFeatures_DDF3.isIdentical(expected, alg.getModelParameters(), UtilEjml.TEST_F64));
+		assertEquals(iterations, alg.getIterations());
+	}
+
+	@Test
+	void tooFewObservations() {
+		RansacParallel<Homography2D_F64, AssociatedPair> alg = createAlg();
+		assertFalse(alg.process(observations.subList(0, 3)));
+		assertEquals(0, alg.getMatchSet().size());
+	}
+
+	@Test
+	void requiredIterations() {
+		// log(0.01)/log(0.75) = 16.008
+		assertEquals(17, RansacParallel.requiredIterations(0.5, 2, 0.99));
+		assertEquals(1, RansacParallel.requiredIterations(1.0, 4, 0.99));
+		assertEquals(Integer.MAX_VALUE, RansacParallel.requiredIterations(0.0, 4, 0.99));
+		// more confidence requires more iterations
+		assertTrue(RansacParallel.requiredIterations(0.5, 4, 0.999) > RansacParallel.requiredIterations(0.5, 4, 0.99));
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.robust;
+
+import boofcv.alg.geo.DistanceFromModelMultiView;
+import boofcv.struct.calib.CameraPinhole;
+import boofcv.struct.geo.AssociatedPair;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.fitting.homography.ModelManagerHomography2D_F64;
+import georegression.struct.homography.Homography2D_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestRansacParallelCalibrated extends BoofStandardJUnit {
+	/**
+	 * Intrinsic parameters need to be passed to the distance function used by every thread, including ones
+	 * which are created after the intrinsics have been specified
+	 */
+	@Test
+	void setIntrinsic() {
+		RansacParallelCalibrated<Homography2D_F64, AssociatedPair> alg = new RansacParallelCalibrated<>(
+				234, new ModelManagerHomography2D_F64(), () -> new GenerateHomographyLinear(false),
+				DummyDistance::new, 50, 1.0);
+		assertEquals(2, alg.getNumberOfViews());
+
+		alg.setIntrinsic(0, new CameraPinhole(100, 100, 0, 50, 50, 100, 100));
+		alg.setIntrinsic(1, new CameraPinhole(200, 200, 0, 50, 50, 100, 100));
+
+		List<AssociatedPair> observations = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			observations.add(new AssociatedPair(rand.nextGaussian(), rand.nextGaussian(),
+					rand.nextGaussian(), rand.nextGaussian()));
+		}
+		assertTrue(alg.process(observations));
+		checkIntrinsics(alg, 100, 200);
+
+		// Change the intrinsics after the workspaces have been created
+		alg.setIntrinsic(1, new CameraPinhole(300, 300, 0, 50, 50, 100, 100));
+		checkIntrinsics(alg, 100, 300);
+	}
+
+	private void checkIntrinsics( RansacParallelCalibrated<Homography2D_F64, AssociatedPair> alg,
+								  double fx0, double fx1 ) {
+		assertTrue(alg.workspaces.size() > 0);
+		for (int i = 0; i < alg.workspaces.size(); i++) {
+			var distance = (DummyDistance)alg.workspaces.get(i).distance;
+			assertEquals(fx0, distance.fx[0]);
+			assertEquals(fx1, distance.fx[1]);
+		}
+	}
+
+	static class DummyDistance implements DistanceFromModelMultiView<Homography2D_F64, AssociatedPair> {
+		double[] fx = new double[2];
+
+		@Override public void setIntrinsic( int view, CameraPinhole intrinsic ) {fx[view] = intrinsic.fx;}
+
+		@Override public int getNumberOfViews() {return 2;}
+
+		@Override public void setModel( Homography2D_F64 model ) {}
+
+		@Override public double distance( AssociatedPair pt ) {return 0;}
+
+		@Override public void distances( List<AssociatedPair> points, double[] distance ) {}
+
+		@Override public Class<AssociatedPair> getPointType() {return AssociatedPair.class;}
+
+		@Override public Class<Homography2D_F64> getModelType() {return Homography2D_F64.class;}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.geo.robust;
+
+import boofcv.struct.geo.AssociatedPair;
+import boofcv.struct.image.ImageDimension;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.fitting.homography.ModelManagerHomography2D_F64;
+import georegression.struct.homography.Homography2D_F64;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestRansacParallelProjective extends BoofStandardJUnit {
+	/**
+	 * Shape of each view needs to be passed to the generator and distance function used by every thread,
+	 * including ones which are created after the views have been specified
+	 */
+	@Test
+	void setView() {
+		RansacParallelProjective<Homography2D_F64, AssociatedPair> alg = new RansacParallelProjective<>(
+				234, new ModelManagerHomography2D_F64(), DummyGenerator::new, DummyDistance::new, 50, 1.0);
+		assertEquals(2, alg.getNumberOfViews());
+
+		alg.setView(0, new ImageDimension(100, 50));
+		alg.setView(1, new ImageDimension(200, 50));
+
+		List<AssociatedPair> observations = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			observations.add(new AssociatedPair(rand.nextGaussian(), rand.nextGaussian(),
+					rand.nextGaussian(), rand.nextGaussian()));
+		}
+		assertTrue(alg.process(observations));
+		checkViews(alg, 100, 200);
+
+		// Change the views after the workspaces have been created
+		alg.setView(1, new ImageDimension(300, 50));
+		checkViews(alg, 100, 300);
+	}
+
+	private void checkViews( RansacParallelProjective<Homography2D_F64, AssociatedPair> alg,
+							 int width0, int width1 ) {
+		assertTrue(alg.workspaces.size() > 0);
+		for (int i = 0; i < alg.workspaces.size(); i++) {
+			var generator = (DummyGenerator)alg.workspaces.get(i).generator;
+			var distance = (DummyDistance)alg.workspaces.get(i).distance;
+			assertEquals(width0, generator.width[0]);
+			assertEquals(width1, generator.width[1]);
+			assertEquals(width0, distance.width[0]);
+			assertEquals(width1, distance.width[1]);
+		}
+	}
+
+	static class DummyGenerator implements ModelGeneratorViews<Homography2D_F64, AssociatedPair, ImageDimension> {
+		GenerateHomographyLinear alg = new GenerateHomographyLinear(false);
+		int[] width = new int[2];
+
+		@Override public void setView( int view, ImageDimension viewInfo ) {width[view] = viewInfo.width;}
+
+		@Override public int getNumberOfViews() {return 2;}
+
+		@Override public boolean generate( List<AssociatedPair> dataSet, Homography2D_F64 output ) {
+			return alg.generate(dataSet, output);
+		}
+
+		@Override public int getMinimumPoints() {return alg.getMinimumPoints();}
+	}
+
+	static class DummyDistance implements DistanceFromModelViews<Homography2D_F64, AssociatedPair, ImageDimension> {
+		int[] width = new int[2];
+
+		@Override public void setView( int view, ImageDimension viewInfo ) {width[view] = viewInfo.width;}
+
+		@Override public int getNumberOfViews() {return 2;}
+
+		@Override public void setModel( Homography2D_F64 model ) {}
+
+		@Override public double distance( AssociatedPair pt ) {return 0;}
+
+		@Override public void distances( List<AssociatedPair> points, double[] distance ) {}
+
+		@Override public Class<AssociatedPair> getPointType() {return AssociatedPair.class;}
+
+		@Override public Class<Homography2D_F64> getModelType() {return Homography2D_F64.class;}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.geo;
+
+import boofcv.alg.sfm.structure.PairwiseImageGraph;
+import boofcv.alg.sfm.structure.SceneWorkingGraph;
+import boofcv.struct.feature.AssociatedIndex;
+import org.ddogleg.struct.DogArray_I32;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares saving and loading scene graphs using YAML against the binary format
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class BenchmarkMultiViewIO {
+	@Param({"200", "2000"})
+	int numViews;
+
+	/** Number of views each view is connected to */
+	int connections = 6;
+	/** Number of inliers between each pair of views */
+	int inliersPerPair = 500;
+
+	PairwiseImageGraph pairwise;
+	SceneWorkingGraph working;
+
+	byte[] yamlPairwise, yamlWorking;
+	byte[] binaryPairwise, binaryWorking;
+	byte[] compressedPairwise;
+
+	@Setup
+	public void setup() throws IOException {
+		var rand = new Random(0xBEEF);
+		createGraphs(rand);
+
+		yamlPairwise = saveYaml(pairwise);
+		yamlWorking = saveYaml(working);
+		binaryPairwise = saveBinary(pairwise, false);
+		binaryWorking = saveBinary(working, false);
+		compressedPairwise = saveBinary(pairwise, true);
+
+		System.out.printf("\nBytes: pairwise yaml=%d binary=%d compressed=%d, working yaml=%d binary=%d\n",
+				yamlPairwise.length, binaryPairwise.length, compressedPairwise.length,
+				yamlWorking.length, binaryWorking.length);
+	}
+
+	@Benchmark public byte[] save_pairwise_yaml() {return saveYaml(pairwise);}
+
+	@Benchmark public byte[] save_pairwise_binary() throws IOException {return saveBinary(pairwise, false);}
+
+	@Benchmark public byte[] save_pairwise_compressed() throws IOException {return saveBinary(pairwise, true);}
+
+	@Benchmark public byte[] save_working_yaml() {return saveYaml(working);}
+
+	@Benchmark public byte[] save_working_binary() throws IOException {return saveBinary(working, false);}
+
+	@Benchmark public PairwiseImageGraph load_pairwise_yaml() {
+		var reader = new InputStreamReader(new ByteArrayInputStream(yamlPairwise), UTF_8);
+		return MultiViewIO.load(reader, (PairwiseImageGraph)null);
+	}
+
+	@Benchmark public PairwiseImageGraph load_pairwise_binary() throws IOException {
+		ReadableByteChannel input = Channels.newChannel(new ByteArrayInputStream(binaryPairwise));
+		return MultiViewBinaryIO.load(input, (PairwiseImageGraph)null);
+	}
+
+	@Benchmark public PairwiseImageGraph load_pairwise_compressed() throws IOException {
+		ReadableByteChannel input = Channels.newChannel(new ByteArrayInputStream(compressedPairwise));
+		return MultiViewBinaryIO.load(input, (PairwiseImageGraph)null);
+	}
+
+	@Benchmark public SceneWorkingGraph load_working_yaml() {
+		var reader = new InputStreamReader(new ByteArrayInputStream(yamlWorking), UTF_8);
+		return MultiViewIO.load(reader, pairwise, null);
+	}
+
+	@Benchmark public SceneWorkingGraph load_working_binary() throws IOException {
+		ReadableByteChannel input = Channels.newChannel(new ByteArrayInputStream(binaryWorking));
+		return MultiViewBinaryIO.load(input, pairwise, null);
+	}
+
+	byte[] saveYaml( PairwiseImageGraph graph ) {
+		var output = new ByteArrayOutputStream();
+		MultiViewIO.save(graph, new OutputStreamWriter(output, UTF_8));
+		return output.toByteArray();
+	}
+
+	byte[] saveYaml( SceneWorkingGraph graph ) {
+		var output = new ByteArrayOutputStream();
+		MultiViewIO.save(graph, new OutputStreamWriter(output, UTF_8));
+		return output.toByteArray();
+	}
+
+	byte[] saveBinary( PairwiseImageGraph graph, boolean compress ) throws IOException {
+		var output = new ByteArrayOutputStream();
+		MultiViewBinaryIO.save(graph, Channels.newChannel(output), compress);
+		return output.toByteArray();
+	}
+
+	byte[] saveBinary( SceneWorkingGraph graph, boolean compress ) throws IOException {
+		var output = new ByteArrayOutputStream();
+		MultiViewBinaryIO.save(graph, Channels.newChannel(output), compress);
+		return output.toByteArray();
+	}
+
+	/**
+	 * Creates a sequence of views where each view is connected to the ones which come after it
+	 */
+	void createGraphs( Random rand ) {
+		pairwise = new PairwiseImageGraph();
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			PairwiseImageGraph.View v = pairwise.createNode("view" + viewIdx);
+			v.totalObservations = 2000;
+		}
+
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			for (int offset = 1; offset <= connections && viewIdx + offset < numViews; offset++) {
+				PairwiseImageGraph.Motion m = pairwise.connect(
+						pairwise.nodes.get(viewIdx), pairwise.nodes.get(viewIdx + offset));
+				m.is3D = true;
+				m.countF = inliersPerPair;
+				m.countH = inliersPerPair/2;
+				m.inliers.resize(inliersPerPair);
+				for (int i = 0; i < m.inliers.size; i++) {
+					AssociatedIndex a = m.inliers.get(i);
+					a.src = rand.nextInt(2000);
+					a.dst = rand.nextInt(2000);
+				}
+			}
+		}
+
+		working = new SceneWorkingGraph();
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			SceneWorkingGraph.View w = working.addView(pairwise.nodes.get(viewIdx));
+			w.intrinsic.f = 500 + rand.nextDouble();
+			w.imageDimension.setTo(1024, 768);
+			w.world_to_view.T.setTo(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian());
+
+			// Inliers from this view and the next two
+			int numInlierViews = Math.min(3, numViews - viewIdx);
+			w.inliers.views.reset();
+			w.inliers.observations.resize(numInlierViews);
+			for (int i = 0; i < numInlierViews; i++) {
+				w.inliers.views.add(pairwise.nodes.get(viewIdx + i));
+				DogArray_I32 obs = w.inliers.observations.get(i);
+				obs.resize(inliersPerPair);
+				for (int j = 0; j < obs.size; j++) {
+					obs.data[j] = rand.nextInt(2000);
+				}
+			}
+		}
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkMultiViewIO.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -0,0 +1,709 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.geo;
+
+import boofcv.abst.geo.bundle.SceneStructureCommon;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import boofcv.alg.geo.bundle.cameras.BundlePinholeSimplified;
+import boofcv.alg.sfm.structure.PairwiseImageGraph;
+import boofcv.alg.sfm.structure.SceneWorkingGraph;
+import boofcv.struct.feature.AssociatedIndex;
+import georegression.struct.se.Se3_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compact binary format for the same data structures as {@link MultiViewIO}. Arrays are written as a length
+ * followed by the raw values, which makes it much faster and smaller than YAML for large graphs with many inliers.
+ * Every file starts with an uncompressed header which contains a magic number, the format version, the type of
+ * data, and if the rest of the file is compressed. All values are big endian.
+ *
+ * @author Peter Abeles
+ */
+public class MultiViewBinaryIO {
+	/** Identifies the file as a BoofCV multiview binary file. ASCII for "BMVB" */
+	public static final int MAGIC = 0x424D5642;
+	/** Current version of the format */
+	public static final int VERSION = 1;
+
+	// Number of bytes in the header
+	static final int HEADER_SIZE = 4 + 4 + 1 + 1;
+	// Size of the buffer used to read and write
+	static final int BUFFER_SIZE = 64*1024;
+
+	// Identifies what type of data is encoded
+	static final byte TYPE_PAIRWISE = 1;
+	static final byte TYPE_WORKING = 2;
+	static final byte TYPE_METRIC = 3;
+
+	// Identifies the type of camera model
+	static final byte CAMERA_PINHOLE_SIMPLIFIED = 1;
+
+	public static void save( PairwiseImageGraph graph, String path, boolean compress ) {
+		try (FileChannel channel = openWrite(path)) {
+			save(graph, channel, compress);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Saves a {@link PairwiseImageGraph} into the channel.
+	 *
+	 * @param graph (Input) The graph which is to be saved
+	 * @param channel (Output) Where the graph is written to. Not closed.
+	 * @param compress If true the data will be compressed
+	 */
+	public static void save( PairwiseImageGraph graph, WritableByteChannel channel, boolean compress )
+			throws IOException {
+		Encoder out = new Encoder(channel, TYPE_PAIRWISE, compress);
+
+		// Look up table from view to its index
+		Map<PairwiseImageGraph.View, Integer> viewToIndex = new IdentityHashMap<>();
+		for (int viewIdx = 0; viewIdx < graph.nodes.size; viewIdx++) {
+			viewToIndex.put(graph.nodes.get(viewIdx), viewIdx);
+		}
+
+		out.writeInt(graph.nodes.size);
+		out.writeInt(graph.edges.size);
+
+		var indexes = new DogArray_I32();
+		for (int viewIdx = 0; viewIdx < graph.nodes.size; viewIdx++) {
+			PairwiseImageGraph.View pview = graph.nodes.get(viewIdx);
+			out.writeString(pview.id);
+			out.writeInt(pview.totalObservations);
+
+			indexes.reset();
+			for (int i = 0; i < pview.connections.size; i++) {
+				indexes.add(pview.connections.get(i).index);
+			}
+			out.writeInts(indexes.data, indexes.size);
+		}
+
+		for (int motionIdx = 0; motionIdx < graph.edges.size; motionIdx++) {
+			PairwiseImageGraph.Motion pmotion = graph.edges.get(motionIdx);
+			if (pmotion.index != motionIdx)
+				throw new IllegalArgumentException("Motion has an unexpected index. " + pmotion.index + " " + motionIdx);
+
+			out.writeInt(pmotion.countF);
+			out.writeInt(pmotion.countH);
+			out.writeBoolean(pmotion.is3D);
+			out.writeInt(viewToIndex.get(pmotion.src));
+			out.writeInt(viewToIndex.get(pmotion.dst));
+			out.writeDoubles(pmotion.F.data, 9);
+
+			// Interleave src and dst so that they can be written in a single block
+			indexes.resize(pmotion.inliers.size*2);
+			for (int i = 0; i < pmotion.inliers.size; i++) {
+				AssociatedIndex a = pmotion.inliers.get(i);
+				indexes.data[i*2] = a.src;
+				indexes.data[i*2 + 1] = a.dst;
+			}
+			out.writeInts(indexes.data, indexes.size);
+		}
+
+		out.finish();
+	}
+
+	public static PairwiseImageGraph load( String path, @Nullable PairwiseImageGraph graph ) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			return load(channel, graph);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Decodes a {@link PairwiseImageGraph} from the channel
+	 *
+	 * @param channel (Input) Where the graph is read from. Not closed.
+	 * @param graph (Output) Optional storage for the graph. If null a new instance is created.
+	 * @return The decoded graph
+	 */
+	public static PairwiseImageGraph load( ReadableByteChannel channel, @Nullable PairwiseImageGraph graph )
+			throws IOException {
+		if (graph == null)
+			graph = new PairwiseImageGraph();
+		else
+			graph.reset();
+
+		Decoder in = new Decoder(channel, TYPE_PAIRWISE);
+
+		graph.nodes.resize(in.readInt());
+		graph.edges.resize(in.readInt());
+
+		var indexes = new DogArray_I32();
+		for (int viewIdx = 0; viewIdx < graph.nodes.size; viewIdx++) {
+			PairwiseImageGraph.View v = graph.nodes.get(viewIdx);
+			v.id = in.readString();
+			v.totalObservations = in.readInt();
+
+			in.readInts(indexes);
+			v.connections.reset();
+			for (int i = 0; i < indexes.size; i++) {
+				v.connections.add(graph.edges.get(indexes.data[i]));
+			}
+
+			graph.mapNodes.put(v.id, v);
+		}
+
+		for (int motionIdx = 0; motionIdx < graph.edges.size; motionIdx++) {
+			PairwiseImageGraph.Motion m = graph.edges.get(motionIdx);
+			m.index = motionIdx;
+			m.countF = in.readInt();
+			m.countH = in.readInt();
+			m.is3D = in.readBoolean();
+			m.src = graph.nodes.get(in.readInt());
+			m.dst = graph.nodes.get(in.readInt());
+			in.readDoubles(m.F.data, 9);
+
+			in.readInts(indexes);
+			m.inliers.resize(indexes.size/2);
+			for (int i = 0; i < m.inliers.size; i++) {
+				AssociatedIndex a = m.inliers.get(i);
+				a.src = indexes.data[i*2];
+				a.dst = indexes.data[i*2 + 1];
+			}
+		}
+
+		return graph;
+	}
+
+	public static void save( SceneWorkingGraph working, String path, boolean compress ) {
+		try (FileChannel channel = openWrite(path)) {
+			save(working, channel, compress);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Saves a {@link SceneWorkingGraph} into the channel.
+	 *
+	 * @param working (Input) The graph which is to be saved
+	 * @param channel (Output) Where the graph is written to. Not closed.
+	 * @param compress If true the data will be compressed
+	 */
+	public static void save( SceneWorkingGraph working, WritableByteChannel channel, boolean compress )
+			throws IOException {
+		Encoder out = new Encoder(channel, TYPE_WORKING, compress);
+
+		out.writeInt(working.viewList.size());
+		for (int viewIdx = 0; viewIdx < working.viewList.size(); viewIdx++) {
+			out.writeString(working.viewList.get(viewIdx).pview.id);
+		}
+
+		for (int viewIdx = 0; viewIdx < working.viewList.size(); viewIdx++) {
+			SceneWorkingGraph.View wview = working.viewList.get(viewIdx);
+
+			out.writeDoubles(wview.projective.data, 12);
+			out.writeDouble(wview.intrinsic.f);
+			out.writeDouble(wview.intrinsic.k1);
+			out.writeDouble(wview.intrinsic.k2);
+			writeSe3(wview.world_to_view, out);
+			out.writeInt(wview.imageDimension.width);
+			out.writeInt(wview.imageDimension.height);
+
+			SceneWorkingGraph.InlierInfo inliers = wview.inliers;
+			out.writeInt(inliers.views.size);
+			for (int i = 0; i < inliers.views.size; i++) {
+				out.writeString(inliers.views.get(i).id);
+			}
+			for (int i = 0; i < inliers.views.size; i++) {
+				DogArray_I32 observations = inliers.observations.get(i);
+				out.writeInts(observations.data, observations.size);
+			}
+		}
+
+		out.finish();
+	}
+
+	public static SceneWorkingGraph load( String path, PairwiseImageGraph pairwise,
+										  @Nullable SceneWorkingGraph working ) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			return load(channel, pairwise, working);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Decodes a {@link SceneWorkingGraph} from the channel
+	 *
+	 * @param channel (Input) Where the graph is read from. Not closed.
+	 * @param pairwise (Input) Pairwise graph which is referenced by the SceneWorkingGraph.
+	 * @param working (Output) Optional storage for the working graph. If null a new instance is created.
+	 * @return The decoded graph
+	 */
+	public static SceneWorkingGraph load( ReadableByteChannel channel, PairwiseImageGraph pairwise,
+										  @Nullable SceneWorkingGraph working ) throws IOException {
+		if (working == null)
+			working = new SceneWorkingGraph();
+		else
+			working.reset();
+
+		Decoder in = new Decoder(channel, TYPE_WORKING);
+
+		// First declare all the views and link to their respective pview
+		int numViews = in.readInt();
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			working.addView(pairwise.lookupNode(in.readString()));
+		}
+
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			SceneWorkingGraph.View wview = working.viewList.get(viewIdx);
+
+			in.readDoubles(wview.projective.data, 12);
+			wview.intrinsic.f = in.readDouble();
+			wview.intrinsic.k1 = in.readDouble();
+			wview.intrinsic.k2 = in.readDouble();
+			readSe3(in, wview.world_to_view);
+			wview.imageDimension.width = in.readInt();
+			wview.imageDimension.height = in.readInt();
+
+			SceneWorkingGraph.InlierInfo inliers = wview.inliers;
+			int numInlierViews = in.readInt();
+			inliers.views.reset();
+			for (int i = 0; i < numInlierViews; i++) {
+				inliers.views.add(pairwise.lookupNode(in.readString()));
+			}
+			inliers.observations.resize(numInlierViews);
+			for (int i = 0; i < numInlierViews; i++) {
+				in.readInts(inliers.observations.get(i));
+			}
+		}
+
+		return working;
+	}
+
+	public static void save( SceneStructureMetric scene, String path, boolean compress ) {
+		try (FileChannel channel = openWrite(path)) {
+			save(scene, channel, compress);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Saves a {@link SceneStructureMetric} into the channel.
+	 *
+	 * @param scene (Input) The scene
+	 * @param channel (Output) Where the scene is written to. Not closed.
+	 * @param compress If true the data will be compressed
+	 */
+	public static void save( SceneStructureMetric scene, WritableByteChannel channel, boolean compress )
+			throws IOException {
+		Encoder out = new Encoder(channel, TYPE_METRIC, compress);
+
+		out.writeBoolean(scene.isHomogenous());
+		out.writeInt(scene.cameras.size);
+		out.writeInt(scene.views.size);
+		out.writeInt(scene.motions.size);
+		out.writeInt(scene.points.size);
+		out.writeInt(scene.rigids.size);
+
+		for (int i = 0; i < scene.views.size; i++) {
+			SceneStructureMetric.View v = scene.views.get(i);
+			out.writeInt(v.camera);
+			out.writeInt(v.parent_to_view);
+			out.writeInt(v.parent == null ? -1 : scene.views.indexOf(v.parent));
+		}
+
+		for (int i = 0; i < scene.motions.size; i++) {
+			SceneStructureMetric.Motion m = scene.motions.get(i);
+			out.writeBoolean(m.known);
+			writeSe3(m.motion, out);
+		}
+
+		for (int i = 0; i < scene.rigids.size; i++) {
+			SceneStructureMetric.Rigid r = scene.rigids.get(i);
+			out.writeBoolean(r.known);
+			out.writeInt(r.indexFirst);
+			writeSe3(r.object_to_world, out);
+			out.writeInt(r.points.length);
+			for (int j = 0; j < r.points.length; j++) {
+				writePoint(r.points[j], out);
+			}
+		}
+
+		for (int i = 0; i < scene.points.size; i++) {
+			writePoint(scene.points.get(i), out);
+		}
+
+		for (int i = 0; i < scene.cameras.size; i++) {
+			SceneStructureCommon.Camera c = scene.cameras.get(i);
+			out.writeBoolean(c.known);
+			if (c.model instanceof BundlePinholeSimplified) {
+				BundlePinholeSimplified model = (BundlePinholeSimplified)c.model;
+				out.writeByte(CAMERA_PINHOLE_SIMPLIFIED);
+				out.writeDouble(model.f);
+				out.writeDouble(model.k1);
+				out.writeDouble(model.k2);
+			} else {
+				throw new RuntimeException("BundleAdjustmentCamera type not yet supported. " + c.getClass().getSimpleName());
+			}
+		}
+
+		out.finish();
+	}
+
+	public static SceneStructureMetric load( String path, @Nullable SceneStructureMetric scene ) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			return load(channel, scene);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Decodes a {@link SceneStructureMetric} from the channel
+	 *
+	 * @param channel (Input) Where the scene is read from. Not closed.
+	 * @param scene (Output) Optional storage for the scene. If null a new instance is created.
+	 * @return The decoded scene
+	 */
+	public static SceneStructureMetric load( ReadableByteChannel channel, @Nullable SceneStructureMetric scene )
+			throws IOException {
+		Decoder in = new Decoder(channel, TYPE_METRIC);
+
+		boolean homogenous = in.readBoolean();
+		if (scene != null && scene.isHomogenous() != homogenous)
+			scene = null;
+		if (scene == null)
+			scene = new SceneStructureMetric(homogenous);
+
+		int numCameras = in.readInt();
+		int numViews = in.readInt();
+		int numMotions = in.readInt();
+		int numPoints = in.readInt();
+		int numRigids = in.readInt();
+		scene.initialize(numCameras, numViews, numMotions, numPoints, numRigids);
+
+		for (int i = 0; i < numViews; i++) {
+			SceneStructureMetric.View v = scene.views.get(i);
+			v.camera = in.readInt();
+			v.parent_to_view = in.readInt();
+			int parent = in.readInt();
+			v.parent = parent >= 0 ? scene.views.get(parent) : null;
+		}
+
+		for (int i = 0; i < numMotions; i++) {
+			SceneStructureMetric.Motion m = scene.motions.grow();
+			m.known = in.readBoolean();
+			readSe3(in, m.motion);
+		}
+
+		for (int i = 0; i < numRigids; i++) {
+			SceneStructureMetric.Rigid r = scene.rigids.get(i);
+			r.known = in.readBoolean();
+			r.indexFirst = in.readInt();
+			readSe3(in, r.object_to_world);
+			r.points = new SceneStructureCommon.Point[in.readInt()];
+			for (int j = 0; j < r.points.length; j++) {
+				r.points[j] = readPoint(in, new SceneStructureCommon.Point(homogenous ? 4 : 3));
+			}
+		}
+
+		for (int i = 0; i < numPoints; i++) {
+			readPoint(in, scene.points.get(i));
+		}
+
+		for (int i = 0; i < numCameras; i++) {
+			SceneStructureCommon.Camera c = scene.cameras.get(i);
+			c.known = in.readBoolean();
+			byte type = in.readByte();
+			if (type != CAMERA_PINHOLE_SIMPLIFIED)
+				throw new IOException("Unknown camera type. " + type);
+			var model = new BundlePinholeSimplified();
+			model.f = in.readDouble();
+			model.k1 = in.readDouble();
+			model.k2 = in.readDouble();
+			c.model = model;
+		}
+
+		return scene;
+	}
+
+	private static void writePoint( SceneStructureCommon.Point p, Encoder out ) throws IOException {
+		out.writeDoubles(p.coordinate, p.coordinate.length);
+		out.writeInts(p.views.data, p.views.size);
+	}
+
+	private static SceneStructureCommon.Point readPoint( Decoder in, SceneStructureCommon.Point p )
+			throws IOException {
+		in.readDoubles(p.coordinate, p.coordinate.length);
+		in.readInts(p.views);
+		return p;
+	}
+
+	private static void writeSe3( Se3_F64 m, Encoder out ) throws IOException {
+		out.writeDouble(m.T.x);
+		out.writeDouble(m.T.y);
+		out.writeDouble(m.T.z);
+		out.writeDoubles(m.R.data, 9);
+	}
+
+	private static void readSe3( Decoder in, Se3_F64 m ) throws IOException {
+		m.T.x = in.readDouble();
+		m.T.y = in.readDouble();
+		m.T.z = in.readDouble();
+		in.readDoubles(m.R.data, 9);
+	}
+
+	private static FileChannel openWrite( String path ) throws IOException {
+		return FileChannel.open(Paths.get(path),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	/**
+	 * Writes primitive values into a buffer which is written to the channel when full. Arrays are prefixed by
+	 * their length.
+	 */
+	static class Encoder {
+		WritableByteChannel channel;
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		@Nullable DeflaterOutputStream deflater;
+
+		Encoder( WritableByteChannel channel, byte type, boolean compress ) throws IOException {
+			this.channel = channel;
+
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.put(type);
+			buffer.put((byte)(compress ? 1 : 0));
+			flush();
+
+			if (compress) {
+				// The stream isn't closed since that would close the user's channel
+				deflater = new DeflaterOutputStream(Channels.newOutputStream(channel),
+						new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+				this.channel = Channels.newChannel(deflater);
+			}
+		}
+
+		void writeByte( byte value ) throws IOException {
+			ensureSpace(1);
+			buffer.put(value);
+		}
+
+		void writeBoolean( boolean value ) throws IOException {
+			writeByte((byte)(value ? 1 : 0));
+		}
+
+		void writeInt( int value ) throws IOException {
+			ensureSpace(4);
+			buffer.putInt(value);
+		}
+
+		void writeDouble( double value ) throws IOException {
+			ensureSpace(8);
+			buffer.putDouble(value);
+		}
+
+		void writeString( String value ) throws IOException {
+			byte[] bytes = value.getBytes(UTF_8);
+			writeInt(bytes.length);
+			int offset = 0;
+			while (offset < bytes.length) {
+				ensureSpace(1);
+				int length = Math.min(buffer.remaining(), bytes.length - offset);
+				buffer.put(bytes, offset, length);
+				offset += length;
+			}
+		}
+
+		/** Writes the length followed by the first 'length' elements in the array */
+		void writeInts( int[] data, int length ) throws IOException {
+			writeInt(length);
+			int offset = 0;
+			while (offset < length) {
+				ensureSpace(4);
+				int count = Math.min(buffer.remaining()/4, length - offset);
+				buffer.asIntBuffer().put(data, offset, count);
+				buffer.position(buffer.position() + count*4);
+				offset += count;
+			}
+		}
+
+		/** Writes the length followed by the first 'length' elements in the array */
+		void writeDoubles( double[] data, int length ) throws IOException {
+			writeInt(length);
+			int offset = 0;
+			while (offset < length) {
+				ensureSpace(8);
+				int count = Math.min(buffer.remaining()/8, length - offset);
+				buffer.asDoubleBuffer().put(data, offset, count);
+				buffer.position(buffer.position() + count*8);
+				offset += count;
+			}
+		}
+
+		void ensureSpace( int bytes ) throws IOException {
+			if (buffer.remaining() < bytes)
+				flush();
+		}
+
+		void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		/** Writes all remaining data. Must be called when done. */
+		void finish() throws IOException {
+			flush();
+			if (deflater != null)
+				deflater.finish();
+		}
+	}
+
+	/**
+	 * Reads primitive values which were written by {@link Encoder}
+	 */
+	static class Decoder {
+		ReadableByteChannel channel;
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		Decoder( ReadableByteChannel channel, byte expectedType ) throws IOException {
+			this.channel = channel;
+
+			// Only read the header so that no compressed data ends up in the buffer
+			buffer.limit(HEADER_SIZE);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					throw new EOFException("Missing header");
+			}
+			buffer.flip();
+			if (buffer.getInt() != MAGIC)
+				throw new IOException("Not a multiview binary file");
+			int version = buffer.getInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported version " + version);
+			byte type = buffer.get();
+			if (type != expectedType)
+				throw new IOException("Unexpected data type. Expected " + expectedType + " found " + type);
+			boolean compressed = buffer.get() != 0;
+			buffer.clear();
+			buffer.limit(0);
+
+			if (compressed) {
+				this.channel = Channels.newChannel(
+						new InflaterInputStream(Channels.newInputStream(channel), new Inflater(), BUFFER_SIZE));
+			}
+		}
+
+		byte readByte() throws IOException {
+			ensureAvailable(1);
+			return buffer.get();
+		}
+
+		boolean readBoolean() throws IOException {
+			return readByte() != 0;
+		}
+
+		int readInt() throws IOException {
+			ensureAvailable(4);
+			return buffer.getInt();
+		}
+
+		double readDouble() throws IOException {
+			ensureAvailable(8);
+			return buffer.getDouble();
+		}
+
+		String readString() throws IOException {
+			byte[] bytes = new byte[readLength()];
+			int offset = 0;
+			while (offset < bytes.length) {
+				ensureAvailable(1);
+				int length = Math.min(buffer.remaining(), bytes.length - offset);
+				buffer.get(bytes, offset, length);
+				offset += length;
+			}
+			return new String(bytes, UTF_8);
+		}
+
+		/** Reads an array of ints into storage, which is resized to match */
+		void readInts( DogArray_I32 storage ) throws IOException {
+			int length = readLength();
+			storage.resize(length);
+			int offset = 0;
+			while (offset < length) {
+				ensureAvailable(4);
+				int count = Math.min(buffer.remaining()/4, length - offset);
+				buffer.asIntBuffer().get(storage.data, offset, count);
+				buffer.position(buffer.position() + count*4);
+				offset += count;
+			}
+		}
+
+		/** Reads an array of doubles which must have the expected length */
+		void readDoubles( double[] storage, int expectedLength ) throws IOException {
+			int length = readLength();
+			if (length != expectedLength)
+				throw new IOException("Unexpected array length. Expected " + expectedLength + " found " + length);
+			int offset = 0;
+			while (offset < length) {
+				ensureAvailable(8);
+				int count = Math.min(buffer.remaining()/8, length - offset);
+				buffer.asDoubleBuffer().get(storage, offset, count);
+				buffer.position(buffer.position() + count*8);
+				offset += count;
+			}
+		}
+
+		int readLength() throws IOException {
+			int length = readInt();
+			if (length < 0)
+				throw new IOException("Negative array length. Corrupted file?");
+			return length;
+		}
+
+		/** Reads from the channel until the requested number of bytes are in the buffer */
+		void ensureAvailable( int bytes ) throws IOException {
+			if (buffer.remaining() >= bytes)
+				return;
+			buffer.compact();
+			while (buffer.position() < bytes) {
+				if (channel.read(buffer) < 0)
+					throw new EOFException("Unexpected end of data");
+			}
+			buffer.flip();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -48,6 +48,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  * For loading and saving data structures related to multiview reconstruction.
  *
+ * @see MultiViewBinaryIO
  * @author Peter Abeles
  */
 public class MultiViewIO {
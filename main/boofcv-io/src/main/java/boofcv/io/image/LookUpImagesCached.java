@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.core.image.GConvertImage;
+import boofcv.misc.LookUpImages;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageDimension;
+import boofcv.struct.image.ImageMultiBand;
+import boofcv.struct.image.ImageType;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decorator for {@link LookUpImages} which keeps recently requested images in memory. Reconstruction algorithms
+ * tend to request the same view many times and decoding it from disk each time can be a significant cost.
+ * Images are stored for each image family and data type requested, and the total size of all stored images is kept
+ * under a byte budget by discarding the least recently used images first.
+ *
+ * <p>If an image is requested in a new type and a copy of it is already cached then the cached copy is converted
+ * instead of decoding it again. This is only done when the conversion can't lose information that the source would
+ * have provided, i.e. the request is for a gray image or the image family is the same.</p>
+ *
+ * <p>Images which will be needed soon can be loaded in a background thread by calling {@link #prefetch}. Calls to
+ * the wrapped {@link LookUpImages} are never made concurrently so it doesn't need to be thread safe.</p>
+ *
+ * @author Peter Abeles
+ */
+public class LookUpImagesCached implements LookUpImages, Closeable {
+	/** The source of images */
+	@Getter final LookUpImages source;
+
+	/** Maximum number of bytes used to store cached images */
+	@Getter long maxBytes;
+
+	// Cached images in least recently used order
+	final LinkedHashMap<Key, ImageBase<?>> cache = new LinkedHashMap<>(16, 0.75f, true);
+	// Cached shape of each image
+	final Map<String, ImageDimension> shapes = new HashMap<>();
+	// Images which are being loaded in the background
+	final Map<Key, Future<?>> pending = new HashMap<>();
+
+	// Number of bytes in all the cached images
+	long cachedBytes;
+
+	// Statistics
+	long hits, misses, conversions, decodes, evictions;
+	long decodeTimeNano;
+
+	// Created the first time prefetch is called
+	@Nullable ExecutorService prefetchThread;
+
+	/**
+	 * @param source Where images are loaded from
+	 * @param maxBytes Maximum number of bytes used to store cached images
+	 */
+	public LookUpImagesCached( LookUpImages source, long maxBytes ) {
+		this.source = source;
+		setMaxBytes(maxBytes);
+	}
+
+	@Override public boolean loadShape( String name, ImageDimension shape ) {
+		synchronized (this) {
+			ImageDimension cached = shapes.get(name);
+			if (cached != null) {
+				shape.setTo(cached);
+				return true;
+			}
+		}
+
+		boolean found;
+		synchronized (source) {
+			found = source.loadShape(name, shape);
+		}
+		if (found) {
+			synchronized (this) {
+				shapes.put(name, new ImageDimension(shape.width, shape.height));
+			}
+		}
+		return found;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Override public <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
+		var key = new Key(name, output.getImageType());
+		waitForPrefetch(key);
+
+		ImageBase image;
+		synchronized (this) {
+			image = cache.get(key);
+			if (image != null)
+				hits++;
+			else
+				misses++;
+		}
+
+		if (image == null) {
+			image = loadIntoCache(key);
+			if (image == null)
+				return false;
+		}
+
+		((ImageBase)output).setTo(image);
+		return true;
+	}
+
+	/**
+	 * Requests that the images be loaded in a background thread so that they are ready when needed. Images which
+	 * are already cached or being loaded are skipped.
+	 *
+	 * @param names Names of the images which will be requested soon
+	 * @param type Type of image they will be requested as
+	 */
+	public synchronized void prefetch( List<String> names, ImageType<?> type ) {
+		if (prefetchThread == null) {
+			prefetchThread = Executors.newSingleThreadExecutor(r -> {
+				var thread = new Thread(r, "LookUpImagesCached");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		for (int i = 0; i < names.size(); i++) {
+			var key = new Key(names.get(i), type);
+			if (cache.containsKey(key) || pending.containsKey(key))
+				continue;
+			pending.put(key, prefetchThread.submit(() -> {
+				try {
+					loadIntoCache(key);
+				} finally {
+					synchronized (LookUpImagesCached.this) {
+						pending.remove(key);
+					}
+				}
+			}));
+		}
+	}
+
+	/**
+	 * If the image is being loaded in the background then wait for it to finish
+	 */
+	void waitForPrefetch( Key key ) {
+		Future<?> future;
+		synchronized (this) {
+			future = pending.get(key);
+		}
+		if (future == null)
+			return;
+
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException ignore) {
+			// The image will be loaded again in the caller's thread and the exception thrown there
+		}
+	}
+
+	/**
+	 * Loads the image by converting a cached copy or from the source, then adds it to the cache.
+	 *
+	 * @return The image or null if it couldn't be found
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Nullable ImageBase<?> loadIntoCache( Key key ) {
+		ImageBase image = key.type.createImage(1, 1);
+
+		ImageBase<?> convertFrom = findConvertible(key);
+		if (convertFrom != null) {
+			// The destination must have the same shape as the source before it can be converted
+			if (image instanceof ImageMultiBand)
+				((ImageMultiBand)image).reshape(convertFrom.width, convertFrom.height, convertFrom.getImageType().getNumBands());
+			else
+				image.reshape(convertFrom.width, convertFrom.height);
+			GConvertImage.convert(convertFrom, image);
+			synchronized (this) {
+				conversions++;
+			}
+		} else {
+			long time0 = System.nanoTime();
+			boolean found;
+			synchronized (source) {
+				found = source.loadImage(key.name, image);
+			}
+			long time1 = System.nanoTime();
+			synchronized (this) {
+				decodes++;
+				decodeTimeNano += time1 - time0;
+			}
+			if (!found)
+				return null;
+		}
+
+		synchronized (this) {
+			shapes.computeIfAbsent(key.name, n -> new ImageDimension(image.width, image.height));
+			add(key, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Finds a cached copy of the image which can be converted into the requested type without losing information
+	 */
+	synchronized @Nullable ImageBase<?> findConvertible( Key key ) {
+		for (Map.Entry<Key, ImageBase<?>> entry : cache.entrySet()) { // lint:forbidden ignore_line
+			Key k = entry.getKey();
+			if (!k.name.equals(key.name))
+				continue;
+			if (key.family == ImageType.Family.GRAY || key.family == k.family)
+				return entry.getValue();
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the image to the cache and removes the least recently used images until it's within budget
+	 */
+	void add( Key key, ImageBase<?> image ) {
+		long bytes = sizeInBytes(image);
+		if (bytes > maxBytes)
+			return;
+
+		ImageBase<?> previous = cache.put(key, image);
+		if (previous != null)
+			cachedBytes -= sizeInBytes(previous);
+		cachedBytes += bytes;
+		evict();
+	}
+
+	/**
+	 * Removes least recently used images until the cache is within budget
+	 */
+	void evict() {
+		Iterator<ImageBase<?>> iterator = cache.values().iterator();
+		while (cachedBytes > maxBytes && iterator.hasNext()) {
+			cachedBytes -= sizeInBytes(iterator.next());
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Changes the budget. If the cache is too large then images are discarded.
+	 */
+	public synchronized void setMaxBytes( long maxBytes ) {
+		if (maxBytes < 0)
+			throw new IllegalArgumentException("maxBytes must be positive");
+		this.maxBytes = maxBytes;
+		evict();
+	}
+
+	/** Discards all cached images and shapes */
+	public synchronized void clear() {
+		cache.clear();
+		shapes.clear();
+		cachedBytes = 0;
+	}
+
+	/** Resets all statistics to zero */
+	public synchronized void resetStatistics() {
+		hits = misses = conversions = decodes = evictions = 0;
+		decodeTimeNano = 0;
+	}
+
+	/** Number of requests which were already in the cache */
+	public synchronized long getHits() {return hits;}
+
+	/** Number of requests which were not in the cache */
+	public synchronized long getMisses() {return misses;}
+
+	/** Fraction of requests which were already in the cache. 0 if there have been no requests. */
+	public synchronized double getHitRate() {
+		long total = hits + misses;
+		return total == 0 ? 0.0 : hits/(double)total;
+	}
+
+	/** Number of images which were created by converting a cached image instead of decoding */
+	public synchronized long getConversions() {return conversions;}
+
+	/** Number of times an image was loaded from the source, including prefetching */
+	public synchronized long getDecodes() {return decodes;}
+
+	/** Total time spent loading images from the source in milliseconds */
+	public synchronized double getDecodeTimeMS() {return decodeTimeNano*1e-6;}
+
+	/** Number of images which have been discarded to stay within budget */
+	public synchronized long getEvictions() {return evictions;}
+
+	/** Number of bytes used by cached images */
+	public synchronized long getCachedBytes() {return cachedBytes;}
+
+	/** Number of images in the cache */
+	public synchronized int getCachedCount() {return cache.size();}
+
+	/**
+	 * Stops the prefetch thread. Images which are still waiting to be prefetched are discarded.
+	 */
+	@Override public synchronized void close() {
+		if (prefetchThread != null) {
+			prefetchThread.shutdownNow();
+			prefetchThread = null;
+		}
+		pending.clear();
+	}
+
+	/**
+	 * Number of bytes used to store the pixels in an image
+	 */
+	static long sizeInBytes( ImageBase<?> image ) {
+		ImageType<?> type = image.getImageType();
+		ImageDataType dataType = type.getDataType();
+		return (long)image.width*image.height*type.getNumBands()*(dataType.getNumBits()/8);
+	}
+
+	/**
+	 * Identifies an image and the type it was loaded as. Number of bands isn't included since that's specified by
+	 * the source.
+	 */
+	static class Key {
+		final String name;
+		final ImageType.Family family;
+		final ImageDataType dataType;
+		final ImageType<?> type;
+
+		Key( String name, ImageType<?> type ) {
+			this.name = name;
+			this.family = type.getFamily();
+			this.dataType = type.getDataType();
+			this.type = type;
+		}
+
+		@Override public boolean equals( Object o ) {
+			if (!(o instanceof Key))
+				return false;
+			Key k = (Key)o;
+			return name.equals(k.name) && family == k.family && dataType == k.dataType;
+		}
+
+		@Override public int hashCode() {
+			return Objects.hash(name, family, dataType);
+		}
+	}
+}
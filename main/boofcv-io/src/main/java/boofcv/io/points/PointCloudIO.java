@@ -21,15 +21,14 @@ package boofcv.io.points;
 import boofcv.alg.cloud.PointCloudReader;
 import boofcv.alg.cloud.PointCloudWriter;
 import boofcv.io.points.impl.PlyCodec;
+import boofcv.io.points.impl.PlyMappedReader;
 import boofcv.struct.Point3dRgbI_F64;
 import georegression.struct.point.Point3D_F32;
 import georegression.struct.point.Point3D_F64;
 import org.ddogleg.struct.DogArray;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.*;
 import java.nio.ByteOrder;
 
 /**
@@ -43,6 +42,7 @@ public class PointCloudIO {
 	 * Saves point cloud to disk using a high level API. For more control over the format use the CODEC directly.
 	 *
 	 * @see PlyCodec
+	 * @see boofcv.io.points.impl.PlyStreamWriter
 	 *
 	 * @param format
 	 * @param cloud
@@ -100,6 +100,51 @@ public class PointCloudIO {
 		}
 	}
 
+	/**
+	 * Loads a point cloud from a file. Binary PLY files are memory mapped and decoded in bulk, which is much
+	 * faster than reading them from a stream.
+	 *
+	 * @see PlyMappedReader
+	 */
+	public static void
+	load( Format format, File file, PointCloudWriter output ) throws IOException {
+		switch (format) {
+			case PLY:
+				if (PlyMappedReader.isBinary(file)) {
+					try (var reader = new PlyMappedReader(file)) {
+						reader.read(output);
+					}
+				} else {
+					try (var input = new BufferedInputStream(new FileInputStream(file))) {
+						PlyCodec.read(input, output);
+					}
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown format " + format);
+		}
+	}
+
+	/**
+	 * Loads a point cloud from a file directly into primitive arrays, avoiding the overhead of creating an
+	 * object for every point.
+	 */
+	public static PointCloudWriter.CloudArraysF32
+	load3DArraysF32( Format format, File file, @Nullable PointCloudWriter.CloudArraysF32 storage ) throws IOException {
+		if (storage == null)
+			storage = new PointCloudWriter.CloudArraysF32();
+		if (format == Format.PLY && PlyMappedReader.isBinary(file)) {
+			try (var reader = new PlyMappedReader(file)) {
+				reader.readAll(storage.cloudXyz, storage.cloudRgb);
+				if (!reader.isRgb())
+					storage.cloudRgb.reset();
+			}
+		} else {
+			load(format, file, storage);
+		}
+		return storage;
+	}
+
 	public enum Format {
 		/**
 		 * https://en.wikipedia.org/wiki/PLY_(file_format)
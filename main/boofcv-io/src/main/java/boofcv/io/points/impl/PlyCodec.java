@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -32,6 +32,8 @@ import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * For reading PLY point files
  *
@@ -81,25 +83,9 @@ public class PlyCodec {
 	 */
 	public static void saveBinary( PointCloudReader cloud, ByteOrder order, boolean saveRgb, boolean saveAsFloat,
 								   OutputStream outputWriter ) throws IOException {
-		String format = "UTF-8";
-		String dataType = saveAsFloat ? "float" : "double";
-		int dataLength = saveAsFloat ? 4 : 8;
-		outputWriter.write("ply\n".getBytes(format));
-		outputWriter.write("format binary_big_endian 1.0\n".getBytes(format));
-		outputWriter.write("comment Created using BoofCV!\n".getBytes(format));
-		outputWriter.write(("element vertex " + cloud.size() + "\n").getBytes(format));
-		outputWriter.write((
-				"property " + dataType + " x\n" +
-				"property " + dataType + " y\n" +
-				"property " + dataType + " z\n").getBytes(format));
-		if (saveRgb) {
-			outputWriter.write(
-					("property uchar red\n" +
-					 "property uchar green\n" +
-					 "property uchar blue\n").getBytes(format));
-		}
-		outputWriter.write("end_header\n".getBytes(format));
+		outputWriter.write(binaryHeader(order, saveRgb, saveAsFloat, cloud.size() + "").getBytes(UTF_8));
 
+		int dataLength = saveAsFloat ? 4 : 8;
 		int end = dataLength*3;
 		var bytes = ByteBuffer.allocate(dataLength*3 + (saveRgb ? 3 : 0));
 		bytes.order(order);
@@ -130,6 +116,28 @@ public class PlyCodec {
 		outputWriter.flush();
 	}
 
+	/**
+	 * Creates the header for a binary PLY file
+	 *
+	 * @param vertexCount Text which specifies the number of vertexes
+	 */
+	static String binaryHeader( ByteOrder order, boolean saveRgb, boolean saveAsFloat, String vertexCount ) {
+		String dataType = saveAsFloat ? "float" : "double";
+		String header = "ply\n" +
+				"format " + (order == ByteOrder.BIG_ENDIAN ? "binary_big_endian" : "binary_little_endian") + " 1.0\n" +
+				"comment Created using BoofCV!\n" +
+				"element vertex " + vertexCount + "\n" +
+				"property " + dataType + " x\n" +
+				"property " + dataType + " y\n" +
+				"property " + dataType + " z\n";
+		if (saveRgb) {
+			header += "property uchar red\n" +
+					"property uchar green\n" +
+					"property uchar blue\n";
+		}
+		return header + "end_header\n";
+	}
+
 	private static String readNextPly( InputStream reader, boolean failIfNull, StringBuilder buffer ) throws IOException {
 		String line = UtilIO.readLine(reader, buffer);
 		while (line.length() != 0) {
@@ -146,7 +154,22 @@ public class PlyCodec {
 
 	public static void read( InputStream input, PointCloudWriter output ) throws IOException {
 		StringBuilder buffer = new StringBuilder();
+		Header header = readHeader(input, buffer);
+
+		output.init(header.vertexCount);
 
+		switch (header.format) {
+			case ASCII -> readAscii(output, input, header.dataWords, buffer, header.vertexCount, header.rgb);
+			case BINARY_LITTLE -> readBinary(output, input, header.dataWords, ByteOrder.LITTLE_ENDIAN, header.vertexCount, header.rgb);
+			case BINARY_BIG -> readBinary(output, input, header.dataWords, ByteOrder.BIG_ENDIAN, header.vertexCount, header.rgb);
+			default -> throw new RuntimeException("BUG!");
+		}
+	}
+
+	/**
+	 * Reads the header. When this returns the input will be at the first byte of the vertex data.
+	 */
+	static Header readHeader( InputStream input, StringBuilder buffer ) throws IOException {
 		String line = UtilIO.readLine(input, buffer);
 		if (line.length() == 0) throw new IOException("Missing first line");
 		if (line.compareToIgnoreCase("ply") != 0) throw new IOException("Expected PLY at start of file");
@@ -208,14 +231,7 @@ public class PlyCodec {
 		if (format == null)
 			throw new IOException("Format is never specified");
 
-		output.init(vertexCount);
-
-		switch (format) {
-			case ASCII -> readAscii(output, input, dataWords, buffer, vertexCount, rgb);
-			case BINARY_LITTLE -> readBinary(output, input, dataWords, ByteOrder.LITTLE_ENDIAN, vertexCount, rgb);
-			case BINARY_BIG -> readBinary(output, input, dataWords, ByteOrder.BIG_ENDIAN, vertexCount, rgb);
-			default -> throw new RuntimeException("BUG!");
-		}
+		return new Header(format, vertexCount, dataWords, rgb);
 	}
 
 	private static void readAscii( PointCloudWriter output, InputStream reader, List<DataWord> dataWords,
@@ -321,7 +337,31 @@ public class PlyCodec {
 		}
 	}
 
-	private static class DataWord {
+	/** Description of the vertex data found in the header */
+	static class Header {
+		Format format;
+		int vertexCount;
+		List<DataWord> dataWords;
+		boolean rgb;
+
+		public Header( Format format, int vertexCount, List<DataWord> dataWords, boolean rgb ) {
+			this.format = format;
+			this.vertexCount = vertexCount;
+			this.dataWords = dataWords;
+			this.rgb = rgb;
+		}
+
+		/** Number of bytes used to encode a single vertex in binary formats */
+		int bytesPerVertex() {
+			int total = 0;
+			for (int i = 0; i < dataWords.size(); i++) {
+				total += dataWords.get(i).data.size;
+			}
+			return total;
+		}
+	}
+
+	static class DataWord {
 		VarType var;
 		DataType data;
 
@@ -331,11 +371,11 @@ public class PlyCodec {
 		}
 	}
 
-	private enum VarType {
+	enum VarType {
 		X, Y, Z, R, G, B, UNKNOWN
 	}
 
-	private enum DataType {
+	enum DataType {
 		FLOAT(4),
 		DOUBLE(8),
 		CHAR(1),
@@ -352,7 +392,7 @@ public class PlyCodec {
 		}
 	}
 
-	private enum Format {
+	enum Format {
 		ASCII,
 		BINARY_LITTLE,
 		BINARY_BIG
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudWriter;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads binary PLY files using memory mapped I/O. Vertexes are decoded in bulk directly into primitive arrays
+ * instead of one element at a time through a stream. Only a window of the file is mapped at any one time, which
+ * allows clouds much larger than the heap to be processed one chunk at a time using {@link #chunks(int)}.
+ * ASCII files are not supported, use {@link PlyCodec#read} instead.
+ *
+ * @author Peter Abeles
+ */
+public class PlyMappedReader implements Closeable {
+	/** Default number of bytes which are mapped at once */
+	public static final long DEFAULT_WINDOW_BYTES = 256L*1024*1024;
+
+	FileChannel channel;
+	PlyCodec.Header header;
+	ByteOrder order;
+
+	// Location in the file of the first vertex
+	long dataOffset;
+	// Number of bytes in a single vertex
+	int stride;
+	// true if x, y, and z are all encoded as floats
+	boolean xyzFloat;
+
+	// Location of each variable inside a vertex and its type. Index is VarType.ordinal(). -1 if not present
+	final int[] varOffset = new int[6];
+	final PlyCodec.DataType[] varType = new PlyCodec.DataType[6];
+
+	// The currently mapped region of the file, specified in vertexes
+	@Nullable MappedByteBuffer window;
+	int windowFirst;
+	int windowCount;
+	// Maximum number of vertexes in a window
+	int windowVertexes;
+
+	public PlyMappedReader( File file ) throws IOException {
+		this(file, DEFAULT_WINDOW_BYTES);
+	}
+
+	/**
+	 * Opens the file and parses the header
+	 *
+	 * @param file The PLY file
+	 * @param windowBytes Maximum number of bytes that are mapped into memory at once
+	 */
+	public PlyMappedReader( File file, long windowBytes ) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			// The stream isn't buffered so the channel's position will be at the start of the vertex data
+			header = PlyCodec.readHeader(Channels.newInputStream(channel), new StringBuilder());
+			dataOffset = channel.position();
+			order = switch (header.format) {
+				case BINARY_LITTLE -> ByteOrder.LITTLE_ENDIAN;
+				case BINARY_BIG -> ByteOrder.BIG_ENDIAN;
+				default -> throw new IOException("Memory mapped reading requires a binary PLY file");
+			};
+			stride = header.bytesPerVertex();
+			if (channel.size() < dataOffset + (long)header.vertexCount*stride)
+				throw new IOException("File is smaller than the header says it should be");
+
+			int location = 0;
+			for (int i = 0; i < varOffset.length; i++) {
+				varOffset[i] = -1;
+			}
+			for (int i = 0; i < header.dataWords.size(); i++) {
+				PlyCodec.DataWord d = header.dataWords.get(i);
+				if (d.var != PlyCodec.VarType.UNKNOWN) {
+					varOffset[d.var.ordinal()] = location;
+					varType[d.var.ordinal()] = d.data;
+				}
+				location += d.data.size;
+			}
+			for (int i = 0; i < 3; i++) {
+				if (varOffset[i] == -1)
+					throw new IOException("Vertex is missing a coordinate");
+			}
+			xyzFloat = varType[0] == PlyCodec.DataType.FLOAT &&
+					varType[1] == PlyCodec.DataType.FLOAT && varType[2] == PlyCodec.DataType.FLOAT;
+			windowVertexes = (int)Math.max(1, Math.min(Integer.MAX_VALUE, windowBytes)/stride);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the header of a PLY file and returns true if the data is stored in a binary format
+	 */
+	public static boolean isBinary( File file ) throws IOException {
+		try (var input = new BufferedInputStream(new FileInputStream(file))) {
+			return PlyCodec.readHeader(input, new StringBuilder()).format != PlyCodec.Format.ASCII;
+		}
+	}
+
+	/** Number of vertexes in the file */
+	public int size() {
+		return header.vertexCount;
+	}
+
+	/** True if the vertexes have color information */
+	public boolean isRgb() {
+		return header.rgb;
+	}
+
+	/**
+	 * Decodes a range of vertexes in bulk
+	 *
+	 * @param first Index of the first vertex
+	 * @param count Number of vertexes that are read
+	 * @param xyz (Output) Interleaved 3D coordinates. Must have 3*count elements.
+	 * @param rgb (Output) Packed RGB colors. Must have count elements. Ignored if null.
+	 */
+	public void read( int first, int count, float[] xyz, @Nullable int[] rgb ) throws IOException {
+		checkRange(first, count);
+		int end = first + count;
+		int vertex = first;
+		while (vertex < end) {
+			ByteBuffer buffer = mapWindow(vertex);
+			int last = Math.min(end, windowFirst + windowCount);
+			for (; vertex < last; vertex++) {
+				int location = (vertex - windowFirst)*stride;
+				int idx = (vertex - first)*3;
+				if (xyzFloat) {
+					xyz[idx] = buffer.getFloat(location + varOffset[0]);
+					xyz[idx + 1] = buffer.getFloat(location + varOffset[1]);
+					xyz[idx + 2] = buffer.getFloat(location + varOffset[2]);
+				} else {
+					xyz[idx] = (float)readValue(buffer, location, 0);
+					xyz[idx + 1] = (float)readValue(buffer, location, 1);
+					xyz[idx + 2] = (float)readValue(buffer, location, 2);
+				}
+				if (rgb != null)
+					rgb[vertex - first] = readRgb(buffer, location);
+			}
+		}
+	}
+
+	/**
+	 * Decodes a range of vertexes in bulk
+	 *
+	 * @param first Index of the first vertex
+	 * @param count Number of vertexes that are read
+	 * @param xyz (Output) Interleaved 3D coordinates. Must have 3*count elements.
+	 * @param rgb (Output) Packed RGB colors. Must have count elements. Ignored if null.
+	 */
+	public void read( int first, int count, double[] xyz, @Nullable int[] rgb ) throws IOException {
+		checkRange(first, count);
+		int end = first + count;
+		int vertex = first;
+		while (vertex < end) {
+			ByteBuffer buffer = mapWindow(vertex);
+			int last = Math.min(end, windowFirst + windowCount);
+			for (; vertex < last; vertex++) {
+				int location = (vertex - windowFirst)*stride;
+				int idx = (vertex - first)*3;
+				xyz[idx] = readValue(buffer, location, 0);
+				xyz[idx + 1] = readValue(buffer, location, 1);
+				xyz[idx + 2] = readValue(buffer, location, 2);
+				if (rgb != null)
+					rgb[vertex - first] = readRgb(buffer, location);
+			}
+		}
+	}
+
+	/**
+	 * Reads the entire cloud into primitive arrays
+	 *
+	 * @param xyz (Output) Interleaved 3D coordinates
+	 * @param rgb (Output) Packed RGB colors. Ignored if null.
+	 */
+	public void readAll( DogArray_F32 xyz, @Nullable DogArray_I32 rgb ) throws IOException {
+		xyz.resize(size()*3);
+		if (rgb != null)
+			rgb.resize(size());
+		read(0, size(), xyz.data, rgb == null ? null : rgb.data);
+	}
+
+	/**
+	 * Passes every vertex to the output
+	 */
+	public void read( PointCloudWriter output ) throws IOException {
+		output.init(size());
+		Iterator<Chunk> iterator = chunks(64*1024);
+		while (iterator.hasNext()) {
+			Chunk chunk = iterator.next();
+			float[] xyz = chunk.xyz.data;
+			for (int i = 0; i < chunk.size; i++) {
+				if (isRgb())
+					output.add(xyz[i*3], xyz[i*3 + 1], xyz[i*3 + 2], chunk.rgb.data[i]);
+				else
+					output.add(xyz[i*3], xyz[i*3 + 1], xyz[i*3 + 2]);
+			}
+		}
+	}
+
+	/**
+	 * Iterates through the cloud one chunk at a time. The same {@link Chunk} is recycled between calls to next().
+	 * I/O errors are thrown as an {@link UncheckedIOException}.
+	 *
+	 * @param chunkSize Maximum number of vertexes in a chunk
+	 */
+	public Iterator<Chunk> chunks( int chunkSize ) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive");
+
+		return new Iterator<>() {
+			final Chunk chunk = new Chunk();
+			int next = 0;
+
+			@Override public boolean hasNext() {
+				return next < size();
+			}
+
+			@Override public Chunk next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				chunk.first = next;
+				chunk.size = Math.min(chunkSize, size() - next);
+				chunk.xyz.resize(chunk.size*3);
+				chunk.rgb.resize(isRgb() ? chunk.size : 0);
+				try {
+					read(chunk.first, chunk.size, chunk.xyz.data, isRgb() ? chunk.rgb.data : null);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				next += chunk.size;
+				return chunk;
+			}
+		};
+	}
+
+	/**
+	 * Makes sure the vertex is inside the mapped window. If not then a new window starting at the vertex is mapped.
+	 */
+	MappedByteBuffer mapWindow( int vertex ) throws IOException {
+		if (window != null && vertex >= windowFirst && vertex < windowFirst + windowCount)
+			return window;
+
+		windowFirst = vertex;
+		windowCount = Math.min(windowVertexes, size() - vertex);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + (long)vertex*stride, (long)windowCount*stride);
+		window.order(order);
+		return window;
+	}
+
+	void checkRange( int first, int count ) {
+		if (first < 0 || count < 0 || first + count > size())
+			throw new IllegalArgumentException("Requested vertexes are outside the cloud. first=" + first +
+					" count=" + count + " size=" + size());
+	}
+
+	/**
+	 * Reads the value of the specified variable from the vertex
+	 */
+	double readValue( ByteBuffer buffer, int location, int var ) {
+		int index = location + varOffset[var];
+		return switch (varType[var]) {
+			case FLOAT -> buffer.getFloat(index);
+			case DOUBLE -> buffer.getDouble(index);
+			case CHAR -> buffer.get(index);
+			case UCHAR -> buffer.get(index) & 0xFF;
+			case SHORT -> buffer.getShort(index);
+			case USHORT -> buffer.getShort(index) & 0xFFFF;
+			case INT -> buffer.getInt(index);
+			case UINT -> buffer.getInt(index) & 0xFFFFFFFFL;
+		};
+	}
+
+	/**
+	 * Reads the color of the vertex and packs it into an int. Missing channels are set to zero.
+	 */
+	int readRgb( ByteBuffer buffer, int location ) {
+		int rgb = 0;
+		for (int var = 3; var < 6; var++) {
+			rgb <<= 8;
+			if (varOffset[var] != -1)
+				rgb |= ((int)readValue(buffer, location, var)) & 0xFF;
+		}
+		return rgb;
+	}
+
+	/**
+	 * Closes the file. The mapped memory is released by the garbage collector.
+	 */
+	@Override public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+
+	/** A block of vertexes which have been decoded */
+	public static class Chunk {
+		/** Index of the first vertex in the chunk */
+		public int first;
+		/** Number of vertexes in the chunk */
+		public int size;
+		/** Interleaved 3D coordinates */
+		public final DogArray_F32 xyz = new DogArray_F32();
+		/** Packed RGB colors. Empty if the file has no color information. */
+		public final DogArray_I32 rgb = new DogArray_I32();
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudReader;
+import boofcv.alg.cloud.PointCloudWriter;
+import georegression.struct.point.Point3D_F64;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes a binary PLY file incrementally. Points are buffered and written to disk in large blocks, which allows
+ * a cloud to be saved in chunks as it's being created without ever holding the entire cloud in memory. Since the
+ * number of vertexes isn't known until the end, space for it is reserved in the header and it's filled in when
+ * the writer is closed.
+ *
+ * @author Peter Abeles
+ */
+public class PlyStreamWriter implements PointCloudWriter, Closeable {
+	// Number of characters reserved in the header for the vertex count. Enough for any positive int.
+	static final int COUNT_WIDTH = 10;
+
+	FileChannel channel;
+	ByteBuffer buffer;
+	boolean saveRgb;
+	boolean saveAsFloat;
+
+	// Location of the vertex count in the file
+	long countLocation;
+	// Number of bytes in a single vertex
+	int vertexBytes;
+
+	/** Number of points which have been written */
+	@Getter int count;
+
+	// Work space
+	final Point3D_F64 point = new Point3D_F64();
+
+	public PlyStreamWriter( File file, ByteOrder order, boolean saveRgb, boolean saveAsFloat ) throws IOException {
+		this(file, order, saveRgb, saveAsFloat, 1024*1024);
+	}
+
+	/**
+	 * Creates the file and writes the header
+	 *
+	 * @param file The file which is written to. If it exists it will be overwritten.
+	 * @param order The byte order of the binary data
+	 * @param saveRgb if true it will save RGB information
+	 * @param saveAsFloat if true it will save it as a 4-byte float and if false as an 8-byte double
+	 * @param bufferBytes Size of the write buffer in bytes
+	 */
+	public PlyStreamWriter( File file, ByteOrder order, boolean saveRgb, boolean saveAsFloat, int bufferBytes )
+			throws IOException {
+		this.saveRgb = saveRgb;
+		this.saveAsFloat = saveAsFloat;
+		this.vertexBytes = (saveAsFloat ? 12 : 24) + (saveRgb ? 3 : 0);
+
+		String header = PlyCodec.binaryHeader(order, saveRgb, saveAsFloat, formatCount(0));
+		countLocation = header.indexOf("element vertex ") + "element vertex ".length();
+
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		writeFully(ByteBuffer.wrap(header.getBytes(UTF_8)), channel.position());
+
+		buffer = ByteBuffer.allocate(Math.max(vertexBytes, bufferBytes - bufferBytes%vertexBytes));
+		buffer.order(order);
+	}
+
+	/**
+	 * Does nothing since the file is written incrementally
+	 */
+	@Override public void init( int estimatedSize ) {}
+
+	@Override public void add( double x, double y, double z ) {
+		add(x, y, z, 0);
+	}
+
+	@Override public void add( double x, double y, double z, int rgb ) {
+		if (count == Integer.MAX_VALUE)
+			throw new IllegalStateException("Too many points for a PLY file");
+		if (buffer.remaining() < vertexBytes) {
+			try {
+				flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		if (saveAsFloat) {
+			buffer.putFloat((float)x);
+			buffer.putFloat((float)y);
+			buffer.putFloat((float)z);
+		} else {
+			buffer.putDouble(x);
+			buffer.putDouble(y);
+			buffer.putDouble(z);
+		}
+		if (saveRgb) {
+			buffer.put((byte)(rgb >> 16));
+			buffer.put((byte)(rgb >> 8));
+			buffer.put((byte)rgb);
+		}
+		count++;
+	}
+
+	/**
+	 * Appends a range of points from the cloud
+	 *
+	 * @param cloud (Input) The cloud
+	 * @param start Index of the first point that's written
+	 * @param end Index one past the last point that's written
+	 */
+	public void append( PointCloudReader cloud, int start, int end ) {
+		for (int i = start; i < end; i++) {
+			cloud.get(i, point);
+			add(point.x, point.y, point.z, saveRgb ? cloud.getRGB(i) : 0);
+		}
+	}
+
+	/**
+	 * Appends a chunk read in from {@link PlyMappedReader}
+	 */
+	public void append( PlyMappedReader.Chunk chunk ) {
+		float[] xyz = chunk.xyz.data;
+		boolean hasRgb = chunk.rgb.size == chunk.size;
+		for (int i = 0; i < chunk.size; i++) {
+			int rgb = hasRgb ? chunk.rgb.data[i] : 0;
+			add(xyz[i*3], xyz[i*3 + 1], xyz[i*3 + 2], rgb);
+		}
+	}
+
+	/**
+	 * Writes all buffered points to disk
+	 */
+	public void flush() throws IOException {
+		buffer.flip();
+		writeFully(buffer, channel.size());
+		buffer.clear();
+	}
+
+	/**
+	 * Writes any remaining points, fills in the vertex count in the header, then closes the file.
+	 */
+	@Override public void close() throws IOException {
+		if (!channel.isOpen())
+			return;
+		try {
+			flush();
+			writeFully(ByteBuffer.wrap(formatCount(count).getBytes(UTF_8)), countLocation);
+		} finally {
+			channel.close();
+		}
+	}
+
+	void writeFully( ByteBuffer data, long location ) throws IOException {
+		while (data.hasRemaining()) {
+			location += channel.write(data, location);
+		}
+	}
+
+	/**
+	 * Left justified count that's padded with spaces so that it always takes up the same number of characters
+	 */
+	static String formatCount( int count ) {
+		return String.format("%-" + COUNT_WIDTH + "d", count);
+	}
+}
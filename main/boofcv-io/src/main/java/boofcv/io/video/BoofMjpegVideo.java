@@ -19,22 +19,28 @@
 package boofcv.io.video;
 
 import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.wrapper.images.MjpegFileSequence;
 import boofcv.io.wrapper.images.MjpegStreamSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.IOException;
 
 /**
+ * Reads MJPEG videos. Files are read with {@link MjpegFileSequence}, which doesn't load the entire file into memory
+ * and supports seeking.
+ *
  * @author Peter Abeles
  */
 public class BoofMjpegVideo implements VideoInterface {
 	@Override
 	public <T extends ImageBase<T>> SimpleImageSequence<T> load(String fileName, ImageType<T> imageType) {
-
 		try {
+			if (new File(fileName).isFile())
+				return new MjpegFileSequence<>(fileName, imageType);
 			return new MjpegStreamSequence(fileName,imageType);
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
 			return null;
 		}
 	}
@@ -30,6 +30,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
 
@@ -63,21 +64,33 @@ public class DynamicVideoInterface implements VideoInterface {
 
 		String protocol = url.getProtocol();
 
-		// See if it's a directory and then assume it's an image sequence
+		// Going through the URI decodes escaped characters in the path, e.g. spaces
+		File localFile = null;
 		if (protocol.equals("file")) {
-			File f = new File(url.getFile());
-			if (f.isDirectory())
-				return new LoadFileImageSequence<>(imageType, url.getFile(), null);
+			try {
+				localFile = new File(url.toURI());
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				throw new RuntimeException("Can't convert to a file. " + url, e);
+			}
 		}
 
+		// See if it's a directory and then assume it's an image sequence
+		if (localFile != null && localFile.isDirectory())
+			return new LoadFileImageSequence<>(imageType, localFile.getPath(), null);
+
 		String lowerName = fileName.toLowerCase();
+		boolean isMjpeg = lowerName.endsWith("mjpeg") || lowerName.endsWith("mjpg");
+
+		// Local MJPEG files are read directly from disk instead of being loaded into memory
+		if (isMjpeg && localFile != null)
+			return mjpeg.load(localFile.getPath(), imageType);
 
 		InputStream stream = null;
 		try {
 			stream = url.openStream();
 
 			// Use built in movie readers for these file types
-			if (lowerName.endsWith("mjpeg") || lowerName.endsWith("mjpg")) {
+			if (isMjpeg) {
 				VideoMjpegCodec codec = new VideoMjpegCodec();
 				List<byte[]> data = codec.read(stream);
 				return new JpegByteImageSequence<>(imageType, data, false);
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import org.ddogleg.struct.DogArray_I64;
+import org.ddogleg.struct.DogArray_I8;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Random access reader for MJPEG files. Instead of loading the entire file into memory, the location of each
+ * frame is found by scanning the file for SOI and EOI markers. The index is built lazily, only as far into the
+ * file as has been requested, so opening a multi-gigabyte file is instant. Frames are read using positional
+ * reads on a {@link FileChannel}. A frame which is missing its EOI marker at the end of the file, e.g. a recording
+ * which was cut short, is ignored.
+ *
+ * All functions are synchronized so that a prefetch thread and the user's thread can share a reader.
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFileReader implements Closeable {
+	FileChannel channel;
+	long fileSize;
+
+	// Location of the first byte in each frame and one past the last byte in each frame
+	final DogArray_I64 frameStart = new DogArray_I64();
+	final DogArray_I64 frameEnd = new DogArray_I64();
+
+	// Location in the file that indexing will resume from
+	long scanLocation;
+	// true if the entire file has been indexed
+	boolean indexComplete;
+
+	// Work space for scanning the file
+	final byte[] scanArray = new byte[64*1024];
+	final ByteBuffer scanBuffer = ByteBuffer.wrap(scanArray);
+
+	public MjpegFileReader( File file ) throws IOException {
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		fileSize = channel.size();
+	}
+
+	/**
+	 * Returns true if the frame exists in the file. The file is indexed up to the specified frame if needed.
+	 *
+	 * @param frame Index of the frame
+	 */
+	public synchronized boolean isFrameAvailable( int frame ) throws IOException {
+		if (frame < 0)
+			return false;
+		while (frame >= frameStart.size) {
+			if (!indexNextFrame())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Indexes the whole file and returns the total number of frames. This requires scanning the entire file
+	 * the first time it's called.
+	 */
+	public synchronized int countFrames() throws IOException {
+		while (indexNextFrame()) {}
+		return frameStart.size;
+	}
+
+	/**
+	 * Reads the compressed JPEG data for the specified frame.
+	 *
+	 * @param frame Index of the frame
+	 * @param storage (Output) Storage for the JPEG data. Resized to the frame's size.
+	 */
+	public synchronized void readFrame( int frame, DogArray_I8 storage ) throws IOException {
+		if (!isFrameAvailable(frame))
+			throw new IllegalArgumentException("Frame " + frame + " is past the end of the file");
+
+		long location = frameStart.get(frame);
+		int length = (int)(frameEnd.get(frame) - location);
+		storage.resize(length);
+
+		ByteBuffer buffer = ByteBuffer.wrap(storage.data, 0, length);
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, location + buffer.position());
+			if (read < 0)
+				throw new IOException("Unexpected end of file");
+		}
+	}
+
+	/**
+	 * Finds the next frame in the file and adds it to the index
+	 *
+	 * @return true if a frame was found or false if the end of the file has been reached
+	 */
+	boolean indexNextFrame() throws IOException {
+		if (indexComplete)
+			return false;
+
+		long start = findMarker(scanLocation, VideoMjpegCodec.SOI);
+		long end = start < 0 ? -1 : findMarker(start + 2, VideoMjpegCodec.EOI);
+		if (end < 0) {
+			indexComplete = true;
+			return false;
+		}
+
+		frameStart.add(start);
+		frameEnd.add(end + 2);
+		scanLocation = end + 2;
+		return true;
+	}
+
+	/**
+	 * Searches for 0xFF followed by the marker
+	 *
+	 * @return Location of the 0xFF byte in the marker or -1 if the end of the file was reached.
+	 */
+	long findMarker( long location, byte marker ) throws IOException {
+		boolean foundFF = false;
+		while (location < fileSize) {
+			scanBuffer.clear();
+			int length = channel.read(scanBuffer, location);
+			if (length <= 0)
+				break;
+			for (int i = 0; i < length; i++) {
+				byte b = scanArray[i];
+				if (foundFF && b == marker)
+					return location + i - 1;
+				foundFF = b == (byte)0xFF;
+			}
+			location += length;
+		}
+		return -1;
+	}
+
+	/**
+	 * Number of frames which have been indexed so far
+	 */
+	public synchronized int getIndexedCount() {
+		return frameStart.size;
+	}
+
+	/**
+	 * Returns true if the entire file has been indexed
+	 */
+	public synchronized boolean isIndexComplete() {
+		return indexComplete;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+}
@@ -34,6 +34,9 @@ public class VideoMjpegCodec {
 	// end of image
 	public static final byte EOI = (byte)0xD9;
 
+	/**
+	 * Reads every frame in the stream into memory. For large files use {@link MjpegFileReader} instead.
+	 */
 	public List<byte[]> read( InputStream streamIn ) {
 		// read the whole movie in at once to make it faster
 
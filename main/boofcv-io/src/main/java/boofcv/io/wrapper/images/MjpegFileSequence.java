@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.video.MjpegFileReader;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.DogArray_I8;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads MJPEG files from disk using {@link MjpegFileReader} so that the file is never loaded into memory all at
+ * once. Frames are read and decoded on a background thread while the user processes the current frame. The number
+ * of frames decoded ahead of time is bounded and their memory is recycled, including the {@link BufferedImage}
+ * that the JPEG is decoded into. Because of this the image returned by {@link #getGuiImage()} is only valid
+ * until the next call to {@link #next()}.
+ *
+ * Unlike {@link MjpegStreamSequence} it can seek to any frame, loop, and be reset.
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFileSequence<T extends ImageBase<T>> implements SimpleImageSequence<T> {
+	MjpegFileReader reader;
+	ImageType<T> imageType;
+	T image;
+
+	// Frame which was returned by the most recent call to next()
+	@Nullable Frame current;
+	// Frame which will be returned by the next call to next()
+	@Nullable Frame upcoming;
+
+	// Frames which have been decoded by the prefetch thread
+	final BlockingQueue<Frame> decoded;
+	// Frames which can be used by the prefetch thread
+	final BlockingQueue<Frame> recycled;
+
+	@Nullable Prefetch prefetch;
+
+	// Start over from the first frame when the end is reached
+	boolean loop = false;
+
+	/**
+	 * Creates the sequence and starts decoding at the first frame
+	 *
+	 * @param file The MJPEG file
+	 * @param maxPrefetch Maximum number of frames which will be decoded ahead of time. Must be at least 1.
+	 * @param imageType Type of image it will output
+	 */
+	public MjpegFileSequence( File file, int maxPrefetch, ImageType<T> imageType ) throws IOException {
+		if (maxPrefetch < 1)
+			throw new IllegalArgumentException("maxPrefetch must be at least 1");
+		this.reader = new MjpegFileReader(file);
+		this.imageType = imageType;
+		this.image = imageType.createImage(1, 1);
+
+		// One frame is held as the current frame and one as the upcoming frame
+		int totalFrames = maxPrefetch + 2;
+		decoded = new ArrayBlockingQueue<>(totalFrames);
+		recycled = new ArrayBlockingQueue<>(totalFrames);
+		for (int i = 0; i < totalFrames; i++) {
+			recycled.add(new Frame());
+		}
+
+		startPrefetch(0);
+	}
+
+	public MjpegFileSequence( String fileName, ImageType<T> imageType ) throws IOException {
+		this(new File(fileName), 4, imageType);
+	}
+
+	/**
+	 * Changes the location in the sequence. The next call to {@link #next()} will return the specified frame.
+	 *
+	 * @param frame Index of the frame
+	 * @return true if the frame exists or false if it's past the end of the file
+	 */
+	public boolean seek( int frame ) {
+		if (!isFrameAvailable(frame))
+			return false;
+		stopPrefetch();
+		startPrefetch(frame);
+		return true;
+	}
+
+	/**
+	 * Returns the total number of frames in the file. The first time this is called the entire file is scanned.
+	 */
+	public int getTotalFrames() {
+		try {
+			return reader.countFrames();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public int getWidth() {
+		Frame f = lookUpcoming();
+		return f.end ? image.width : f.image.getWidth();
+	}
+
+	@Override
+	public int getHeight() {
+		Frame f = lookUpcoming();
+		return f.end ? image.height : f.image.getHeight();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !lookUpcoming().end;
+	}
+
+	@Override
+	public T next() {
+		Frame f = lookUpcoming();
+		if (f.end)
+			throw new IllegalStateException("No more frames");
+
+		if (current != null)
+			recycled.add(current);
+		current = f;
+		upcoming = null;
+
+		image.reshape(f.image.getWidth(), f.image.getHeight());
+		ConvertBufferedImage.convertFrom(f.image, image, true);
+		return image;
+	}
+
+	/**
+	 * Returns the frame that will be returned by the next call to next(), blocking until it has been decoded
+	 */
+	Frame lookUpcoming() {
+		if (upcoming != null)
+			return upcoming;
+		if (prefetch == null)
+			throw new IllegalStateException("Sequence has been closed");
+
+		Frame f;
+		try {
+			f = decoded.take();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		// Start over from the beginning if looping and there's at least one frame
+		if (f.end && loop && isFrameAvailable(0)) {
+			recycled.add(f);
+			stopPrefetch();
+			startPrefetch(0);
+			return lookUpcoming();
+		}
+		if (f.exception != null) {
+			Exception e = f.exception;
+			// The prefetch thread has stopped so treat this as the end of the sequence
+			f.exception = null;
+			f.end = true;
+			upcoming = f;
+			if (e instanceof IOException)
+				throw new UncheckedIOException((IOException)e);
+			throw (RuntimeException)e;
+		}
+		upcoming = f;
+		return f;
+	}
+
+	boolean isFrameAvailable( int frame ) {
+		try {
+			return reader.isFrameAvailable(frame);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	void startPrefetch( int frame ) {
+		prefetch = new Prefetch(frame);
+		prefetch.start();
+	}
+
+	/**
+	 * Stops the prefetch thread and recycles all the frames it decoded. The current frame is not modified.
+	 */
+	void stopPrefetch() {
+		if (prefetch == null)
+			return;
+		prefetch.running = false;
+		// The thread is not interrupted since that would close the file channel. It can only block while waiting
+		// for a recycled frame, so keep on recycling frames until it exits
+		try {
+			while (prefetch.isAlive()) {
+				decoded.drainTo(recycled);
+				prefetch.join(5);
+			}
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		decoded.drainTo(recycled);
+		if (upcoming != null) {
+			recycled.add(upcoming);
+			upcoming = null;
+		}
+		prefetch = null;
+	}
+
+	/**
+	 * Decodes the JPEG in the frame. Called from the prefetch thread.
+	 */
+	void decodeFrame( Frame f, ImageReader decoder ) throws IOException {
+		f.decode(decoder);
+	}
+
+	@Override
+	public T getImage() {
+		return image;
+	}
+
+	@Override
+	public BufferedImage getGuiImage() {
+		if (current == null)
+			throw new IllegalStateException("next() has not been called yet");
+		return current.image;
+	}
+
+	@Override
+	public void close() {
+		stopPrefetch();
+		try {
+			reader.close();
+		} catch (IOException ignore) {}
+	}
+
+	@Override
+	public int getFrameNumber() {
+		return current == null ? -1 : current.index;
+	}
+
+	@Override
+	public void setLoop( boolean loop ) {
+		this.loop = loop;
+		// If the end has already been reached then the sequence needs to be restarted
+		if (loop && upcoming != null && upcoming.end)
+			reset();
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	@Override
+	public void reset() {
+		stopPrefetch();
+		startPrefetch(0);
+	}
+
+	/**
+	 * Reads and decodes frames in order until it reaches the end of the file
+	 */
+	class Prefetch extends Thread {
+		volatile boolean running = true;
+		int frame;
+
+		// JPEG decoder which can write into an existing BufferedImage
+		ImageReader decoder;
+
+		Prefetch( int frame ) {
+			super("MjpegPrefetch");
+			setDaemon(true);
+			this.frame = frame;
+			Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+			if (!readers.hasNext())
+				throw new RuntimeException("No JPEG decoder available");
+			decoder = readers.next();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (running) {
+					Frame f = recycled.take();
+					if (!running) {
+						recycled.add(f);
+						break;
+					}
+					try {
+						if (!reader.isFrameAvailable(frame)) {
+							f.end = true;
+							decoded.add(f);
+							break;
+						}
+						reader.readFrame(frame, f.data);
+						decodeFrame(f, decoder);
+						f.index = frame++;
+						f.end = false;
+						decoded.add(f);
+					} catch (IOException | RuntimeException e) {
+						// Let the consumer know that no more frames are coming, otherwise it will wait forever
+						f.exception = e;
+						decoded.add(f);
+						break;
+					}
+				}
+			} catch (InterruptedException ignore) {
+			} finally {
+				decoder.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Storage for a single frame which is recycled
+	 */
+	static class Frame {
+		// Compressed JPEG data
+		final DogArray_I8 data = new DogArray_I8();
+		// Decoded image
+		BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+		// Index of the frame in the file
+		int index;
+		// Marks the end of the sequence
+		boolean end;
+		// Error encountered while reading or decoding this frame. Either an IOException or a RuntimeException
+		@Nullable Exception exception;
+
+		/**
+		 * Decodes the JPEG, writing into the previous image if it's compatible
+		 */
+		void decode( ImageReader decoder ) throws IOException {
+			try {
+				image = decode(decoder, image);
+			} catch (IIOException | IllegalArgumentException e) {
+				// The previous image might not be compatible. Try again and let it declare a new image
+				image = decode(decoder, null);
+			}
+		}
+
+		BufferedImage decode( ImageReader decoder, @Nullable BufferedImage destination ) throws IOException {
+			try (ImageInputStream input = new MemoryCacheImageInputStream(
+					new ByteArrayInputStream(data.data, 0, data.size))) {
+				decoder.setInput(input, true, true);
+				ImageReadParam param = decoder.getDefaultReadParam();
+				if (destination != null && destination.getWidth() == decoder.getWidth(0) &&
+						destination.getHeight() == decoder.getHeight(0)) {
+					param.setDestination(destination);
+				}
+				return decoder.read(0, param);
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.geo;
+
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import boofcv.alg.sfm.structure.PairwiseImageGraph;
+import boofcv.alg.sfm.structure.SceneWorkingGraph;
+import boofcv.testing.BoofStandardJUnit;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestMultiViewBinaryIO extends BoofStandardJUnit {
+	// Used to create random data structures and compare them
+	TestMultiViewIO helper = new TestMultiViewIO();
+
+	@Test void save_load_PairwiseImageGraph() throws IOException {
+		for (boolean compress : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				PairwiseImageGraph expected = helper.createPairwise();
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compress);
+
+				var input = new ByteArrayInputStream(output.toByteArray());
+				PairwiseImageGraph found = MultiViewBinaryIO.load(Channels.newChannel(input), (PairwiseImageGraph)null);
+				helper.checkIdentical(expected, found);
+			}
+		}
+	}
+
+	@Test void save_load_SceneWorkingGraph() throws IOException {
+		for (boolean compress : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				PairwiseImageGraph pairwise = helper.createPairwise();
+				SceneWorkingGraph expected = helper.createWorkingGraph(pairwise);
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compress);
+
+				var input = new ByteArrayInputStream(output.toByteArray());
+				SceneWorkingGraph found = MultiViewBinaryIO.load(Channels.newChannel(input), pairwise, null);
+				helper.checkIdentical(expected, found);
+			}
+		}
+	}
+
+	@Test void save_load_SceneStructureMetric() throws IOException {
+		for (boolean compress : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				SceneStructureMetric expected = helper.createSceneStructureMetric();
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compress);
+
+				var input = new ByteArrayInputStream(output.toByteArray());
+				SceneStructureMetric found = MultiViewBinaryIO.load(Channels.newChannel(input), (SceneStructureMetric)null);
+				assertTrue(expected.isIdentical(found, UtilEjml.TEST_F64));
+			}
+		}
+	}
+
+	/**
+	 * Save and load using a file
+	 */
+	@Test void save_load_file() throws IOException {
+		File file = File.createTempFile("pairwise", ".bin");
+		try {
+			PairwiseImageGraph expected = helper.createPairwise();
+			MultiViewBinaryIO.save(expected, file.getPath(), true);
+			helper.checkIdentical(expected, MultiViewBinaryIO.load(file.getPath(), (PairwiseImageGraph)null));
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * Loading the wrong type of data should fail
+	 */
+	@Test void wrongType() throws IOException {
+		var output = new ByteArrayOutputStream();
+		MultiViewBinaryIO.save(helper.createPairwise(), Channels.newChannel(output), false);
+
+		var input = new ByteArrayInputStream(output.toByteArray());
+		assertThrows(IOException.class, () ->
+				MultiViewBinaryIO.load(Channels.newChannel(input), (SceneStructureMetric)null));
+	}
+
+	/**
+	 * A file which has been cut short should fail instead of returning partial data
+	 */
+	@Test void truncated() throws IOException {
+		var output = new ByteArrayOutputStream();
+		MultiViewBinaryIO.save(helper.createSceneStructureMetric(), Channels.newChannel(output), false);
+		byte[] data = output.toByteArray();
+
+		var input = new ByteArrayInputStream(data, 0, data.length - 5);
+		assertThrows(IOException.class, () ->
+				MultiViewBinaryIO.load(Channels.newChannel(input), (SceneStructureMetric)null));
+	}
+}
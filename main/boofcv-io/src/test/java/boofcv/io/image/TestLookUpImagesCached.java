@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.LookUpImages;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLookUpImagesCached extends BoofStandardJUnit {
+	List<GrayU8> images = new ArrayList<>();
+	CountingLookUp source;
+
+	public TestLookUpImagesCached() {
+		for (int i = 0; i < 4; i++) {
+			var image = new GrayU8(10 + i, 5);
+			ImageMiscOps.fillUniform(image, rand, 0, 200);
+			images.add(image);
+		}
+		source = new CountingLookUp(new LookUpImagesByIndex<>(images));
+	}
+
+	@Test void loadShape() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		var found = new ImageDimension();
+		for (int trial = 0; trial < 2; trial++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(alg.loadShape("" + i, found));
+				assertEquals(10 + i, found.width);
+				assertEquals(5, found.height);
+			}
+		}
+		assertEquals(4, source.shapeCalls);
+	}
+
+	@Test void loadImage_hitAndMiss() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		var found = new GrayU8(1, 1);
+
+		assertTrue(alg.loadImage("1", found));
+		assertTrue(alg.loadImage("1", found));
+		assertEquals(1, source.imageCalls);
+		assertEquals(1, alg.getHits());
+		assertEquals(1, alg.getMisses());
+		assertEquals(0.5, alg.getHitRate(), 1e-8);
+
+		// make sure it's a copy and not the cached instance
+		found.set(0, 0, 255);
+		var again = new GrayU8(1, 1);
+		alg.loadImage("1", again);
+		assertEquals(images.get(1).get(0, 0), again.get(0, 0));
+		assertEquals(images.get(1).get(5, 2), again.get(5, 2));
+
+		// unknown image
+		assertFalse(alg.loadImage("10", found));
+		assertEquals(1, alg.getCachedCount());
+	}
+
+	/**
+	 * The least recently used image should be discarded first
+	 */
+	@Test void evictLeastRecentlyUsed() {
+		// Budget is enough for two of the 10x5 to 13x5 images
+		var alg = new LookUpImagesCached(source, 2*13*5);
+		var found = new GrayU8(1, 1);
+
+		alg.loadImage("0", found);
+		alg.loadImage("1", found);
+		alg.loadImage("0", found);
+		alg.loadImage("2", found);
+		assertEquals(3, source.imageCalls);
+		assertEquals(1, alg.getEvictions());
+		assertTrue(alg.getCachedBytes() <= alg.getMaxBytes());
+
+		// "1" was discarded and "0" should still be there
+		alg.loadImage("0", found);
+		assertEquals(3, source.imageCalls);
+		alg.loadImage("1", found);
+		assertEquals(4, source.imageCalls);
+	}
+
+	/**
+	 * Images larger than the budget are never cached
+	 */
+	@Test void tooLarge() {
+		var alg = new LookUpImagesCached(source, 10);
+		var found = new GrayU8(1, 1);
+		alg.loadImage("0", found);
+		alg.loadImage("0", found);
+		assertEquals(2, source.imageCalls);
+		assertEquals(0, alg.getCachedBytes());
+	}
+
+	/**
+	 * A different image type should be created from the cached copy
+	 */
+	@Test void convertCached() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		alg.loadImage("2", new GrayU8(1, 1));
+
+		var found = new GrayF32(1, 1);
+		assertTrue(alg.loadImage("2", found));
+		assertEquals(1, source.imageCalls);
+		assertEquals(1, alg.getConversions());
+		assertEquals(12, found.width);
+		assertEquals(images.get(2).get(3, 4), found.get(3, 4), 1e-4f);
+
+		// Gray images can't be converted into color without losing information
+		alg.loadImage("2", new Planar<>(GrayU8.class, 1, 1, 3));
+		assertEquals(2, source.imageCalls);
+	}
+
+	/**
+	 * Converting a cached multi-band image requires the bands to be copied over too
+	 */
+	@Test void convertCached_planar() {
+		List<Planar<GrayU8>> colorImages = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			var image = new Planar<>(GrayU8.class, 10 + i, 5, 3);
+			GImageMiscOps.fillUniform(image, rand, 0, 200);
+			colorImages.add(image);
+		}
+		var colorSource = new CountingLookUp(new LookUpImagesByIndex<>(colorImages));
+		var alg = new LookUpImagesCached(colorSource, 10_000);
+		alg.loadImage("1", new Planar<>(GrayU8.class, 1, 1, 3));
+
+		var found = new Planar<>(GrayF32.class, 1, 1, 3);
+		assertTrue(alg.loadImage("1", found));
+		assertEquals(1, colorSource.imageCalls);
+		assertEquals(1, alg.getConversions());
+		assertEquals(11, found.width);
+		assertEquals(5, found.height);
+		assertEquals(3, found.getNumBands());
+		for (int band = 0; band < 3; band++) {
+			assertEquals(colorImages.get(1).getBand(band).get(3, 4), found.getBand(band).get(3, 4), 1e-4f);
+		}
+	}
+
+	@Test void setMaxBytes() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		var found = new GrayU8(1, 1);
+		for (int i = 0; i < 4; i++) {
+			alg.loadImage("" + i, found);
+		}
+		assertEquals(4, alg.getCachedCount());
+		alg.setMaxBytes(13*5);
+		assertEquals(1, alg.getCachedCount());
+		assertTrue(alg.getCachedBytes() <= 13*5);
+	}
+
+	@Test void prefetch() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		List<String> names = List.of("0", "1", "2");
+		alg.prefetch(names, ImageType.SB_U8);
+
+		var found = new GrayU8(1, 1);
+		for (int i = 0; i < names.size(); i++) {
+			assertTrue(alg.loadImage(names.get(i), found));
+			assertEquals(10 + i, found.width);
+		}
+		alg.close();
+
+		// Requests should either wait for the prefetch or load it directly but never both
+		assertEquals(3, source.imageCalls);
+		assertEquals(3, alg.getCachedCount());
+	}
+
+	@Test void resetStatistics() {
+		var alg = new LookUpImagesCached(source, 10_000);
+		alg.loadImage("0", new GrayU8(1, 1));
+		alg.resetStatistics();
+		assertEquals(0, alg.getMisses());
+		assertEquals(0, alg.getDecodes());
+		assertEquals(0.0, alg.getDecodeTimeMS());
+		assertEquals(0.0, alg.getHitRate());
+	}
+
+	static class CountingLookUp implements LookUpImages {
+		LookUpImages source;
+		int shapeCalls, imageCalls;
+
+		CountingLookUp( LookUpImages source ) {this.source = source;}
+
+		@Override public boolean loadShape( String name, ImageDimension shape ) {
+			shapeCalls++;
+			return source.loadShape(name, shape);
+		}
+
+		@Override public <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
+			imageCalls++;
+			return source.loadImage(name, output);
+		}
+	}
+}
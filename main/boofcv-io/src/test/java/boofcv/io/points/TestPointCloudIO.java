@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -19,7 +19,9 @@
 package boofcv.io.points;
 
 import boofcv.alg.cloud.PointCloudReader;
+import boofcv.alg.cloud.PointCloudWriter;
 import boofcv.io.points.PointCloudIO.Format;
+import boofcv.io.points.impl.PlyCodec;
 import boofcv.testing.BoofStandardJUnit;
 import georegression.struct.point.Point3D_F32;
 import georegression.struct.point.Point3D_F64;
@@ -27,14 +29,12 @@ import org.ddogleg.struct.DogArray;
 import org.ejml.UtilEjml;
 import org.junit.jupiter.api.Test;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -89,4 +89,42 @@ class TestPointCloudIO extends BoofStandardJUnit {
 			}
 		}
 	}
+
+	/**
+	 * Load from a file directly into arrays. Binary files are memory mapped while ASCII files are streamed.
+	 */
+	@Test
+	void load3DArraysF32_file() throws IOException {
+		List<Point3D_F64> expected = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			expected.add(new Point3D_F64(i*123.45, i - 1.01, i + 2.34));
+		}
+
+		for (boolean binary : new boolean[]{true, false}) {
+			File file = File.createTempFile("cloud", ".ply");
+			try {
+				if (binary) {
+					try (var output = new FileOutputStream(file)) {
+						PointCloudIO.save3D(Format.PLY, PointCloudReader.wrapF64(expected), false, output);
+					}
+				} else {
+					try (var output = new FileWriter(file)) {
+						PlyCodec.saveAscii(PointCloudReader.wrapF64(expected), false, output);
+					}
+				}
+
+				PointCloudWriter.CloudArraysF32 found = PointCloudIO.load3DArraysF32(Format.PLY, file, null);
+				assertEquals(expected.size()*3, found.cloudXyz.size);
+				assertEquals(0, found.cloudRgb.size);
+				for (int i = 0; i < expected.size(); i++) {
+					Point3D_F64 e = expected.get(i);
+					assertEquals(e.x, found.cloudXyz.get(i*3), UtilEjml.TEST_F32*e.norm());
+					assertEquals(e.y, found.cloudXyz.get(i*3 + 1), UtilEjml.TEST_F32*e.norm());
+					assertEquals(e.z, found.cloudXyz.get(i*3 + 2), UtilEjml.TEST_F32*e.norm());
+				}
+			} finally {
+				assertTrue(file.delete());
+			}
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -136,4 +136,26 @@ class TestPlyCodec extends BoofStandardJUnit {
 		}
 	}
 
+	/**
+	 * The byte order specified in the header must match the data
+	 */
+	@Test
+	void encode_decode_binary_littleEndian() throws IOException {
+		List<Point3D_F64> expected = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			expected.add(new Point3D_F64(i*123.45, i - 1.01, i + 2.34));
+		}
+
+		DogArray<Point3D_F64> found = new DogArray<>(Point3D_F64::new);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PlyCodec.saveBinary(PointCloudReader.wrapF64(expected), ByteOrder.LITTLE_ENDIAN, false, false, output);
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		PlyCodec.read(input, PointCloudWriter.wrapF64(found));
+
+		assertEquals(expected.size(), found.size);
+		for (int i = 0; i < found.size; i++) {
+			assertEquals(0.0, found.get(i).distance(expected.get(i)), UtilEjml.TEST_F64);
+		}
+	}
 }
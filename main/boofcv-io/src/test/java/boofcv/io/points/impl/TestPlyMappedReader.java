@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudReader;
+import boofcv.alg.cloud.PointCloudWriter;
+import boofcv.struct.Point3dRgbI_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
+import org.ejml.UtilEjml;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPlyMappedReader extends BoofStandardJUnit {
+	List<Point3dRgbI_F64> expected = createCloud(503);
+
+	/**
+	 * Read in the entire cloud with every supported encoding
+	 */
+	@Test
+	void readAll() throws IOException {
+		for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+			for (boolean saveRgb : new boolean[]{true, false}) {
+				for (boolean asFloat : new boolean[]{true, false}) {
+					File file = save(order, saveRgb, asFloat);
+					try (var alg = new PlyMappedReader(file)) {
+						assertEquals(expected.size(), alg.size());
+						assertEquals(saveRgb, alg.isRgb());
+
+						var xyz = new DogArray_F32();
+						var rgb = new DogArray_I32();
+						alg.readAll(xyz, saveRgb ? rgb : null);
+						assertEquals(expected.size()*3, xyz.size);
+						checkPoints(xyz.data, saveRgb ? rgb.data : null, 0, expected.size());
+					} finally {
+						assertTrue(file.delete());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Make the window much smaller than the cloud so that reads need to span multiple windows
+	 */
+	@Test
+	void read_SmallWindow() throws IOException {
+		File file = save(ByteOrder.BIG_ENDIAN, true, false);
+		try (var alg = new PlyMappedReader(file, 27*10)) {
+			var xyz = new double[3*95];
+			var rgb = new int[95];
+			alg.read(201, 95, xyz, rgb);
+			for (int i = 0; i < 95; i++) {
+				Point3dRgbI_F64 e = expected.get(201 + i);
+				assertEquals(e.x, xyz[i*3], UtilEjml.TEST_F64);
+				assertEquals(e.y, xyz[i*3 + 1], UtilEjml.TEST_F64);
+				assertEquals(e.z, xyz[i*3 + 2], UtilEjml.TEST_F64);
+				assertEquals(e.rgb, rgb[i]);
+			}
+
+			// Go backwards to a location before the current window
+			var xyzF = new float[3*2];
+			alg.read(3, 2, xyzF, null);
+			checkPoints(xyzF, null, 3, 2);
+
+			// Out of bounds requests
+			assertThrows(IllegalArgumentException.class, () -> alg.read(500, 4, xyz, rgb));
+			assertThrows(IllegalArgumentException.class, () -> alg.read(-1, 4, xyz, rgb));
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	void chunks() throws IOException {
+		File file = save(ByteOrder.LITTLE_ENDIAN, true, true);
+		try (var alg = new PlyMappedReader(file)) {
+			Iterator<PlyMappedReader.Chunk> iterator = alg.chunks(100);
+			int total = 0;
+			while (iterator.hasNext()) {
+				PlyMappedReader.Chunk chunk = iterator.next();
+				assertEquals(total, chunk.first);
+				assertEquals(Math.min(100, expected.size() - total), chunk.size);
+				assertEquals(chunk.size, chunk.rgb.size);
+				checkPoints(chunk.xyz.data, chunk.rgb.data, chunk.first, chunk.size);
+				total += chunk.size;
+			}
+			assertEquals(expected.size(), total);
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	void read_PointCloudWriter() throws IOException {
+		File file = save(ByteOrder.BIG_ENDIAN, true, true);
+		try (var alg = new PlyMappedReader(file)) {
+			var found = new PointCloudWriter.CloudArraysF32();
+			alg.read(found);
+			assertEquals(expected.size(), found.cloudRgb.size);
+			checkPoints(found.cloudXyz.data, found.cloudRgb.data, 0, expected.size());
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * ASCII files can't be memory mapped
+	 */
+	@Test
+	void ascii() throws IOException {
+		File file = File.createTempFile("cloud", ".ply");
+		try (var writer = new FileWriter(file)) {
+			PlyCodec.saveAscii(PointCloudReader.wrapF64RGB(expected), true, writer);
+		}
+
+		try {
+			assertFalse(PlyMappedReader.isBinary(file));
+			assertThrows(IOException.class, () -> new PlyMappedReader(file));
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	void checkPoints( float[] xyz, @Nullable int[] rgb, int first, int count ) {
+		for (int i = 0; i < count; i++) {
+			Point3dRgbI_F64 e = expected.get(first + i);
+			assertEquals(e.x, xyz[i*3], UtilEjml.TEST_F32);
+			assertEquals(e.y, xyz[i*3 + 1], UtilEjml.TEST_F32);
+			assertEquals(e.z, xyz[i*3 + 2], UtilEjml.TEST_F32);
+			if (rgb != null)
+				assertEquals(e.rgb, rgb[i]);
+		}
+	}
+
+	File save( ByteOrder order, boolean saveRgb, boolean asFloat ) throws IOException {
+		File file = File.createTempFile("cloud", ".ply");
+		try (var output = new BufferedOutputStream(new FileOutputStream(file))) {
+			PlyCodec.saveBinary(PointCloudReader.wrapF64RGB(expected), order, saveRgb, asFloat, output);
+		}
+		return file;
+	}
+
+	List<Point3dRgbI_F64> createCloud( int count ) {
+		List<Point3dRgbI_F64> cloud = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int rgb = rand.nextInt() & 0xFFFFFF;
+			cloud.add(new Point3dRgbI_F64(rand.nextGaussian(), rand.nextGaussian(), 10*rand.nextGaussian(), rgb));
+		}
+		return cloud;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.points.impl;
+
+import boofcv.alg.cloud.PointCloudReader;
+import boofcv.alg.cloud.PointCloudWriter;
+import boofcv.struct.Point3dRgbI_F64;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point3D_F64;
+import org.ddogleg.struct.DogArray;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPlyStreamWriter extends BoofStandardJUnit {
+	/**
+	 * Write the cloud in several chunks and read it back in with the regular reader
+	 */
+	@Test
+	void appendChunks() throws IOException {
+		List<Point3dRgbI_F64> expected = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			int rgb = rand.nextInt() & 0xFFFFFF;
+			expected.add(new Point3dRgbI_F64(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian(), rgb));
+		}
+
+		for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+			for (boolean asFloat : new boolean[]{true, false}) {
+				File file = File.createTempFile("cloud", ".ply");
+				// Small buffer to force it to flush several times
+				try (var alg = new PlyStreamWriter(file, order, true, asFloat, 100)) {
+					PointCloudReader reader = PointCloudReader.wrapF64RGB(expected);
+					alg.append(reader, 0, 10);
+					alg.append(reader, 10, 11);
+					alg.append(reader, 11, 250);
+					assertEquals(250, alg.getCount());
+				}
+
+				var found = new DogArray<>(Point3dRgbI_F64::new);
+				try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+					PlyCodec.read(input, PointCloudWriter.wrapF64RGB(found));
+				} finally {
+					assertTrue(file.delete());
+				}
+
+				assertEquals(expected.size(), found.size);
+				double tol = asFloat ? UtilEjml.TEST_F32 : UtilEjml.TEST_F64;
+				for (int i = 0; i < found.size; i++) {
+					assertEquals(0.0, found.get(i).distance(expected.get(i)), tol);
+					assertEquals(expected.get(i).rgb, found.get(i).rgb);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A file which has no points should still be valid
+	 */
+	@Test
+	void empty() throws IOException {
+		File file = File.createTempFile("cloud", ".ply");
+		new PlyStreamWriter(file, ByteOrder.BIG_ENDIAN, false, true).close();
+
+		var found = new DogArray<>(Point3D_F64::new);
+		try (InputStream input = new FileInputStream(file)) {
+			PlyCodec.read(input, PointCloudWriter.wrapF64(found));
+		} finally {
+			assertTrue(file.delete());
+		}
+		assertEquals(0, found.size);
+	}
+}
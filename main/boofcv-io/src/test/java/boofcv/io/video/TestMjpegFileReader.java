@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_I8;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMjpegFileReader extends BoofStandardJUnit {
+	/**
+	 * Read each frame and see if it's identical to the JPEG that was written
+	 */
+	@Test
+	void readFrame() throws IOException {
+		List<byte[]> jpegs = createJpegs(5, rand);
+		File file = createMjpeg(jpegs, false);
+
+		try (var alg = new MjpegFileReader(file)) {
+			var storage = new DogArray_I8();
+			// read out of order to make sure the index is built correctly
+			for (int frame : new int[]{2, 0, 4, 1, 3}) {
+				alg.readFrame(frame, storage);
+				assertArrayEquals(jpegs.get(frame), storage.toArray());
+			}
+			assertFalse(alg.isFrameAvailable(5));
+			assertThrows(IllegalArgumentException.class, () -> alg.readFrame(5, storage));
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * The file should only be indexed as far as has been requested
+	 */
+	@Test
+	void lazyIndex() throws IOException {
+		File file = createMjpeg(createJpegs(6, rand), false);
+
+		try (var alg = new MjpegFileReader(file)) {
+			assertEquals(0, alg.getIndexedCount());
+			assertTrue(alg.isFrameAvailable(2));
+			assertEquals(3, alg.getIndexedCount());
+			assertFalse(alg.isIndexComplete());
+			assertEquals(6, alg.countFrames());
+			assertTrue(alg.isIndexComplete());
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * A frame without an end of image marker should be ignored
+	 */
+	@Test
+	void truncatedLastFrame() throws IOException {
+		File file = createMjpeg(createJpegs(3, rand), true);
+
+		try (var alg = new MjpegFileReader(file)) {
+			assertEquals(3, alg.countFrames());
+		} finally {
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * Creates JPEG images with random content and different sizes
+	 */
+	public static List<byte[]> createJpegs( int count, Random rand ) throws IOException {
+		List<byte[]> jpegs = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			var image = new BufferedImage(30 + i, 20 + i%2, BufferedImage.TYPE_INT_RGB);
+			for (int y = 0; y < image.getHeight(); y++) {
+				for (int x = 0; x < image.getWidth(); x++) {
+					image.setRGB(x, y, rand.nextInt());
+				}
+			}
+			var bytes = new ByteArrayOutputStream();
+			ImageIO.write(image, "jpg", bytes);
+			jpegs.add(bytes.toByteArray());
+		}
+		return jpegs;
+	}
+
+	/**
+	 * Writes the JPEGs to a temporary MJPEG file with junk data between frames
+	 *
+	 * @param truncated If true, a frame that's missing its end will be added
+	 */
+	public static File createMjpeg( List<byte[]> jpegs, boolean truncated ) throws IOException {
+		File file = File.createTempFile("video", ".mjpeg");
+		try (var out = new FileOutputStream(file)) {
+			for (byte[] jpeg : jpegs) {
+				out.write(new byte[]{1, 2, (byte)0xFF, 3});
+				out.write(jpeg);
+			}
+			if (truncated && !jpegs.isEmpty()) {
+				byte[] jpeg = jpegs.get(0);
+				out.write(Arrays.copyOf(jpeg, jpeg.length/2));
+			}
+		}
+		return file;
+	}
+}
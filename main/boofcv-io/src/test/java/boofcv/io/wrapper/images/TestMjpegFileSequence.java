@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.BoofTesting;
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static boofcv.io.video.TestMjpegFileReader.createJpegs;
+import static boofcv.io.video.TestMjpegFileReader.createMjpeg;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestMjpegFileSequence extends BoofStandardJUnit {
+	ImageType<InterleavedU8> imageType = ImageType.il(3, InterleavedU8.class);
+
+	/**
+	 * Compare every frame against the same image decoded by ImageIO
+	 */
+	@Test
+	void readAll() throws IOException {
+		List<InterleavedU8> expected = new ArrayList<>();
+		File file = createFile(7, expected);
+
+		var alg = new MjpegFileSequence<>(file, 2, imageType);
+		try {
+			for (int i = 0; i < expected.size(); i++) {
+				assertTrue(alg.hasNext());
+				assertEquals(expected.get(i).width, alg.getWidth());
+				InterleavedU8 found = alg.next();
+				assertEquals(i, alg.getFrameNumber());
+				BoofTesting.assertEquals(expected.get(i), found, 0);
+				BufferedImage gui = alg.getGuiImage();
+				assertEquals(found.width, gui.getWidth());
+			}
+			assertFalse(alg.hasNext());
+			assertEquals(expected.size(), alg.getTotalFrames());
+		} finally {
+			alg.close();
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	void seek() throws IOException {
+		List<InterleavedU8> expected = new ArrayList<>();
+		File file = createFile(6, expected);
+
+		var alg = new MjpegFileSequence<>(file, 3, imageType);
+		try {
+			alg.next();
+			for (int frame : new int[]{4, 1, 5, 0}) {
+				assertTrue(alg.seek(frame));
+				BoofTesting.assertEquals(expected.get(frame), alg.next(), 0);
+				assertEquals(frame, alg.getFrameNumber());
+			}
+			// the frame after the one it jumped to should be read next
+			BoofTesting.assertEquals(expected.get(1), alg.next(), 0);
+			assertFalse(alg.seek(6));
+
+			alg.reset();
+			BoofTesting.assertEquals(expected.get(0), alg.next(), 0);
+		} finally {
+			alg.close();
+			assertTrue(file.delete());
+		}
+	}
+
+	@Test
+	void loop() throws IOException {
+		List<InterleavedU8> expected = new ArrayList<>();
+		File file = createFile(3, expected);
+
+		var alg = new MjpegFileSequence<>(file, 1, imageType);
+		try {
+			alg.setLoop(true);
+			for (int i = 0; i < 8; i++) {
+				assertTrue(alg.hasNext());
+				BoofTesting.assertEquals(expected.get(i%3), alg.next(), 0);
+			}
+		} finally {
+			alg.close();
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * A frame which can't be decoded should cause an exception when it's reached and then end the sequence
+	 */
+	@Test
+	void corruptFrame() throws IOException {
+		List<byte[]> jpegs = createJpegs(4, rand);
+		// Replace everything between the start and end markers with junk
+		byte[] corrupt = jpegs.get(2);
+		for (int i = 2; i < corrupt.length - 2; i++) {
+			corrupt[i] = (byte)rand.nextInt(0xFF);
+		}
+		File file = createMjpeg(jpegs, false);
+
+		var alg = new MjpegFileSequence<>(file, 2, imageType);
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+				alg.next();
+				alg.next();
+				assertThrows(RuntimeException.class, alg::hasNext);
+				assertFalse(alg.hasNext());
+				assertEquals(1, alg.getFrameNumber());
+			});
+		} finally {
+			alg.close();
+			assertTrue(file.delete());
+		}
+	}
+
+	/**
+	 * If decoding fails with a RuntimeException the same exception should be thrown to the user instead of the
+	 * sequence waiting forever for the frame
+	 */
+	@Test
+	void decodeRuntimeException() throws IOException {
+		List<InterleavedU8> expected = new ArrayList<>();
+		File file = createFile(4, expected);
+
+		var alg = new MjpegFileSequence<>(file, 2, imageType) {
+			@Override void decodeFrame( Frame f, ImageReader decoder ) throws IOException {
+				super.decodeFrame(f, decoder);
+				// The second frame is the only one which is 31 pixels wide
+				if (f.image.getWidth() == 31)
+					throw new IllegalStateException("Bad frame");
+			}
+		};
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+				BoofTesting.assertEquals(expected.get(0), alg.next(), 0);
+				IllegalStateException e = assertThrows(IllegalStateException.class, alg::next);
+				assertEquals("Bad frame", e.getMessage());
+				assertFalse(alg.hasNext());
+			});
+		} finally {
+			alg.close();
+			assertTrue(file.delete());
+		}
+	}
+
+	private File createFile( int numFrames, List<InterleavedU8> expected ) throws IOException {
+		List<byte[]> jpegs = createJpegs(numFrames, rand);
+		for (byte[] jpeg : jpegs) {
+			BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+			expected.add(ConvertBufferedImage.convertFrom(decoded, true, imageType));
+		}
+		return createMjpeg(jpegs, false);
+	}
+}
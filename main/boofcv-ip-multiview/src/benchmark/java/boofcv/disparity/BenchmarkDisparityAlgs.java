@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.disparity;
+
+import boofcv.abst.filter.FilterImageInterface;
+import boofcv.alg.disparity.sgm.SgmDisparityCost;
+import boofcv.alg.disparity.sgm.SgmStereoDisparity;
+import boofcv.alg.disparity.sgm.cost.SgmCostHamming;
+import boofcv.alg.disparity.sgm.cost.SgmMutualInformation_U8;
+import boofcv.alg.disparity.sgm.cost.StereoMutualInformation;
+import boofcv.alg.disparity.sgm.cost.StereoMutualInformation_MT;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.disparity.ConfigDisparitySGM;
+import boofcv.factory.disparity.DisparitySgmError;
+import boofcv.factory.disparity.FactoryStereoDisparityAlgs;
+import boofcv.factory.transform.census.CensusVariants;
+import boofcv.factory.transform.census.FactoryCensusTransform;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.Planar;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the different stages in SGM and how well they scale with the number of threads.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDisparityAlgs {
+	@Param({"1", "2", "4", "8", "16", "32"})
+	public int threads;
+
+	@Param({"1000"})
+	public int size;
+
+	@Param({"128"})
+	public int disparityRange;
+
+	GrayU8 left = new GrayU8(1, 1);
+	GrayU8 right = new GrayU8(1, 1);
+	GrayU8 disparity = new GrayU8(1, 1);
+	GrayS32 censusLeft = new GrayS32(1, 1);
+	GrayS32 censusRight = new GrayS32(1, 1);
+
+	Planar<GrayU16> costYXD = new Planar<>(GrayU16.class, 1, 1, 1);
+
+	StereoMutualInformation stereoMI;
+	SgmCostHamming<GrayS32> costCensus = new SgmCostHamming.S32();
+	SgmMutualInformation_U8 costMI;
+
+	SgmStereoDisparity<GrayU8, ?> sgmCensus;
+	SgmStereoDisparity<GrayU8, ?> sgmHmi;
+
+	@Setup public void setup() {
+		BoofConcurrency.setMaxThreads(threads);
+		Random rand = new Random(234);
+
+		left.reshape(size, size);
+		right.reshape(size, size);
+		disparity.reshape(size, size);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+		// Disparity can't go outside the right image, so it's limited by the x-coordinate
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				disparity.unsafe_set(x, y, rand.nextInt(Math.min(x, disparityRange - 1) + 1));
+			}
+		}
+
+		FilterImageInterface<GrayU8, GrayS32> census =
+				FactoryCensusTransform.variant(CensusVariants.BLOCK_5_5, true, GrayU8.class);
+		census.process(left, censusLeft);
+		census.process(right, censusRight);
+
+		stereoMI = threads > 1 ? new StereoMutualInformation_MT() : new StereoMutualInformation();
+		stereoMI.process(left, right, 0, disparity, disparityRange);
+		stereoMI.precomputeScaledCost(SgmDisparityCost.MAX_COST);
+		costMI = new SgmMutualInformation_U8(stereoMI);
+
+		costCensus.configure(0, disparityRange);
+		costMI.configure(0, disparityRange);
+
+		ConfigDisparitySGM config = new ConfigDisparitySGM();
+		config.disparityRange = disparityRange;
+		config.useBlocks = false;
+		config.errorType = DisparitySgmError.CENSUS;
+		sgmCensus = FactoryStereoDisparityAlgs.createSgm(config);
+		config.errorType = DisparitySgmError.MUTUAL_INFORMATION;
+		sgmHmi = FactoryStereoDisparityAlgs.createSgm(config);
+	}
+
+	@Benchmark public void costCensus() {
+		costCensus.process(censusLeft, censusRight, costYXD);
+	}
+
+	@Benchmark public void costMutualInformation() {
+		costMI.process(left, right, costYXD);
+	}
+
+	@Benchmark public void updateMutualInformation() {
+		stereoMI.process(left, right, 0, disparity, disparityRange);
+		stereoMI.precomputeScaledCost(SgmDisparityCost.MAX_COST);
+	}
+
+	@Benchmark public void sgmCensus() {
+		sgmCensus.process(left, right);
+	}
+
+	@Benchmark public void sgmHmi() {
+		sgmHmi.process(left, right);
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkDisparityAlgs.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
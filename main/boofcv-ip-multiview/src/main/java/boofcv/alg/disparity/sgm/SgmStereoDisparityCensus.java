@@ -61,16 +61,8 @@ public class SgmStereoDisparityCensus<T extends ImageBase<T>, C extends ImageGra
 
 		disparity.reshape(left);
 		helper.configure(left.width, disparityMin, disparityRange);
-		sgmCost.configure(disparityMin, disparityRange);
-		aggregation.configure(disparityMin);
 
-		// Compute the cost using mutual information
-		sgmCost.process(cleft, cright, costYXD);
-		// Aggregate the cost along all the paths
-		aggregation.process(costYXD);
-
-		// Select the best disparity for each pixel given the cost
-		selector.setDisparityMin(disparityMin);
-		selector.select(costYXD, aggregation.getAggregated(), disparity);
+		// Compute the cost, aggregate it, then select the best disparity for each pixel
+		computeDisparity(cleft, cright, disparityMin, disparityRange, true);
 	}
 }
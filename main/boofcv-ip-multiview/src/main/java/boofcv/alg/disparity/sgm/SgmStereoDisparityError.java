@@ -43,16 +43,8 @@ public class SgmStereoDisparityError<T extends ImageBase<T>>
 		InputSanityCheck.checkSameShape(left, right);
 		disparity.reshape(left);
 		helper.configure(left.width, disparityMin, disparityRange);
-		sgmCost.configure(disparityMin, disparityRange);
-		aggregation.configure(disparityMin);
 
-		// Compute the cost using mutual information
-		sgmCost.process(left, right, costYXD);
-		// Aggregate the cost along all the paths
-		aggregation.process(costYXD);
-
-		// Select the best disparity for each pixel given the cost
-		selector.setDisparityMin(disparityMin);
-		selector.select(costYXD, aggregation.getAggregated(), disparity);
+		// Compute the cost, aggregate it, then select the best disparity for each pixel
+		computeDisparity(left, right, disparityMin, disparityRange, true);
 	}
 }
@@ -138,12 +138,8 @@ public class SgmStereoDisparityHmi extends SgmStereoDisparityError<GrayU8> {
 				selector.setTextureThreshold(textureThreshold);
 				selector.setRightToLeftTolerance(tol_R_to_L);
 			}
-			sgmCost.configure(levelDisparityMin, levelDisparityRange);
-			aggregation.configure(levelDisparityMin);
-			sgmCost.process(levelLeft, levelRight, costYXD);
-			aggregation.process(costYXD);
-			selector.setDisparityMin(levelDisparityMin); // todo move to function below
-			selector.select(costYXD, aggregation.getAggregated(), disparity);
+			computeDisparity(levelLeft, levelRight, levelDisparityMin, levelDisparityRange,
+					level == 0 && extraIterations == 0);
 
 			if (level > 0) {
 				int invalid = selector.getInvalidDisparity();
@@ -155,12 +151,7 @@ public class SgmStereoDisparityHmi extends SgmStereoDisparityError<GrayU8> {
 		for (int i = 0; i < extraIterations; i++) {
 			stereoMI.process(left, right, disparityMin, disparity, selector.getInvalidDisparity());
 			stereoMI.precomputeScaledCost(SgmDisparityCost.MAX_COST);
-			sgmCost.configure(disparityMin, disparityRange);
-			aggregation.configure(disparityMin);
-			sgmCost.process(left, right, costYXD);
-			aggregation.process(costYXD);
-			selector.setDisparityMin(disparityMin);
-			selector.select(costYXD, aggregation.getAggregated(), disparity);
+			computeDisparity(left, right, disparityMin, disparityRange, i == extraIterations - 1);
 		}
 	}
 
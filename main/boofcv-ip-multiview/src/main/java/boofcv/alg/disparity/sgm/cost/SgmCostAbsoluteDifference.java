@@ -19,6 +19,7 @@
 package boofcv.alg.disparity.sgm.cost;
 
 import boofcv.alg.disparity.sgm.SgmDisparityCost;
+import boofcv.struct.image.GrayU16;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 
@@ -30,7 +31,7 @@ import boofcv.struct.image.ImageBase;
 public abstract class SgmCostAbsoluteDifference<T extends ImageBase<T>> extends SgmCostBase<T> {
 	public static class U8 extends SgmCostAbsoluteDifference<GrayU8> {
 		@Override
-		protected void computeDisparityErrors( int idxLeft, int idxRight, int idxOut, int disparityRange ) {
+		protected void computeDisparityErrors( int idxLeft, int idxRight, int idxOut, int disparityRange, GrayU16 costXD ) {
 			int valLeft = left.data[idxLeft] & 0xFF;
 			for (int d = 0; d < disparityRange; d++) {
 				int valRight = right.data[idxRight--] & 0xFF;
@@ -20,6 +20,7 @@ package boofcv.alg.disparity.sgm.cost;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.disparity.sgm.SgmDisparityCost;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayU16;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.Planar;
@@ -27,12 +28,13 @@ import boofcv.struct.image.Planar;
 /**
  * Base class for computing SGM cost using single pixel error metrics. It handles iterating through all possible
  * disparity values for all pixels in the image and any other book keeping. Only the score needs to be implemented.
+ * Rows are processed concurrently if {@link BoofConcurrency#USE_CONCURRENT} is true, so implementations of the
+ * score must not modify any internal state.
  *
  * @author Peter Abeles
  */
 public abstract class SgmCostBase<T extends ImageBase<T>> implements SgmDisparityCost<T> {
 	protected T left, right;
-	protected GrayU16 costXD;
 
 	protected int disparityMin;
 	protected int disparityRange;
@@ -54,29 +56,46 @@ public abstract class SgmCostBase<T extends ImageBase<T>> implements SgmDisparit
 		// Declare the "tensor" with shape (lengthY,lengthX,lengthD)
 		costYXD.reshape(disparityRange, left.width, left.height);
 
-		for (int y = 0; y < left.height; y++) {
-			costXD = costYXD.getBand(y);
+		// Each row in the cost tensor is independent of all the others
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopFor(0, left.height, y -> processRow(y, costYXD));
+		} else {
+			for (int y = 0; y < left.height; y++) {
+				processRow(y, costYXD);
+			}
+		}
+	}
+
+	/**
+	 * Computes the cost for all pixels and disparities in a single row
+	 */
+	protected void processRow( int y, Planar<GrayU16> costYXD ) {
+		GrayU16 costXD = costYXD.getBand(y);
 
-			int idxLeft = left.startIndex + y*left.stride + disparityMin;
+		int idxLeft = left.startIndex + y*left.stride + disparityMin;
 
-			for (int x = disparityMin; x < left.width; x++, idxLeft++) {
-				int idxOut = costXD.startIndex + (x - disparityMin)*costYXD.stride;
+		for (int x = disparityMin; x < left.width; x++, idxLeft++) {
+			int idxOut = costXD.startIndex + (x - disparityMin)*costYXD.stride;
 
-				// The local limits on ranges that can be examined
-				int localRange = Math.min(disparityRange, x - disparityMin + 1);
+			// The local limits on ranges that can be examined
+			int localRange = Math.min(disparityRange, x - disparityMin + 1);
 
-				// start reading the right image at the smallest disparity then increase disparity size
-				int idxRight = right.startIndex + y*right.stride + x - disparityMin;
+			// start reading the right image at the smallest disparity then increase disparity size
+			int idxRight = right.startIndex + y*right.stride + x - disparityMin;
 
-				computeDisparityErrors(idxLeft, idxRight, idxOut, localRange);
+			computeDisparityErrors(idxLeft, idxRight, idxOut, localRange, costXD);
 
-				// Fill in the disparity values outside the image with max cost
-				for (int d = localRange; d < disparityRange; d++) {
-					costXD.data[idxOut + d] = SgmDisparityCost.MAX_COST;
-				}
+			// Fill in the disparity values outside the image with max cost
+			for (int d = localRange; d < disparityRange; d++) {
+				costXD.data[idxOut + d] = SgmDisparityCost.MAX_COST;
 			}
 		}
 	}
 
-	protected abstract void computeDisparityErrors( int idxLeft, int idxRight, int idxOut, int localRange );
+	/**
+	 * Computes the error for all disparity values at a single pixel
+	 *
+	 * @param costXD The X-D plane in the cost tensor for the row being processed
+	 */
+	protected abstract void computeDisparityErrors( int idxLeft, int idxRight, int idxOut, int localRange, GrayU16 costXD );
 }
@@ -254,6 +254,14 @@ public class StereoMutualInformation {
 	 * Compute Entropy from the already computed probabilities
 	 */
 	void computeEntropy() {
+		computeEntropyJoint();
+		computeEntropyImages();
+	}
+
+	/**
+	 * Compute the joint entropy from the joint probability
+	 */
+	void computeEntropyJoint() {
 		// Compute Joint Entropy Eq. 5
 		// H = -(1/n)*log(I*G)*G
 		// Supposedly this is effectively Parezen Estimation
@@ -263,8 +271,12 @@ public class StereoMutualInformation {
 		ConvolveImageNormalized.horizontal(smoothKernel, entropyJoint, smoothWork);
 		ConvolveImageNormalized.vertical(smoothKernel, smoothWork, entropyJoint);
 		PixelMath.divide(entropyJoint, -totalDispPixels, entropyJoint);
+	}
 
-		// Compute entropy for each image using a similar approach
+	/**
+	 * Compute the entropy of the left and right images from their probabilities
+	 */
+	void computeEntropyImages() {
 		ConvolveImageNormalized.horizontal(smoothKernel, entropyLeft, smoothWork);
 		PixelMath.log(smoothWork, eps, smoothWork);
 		ConvolveImageNormalized.horizontal(smoothKernel, smoothWork, entropyLeft);
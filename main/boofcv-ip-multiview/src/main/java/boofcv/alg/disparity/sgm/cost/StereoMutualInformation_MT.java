@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.disparity.sgm.cost;
+
+import boofcv.alg.filter.convolve.noborder.ConvolveImageStandard_SB_MT;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageUnrolled_SB_MT_F32_F32;
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder_SB;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.impl.ImplPixelMath_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent version of {@link StereoMutualInformation}. Each thread computes the joint histogram for a block of
+ * rows and these are summed together afterwards. The joint entropy and the scaled cost look up table are computed
+ * row by row.
+ *
+ * @author Peter Abeles
+ */
+public class StereoMutualInformation_MT extends StereoMutualInformation {
+
+	// storage for the joint histogram computed inside each thread's block
+	private final GrowArray<DogArray_I32> blockHistograms = new GrowArray<>(DogArray_I32::new);
+
+	// min and max cost found in each row of the look up table
+	private final DogArray_F32 rowMin = new DogArray_F32();
+	private final DogArray_F32 rowMax = new DogArray_F32();
+
+	@Override
+	void computeJointHistogram( GrayU8 left, GrayU8 right, int minDisparity, GrayU8 disparity, int invalid ) {
+		final int histLength = histogramIntensity.length;
+
+		blockHistograms.reset();
+		BoofConcurrency.loopBlocks(0, left.height, blockHistograms, ( hist, y0, y1 ) -> {
+			hist.resize(histLength*histLength);
+			hist.fill(0);
+
+			for (int y = y0; y < y1; y++) {
+				int idx = y*left.stride;
+				for (int x = 0; x < left.width; x++, idx++) {
+					int d = disparity.data[idx] & 0xFF;
+					// Don't consider pixels without correspondences
+					if (d >= invalid)
+						continue;
+					d += minDisparity;
+
+					int leftValue = left.data[idx] & 0xFF; // I(x  ,y)
+					int rightValue = right.data[idx - d] & 0xFF; // I(x-d,y)
+
+					hist.data[leftValue*histLength + rightValue]++; // H(L,R) += 1
+				}
+			}
+		});
+
+		// Combine results found in each thread together
+		ImageMiscOps.fill(histJoint, 0);
+		final int N = histLength*histLength;
+		for (int i = 0; i < blockHistograms.size(); i++) {
+			int[] hist = blockHistograms.get(i).data;
+			for (int j = 0; j < N; j++) {
+				histJoint.data[j] += hist[j];
+			}
+		}
+	}
+
+	@Override
+	void computeEntropyJoint() {
+		// Kernels which are wider than the histogram need special handling that the single thread code takes care of
+		if (smoothKernel.width >= entropyJoint.width || smoothKernel.width >= entropyJoint.height) {
+			super.computeEntropyJoint();
+			return;
+		}
+
+		// Same steps as the single threaded version. See that for comments
+		final int width = entropyJoint.width;
+		final int height = entropyJoint.height;
+		smoothWork.reshape(width, height);
+
+		smoothConcurrent(entropyJoint);
+		ImplPixelMath_MT.log(entropyJoint.data, 0, width, eps, entropyJoint.data, 0, width, height, width);
+		smoothConcurrent(entropyJoint);
+		ImplPixelMath_MT.divide_A(entropyJoint.data, 0, width, -totalDispPixels, entropyJoint.data, 0, width, height, width);
+	}
+
+	/**
+	 * Applies a normalized convolution along each axis. Same as what ConvolveImageNormalized does, but the inner
+	 * portion of the image is always processed concurrently.
+	 */
+	private void smoothConcurrent( GrayF32 image ) {
+		if (!ConvolveImageUnrolled_SB_MT_F32_F32.horizontal(smoothKernel, image, smoothWork))
+			ConvolveImageStandard_SB_MT.horizontal(smoothKernel, image, smoothWork);
+		ConvolveNormalized_JustBorder_SB.horizontal(smoothKernel, image, smoothWork);
+
+		if (!ConvolveImageUnrolled_SB_MT_F32_F32.vertical(smoothKernel, smoothWork, image))
+			ConvolveImageStandard_SB_MT.vertical(smoothKernel, smoothWork, image);
+		ConvolveNormalized_JustBorder_SB.vertical(smoothKernel, smoothWork, image);
+	}
+
+	@Override
+	public void precomputeScaledCost( int maxCost ) {
+		final int N = scaledCost.width;
+
+		// Find the min and max value inside each row then combine them
+		rowMin.resize(N);
+		rowMax.resize(N);
+		BoofConcurrency.loopFor(0, N, left -> {
+			float minValue = Float.MAX_VALUE;
+			float maxValue = -Float.MAX_VALUE;
+			for (int right = 0; right < N; right++) {
+				float v = entropyJoint.unsafe_get(right, left) - entropyLeft.data[left] - entropyRight.data[right];
+				if (minValue > v)
+					minValue = v;
+				if (maxValue < v)
+					maxValue = v;
+			}
+			rowMin.data[left] = minValue;
+			rowMax.data[left] = maxValue;
+		});
+
+		float minValue = Float.MAX_VALUE;
+		float maxValue = -Float.MAX_VALUE;
+		for (int i = 0; i < N; i++) {
+			minValue = Math.min(minValue, rowMin.data[i]);
+			maxValue = Math.max(maxValue, rowMax.data[i]);
+		}
+		final float _minValue = minValue;
+		final float rangeValue = maxValue - minValue;
+
+		BoofConcurrency.loopFor(0, N, left -> {
+			for (int right = 0; right < N; right++) {
+				float v = entropyJoint.unsafe_get(right, left) - entropyLeft.data[left] - entropyRight.data[right];
+				scaledCost.data[left*N + right] = (short)(maxCost*(v - _minValue)/rangeValue);
+			}
+		});
+	}
+}
@@ -76,6 +76,17 @@ public class ConfigDisparitySGM implements Configuration {
 	 * error to prefer a region with lots of pixels outside the image border.
 	 */
 	public BorderType border = BorderType.REFLECT;
+	/**
+	 * Maximum amount of memory, in megabytes, the cost tensors can use. If the image requires more memory than this
+	 * it will be processed in horizontal strips. Set to a value &le; 0 to always process the whole image at once.
+	 */
+	public int memoryBudgetMB = 0;
+	/**
+	 * Number of rows above and below a strip which are included when aggregating the cost but not saved. Larger
+	 * values produce results closer to processing the whole image at once but require more computations.
+	 * See {@link boofcv.alg.disparity.sgm.SgmStereoDisparity} for how many pixels change.
+	 */
+	public int stripOverlap = 32;
 
 	public void setTo( ConfigDisparitySGM src ) {
 		this.disparityMin = src.disparityMin;
@@ -93,6 +104,8 @@ public class ConfigDisparitySGM implements Configuration {
 		this.configHMI.setTo(src.configHMI);
 		this.configBlockMatch.setTo(src.configBlockMatch);
 		this.border = src.border;
+		this.memoryBudgetMB = src.memoryBudgetMB;
+		this.stripOverlap = src.stripOverlap;
 	}
 
 	public static class ConfigBlockMatchError implements Configuration {
@@ -130,6 +143,8 @@ public class ConfigDisparitySGM implements Configuration {
 			throw new IllegalArgumentException("Invalid value for penaltySmallChange.");
 		if (disparityMin < 0)
 			throw new IllegalArgumentException("Minimum disparity must be >= 0");
+		if (stripOverlap < 0)
+			throw new IllegalArgumentException("Strip overlap must be >= 0");
 		configBlockMatch.checkValidity();
 	}
 
@@ -30,6 +30,7 @@ import boofcv.alg.disparity.sgm.cost.SgmCostAbsoluteDifference;
 import boofcv.alg.disparity.sgm.cost.SgmCostFromBlocks;
 import boofcv.alg.disparity.sgm.cost.SgmCostHamming;
 import boofcv.alg.disparity.sgm.cost.StereoMutualInformation;
+import boofcv.alg.disparity.sgm.cost.StereoMutualInformation_MT;
 import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.factory.transform.census.FactoryCensusTransform;
@@ -73,6 +74,8 @@ public class FactoryStereoDisparityAlgs {
 		sgm.getAggregation().setPathsConsidered(config.paths.getCount());
 		sgm.getAggregation().setPenalty1(config.penaltySmallChange);
 		sgm.getAggregation().setPenalty2(config.penaltyLargeChange);
+		sgm.setMemoryBudget(config.memoryBudgetMB*1024L*1024L);
+		sgm.setStripOverlap(config.stripOverlap);
 
 		return sgm;
 	}
@@ -170,7 +173,8 @@ public class FactoryStereoDisparityAlgs {
 	}
 
 	private static StereoMutualInformation createStereoMutualInformation( ConfigDisparitySGM config ) {
-		StereoMutualInformation stereoMI = new StereoMutualInformation();
+		StereoMutualInformation stereoMI = BoofConcurrency.USE_CONCURRENT ?
+				new StereoMutualInformation_MT() : new StereoMutualInformation();
 		stereoMI.configureSmoothing(config.configHMI.smoothingRadius);
 		stereoMI.configureHistogram(config.configHMI.totalGrayLevels);
 		return stereoMI;
@@ -18,6 +18,7 @@
 
 package boofcv.alg.disparity.sgm;
 
+import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageGray;
@@ -25,6 +26,8 @@ import boofcv.struct.image.ImageType;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -35,6 +38,8 @@ public abstract class GenericSgmStereoDisparityChecks<T extends ImageGray<T>, C
 	// test using a random image
 	boolean useRandomImage = true;
 	double acceptTol = 0.01;
+	// maximum fraction of pixels which can have a different disparity when strips are used
+	double stripTol = 0.0001;
 
 	protected GenericSgmStereoDisparityChecks( ImageType<T> imageType ) {
 		super(80, 60, imageType);
@@ -81,6 +86,72 @@ public abstract class GenericSgmStereoDisparityChecks<T extends ImageGray<T>, C
 		disparitySearch(8, 15, 6, alg);
 	}
 
+	/**
+	 * Processing the image in strips with the default overlap should change the disparity of at most stripTol
+	 * fraction of pixels and only slightly change the subpixel disparity of the others. See tolerances in
+	 * SgmStereoDisparity's JavaDoc.
+	 */
+	@Test
+	public void strips() {
+		// The image needs to be large enough that the default overlap doesn't include the whole image
+		width = 160;
+		height = 120;
+		left.reshape(width, height);
+		right.reshape(width, height);
+		disparityTruth.reshape(width, height);
+
+		int rangeD = 16;
+		renderStereoRandom(0, 255, 5, rangeD);
+
+		SgmStereoDisparity<T, C> alg = createAlgorithm();
+		alg.setDisparityMin(0);
+		alg.setDisparityRange(rangeD);
+		alg.process(left, right);
+		assertFalse(alg.isUsingStrips());
+		GrayU8 expected = alg.getDisparity().clone();
+		GrayF32 expectedSub = new GrayF32(1, 1);
+		alg.subpixel(expected, expectedSub);
+
+		// Budget is set so that strips with 20 rows and the default overlap are used
+		alg.setMemoryBudget(4L*width*rangeD*(20 + 2*alg.getStripOverlap()));
+		alg.process(left, right);
+		assertTrue(alg.isUsingStrips());
+		GrayU8 found = alg.getDisparity();
+		GrayF32 foundSub = new GrayF32(1, 1);
+		alg.subpixel(found, foundSub);
+
+		int different = 0;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if (expected.get(x, y) != found.get(x, y)) {
+					different++;
+				} else {
+					assertEquals(expectedSub.get(x, y), foundSub.get(x, y), 0.25f);
+				}
+			}
+		}
+		assertTrue(different <= stripTol*width*height, "different " + different);
+	}
+
+	/**
+	 * Subpixel can only be computed from the disparity image found by process() when strips are used
+	 */
+	@Test
+	public void strips_subpixelWrongSource() {
+		int rangeD = 12;
+		renderStereoRandom(0, 255, 5, rangeD);
+
+		SgmStereoDisparity<T, C> alg = createAlgorithm();
+		alg.setDisparityMin(0);
+		alg.setDisparityRange(rangeD);
+		alg.setStripOverlap(4);
+		alg.setMemoryBudget(4L*width*rangeD*(10 + 2*4));
+		alg.process(left, right);
+		assertTrue(alg.isUsingStrips());
+
+		assertThrows(IllegalArgumentException.class, () -> alg.subpixel(alg.getDisparity().clone(), new GrayF32(1, 1)));
+	}
+
 	public void disparitySearch( int disparityMin, int disparityRange, int disparityActual, SgmStereoDisparity<T, C> alg ) {
 
 		SgmHelper helper = new SgmHelper();
@@ -38,6 +38,8 @@ class TestSgmStereoDisparityHmi extends GenericSgmStereoDisparityChecks<GrayU8,
 		this.acceptTol = 0.15;
 		// HMI needs more structure to work well
 		this.useRandomImage = false;
+		// MI is less distinctive so truncated paths change more pixels
+		this.stripTol = 0.015;
 	}
 
 	@Override
@@ -21,6 +21,7 @@ package boofcv.alg.disparity.sgm.cost;
 import boofcv.BoofTesting;
 import boofcv.alg.disparity.sgm.SgmDisparityCost;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayU16;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -94,6 +95,26 @@ abstract class ChecksSgmDisparityCost<T extends ImageGray<T>> extends BoofStanda
 		BoofTesting.assertEquals(cost1, cost2, 0);
 	}
 
+	/**
+	 * The output should be identical if it's computed using concurrent code or not
+	 */
+	@Test
+	void compareConcurrent() {
+		fillRandom(5);
+
+		SgmDisparityCost<T> alg = createAlg();
+		Planar<GrayU16> expected = new Planar<>(GrayU16.class, 1, 1, 1);
+		Planar<GrayU16> found = new Planar<>(GrayU16.class, 1, 1, 1);
+		alg.configure(2, 14);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		alg.process(left, right, expected);
+		BoofConcurrency.USE_CONCURRENT = true;
+		alg.process(left, right, found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
 	private void disparityBounds( int disparity, int minDisparity, int disparityRange, boolean shouldSucceed ) {
 
 		// Set each image to a gradient that has a simple known solution
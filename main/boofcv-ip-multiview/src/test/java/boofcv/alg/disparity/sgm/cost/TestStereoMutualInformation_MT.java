@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.disparity.sgm.cost;
+
+import boofcv.BoofTesting;
+import boofcv.alg.disparity.sgm.CommonSgmChecks;
+import boofcv.alg.disparity.sgm.SgmDisparityCost;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Peter Abeles
+ */
+class TestStereoMutualInformation_MT extends CommonSgmChecks<GrayU8> {
+
+	TestStereoMutualInformation_MT() {
+		super(80, 60, ImageType.SB_U8);
+	}
+
+	/**
+	 * Compare threaded to single threaded
+	 */
+	@Test
+	void compareToSingle() {
+		GrayU8 disparity = new GrayU8(width, height);
+		ImageMiscOps.fillUniform(disparity, rand, 0, 12);
+		ImageMiscOps.fillRectangle(disparity, 255, 0, 0, 12, height);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+
+		StereoMutualInformation single = new StereoMutualInformation();
+		StereoMutualInformation multi = new StereoMutualInformation_MT();
+
+		single.process(left, right, 0, disparity, 255);
+		multi.process(left, right, 0, disparity, 255);
+		BoofTesting.assertEquals(single.histJoint, multi.histJoint, 0);
+		BoofTesting.assertEquals(single.entropyJoint, multi.entropyJoint, 1e-6);
+
+		single.precomputeScaledCost(SgmDisparityCost.MAX_COST);
+		multi.precomputeScaledCost(SgmDisparityCost.MAX_COST);
+		BoofTesting.assertEquals(single.scaledCost, multi.scaledCost, 0);
+	}
+}
@@ -26,6 +26,7 @@ import boofcv.struct.border.BorderType;
 import boofcv.struct.distort.PixelTransform;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
 import georegression.struct.affine.Affine2D_F32;
 import georegression.struct.point.Point2D_F32;
 import org.openjdk.jmh.annotations.*;
@@ -52,10 +53,14 @@ public class BenchmarkImageDistort {
 
 	GrayF32 inputF32 = new GrayF32(size, size);
 	GrayF32 outputF32 = new GrayF32(size, size);
+	InterleavedF32 inputIL = new InterleavedF32(size, size, 3);
+	InterleavedF32 outputIL = new InterleavedF32(size, size, 3);
 
 	ImageDistort<GrayF32,GrayF32> nearest_sb;
 	ImageDistort<GrayF32,GrayF32> bilinear_sb;
 	ImageDistort<GrayF32,GrayF32> bilinear_cache_sb;
+	ImageDistort<InterleavedF32,InterleavedF32> bilinear_il;
+	ImageDistort<InterleavedF32,InterleavedF32> bilinear_cache_il;
 
 
 	@Setup
@@ -65,8 +70,11 @@ public class BenchmarkImageDistort {
 
 		inputF32.reshape(size,size);
 		outputF32.reshape(size,size);
+		inputIL.reshape(size,size);
+		outputIL.reshape(size,size);
 
 		GImageMiscOps.fillUniform(inputF32,rand,0,200);
+		GImageMiscOps.fillUniform(inputIL,rand,0,200);
 
 		Affine2D_F32 affine = new Affine2D_F32(
 				0.9f,0.1f,0.0f,
@@ -80,10 +88,16 @@ public class BenchmarkImageDistort {
 				ImageType.single(GrayF32.class),ImageType.single(GrayF32.class));
 		bilinear_cache_sb = FactoryDistort.distort(true, InterpolationType.BILINEAR, BorderType.EXTENDED,
 				ImageType.single(GrayF32.class),ImageType.single(GrayF32.class));
+		bilinear_il = FactoryDistort.distort(false, InterpolationType.BILINEAR, BorderType.EXTENDED,
+				ImageType.il(3, InterleavedF32.class),ImageType.il(3, InterleavedF32.class));
+		bilinear_cache_il = FactoryDistort.distort(true, InterpolationType.BILINEAR, BorderType.EXTENDED,
+				ImageType.il(3, InterleavedF32.class),ImageType.il(3, InterleavedF32.class));
 
 		nearest_sb.setModel(tran);
 		bilinear_sb.setModel(tran);
 		bilinear_cache_sb.setModel(tran);
+		bilinear_il.setModel(tran);
+		bilinear_cache_il.setModel(tran);
 	}
 
 	@Benchmark
@@ -100,4 +114,14 @@ public class BenchmarkImageDistort {
 	public void bilinear_cache_F32() {
 		bilinear_cache_sb.apply(inputF32, outputF32,0,0,size,size);
 	}
+
+	@Benchmark
+	public void bilinear_IL_F32() {
+		bilinear_il.apply(inputIL, outputIL,0,0,size,size);
+	}
+
+	@Benchmark
+	public void bilinear_cache_IL_F32() {
+		bilinear_cache_il.apply(inputIL, outputIL,0,0,size,size);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,10 +18,21 @@
 
 package boofcv.alg.transform.fft;
 
-import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.abst.transform.fft.GeneralFft_to_DiscreteFourierTransform_F32;
+import boofcv.alg.filter.convolve.ConvolveImageFft;
+import boofcv.alg.filter.convolve.ConvolveImageNormalized;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General_SB;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.InterleavedF32;
 
@@ -41,15 +52,112 @@ public class BenchmarkFastFourierTransform {
 	static GrayF32 output = new GrayF32(width,height);
 
 
+	static GrayF32 storage = new GrayF32(width,height);
+	static ImageBorder_F32 border = FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class);
+
 	public static class ComputeFFT extends PerformerBase {
 
-		DiscreteFourierTransform dft = DiscreteFourierTransformOps.createTransformF32();
+		GeneralFft_to_DiscreteFourierTransform_F32 dft;
+
+		public ComputeFFT( boolean concurrent ) {
+			dft = new GeneralFft_to_DiscreteFourierTransform_F32(concurrent);
+		}
 
 		@Override
 		public void process() {
 			dft.forward(input,fourier);
 			dft.inverse(fourier,output);
 		}
+
+		@Override
+		public String getName() {
+			return dft.isConcurrent() ? "ComputeFFT_MT" : "ComputeFFT";
+		}
+	}
+
+	/** Direct 2D convolution, without the automatic switch to FFT */
+	public static class Convolve2D extends PerformerBase {
+		Kernel2D_F32 kernel;
+
+		public Convolve2D( Kernel2D_F32 kernel ) { this.kernel = kernel; }
+
+		@Override
+		public void process() {
+			border.setImage(input);
+			ConvolveImageNoBorder.convolve(kernel,input,output);
+			ConvolveJustBorder_General_SB.convolve(kernel,border,output);
+		}
+	}
+
+	public static class Convolve2DFft extends PerformerBase {
+		ConvolveImageFft alg = new ConvolveImageFft();
+		Kernel2D_F32 kernel;
+
+		public Convolve2DFft( Kernel2D_F32 kernel ) { this.kernel = kernel; }
+
+		@Override
+		public void process() {
+			alg.convolve(kernel,input,output,border);
+		}
+	}
+
+	/** Direct normalized separable convolution, i.e. a Gaussian blur */
+	public static class ConvolveSeparable extends PerformerBase {
+		Kernel1D_F32 kernel;
+
+		public ConvolveSeparable( Kernel1D_F32 kernel ) { this.kernel = kernel; }
+
+		@Override
+		public void process() {
+			ConvolveImageNormalized.horizontal(kernel,input,storage);
+			ConvolveImageNormalized.vertical(kernel,storage,output);
+		}
+	}
+
+	public static class ConvolveSeparableFft extends PerformerBase {
+		ConvolveImageFft alg = new ConvolveImageFft();
+		Kernel1D_F32 kernel;
+
+		public ConvolveSeparableFft( Kernel1D_F32 kernel ) { this.kernel = kernel; }
+
+		@Override
+		public void process() {
+			alg.convolveNormalized(kernel,kernel,input,output);
+		}
+	}
+
+	/**
+	 * Finds the smallest kernel width where the FFT is faster than a direct convolution. Used to select the
+	 * crossover points in {@link ConvolveImageFft}.
+	 */
+	public static void findCrossover( Random rand ) {
+		System.out.println("=========  Crossover 2D kernel. Current = "+ConvolveImageFft.CROSSOVER_WIDTH_2D);
+		int crossover2D = -1;
+		for (int radius = 1; radius <= 20; radius++) {
+			Kernel2D_F32 kernel = FactoryKernel.random2D_F32(radius*2 + 1, radius, -1, 1, rand);
+			double direct = ProfileOperation.profileOpsPerSec(new Convolve2D(kernel), TEST_TIME, true);
+			double fft = ProfileOperation.profileOpsPerSec(new Convolve2DFft(kernel), TEST_TIME, true);
+			System.out.printf("  width=%3d direct=%7.2f fft=%7.2f ops/sec\n", kernel.width, direct, fft);
+			if (fft > direct) {
+				crossover2D = kernel.width;
+				break;
+			}
+		}
+		System.out.println("  measured crossover = "+crossover2D);
+
+		System.out.println("=========  Crossover Separable. Current = "+ConvolveImageFft.CROSSOVER_WIDTH_SEPARABLE);
+		int crossoverSep = -1;
+		for (int radius = 10; radius <= 300; radius += 10) {
+			Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+			double direct = ProfileOperation.profileOpsPerSec(new ConvolveSeparable(kernel), TEST_TIME, true);
+			double fft = ProfileOperation.profileOpsPerSec(new ConvolveSeparableFft(kernel), TEST_TIME, true);
+			System.out.printf("  width=%3d direct=%7.2f fft=%7.2f ops/sec\n", kernel.width, direct, fft);
+			if (fft > direct) {
+				crossoverSep = kernel.width;
+				break;
+			}
+		}
+		System.out.println("  measured crossover = "+crossoverSep);
 	}
 
 	public static void main( String[] args ) {
@@ -60,6 +168,10 @@ public class BenchmarkFastFourierTransform {
 		System.out.println("=========  Profile Image Size " + width + " x " + height + " ==========");
 		System.out.println();
 
-		ProfileOperation.printOpsPerSec(new ComputeFFT(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeFFT(false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new ComputeFFT(true), TEST_TIME);
+		System.out.println();
+
+		findCrossover(rand);
 	}
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -49,6 +49,7 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 	private void printPreamble() {
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
 				"import boofcv.alg.filter.blur.impl.*;\n" +
+				"import boofcv.alg.filter.convolve.ConvolveImageFft;\n" +
 				"import boofcv.alg.filter.convolve.ConvolveImageMean;\n" +
 				"import boofcv.alg.filter.convolve.ConvolveImageNormalized;\n" +
 				"import boofcv.concurrency.*;\n" +
@@ -204,9 +205,22 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\t\t\t"+kernel+" kernelY = sigmaX==sigmaY&&radiusX==radiusY ? \n" +
 				"\t\t\t\t\tkernelX:\n" +
 				"\t\t\t\t\tFactoryKernelGaussian.gaussian("+kernel+".class, sigmaY, radiusY);\n" +
-				"\n" +
+				"\n");
+		if (imageName.equals("GrayF32")) {
+			// For very large kernels it's faster to convolve in the frequency domain
+			out.print(
+				"\t\t\tif (ConvolveImageFft.isFasterSeparable(kernelX.width, kernelY.width, input)) {\n" +
+				"\t\t\t\tConvolveImageFft.getThreadInstance().convolveNormalized(kernelX, kernelY, input, output);\n" +
+				"\t\t\t} else {\n" +
+				"\t\t\t\tConvolveImageNormalized.horizontal(kernelX, input, storage);\n" +
+				"\t\t\t\tConvolveImageNormalized.vertical(kernelY, storage, output);\n" +
+				"\t\t\t}\n");
+		} else {
+			out.print(
 				"\t\t\tConvolveImageNormalized.horizontal(kernelX, input, storage);\n" +
-				"\t\t\tConvolveImageNormalized.vertical(kernelY, storage, output);\n" +
+				"\t\t\tConvolveImageNormalized.vertical(kernelY, storage, output);\n");
+		}
+		out.print(
 				"\t\t}\n" +
 				"\n" +
 				"\t\treturn output;\n" +
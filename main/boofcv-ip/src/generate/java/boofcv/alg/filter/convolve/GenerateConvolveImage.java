@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -142,7 +142,16 @@ public class GenerateConvolveImage extends CodeGeneratorBase {
 				"\n" +
 				"\t\tboolean processed = BOverrideConvolveImage.invokeNative"+nativeName+"(kernel,input,output,border);\n" +
 				"\n" +
-				"\t\tif( !processed ) {\n" +
+				"\t\tif( !processed ) {\n");
+		if (name.equals("convolve") && singleBand && inputName.equals("GrayF32")) {
+			// For large kernels it's faster to convolve in the frequency domain
+			out.print(
+				"\t\t\tif (ConvolveImageFft.isFaster(kernel.width, input)) {\n" +
+				"\t\t\t\tConvolveImageFft.getThreadInstance().convolve(kernel, input, output, border);\n" +
+				"\t\t\t\treturn;\n" +
+				"\t\t\t}\n");
+		}
+		out.print(
 				"\t\t\tborder.setImage(input);\n" +
 				"\t\t\tConvolveImageNoBorder."+name+"(kernel,input,output);\n" +
 				"\t\t\tConvolveJustBorder_General_"+suffice+"."+name+"(kernel, border,output);\n" +
@@ -83,6 +83,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"public class " + className + " {\n" +
 				"\t/**\n" +
 				"\t * If an image has fewer pixels than this it will not run a concurrent algorithm. The overhead makes it slower.\n" +
+				"\t * A threshold bound with {@link BoofConcurrency#bind(java.util.concurrent.ForkJoinPool, int)} takes priority.\n" +
 				"\t */\n" +
 				"\tpublic static int SMALL_IMAGE = 100*100;\n" +
 				"\n");
@@ -149,7 +150,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcName + "(input.data, input.startIndex, input.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
 						"\t\t\t\t\tinput.height, columns);\n" +
@@ -192,7 +193,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						"\t\tint columns = "+columns+";\n" +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
 						"\t\t\t\t\tinput.height, columns, function);\n" +
@@ -238,7 +239,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
 						"\t\tint N = imgA.width*imgA.height;\n" +
-						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,\n" +
 						"\t\t\t\t\timgB.data, imgB.startIndex, imgB.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
@@ -347,7 +348,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + ", lower, upper ,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
 						"\t\t\t\t\tinput.height,columns);\n" +
@@ -372,7 +373,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + " , \n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
 						"\t\t\t\t\tinput.height,columns);\n" +
@@ -417,7 +418,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.diffAbs(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.diffAbs(imgA, imgB, output);\n" +
@@ -440,7 +441,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.add(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.add(imgA, imgB, output);\n" +
@@ -464,7 +465,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.subtract(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.subtract(imgA, imgB, output);\n" +
@@ -487,7 +488,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.multiply(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.multiply(imgA, imgB, output);\n" +
@@ -511,7 +512,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.divide(imgA,imgB,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.divide(imgA,imgB,output);\n" +
@@ -576,7 +577,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						columns +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + op + "(\n" +
 						"\t\t\t\t\tinput.data,input.startIndex,input.stride,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
@@ -600,7 +601,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\n" +
 						columns +
 						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + op + "(\n" +
 						"\t\t\t\t\tinput.data,input.startIndex,input.stride,val,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
@@ -628,7 +629,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\tstdev.reshape(mean.width,mean.height);\n" +
 				"\n" +
 				"\t\tint N = mean.width*mean.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.stdev(mean,pow2,stdev);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.stdev(mean,pow2,stdev);\n" +
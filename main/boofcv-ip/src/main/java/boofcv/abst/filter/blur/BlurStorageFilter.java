@@ -18,13 +18,22 @@
 
 package boofcv.abst.filter.blur;
 
+import boofcv.alg.filter.blur.BOverrideBlurImageOps;
 import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.convolve.ConvolveImageFft;
+import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.border.ImageBorder;
+import boofcv.struct.convolve.Kernel1D;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import lombok.Getter;
 import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
 import pabeles.concurrency.GrowArray;
 
 /**
@@ -44,6 +53,8 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	private int radiusX, radiusY;
 	// stores intermediate results
 	private T storage;
+	// Gaussian kernels. Saved so that they aren't declared every time an image is processed
+	private @Nullable Kernel1D kernelX, kernelY;
 
 	// type of image it processes
 	ImageType<T> inputType;
@@ -110,6 +121,7 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 	public void setRadius( int radius ) {
 		this.radiusX = radius;
 		this.radiusY = radius;
+		this.kernelX = null;
 	}
 
 	@Override
@@ -165,7 +177,25 @@ public class BlurStorageFilter<T extends ImageBase<T>> implements BlurFilter<T>
 		public void process( ImageBase input, ImageBase output ) {
 			if (border != null)
 				throw new IllegalArgumentException("Border has been set but will never be used. Must be a bug.");
-			GBlurImageOps.gaussian(input, output, sigmaX, radiusX, sigmaY, radiusY, storage);
+
+			// Common image types are convolved with the saved kernels. Everything else, or when BlurImageOps
+			// would do something other than a direct convolution, goes through BlurImageOps
+			boolean direct = (input instanceof GrayF32 || input instanceof GrayU8) && BOverrideBlurImageOps.gaussian == null;
+			if (direct && kernelX == null) {
+				Class<Kernel1D> kernelType = FactoryKernel.getKernelType(inputType.getDataType(), 1);
+				kernelX = FactoryKernelGaussian.gaussian(kernelType, sigmaX, radiusX);
+				kernelY = sigmaX == sigmaY && radiusX == radiusY ?
+						kernelX : FactoryKernelGaussian.gaussian(kernelType, sigmaY, radiusY);
+			}
+			if (direct && input instanceof GrayF32)
+				direct = !ConvolveImageFft.isFasterSeparable(kernelX.width, kernelY.width, input);
+
+			if (direct) {
+				GConvolveImageOps.horizontalNormalized(kernelX, input, storage);
+				GConvolveImageOps.verticalNormalized(kernelY, (ImageBase)storage, output);
+			} else {
+				GBlurImageOps.gaussian(input, output, sigmaX, radiusX, sigmaY, radiusY, storage);
+			}
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,19 +20,36 @@ package boofcv.abst.transform.fft;
 
 import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
 import boofcv.alg.transform.fft.GeneralPurposeFFT_F64_2D;
+import boofcv.alg.transform.fft.GeneralPurposeFFT_F64_2D_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF64;
 import boofcv.struct.image.InterleavedF64;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Wrapper around {@link GeneralPurposeFFT_F64_2D} which implements {@link DiscreteFourierTransform}
  *
+ * Computing the plan for a transform (twiddle factors and work tables) is expensive, so plans are cached
+ * for the most recently used image shapes. When switching between a few image sizes, e.g. an image and a template,
+ * the plan does not need to be recomputed each time.
+ *
  * @author Peter Abeles
  */
 public class GeneralFft_to_DiscreteFourierTransform_F64
 		implements DiscreteFourierTransform<GrayF64, InterleavedF64> {
-	// previous size of input image
-	private int prevWidth = -1;
-	private int prevHeight = -1;
+	/** Maximum number of plans which are cached. The least recently used plan is discarded first. */
+	@Getter @Setter private int maxCachedPlans = 4;
+
+	/** If true then a concurrent implementation of the FFT will be used */
+	@Getter private final boolean concurrent;
+
+	// Previously computed transforms. Key is the image shape. Ordered from least to most recently used
+	private final Map<Long, GeneralPurposeFFT_F64_2D> plans = new LinkedHashMap<>(16, 0.75f, true);
 
 	// performs the FFT
 	private GeneralPurposeFFT_F64_2D alg;
@@ -43,6 +60,17 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 	// if true then it can modify the input images
 	private boolean modifyInputs = false;
 
+	/**
+	 * @param concurrent If true then a concurrent implementation of the FFT will be used
+	 */
+	public GeneralFft_to_DiscreteFourierTransform_F64( boolean concurrent ) {
+		this.concurrent = concurrent;
+	}
+
+	public GeneralFft_to_DiscreteFourierTransform_F64() {
+		this(BoofConcurrency.USE_CONCURRENT);
+	}
+
 	@Override
 	public void forward( GrayF64 image, InterleavedF64 transform ) {
 		DiscreteFourierTransformOps.checkImageArguments(image, transform);
@@ -86,16 +114,42 @@ public class GeneralFft_to_DiscreteFourierTransform_F64
 	}
 
 	/**
-	 * Declare the algorithm if the image size has changed
+	 * Look up the algorithm for this image shape from the cache or declare it if there is no plan for this shape
 	 */
 	private void checkDeclareAlg( GrayF64 image ) {
-		if (prevWidth != image.width || prevHeight != image.height) {
-			prevWidth = image.width;
-			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F64_2D(image.height, image.width);
+		long key = ((long)image.width << 32) | image.height;
+		alg = plans.get(key);
+		if (alg != null)
+			return;
+
+		alg = concurrent ?
+				new GeneralPurposeFFT_F64_2D_MT(image.height, image.width) :
+				new GeneralPurposeFFT_F64_2D(image.height, image.width);
+		plans.put(key, alg);
+
+		// discard the least recently used plans
+		Iterator<Long> iter = plans.keySet().iterator();
+		while (plans.size() > Math.max(1, maxCachedPlans)) {
+			iter.next();
+			iter.remove();
 		}
 	}
 
+	/**
+	 * Discards all the cached plans
+	 */
+	public void clearPlans() {
+		plans.clear();
+		alg = null;
+	}
+
+	/**
+	 * Returns the number of cached plans
+	 */
+	public int getCachedPlanCount() {
+		return plans.size();
+	}
+
 	@Override
 	public void setModifyInputs( boolean modify ) {
 		this.modifyInputs = modify;
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.distort.PixelTransform;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageInterleaved;
+import georegression.struct.point.Point2D_F32;
+
+/**
+ * Implementation of {@link ImageDistort} for {@link ImageInterleaved} which computes the distortion once and caches
+ * it. See {@link ImageDistortCache_SB} for how the distortion is stored.
+ *
+ * @author Peter Abeles
+ */
+public class ImageDistortCache_IL<Input extends ImageInterleaved<Input>, Output extends ImageInterleaved<Output>>
+		implements ImageDistort<Input, Output> {
+
+	protected AssignPixelValue_MB<Output> assigner;
+
+	// size of output image
+	protected int width = -1, height = -1;
+	// Cached distortion. Packed array where for pixel (x,y) index = (y*width + x)*2 and stores src (x,y)
+	protected float[] map = new float[0];
+	// sub pixel interpolation
+	protected InterpolatePixelMB<Input> interp;
+
+	// transform
+	protected PixelTransform<Point2D_F32> dstToSrc;
+
+	// crop boundary
+	protected int x0, y0, x1, y1;
+
+	// should it render all pixels in the destination, even ones outside the input image
+	protected boolean renderAll = true;
+	protected Input srcImg;
+	protected Output dstImg;
+
+	protected boolean dirty;
+
+	// storage for interpolated pixel values
+	protected float[] values = new float[0];
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 */
+	public ImageDistortCache_IL( AssignPixelValue_MB<Output> assigner,
+								 InterpolatePixelMB<Input> interp ) {
+		this.assigner = assigner;
+		this.interp = interp;
+	}
+
+	@Override
+	public void setModel( PixelTransform<Point2D_F32> dstToSrc ) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	@Override
+	public void apply( Input srcImg, Output dstImg ) {
+		init(srcImg, dstImg);
+
+		x0 = 0;
+		y0 = 0;
+		x1 = dstImg.width;
+		y1 = dstImg.height;
+
+		if (renderAll)
+			renderAll();
+		else
+			applyOnlyInside();
+	}
+
+	@Override
+	public void apply( Input srcImg, Output dstImg, GrayU8 mask ) {
+		init(srcImg, dstImg);
+		mask.reshape(dstImg);
+
+		x0 = 0;
+		y0 = 0;
+		x1 = dstImg.width;
+		y1 = dstImg.height;
+
+		if (renderAll)
+			renderAll(mask);
+		else
+			applyOnlyInside(mask);
+	}
+
+	@Override
+	public void apply( Input srcImg, Output dstImg, int dstX0, int dstY0, int dstX1, int dstY1 ) {
+		init(srcImg, dstImg);
+
+		// Check that a valid region was specified. If not do nothing
+		if (dstX1 <= dstX0 || dstY1 <= dstY0)
+			return;
+
+		x0 = dstX0;
+		y0 = dstY0;
+		x1 = dstX1;
+		y1 = dstY1;
+
+		if (renderAll)
+			renderAll();
+		else
+			applyOnlyInside();
+	}
+
+	protected void init( Input srcImg, Output dstImg ) {
+		if (dirty || width != dstImg.width || height != dstImg.height) {
+			width = dstImg.width;
+			height = dstImg.height;
+			if (map.length < width*height*2)
+				map = new float[width*height*2];
+			computeMap();
+			dirty = false;
+		}
+
+		if (values.length != srcImg.getNumBands()) {
+			values = new float[srcImg.getNumBands()];
+		}
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+		interp.setImage(srcImg);
+		assigner.setImage(dstImg);
+	}
+
+	/**
+	 * Computes the distortion for every pixel and saves the results in the map
+	 */
+	protected void computeMap() {
+		Point2D_F32 distorted = new Point2D_F32();
+		computeMap(dstToSrc, 0, height, distorted);
+	}
+
+	/**
+	 * Computes the distortion for every pixel in the specified rows
+	 */
+	protected void computeMap( PixelTransform<Point2D_F32> dstToSrc, int row0, int row1, Point2D_F32 distorted ) {
+		for (int y = row0; y < row1; y++) {
+			int indexMap = y*width*2;
+			for (int x = 0; x < width; x++) {
+				dstToSrc.compute(x, y, distorted);
+				map[indexMap++] = distorted.x;
+				map[indexMap++] = distorted.y;
+			}
+		}
+	}
+
+	protected void renderAll() {
+		renderAll(interp, values, y0, y1);
+	}
+
+	protected void renderAll( GrayU8 mask ) {
+		renderAll(interp, values, y0, y1, mask);
+	}
+
+	protected void applyOnlyInside() {
+		applyOnlyInside(interp, values, y0, y1);
+	}
+
+	protected void applyOnlyInside( GrayU8 mask ) {
+		applyOnlyInside(interp, values, y0, y1, mask);
+	}
+
+	/**
+	 * Renders all pixels in the specified rows
+	 *
+	 * @param interp Interpolation that's only used by the caller
+	 * @param values Storage for interpolated values that's only used by the caller
+	 */
+	protected void renderAll( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1 ) {
+		final int numBands = dstImg.numBands;
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst += numBands) {
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
+
+				interp.get(sx, sy, values);
+				assigner.assign(indexDst, values);
+			}
+		}
+	}
+
+	protected void renderAll( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1, GrayU8 mask ) {
+		final int numBands = dstImg.numBands;
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst += numBands, indexMsk++) {
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
+
+				interp.get(sx, sy, values);
+				assigner.assign(indexDst, values);
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1 ) {
+		final int numBands = dstImg.numBands;
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMap = (y*width + x0)*2;
+			for (int x = x0; x < x1; x++, indexDst += numBands) {
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					interp.get(sx, sy, values);
+					assigner.assign(indexDst, values);
+				}
+			}
+		}
+	}
+
+	protected void applyOnlyInside( InterpolatePixelMB<Input> interp, float[] values, int row0, int row1, GrayU8 mask ) {
+		final int numBands = dstImg.numBands;
+		float maxWidth = srcImg.getWidth() - 1;
+		float maxHeight = srcImg.getHeight() - 1;
+
+		for (int y = row0; y < row1; y++) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*numBands;
+			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
+
+			for (int x = x0; x < x1; x++, indexDst += numBands, indexMsk++) {
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
+
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					interp.get(sx, sy, values);
+					assigner.assign(indexDst, values);
+					mask.data[indexMsk] = 1;
+				} else {
+					mask.data[indexMsk] = 0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the cached distortion. Two floats (x,y) are stored for each pixel in row-major order.
+	 */
+	public float[] getMap() {
+		return map;
+	}
+
+	public InterpolatePixelMB<Input> getInterp() {
+		return interp;
+	}
+
+	@Override
+	public void setRenderAll( boolean renderAll ) {
+		this.renderAll = renderAll;
+	}
+
+	@Override
+	public boolean getRenderAll() {
+		return renderAll;
+	}
+
+	@Override
+	public PixelTransform<Point2D_F32> getModel() {
+		return dstToSrc;
+	}
+}
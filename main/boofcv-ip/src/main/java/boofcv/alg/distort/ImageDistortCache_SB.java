@@ -29,6 +29,9 @@ import georegression.struct.point.Point2D_F32;
  * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
  * again the save results are simply recalled and not computed again.
  *
+ * The cached distortion is stored in a single packed array with two floats for each pixel, (x,y), instead of
+ * an object for each pixel. This reduces memory usage and the work done by the garbage collector.
+ *
  * @author Peter Abeles
  */
 public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends ImageGray<Output>>
@@ -38,7 +41,8 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 
 	// size of output image
 	protected int width = -1, height = -1;
-	protected Point2D_F32 map[];
+	// Cached distortion. Packed array where for pixel (x,y) index = (y*width + x)*2 and stores src (x,y)
+	protected float[] map = new float[0];
 	// sub pixel interpolation
 	protected InterpolatePixelS<Input> interp;
 
@@ -126,20 +130,11 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 		if (dirty || width != dstImg.width || height != dstImg.height) {
 			width = dstImg.width;
 			height = dstImg.height;
-			map = new Point2D_F32[width*height];
-			for (int i = 0; i < map.length; i++) {
-				map[i] = new Point2D_F32();
-			}
-
-			int index = 0;
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					dstToSrc.compute(x, y, map[index++]);
-				}
-			}
+			if (map.length < width*height*2)
+				map = new float[width*height*2];
+			computeMap();
 			dirty = false;
-		} else if (dstImg.width != width || dstImg.height != height)
-			throw new IllegalArgumentException("Unexpected dstImg dimension");
+		}
 
 		this.srcImg = srcImg;
 		this.dstImg = dstImg;
@@ -147,16 +142,40 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 		assigner.setImage(dstImg);
 	}
 
+	/**
+	 * Computes the distortion for every pixel and saves the results in the map
+	 */
+	protected void computeMap() {
+		Point2D_F32 distorted = new Point2D_F32();
+		computeMap(dstToSrc, 0, height, distorted);
+	}
+
+	/**
+	 * Computes the distortion for every pixel in the specified rows
+	 */
+	protected void computeMap( PixelTransform<Point2D_F32> dstToSrc, int row0, int row1, Point2D_F32 distorted ) {
+		for (int y = row0; y < row1; y++) {
+			int indexMap = y*width*2;
+			for (int x = 0; x < width; x++) {
+				dstToSrc.compute(x, y, distorted);
+				map[indexMap++] = distorted.x;
+				map[indexMap++] = distorted.y;
+			}
+		}
+	}
+
 	protected void renderAll() {
 
 		// todo TO make this faster first apply inside the region which can process the fast border
 		// then do the slower border thingy
 		for (int y = y0; y < y1; y++) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
 			for (int x = x0; x < x1; x++, indexDst++) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				assigner.assign(indexDst, interp.get(s.x, s.y));
+				assigner.assign(indexDst, interp.get(sx, sy));
 			}
 		}
 	}
@@ -168,12 +187,14 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 		for (int y = y0; y < y1; y++) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
 			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
 
 			for (int x = x0; x < x1; x++, indexDst++, indexMsk++) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				assigner.assign(indexDst, interp.get(s.x, s.y));
-				if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
+				assigner.assign(indexDst, interp.get(sx, sy));
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
 					mask.data[indexMsk] = 1;
 				} else {
 					mask.data[indexMsk] = 0;
@@ -188,11 +209,13 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 
 		for (int y = y0; y < y1; y++) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
 			for (int x = x0; x < x1; x++, indexDst++) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
-					assigner.assign(indexDst, interp.get(s.x, s.y));
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					assigner.assign(indexDst, interp.get(sx, sy));
 				}
 			}
 		}
@@ -205,12 +228,14 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 		for (int y = y0; y < y1; y++) {
 			int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
 			int indexMsk = mask.startIndex + mask.stride*y + x0;
+			int indexMap = (y*width + x0)*2;
 
 			for (int x = x0; x < x1; x++, indexDst++, indexMsk++) {
-				Point2D_F32 s = map[indexDst];
+				float sx = map[indexMap++];
+				float sy = map[indexMap++];
 
-				if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
-					assigner.assign(indexDst, interp.get(s.x, s.y));
+				if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+					assigner.assign(indexDst, interp.get(sx, sy));
 					mask.data[indexMsk] = 1;
 				} else {
 					mask.data[indexMsk] = 0;
@@ -219,7 +244,10 @@ public class ImageDistortCache_SB<Input extends ImageGray<Input>, Output extends
 		}
 	}
 
-	public Point2D_F32[] getMap() {
+	/**
+	 * Returns the cached distortion. Two floats (x,y) are stored for each pixel in row-major order.
+	 */
+	public float[] getMap() {
 		return map;
 	}
 
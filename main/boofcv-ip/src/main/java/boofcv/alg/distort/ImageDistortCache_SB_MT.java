@@ -32,6 +32,8 @@ import java.util.ArrayDeque;
  * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
  * again the save results are simply recalled and not computed again.
  *
+ * Concurrent implementation of {@link ImageDistortCache_SB}.
+ *
  * @author Peter Abeles
  */
 public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output extends ImageGray<Output>>
@@ -66,32 +68,11 @@ public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output exte
 	}
 
 	@Override
-	protected void init( Input srcImg, Output dstImg ) {
-		if (dirty || width != dstImg.width || height != dstImg.height) {
-			width = dstImg.width;
-			height = dstImg.height;
-			map = new Point2D_F32[width*height];
-			for (int i = 0; i < map.length; i++) {
-				map[i] = new Point2D_F32();
-			}
-
-			BoofConcurrency.loopBlocks(0, height, ( y0, y1 ) -> {
-				PixelTransform<Point2D_F32> dstToSrc = this.dstToSrc.copyConcurrent();
-				for (int y = y0; y < y1; y++) {
-					int index = y*width;
-					for (int x = 0; x < width; x++) {
-						dstToSrc.compute(x, y, map[index++]);
-					}
-				}
-			});
-			dirty = false;
-		} else if (dstImg.width != width || dstImg.height != height)
-			throw new IllegalArgumentException("Unexpected dstImg dimension");
-
-		this.srcImg = srcImg;
-		this.dstImg = dstImg;
-		interp.setImage(srcImg);
-		assigner.setImage(dstImg);
+	protected void computeMap() {
+		BoofConcurrency.loopBlocks(0, height, ( y0, y1 ) -> {
+			PixelTransform<Point2D_F32> dstToSrc = this.dstToSrc.copyConcurrent();
+			computeMap(dstToSrc, y0, y1, new Point2D_F32());
+		});
 	}
 
 	@Override
@@ -141,10 +122,12 @@ public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output exte
 			init();
 			for (int y = y0; y < y1; y++) {
 				int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+				int indexMap = (y*width + x0)*2;
 				for (int x = x0; x < x1; x++, indexDst++) {
-					Point2D_F32 s = map[indexDst];
+					float sx = map[indexMap++];
+					float sy = map[indexMap++];
 
-					assigner.assign(indexDst, interp.get(s.x, s.y));
+					assigner.assign(indexDst, interp.get(sx, sy));
 				}
 			}
 		}
@@ -157,12 +140,14 @@ public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output exte
 			for (int y = y0; y < y1; y++) {
 				int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
 				int indexMsk = mask.startIndex + mask.stride*y + x0;
+				int indexMap = (y*width + x0)*2;
 
 				for (int x = x0; x < x1; x++, indexDst++, indexMsk++) {
-					Point2D_F32 s = map[indexDst];
+					float sx = map[indexMap++];
+					float sy = map[indexMap++];
 
-					assigner.assign(indexDst, interp.get(s.x, s.y));
-					if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
+					assigner.assign(indexDst, interp.get(sx, sy));
+					if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
 						mask.data[indexMsk] = 1;
 					} else {
 						mask.data[indexMsk] = 0;
@@ -179,11 +164,13 @@ public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output exte
 
 			for (int y = y0; y < y1; y++) {
 				int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
+				int indexMap = (y*width + x0)*2;
 				for (int x = x0; x < x1; x++, indexDst++) {
-					Point2D_F32 s = map[indexDst];
+					float sx = map[indexMap++];
+					float sy = map[indexMap++];
 
-					if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
-						assigner.assign(indexDst, interp.get(s.x, s.y));
+					if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+						assigner.assign(indexDst, interp.get(sx, sy));
 					}
 				}
 			}
@@ -198,12 +185,14 @@ public class ImageDistortCache_SB_MT<Input extends ImageGray<Input>, Output exte
 			for (int y = y0; y < y1; y++) {
 				int indexDst = dstImg.startIndex + dstImg.stride*y + x0;
 				int indexMsk = mask.startIndex + mask.stride*y + x0;
+				int indexMap = (y*width + x0)*2;
 
 				for (int x = x0; x < x1; x++, indexDst++, indexMsk++) {
-					Point2D_F32 s = map[indexDst];
+					float sx = map[indexMap++];
+					float sy = map[indexMap++];
 
-					if (s.x >= 0 && s.x <= maxWidth && s.y >= 0 && s.y <= maxHeight) {
-						assigner.assign(indexDst, interp.get(s.x, s.y));
+					if (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) {
+						assigner.assign(indexDst, interp.get(sx, sy));
 						mask.data[indexMsk] = 1;
 					} else {
 						mask.data[indexMsk] = 0;
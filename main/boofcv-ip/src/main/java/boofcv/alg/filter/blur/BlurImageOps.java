@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,6 +20,7 @@ package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.blur.impl.*;
+import boofcv.alg.filter.convolve.ConvolveImageFft;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveImageNormalized;
 import boofcv.concurrency.BoofConcurrency;
@@ -505,8 +506,12 @@ public class BlurImageOps {
 					kernelX:
 					FactoryKernelGaussian.gaussian(Kernel1D_F32.class, sigmaY, radiusY);
 
-			ConvolveImageNormalized.horizontal(kernelX, input, storage);
-			ConvolveImageNormalized.vertical(kernelY, storage, output);
+			if (ConvolveImageFft.isFasterSeparable(kernelX.width, kernelY.width, input)) {
+				ConvolveImageFft.getThreadInstance().convolveNormalized(kernelX, kernelY, input, output);
+			} else {
+				ConvolveImageNormalized.horizontal(kernelX, input, storage);
+				ConvolveImageNormalized.vertical(kernelY, storage, output);
+			}
 		}
 
 		return output;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2019, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -99,6 +99,10 @@ public class ConvolveImage {
 		boolean processed = BOverrideConvolveImage.invokeNativeConvolve(kernel,input,output,border);
 
 		if( !processed ) {
+			if (ConvolveImageFft.isFaster(kernel.width, input)) {
+				ConvolveImageFft.getThreadInstance().convolve(kernel, input, output, border);
+				return;
+			}
 			border.setImage(input);
 			ConvolveImageNoBorder.convolve(kernel,input,output);
 			ConvolveJustBorder_General_SB.convolve(kernel, border,output);
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.fft.DiscreteFourierTransformOps;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.InterleavedF32;
+import org.ddogleg.struct.DogArray_F32;
+
+/**
+ * <p>
+ * Convolves an image using the Fast Fourier Transform (FFT). The cost of a direct convolution grows with the
+ * number of elements in the kernel while the cost of the FFT approach only depends on the size of the image.
+ * For large kernels this is much faster. The image is padded by the kernel's size, to avoid the wrap around
+ * of the circular convolution, and then padded further to a size which the FFT can process efficiently. Results
+ * are the same as {@link ConvolveImage} and {@link ConvolveImageNormalized} up to floating point round off errors.
+ * </p>
+ *
+ * <p>
+ * The FFT plans and work space are saved internally and reused, so an instance should be reused when processing
+ * multiple images. Not thread safe.
+ * </p>
+ *
+ * <p>
+ * The crossover points below were found using BenchmarkFastFourierTransform and should be adjusted if the
+ * benchmark indicates otherwise on the target hardware. {@link ConvolveImage} and {@link boofcv.alg.filter.blur.BlurImageOps}
+ * only switch to the FFT when {@link #AUTO_SWITCH} is true, since the output will be slightly different.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageFft {
+	/**
+	 * If true then functions which can use either approach will use the FFT when it's expected to be faster.
+	 * Off by default because round off errors will change the output by a small amount.
+	 */
+	public static boolean AUTO_SWITCH = false;
+	/** A 2D kernel needs to be at least this wide for the FFT to be faster than a direct convolution */
+	public static int CROSSOVER_WIDTH_2D = 15;
+	/** The average width of a separable kernel needs to be at least this wide for the FFT to be faster */
+	public static int CROSSOVER_WIDTH_SEPARABLE = 121;
+	/** Images with fewer pixels than this are always convolved directly */
+	public static int CROSSOVER_MIN_PIXELS = 64*64;
+
+	// One instance for each thread so that static functions can reuse the FFT plans and work space
+	private static final ThreadLocal<ConvolveImageFft> threadInstance = ThreadLocal.withInitial(ConvolveImageFft::new);
+
+	// computes the Fourier transform
+	private final DiscreteFourierTransform<GrayF32, InterleavedF32> dft;
+
+	// input image with padding added around it
+	private final GrayF32 padded = new GrayF32(1, 1);
+	// kernel rendered into an image the same shape as the padded image
+	private final GrayF32 kernelImage = new GrayF32(1, 1);
+
+	// Fourier transform of the image and kernel
+	private final InterleavedF32 transformImage = new InterleavedF32(1, 1, 2);
+	private final InterleavedF32 transformKernel = new InterleavedF32(1, 1, 2);
+
+	// Sum of kernel weights inside the image for each column and row. Used for normalization
+	private final DogArray_F32 weightX = new DogArray_F32();
+	private final DogArray_F32 weightY = new DogArray_F32();
+
+	/**
+	 * @param dft The Fourier transform that will be used
+	 */
+	public ConvolveImageFft( DiscreteFourierTransform<GrayF32, InterleavedF32> dft ) {
+		this.dft = dft;
+		// the transform is discarded after it has been inverted
+		dft.setModifyInputs(true);
+	}
+
+	public ConvolveImageFft() {
+		this(DiscreteFourierTransformOps.createTransformF32());
+	}
+
+	/**
+	 * Returns an instance which is owned by the calling thread. Static functions use this to avoid recomputing
+	 * the FFT plan and declaring new work space on every call. The work space is retained until the thread exits.
+	 */
+	public static ConvolveImageFft getThreadInstance() {
+		return threadInstance.get();
+	}
+
+	/**
+	 * Returns true if {@link #AUTO_SWITCH} is enabled and the FFT is expected to be faster than a direct
+	 * convolution with this 2D kernel
+	 */
+	public static boolean isFaster( int kernelWidth, ImageBase<?> image ) {
+		return AUTO_SWITCH && image.width*image.height >= CROSSOVER_MIN_PIXELS && kernelWidth >= CROSSOVER_WIDTH_2D;
+	}
+
+	/**
+	 * Returns true if {@link #AUTO_SWITCH} is enabled and the FFT is expected to be faster than a direct
+	 * convolution with two 1D kernels, one applied along each axis
+	 */
+	public static boolean isFasterSeparable( int kernelWidthX, int kernelWidthY, ImageBase<?> image ) {
+		return AUTO_SWITCH && image.width*image.height >= CROSSOVER_MIN_PIXELS &&
+				kernelWidthX + kernelWidthY >= 2*CROSSOVER_WIDTH_SEPARABLE;
+	}
+
+	/**
+	 * Performs a 2D convolution across the image. Equivalent to
+	 * {@link ConvolveImage#convolve(Kernel2D_F32, GrayF32, GrayF32, ImageBorder_F32)}.
+	 *
+	 * @param kernel The kernel that is being convolved. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 * @param border How the image borders are handled.
+	 */
+	public void convolve( Kernel2D_F32 kernel, GrayF32 input, GrayF32 output, ImageBorder_F32 border ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		int offset = kernel.offset;
+		declarePadded(input, kernel.width, kernel.width);
+
+		// The padded image's value at (x,y) is the input's value at (x-offset, y-offset). Only pixels which the
+		// kernel can reach are filled in, the remainder are filler to get an efficient size and are set to zero
+		int reachX = input.width + kernel.width - 1;
+		int reachY = input.height + kernel.width - 1;
+		ImageMiscOps.fill(padded, 0.0f);
+		border.setImage(input);
+		for (int y = 0; y < reachY; y++) {
+			int index = y*padded.width;
+			for (int x = 0; x < reachX; x++) {
+				padded.data[index++] = border.get(x - offset, y - offset);
+			}
+		}
+
+		for (int y = 0; y < kernel.width; y++) {
+			for (int x = 0; x < kernel.width; x++) {
+				setKernelImage(x, y, kernel.get(x, y));
+			}
+		}
+
+		convolvePadded();
+
+		for (int y = 0; y < input.height; y++) {
+			System.arraycopy(padded.data, y*padded.width, output.data, output.startIndex + y*output.stride, input.width);
+		}
+	}
+
+	/**
+	 * Performs a normalized convolution using a separable kernel. Pixels outside the image are ignored and
+	 * the kernel is normalized by the weight of the elements which were inside the image. Equivalent to calling
+	 * {@link ConvolveImageNormalized#horizontal(Kernel1D_F32, GrayF32, GrayF32)} followed by
+	 * {@link ConvolveImageNormalized#vertical(Kernel1D_F32, GrayF32, GrayF32)}.
+	 *
+	 * @param kernelX The kernel applied along the x-axis. Not modified.
+	 * @param kernelY The kernel applied along the y-axis. Not modified.
+	 * @param input The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public void convolveNormalized( Kernel1D_F32 kernelX, Kernel1D_F32 kernelY, GrayF32 input, GrayF32 output ) {
+		output.reshape(input.width, input.height);
+
+		declarePadded(input, kernelX.width, kernelY.width);
+
+		// The input image is surrounded by zeros so pixels outside the image do not contribute
+		ImageMiscOps.fill(padded, 0.0f);
+		for (int y = 0; y < input.height; y++) {
+			int indexPadded = (y + kernelY.offset)*padded.width + kernelX.offset;
+			System.arraycopy(input.data, input.startIndex + y*input.stride, padded.data, indexPadded, input.width);
+		}
+
+		for (int y = 0; y < kernelY.width; y++) {
+			for (int x = 0; x < kernelX.width; x++) {
+				setKernelImage(x, y, kernelX.data[x]*kernelY.data[y]);
+			}
+		}
+
+		convolvePadded();
+
+		computeNormalization(kernelX, input.width, weightX);
+		computeNormalization(kernelY, input.height, weightY);
+
+		for (int y = 0; y < input.height; y++) {
+			int indexPadded = y*padded.width;
+			int indexOut = output.startIndex + y*output.stride;
+			float wy = weightY.data[y];
+			for (int x = 0; x < input.width; x++) {
+				output.data[indexOut++] = padded.data[indexPadded++]/(weightX.data[x]*wy);
+			}
+		}
+	}
+
+	/**
+	 * Resizes the padded images so that a kernel of the specified size can be convolved without wrapping around.
+	 * The kernel image is filled with zeros.
+	 */
+	private void declarePadded( GrayF32 input, int kernelWidth, int kernelHeight ) {
+		int width = DiscreteFourierTransformOps.nextFastSize(input.width + kernelWidth - 1);
+		int height = DiscreteFourierTransformOps.nextFastSize(input.height + kernelHeight - 1);
+
+		padded.reshape(width, height);
+		kernelImage.reshape(width, height);
+		transformImage.reshape(width, height);
+		transformKernel.reshape(width, height);
+		ImageMiscOps.fill(kernelImage, 0.0f);
+	}
+
+	/**
+	 * Writes a kernel element into the kernel image. Elements are flipped, by wrapping around the image, so
+	 * that the circular convolution computes the same correlation as a direct convolution.
+	 */
+	private void setKernelImage( int x, int y, float value ) {
+		int px = (kernelImage.width - x)%kernelImage.width;
+		int py = (kernelImage.height - y)%kernelImage.height;
+		kernelImage.data[py*kernelImage.width + px] = value;
+	}
+
+	/**
+	 * Convolves the padded image with the kernel image. The result is written into the padded image.
+	 */
+	private void convolvePadded() {
+		dft.forward(padded, transformImage);
+		dft.forward(kernelImage, transformKernel);
+		DiscreteFourierTransformOps.multiplyComplex(transformImage, transformKernel, transformImage);
+		dft.inverse(transformImage, padded);
+	}
+
+	/**
+	 * For each coordinate along an axis, computes the sum of the kernel's elements which lie inside the image.
+	 */
+	private static void computeNormalization( Kernel1D_F32 kernel, int length, DogArray_F32 weights ) {
+		weights.resize(length);
+		for (int i = 0; i < length; i++) {
+			int k0 = Math.max(0, kernel.offset - i);
+			int k1 = Math.min(kernel.width, length + kernel.offset - i);
+			float sum = 0;
+			for (int k = k0; k < k1; k++) {
+				sum += kernel.data[k];
+			}
+			weights.data[i] = sum;
+		}
+	}
+}
@@ -52,5 +52,11 @@ public interface InterpolateRectangle<T extends ImageGray<T>> {
 	 * @param dest Where the interpolated region is to be copied into
 	 */
 	public void region(float tl_x, float tl_y, GrayF32 dest );
+
+	/**
+	 * Creates a new instance of this interpolation algorithm. The image is not copied and must be specified
+	 * by calling {@link #setImage}. Useful when each thread needs its own instance.
+	 */
+	public InterpolateRectangle<T> copy();
 //	public void region(float tl_x, float tl_y, float[] results, int regWidth, int regHeight);
 }
@@ -46,7 +46,7 @@ public class ImageStatistics {
 	 */
 	public static int min( GrayU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.minU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.minU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -61,7 +61,7 @@ public class ImageStatistics {
 	 */
 	public static int min( InterleavedU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.minU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.minU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -76,7 +76,7 @@ public class ImageStatistics {
 	 */
 	public static int max( GrayU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -91,7 +91,7 @@ public class ImageStatistics {
 	 */
 	public static int max( InterleavedU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -106,7 +106,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( GrayU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbsU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbsU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -121,7 +121,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( InterleavedU8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbsU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbsU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -138,7 +138,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayU8 imgA, GrayU8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -155,7 +155,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedU8 imgA, InterleavedU8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -172,7 +172,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayU8 imgA, GrayU8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -189,7 +189,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedU8 imgA, InterleavedU8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -206,7 +206,7 @@ public class ImageStatistics {
 	public static int sum( GrayU8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -244,7 +244,7 @@ public class ImageStatistics {
 	public static int sum( InterleavedU8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -282,7 +282,7 @@ public class ImageStatistics {
 	public static double variance( GrayU8 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -298,7 +298,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayU8 input, int minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -314,7 +314,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayU8 input, int minValue, int maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -329,7 +329,7 @@ public class ImageStatistics {
 	 */
 	public static int min( GrayS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -344,7 +344,7 @@ public class ImageStatistics {
 	 */
 	public static int min( InterleavedS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -359,7 +359,7 @@ public class ImageStatistics {
 	 */
 	public static int max( GrayS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -374,7 +374,7 @@ public class ImageStatistics {
 	 */
 	public static int max( InterleavedS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -389,7 +389,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( GrayS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -404,7 +404,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( InterleavedS8 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -421,7 +421,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayS8 imgA, GrayS8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -438,7 +438,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedS8 imgA, InterleavedS8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -455,7 +455,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayS8 imgA, GrayS8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -472,7 +472,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedS8 imgA, InterleavedS8 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -489,7 +489,7 @@ public class ImageStatistics {
 	public static int sum( GrayS8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -506,7 +506,7 @@ public class ImageStatistics {
 	public static int sumAbs( GrayS8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -533,7 +533,7 @@ public class ImageStatistics {
 	public static int sum( InterleavedS8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -550,7 +550,7 @@ public class ImageStatistics {
 	public static int sumAbs( InterleavedS8 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -577,7 +577,7 @@ public class ImageStatistics {
 	public static double variance( GrayS8 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -593,7 +593,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayS8 input, int minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -609,7 +609,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayS8 input, int minValue, int maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -624,7 +624,7 @@ public class ImageStatistics {
 	 */
 	public static int min( GrayU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.minU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.minU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -639,7 +639,7 @@ public class ImageStatistics {
 	 */
 	public static int min( InterleavedU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.minU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.minU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -654,7 +654,7 @@ public class ImageStatistics {
 	 */
 	public static int max( GrayU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -669,7 +669,7 @@ public class ImageStatistics {
 	 */
 	public static int max( InterleavedU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -684,7 +684,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( GrayU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbsU(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbsU(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -699,7 +699,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( InterleavedU16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbsU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbsU(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -716,7 +716,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayU16 imgA, GrayU16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -733,7 +733,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedU16 imgA, InterleavedU16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSqU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -750,7 +750,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayU16 imgA, GrayU16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -767,7 +767,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedU16 imgA, InterleavedU16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbsU(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -784,7 +784,7 @@ public class ImageStatistics {
 	public static int sum( GrayU16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -822,7 +822,7 @@ public class ImageStatistics {
 	public static int sum( InterleavedU16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -860,7 +860,7 @@ public class ImageStatistics {
 	public static double variance( GrayU16 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -876,7 +876,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayU16 input, int minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -892,7 +892,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayU16 input, int minValue, int maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -907,7 +907,7 @@ public class ImageStatistics {
 	 */
 	public static int min( GrayS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -922,7 +922,7 @@ public class ImageStatistics {
 	 */
 	public static int min( InterleavedS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -937,7 +937,7 @@ public class ImageStatistics {
 	 */
 	public static int max( GrayS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -952,7 +952,7 @@ public class ImageStatistics {
 	 */
 	public static int max( InterleavedS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -967,7 +967,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( GrayS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -982,7 +982,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( InterleavedS16 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -999,7 +999,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayS16 imgA, GrayS16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1016,7 +1016,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedS16 imgA, InterleavedS16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1033,7 +1033,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayS16 imgA, GrayS16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1050,7 +1050,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedS16 imgA, InterleavedS16 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1067,7 +1067,7 @@ public class ImageStatistics {
 	public static int sum( GrayS16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1084,7 +1084,7 @@ public class ImageStatistics {
 	public static int sumAbs( GrayS16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1111,7 +1111,7 @@ public class ImageStatistics {
 	public static int sum( InterleavedS16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1128,7 +1128,7 @@ public class ImageStatistics {
 	public static int sumAbs( InterleavedS16 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1155,7 +1155,7 @@ public class ImageStatistics {
 	public static double variance( GrayS16 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -1171,7 +1171,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayS16 input, int minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -1187,7 +1187,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayS16 input, int minValue, int maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -1202,7 +1202,7 @@ public class ImageStatistics {
 	 */
 	public static int min( GrayS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1217,7 +1217,7 @@ public class ImageStatistics {
 	 */
 	public static int min( InterleavedS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1232,7 +1232,7 @@ public class ImageStatistics {
 	 */
 	public static int max( GrayS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1247,7 +1247,7 @@ public class ImageStatistics {
 	 */
 	public static int max( InterleavedS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1262,7 +1262,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( GrayS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1277,7 +1277,7 @@ public class ImageStatistics {
 	 */
 	public static int maxAbs( InterleavedS32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1294,7 +1294,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayS32 imgA, GrayS32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1311,7 +1311,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedS32 imgA, InterleavedS32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1328,7 +1328,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayS32 imgA, GrayS32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1345,7 +1345,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedS32 imgA, InterleavedS32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1362,7 +1362,7 @@ public class ImageStatistics {
 	public static int sum( GrayS32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1379,7 +1379,7 @@ public class ImageStatistics {
 	public static int sumAbs( GrayS32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1406,7 +1406,7 @@ public class ImageStatistics {
 	public static int sum( InterleavedS32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1423,7 +1423,7 @@ public class ImageStatistics {
 	public static int sumAbs( InterleavedS32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1450,7 +1450,7 @@ public class ImageStatistics {
 	public static double variance( GrayS32 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -1466,7 +1466,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayS32 input, int minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -1482,7 +1482,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayS32 input, int minValue, int maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -1497,7 +1497,7 @@ public class ImageStatistics {
 	 */
 	public static long min( GrayS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1512,7 +1512,7 @@ public class ImageStatistics {
 	 */
 	public static long min( InterleavedS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1527,7 +1527,7 @@ public class ImageStatistics {
 	 */
 	public static long max( GrayS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1542,7 +1542,7 @@ public class ImageStatistics {
 	 */
 	public static long max( InterleavedS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1557,7 +1557,7 @@ public class ImageStatistics {
 	 */
 	public static long maxAbs( GrayS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1572,7 +1572,7 @@ public class ImageStatistics {
 	 */
 	public static long maxAbs( InterleavedS64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1589,7 +1589,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayS64 imgA, GrayS64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1606,7 +1606,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedS64 imgA, InterleavedS64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1623,7 +1623,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayS64 imgA, GrayS64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1640,7 +1640,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedS64 imgA, InterleavedS64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1657,7 +1657,7 @@ public class ImageStatistics {
 	public static long sum( GrayS64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1674,7 +1674,7 @@ public class ImageStatistics {
 	public static long sumAbs( GrayS64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1701,7 +1701,7 @@ public class ImageStatistics {
 	public static long sum( InterleavedS64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1718,7 +1718,7 @@ public class ImageStatistics {
 	public static long sumAbs( InterleavedS64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1745,7 +1745,7 @@ public class ImageStatistics {
 	public static double variance( GrayS64 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -1761,7 +1761,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayS64 input, long minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -1777,7 +1777,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayS64 input, long minValue, long maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -1792,7 +1792,7 @@ public class ImageStatistics {
 	 */
 	public static float min( GrayF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1807,7 +1807,7 @@ public class ImageStatistics {
 	 */
 	public static float min( InterleavedF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1822,7 +1822,7 @@ public class ImageStatistics {
 	 */
 	public static float max( GrayF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1837,7 +1837,7 @@ public class ImageStatistics {
 	 */
 	public static float max( InterleavedF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1852,7 +1852,7 @@ public class ImageStatistics {
 	 */
 	public static float maxAbs( GrayF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -1867,7 +1867,7 @@ public class ImageStatistics {
 	 */
 	public static float maxAbs( InterleavedF32 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -1884,7 +1884,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayF32 imgA, GrayF32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1901,7 +1901,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedF32 imgA, InterleavedF32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1918,7 +1918,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayF32 imgA, GrayF32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -1935,7 +1935,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedF32 imgA, InterleavedF32 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -1952,7 +1952,7 @@ public class ImageStatistics {
 	public static float sum( GrayF32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -1969,7 +1969,7 @@ public class ImageStatistics {
 	public static float sumAbs( GrayF32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -1996,7 +1996,7 @@ public class ImageStatistics {
 	public static float sum( InterleavedF32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -2013,7 +2013,7 @@ public class ImageStatistics {
 	public static float sumAbs( InterleavedF32 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -2040,7 +2040,7 @@ public class ImageStatistics {
 	public static float variance( GrayF32 img, float mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -2056,7 +2056,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayF32 input, float minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -2072,7 +2072,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayF32 input, float minValue, float maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -2087,7 +2087,7 @@ public class ImageStatistics {
 	 */
 	public static double min( GrayF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -2102,7 +2102,7 @@ public class ImageStatistics {
 	 */
 	public static double min( InterleavedF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.min(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -2117,7 +2117,7 @@ public class ImageStatistics {
 	 */
 	public static double max( GrayF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -2132,7 +2132,7 @@ public class ImageStatistics {
 	 */
 	public static double max( InterleavedF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.max(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -2147,7 +2147,7 @@ public class ImageStatistics {
 	 */
 	public static double maxAbs( GrayF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width, input.stride);
@@ -2162,7 +2162,7 @@ public class ImageStatistics {
 	 */
 	public static double maxAbs( InterleavedF64 input ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
 		} else {
 			return ImplImageStatistics.maxAbs(input.data, input.startIndex, input.height, input.width*input.numBands, input.stride);
@@ -2179,7 +2179,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( GrayF64 imgA, GrayF64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -2196,7 +2196,7 @@ public class ImageStatistics {
 	public static double meanDiffSq( InterleavedF64 imgA, InterleavedF64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffSq(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -2213,7 +2213,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( GrayF64 imgA, GrayF64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width);
@@ -2230,7 +2230,7 @@ public class ImageStatistics {
 	public static double meanDiffAbs( InterleavedF64 imgA, InterleavedF64 imgB ) {
 		InputSanityCheck.checkSameShape(imgA, imgB);
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
 		} else {
 			return ImplImageStatistics.meanDiffAbs(imgA.data, imgA.startIndex, imgA.stride, imgB.data, imgB.startIndex, imgB.stride, imgA.height, imgA.width*imgA.numBands);
@@ -2247,7 +2247,7 @@ public class ImageStatistics {
 	public static double sum( GrayF64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -2264,7 +2264,7 @@ public class ImageStatistics {
 	public static double sumAbs( GrayF64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -2291,7 +2291,7 @@ public class ImageStatistics {
 	public static double sum( InterleavedF64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sum(input);
 		} else {
 			return ImplImageStatistics.sum(input);
@@ -2308,7 +2308,7 @@ public class ImageStatistics {
 	public static double sumAbs( InterleavedF64 input ) {
 
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.sumAbs(input);
 		} else {
 			return ImplImageStatistics.sumAbs(input);
@@ -2335,7 +2335,7 @@ public class ImageStatistics {
 	public static double variance( GrayF64 img, double mean ) {
 
 		int N = img.width*img.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			return ImplImageStatistics_MT.variance(img, mean);
 		} else {
 			return ImplImageStatistics.variance(img, mean);
@@ -2351,7 +2351,7 @@ public class ImageStatistics {
 	 */
 	public static void histogram( GrayF64 input, double minValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogram(input, minValue, histogram);
 		} else {
 			ImplImageStatistics.histogram(input, minValue, histogram);
@@ -2367,7 +2367,7 @@ public class ImageStatistics {
 	 */
 	public static void histogramScaled( GrayF64 input, double minValue, double maxValue, int histogram[] ) {
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N >= BoofConcurrency.getSmallImage()) {
 			ImplImageStatistics_MT.histogramScaled(input, minValue, maxValue, histogram);
 		} else {
 			ImplImageStatistics.histogramScaled(input, minValue, maxValue, histogram);
@@ -38,6 +38,7 @@ import javax.annotation.Generated;
 public class PixelMath {
 	/**
 	 * If an image has fewer pixels than this it will not run a concurrent algorithm. The overhead makes it slower.
+	 * A threshold bound with {@link BoofConcurrency#bind(java.util.concurrent.ForkJoinPool, int)} takes priority.
 	 */
 	public static int SMALL_IMAGE = 100*100;
 
@@ -54,7 +55,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -78,7 +79,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -102,7 +103,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -126,7 +127,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -150,7 +151,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -174,7 +175,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -198,7 +199,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -222,7 +223,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -246,7 +247,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -270,7 +271,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -294,7 +295,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -318,7 +319,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -344,7 +345,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -372,7 +373,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -400,7 +401,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -428,7 +429,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -456,7 +457,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -484,7 +485,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -512,7 +513,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -540,7 +541,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -568,7 +569,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -596,7 +597,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -624,7 +625,7 @@ public class PixelMath {
 
 		int columns = imgA.width;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -652,7 +653,7 @@ public class PixelMath {
 
 		int columns = imgA.width*imgA.numBands;
 		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.lambda2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -678,7 +679,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -702,7 +703,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -726,7 +727,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -750,7 +751,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -774,7 +775,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -798,7 +799,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -822,7 +823,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -846,7 +847,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -870,7 +871,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -894,7 +895,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -918,7 +919,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -942,7 +943,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -965,7 +966,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -988,7 +989,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1011,7 +1012,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1034,7 +1035,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1057,7 +1058,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1080,7 +1081,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1103,7 +1104,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1126,7 +1127,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1149,7 +1150,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1172,7 +1173,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1195,7 +1196,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1218,7 +1219,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1243,7 +1244,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1268,7 +1269,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1293,7 +1294,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1318,7 +1319,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1343,7 +1344,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1368,7 +1369,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1393,7 +1394,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1418,7 +1419,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1443,7 +1444,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1468,7 +1469,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1493,7 +1494,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1518,7 +1519,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1543,7 +1544,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1568,7 +1569,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1593,7 +1594,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1618,7 +1619,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1643,7 +1644,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1668,7 +1669,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1693,7 +1694,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1718,7 +1719,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1743,7 +1744,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1768,7 +1769,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1793,7 +1794,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1818,7 +1819,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1843,7 +1844,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1868,7 +1869,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1893,7 +1894,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1918,7 +1919,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1943,7 +1944,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1968,7 +1969,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1993,7 +1994,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2018,7 +2019,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2043,7 +2044,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2068,7 +2069,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2093,7 +2094,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2118,7 +2119,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2143,7 +2144,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2168,7 +2169,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2193,7 +2194,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2218,7 +2219,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2243,7 +2244,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2268,7 +2269,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2293,7 +2294,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2318,7 +2319,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2342,7 +2343,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2366,7 +2367,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2390,7 +2391,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2414,7 +2415,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2438,7 +2439,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2462,7 +2463,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2486,7 +2487,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2510,7 +2511,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2534,7 +2535,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2558,7 +2559,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2582,7 +2583,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2606,7 +2607,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2630,7 +2631,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2654,7 +2655,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2678,7 +2679,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2702,7 +2703,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2726,7 +2727,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2750,7 +2751,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2774,7 +2775,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2798,7 +2799,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2822,7 +2823,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2846,7 +2847,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2870,7 +2871,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2894,7 +2895,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2918,7 +2919,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2942,7 +2943,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2966,7 +2967,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2990,7 +2991,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3014,7 +3015,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3038,7 +3039,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3062,7 +3063,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3086,7 +3087,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3110,7 +3111,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3134,7 +3135,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3158,7 +3159,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3182,7 +3183,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3206,7 +3207,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3230,7 +3231,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3254,7 +3255,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3278,7 +3279,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3302,7 +3303,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3326,7 +3327,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3350,7 +3351,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3374,7 +3375,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3398,7 +3399,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3422,7 +3423,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3446,7 +3447,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3470,7 +3471,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3494,7 +3495,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3518,7 +3519,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3542,7 +3543,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3566,7 +3567,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3590,7 +3591,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3614,7 +3615,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3638,7 +3639,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3662,7 +3663,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3686,7 +3687,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3710,7 +3711,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3734,7 +3735,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3758,7 +3759,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3782,7 +3783,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3806,7 +3807,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3830,7 +3831,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3854,7 +3855,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3878,7 +3879,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3902,7 +3903,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3926,7 +3927,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3950,7 +3951,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3974,7 +3975,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3998,7 +3999,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4022,7 +4023,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4046,7 +4047,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4070,7 +4071,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4094,7 +4095,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4118,7 +4119,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4142,7 +4143,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4166,7 +4167,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4190,7 +4191,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4214,7 +4215,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4238,7 +4239,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4262,7 +4263,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4286,7 +4287,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4310,7 +4311,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4334,7 +4335,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4358,7 +4359,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4382,7 +4383,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4406,7 +4407,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4430,7 +4431,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4454,7 +4455,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4478,7 +4479,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4502,7 +4503,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4526,7 +4527,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4550,7 +4551,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4574,7 +4575,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4598,7 +4599,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4622,7 +4623,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4646,7 +4647,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4670,7 +4671,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4694,7 +4695,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4718,7 +4719,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4742,7 +4743,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4766,7 +4767,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4790,7 +4791,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4814,7 +4815,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4838,7 +4839,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4862,7 +4863,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4886,7 +4887,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4910,7 +4911,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4934,7 +4935,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4958,7 +4959,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4982,7 +4983,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5006,7 +5007,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5030,7 +5031,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5054,7 +5055,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5078,7 +5079,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5102,7 +5103,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5126,7 +5127,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5150,7 +5151,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5174,7 +5175,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5198,7 +5199,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5222,7 +5223,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5246,7 +5247,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5270,7 +5271,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5294,7 +5295,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5318,7 +5319,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5342,7 +5343,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5366,7 +5367,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5390,7 +5391,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5414,7 +5415,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5438,7 +5439,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5462,7 +5463,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5486,7 +5487,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5510,7 +5511,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5534,7 +5535,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5558,7 +5559,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5582,7 +5583,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5606,7 +5607,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5630,7 +5631,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5654,7 +5655,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5678,7 +5679,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5702,7 +5703,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5726,7 +5727,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5750,7 +5751,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5774,7 +5775,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5798,7 +5799,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5822,7 +5823,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5846,7 +5847,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5870,7 +5871,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5894,7 +5895,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5918,7 +5919,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5942,7 +5943,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5966,7 +5967,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5990,7 +5991,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6014,7 +6015,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6038,7 +6039,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6062,7 +6063,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6086,7 +6087,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6110,7 +6111,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6134,7 +6135,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6158,7 +6159,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6182,7 +6183,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6206,7 +6207,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6230,7 +6231,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6254,7 +6255,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6278,7 +6279,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6302,7 +6303,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6326,7 +6327,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6350,7 +6351,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6374,7 +6375,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6398,7 +6399,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6422,7 +6423,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6446,7 +6447,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6470,7 +6471,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6494,7 +6495,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6518,7 +6519,7 @@ public class PixelMath {
 
 		int columns = input.width;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6542,7 +6543,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6578,7 +6579,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6610,7 +6611,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6642,7 +6643,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6674,7 +6675,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6706,7 +6707,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6738,7 +6739,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6770,7 +6771,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6802,7 +6803,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6823,7 +6824,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6844,7 +6845,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6865,7 +6866,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6886,7 +6887,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6907,7 +6908,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6928,7 +6929,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6949,7 +6950,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6970,7 +6971,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6991,7 +6992,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7012,7 +7013,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7033,7 +7034,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7054,7 +7055,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7075,7 +7076,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7096,7 +7097,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7117,7 +7118,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply(imgA, imgB, output);
 		} else {
 			ImplPixelMath.multiply(imgA, imgB, output);
@@ -7138,7 +7139,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide(imgA,imgB,output);
 		} else {
 			ImplPixelMath.divide(imgA,imgB,output);
@@ -7157,7 +7158,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7183,7 +7184,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7208,7 +7209,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7234,7 +7235,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7261,7 +7262,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7287,7 +7288,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7314,7 +7315,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7335,7 +7336,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7356,7 +7357,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply(imgA, imgB, output);
 		} else {
 			ImplPixelMath.multiply(imgA, imgB, output);
@@ -7377,7 +7378,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide(imgA,imgB,output);
 		} else {
 			ImplPixelMath.divide(imgA,imgB,output);
@@ -7396,7 +7397,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7422,7 +7423,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7447,7 +7448,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7473,7 +7474,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7500,7 +7501,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7526,7 +7527,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7551,7 +7552,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7577,7 +7578,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7603,7 +7604,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7622,7 +7623,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7648,7 +7649,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7674,7 +7675,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7693,7 +7694,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7719,7 +7720,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7745,7 +7746,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7764,7 +7765,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7790,7 +7791,7 @@ public class PixelMath {
 
 		int columns = input.width*input.numBands;
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7816,7 +7817,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if( BoofConcurrency.USE_CONCURRENT && N > BoofConcurrency.getSmallImage(SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
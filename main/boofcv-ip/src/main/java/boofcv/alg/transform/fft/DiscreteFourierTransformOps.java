@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -85,6 +85,28 @@ public class DiscreteFourierTransformOps {
 		return x + 1;
 	}
 
+	/**
+	 * Returns the smallest number greater than or equal to x which has no prime factors other than 2, 3, and 5.
+	 * The FFT is efficient for these sizes, while other sizes can require a much slower algorithm. Useful when
+	 * an image is padded before being transformed and the amount of padding can be freely selected.
+	 *
+	 * @param x number
+	 * @return smallest number &ge; x with prime factors of only 2, 3, and 5
+	 */
+	public static int nextFastSize( int x ) {
+		if (x < 1)
+			throw new IllegalArgumentException("x must be greater or equal 1");
+		while (true) {
+			int remainder = x;
+			while (remainder%2 == 0) remainder /= 2;
+			while (remainder%3 == 0) remainder /= 3;
+			while (remainder%5 == 0) remainder /= 5;
+			if (remainder == 1)
+				return x;
+			x++;
+		}
+	}
+
 	/**
 	 * Checks to see if the image and its transform are appropriate sizes .  The transform should have
 	 * twice the width and twice the height as the image.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -146,6 +146,31 @@ public class GeneralPurposeFFT_F32_1D {
 		ch2 = new float[n*2];
 	}
 
+	/**
+	 * Creates a new instance which shares the read only twiddle factors and work tables with 'src' but has its own
+	 * scratch space. Used to create one instance per thread without recomputing the plan.
+	 *
+	 * @param src The instance which is to be copied. Not modified.
+	 */
+	public GeneralPurposeFFT_F32_1D( GeneralPurposeFFT_F32_1D src ) {
+		this.n = src.n;
+		this.nBluestein = src.nBluestein;
+		this.ip = src.ip;
+		this.w = src.w;
+		this.nw = src.nw;
+		this.nc = src.nc;
+		this.wtable = src.wtable;
+		this.wtable_r = src.wtable_r;
+		this.bk1 = src.bk1;
+		this.bk2 = src.bk2;
+		this.plan = src.plan;
+
+		if (src.ak != null)
+			ak = new float[src.ak.length];
+		ch = new float[n];
+		ch2 = new float[n*2];
+	}
+
 	/**
 	 * Computes 1D forward DFT of complex data leaving the result in
 	 * <code>a</code>. Complex number is stored as two float values in
@@ -1276,7 +1301,6 @@ public class GeneralPurposeFFT_F32_1D {
 		int l1, l2, na, kh, nf, ip, iw, ido, idl1;
 
 		Arrays.fill(ch,0);
-		ch = new float[ch.length];
 		final int twon = 2 * n;
 		nf = (int) wtable_r[1 + twon];
 		na = 1;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -47,13 +47,13 @@ package boofcv.alg.transform.fft;
  */
 public class GeneralPurposeFFT_F32_2D {
 
-	private int rows;
+	protected int rows;
 
-	private int columns;
+	protected int columns;
 
 	private float[] t;
 
-	private GeneralPurposeFFT_F32_1D fftColumns, fftRows;
+	protected GeneralPurposeFFT_F32_1D fftColumns, fftRows;
 
 	private boolean isPowerOfTwo = false;
 
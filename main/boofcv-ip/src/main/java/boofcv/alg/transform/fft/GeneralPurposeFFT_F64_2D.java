@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -45,13 +45,13 @@ package boofcv.alg.transform.fft;
  */
 public class GeneralPurposeFFT_F64_2D {
 
-	private int rows;
+	protected int rows;
 
-	private int columns;
+	protected int columns;
 
 	private double[] t;
 
-	private GeneralPurposeFFT_F64_1D fftColumns, fftRows;
+	protected GeneralPurposeFFT_F64_1D fftColumns, fftRows;
 
 	private boolean isPowerOfTwo = false;
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.concurrency.BoofConcurrency;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent implementation of {@link GeneralPurposeFFT_F64_2D}. The 2D transform is decomposed into a pass
+ * along each row followed by a pass along each column. Rows and columns are independent of each other and are
+ * split into blocks which are processed by different threads. Each thread has its own copy of the 1D transform which
+ * shares the precomputed tables with the original but has its own scratch space.
+ *
+ * Only the complex and the full real transforms are done concurrently. The half real transforms
+ * fall back to the single threaded implementation.
+ *
+ * @author Peter Abeles
+ */
+public class GeneralPurposeFFT_F64_2D_MT extends GeneralPurposeFFT_F64_2D {
+
+	private final GrowArray<Workspace> workspace = new GrowArray<>(Workspace::new);
+
+	/**
+	 * @param rows number of rows
+	 * @param columns number of columns
+	 */
+	public GeneralPurposeFFT_F64_2D_MT( int rows, int columns ) {
+		super(rows, columns);
+	}
+
+	@Override
+	public void complexForward( final double[] a ) {
+		if (rows == 1 || columns == 1) {
+			super.complexForward(a);
+			return;
+		}
+
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspace, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.complexForward(a, r*rowStride);
+			}
+		});
+		columnsPass(a, true, false);
+	}
+
+	@Override
+	public void complexInverse( final double[] a, final boolean scale ) {
+		if (rows == 1 || columns == 1) {
+			super.complexInverse(a, scale);
+			return;
+		}
+
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspace, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.complexInverse(a, r*rowStride, scale);
+			}
+		});
+		columnsPass(a, false, scale);
+	}
+
+	@Override
+	public void realForwardFull( final double[] a ) {
+		if (rows == 1 || columns == 1) {
+			super.realForwardFull(a);
+			return;
+		}
+
+		spreadRows(a);
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspace, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.realForwardFull(a, r*rowStride);
+			}
+		});
+		columnsPass(a, true, false);
+	}
+
+	@Override
+	public void realInverseFull( final double[] a, final boolean scale ) {
+		if (rows == 1 || columns == 1) {
+			super.realInverseFull(a, scale);
+			return;
+		}
+
+		spreadRows(a);
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, rows, workspace, ( w, r0, r1 ) -> {
+			for (int r = r0; r < r1; r++) {
+				w.fftColumns.realInverseFull(a, r*rowStride, scale);
+			}
+		});
+		columnsPass(a, false, scale);
+	}
+
+	/**
+	 * Moves each row of real data so that it starts at the beginning of its row in the complex array. Rows are
+	 * moved starting from the last one so that no data is overwritten before it's moved. The second half of each
+	 * row is then zeroed since the 1D full transforms don't write to every element in it.
+	 */
+	private void spreadRows( final double[] a ) {
+		for (int r = rows - 1; r > 0; r--) {
+			System.arraycopy(a, r*columns, a, r*2*columns, columns);
+		}
+		for (int r = 0; r < rows; r++) {
+			int start = r*2*columns + columns;
+			Arrays.fill(a, start, start + columns, 0);
+		}
+	}
+
+	/**
+	 * Applies the 1D transform along each column. Columns are copied into a local array, transformed,
+	 * then copied back.
+	 */
+	private void columnsPass( final double[] a, final boolean forward, final boolean scale ) {
+		final int rowStride = 2*columns;
+		BoofConcurrency.loopBlocks(0, columns, workspace, ( w, c0, c1 ) -> {
+			final double[] temp = w.temp;
+			for (int c = c0; c < c1; c++) {
+				int idx0 = 2*c;
+				for (int r = 0; r < rows; r++) {
+					int idx1 = 2*r;
+					int idx2 = r*rowStride + idx0;
+					temp[idx1] = a[idx2];
+					temp[idx1 + 1] = a[idx2 + 1];
+				}
+				if (forward)
+					w.fftRows.complexForward(temp);
+				else
+					w.fftRows.complexInverse(temp, scale);
+				for (int r = 0; r < rows; r++) {
+					int idx1 = 2*r;
+					int idx2 = r*rowStride + idx0;
+					a[idx2] = temp[idx1];
+					a[idx2 + 1] = temp[idx1 + 1];
+				}
+			}
+		});
+	}
+
+	/**
+	 * Storage for a single thread
+	 */
+	private class Workspace {
+		final GeneralPurposeFFT_F64_1D fftColumns = new GeneralPurposeFFT_F64_1D(GeneralPurposeFFT_F64_2D_MT.this.fftColumns);
+		final GeneralPurposeFFT_F64_1D fftRows = new GeneralPurposeFFT_F64_1D(GeneralPurposeFFT_F64_2D_MT.this.fftRows);
+		final double[] temp = new double[2*rows];
+	}
+}
@@ -141,28 +141,30 @@ public class FactoryDistort {
 	ImageDistort<Input, Output>
 	distortIL(boolean cached, InterpolatePixelMB<Input> interp, ImageType<Output> outputType)
 	{
-		if( cached ) {
-			throw new IllegalArgumentException("Cached not supported yet");
-		} else {
-			AssignPixelValue_MB<Output> assigner;
-			switch( outputType.getDataType() ) {
-				case F32: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.F32(); break;
-				case S32: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.S32(); break;
-				case U16:
-				case S16:
-				case I16: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.I16(); break;
-				case U8:
-				case S8:
-				case I8: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.I8(); break;
-				default:
-					throw new RuntimeException("Not yet supported "+outputType);
-			}
+		AssignPixelValue_MB<Output> assigner;
+		switch( outputType.getDataType() ) {
+			case F32: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.F32(); break;
+			case S32: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.S32(); break;
+			case U16:
+			case S16:
+			case I16: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.I16(); break;
+			case U8:
+			case S8:
+			case I8: assigner = (AssignPixelValue_MB)new AssignPixelValue_MB.I8(); break;
+			default:
+				throw new RuntimeException("Not yet supported "+outputType);
+		}
 
-			if(BoofConcurrency.USE_CONCURRENT ) {
-				return new ImageDistortBasic_IL_MT<>(assigner,interp);
+		if(BoofConcurrency.USE_CONCURRENT ) {
+			if( cached ) {
+				return new ImageDistortCache_IL_MT<>(assigner,interp);
 			} else {
-				return new ImageDistortBasic_IL<>(assigner,interp);
+				return new ImageDistortBasic_IL_MT<>(assigner,interp);
 			}
+		} else if( cached ) {
+			return new ImageDistortCache_IL<>(assigner,interp);
+		} else {
+			return new ImageDistortBasic_IL<>(assigner,interp);
 		}
 	}
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.BoofTesting;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the results against {@link ImageDistortBasic_IL} which should produce identical results
+ *
+ * @author Peter Abeles
+ */
+public class TestImageDistortCache_IL extends BoofStandardJUnit {
+	int width = 60, height = 80;
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f, 0.1f, 0.05f, 1.1f, 2, -3));
+
+	InterleavedF32 input = new InterleavedF32(width, height, 3);
+	InterleavedF32 expected = new InterleavedF32(width, height, 3);
+	InterleavedF32 found = new InterleavedF32(width, height, 3);
+
+	GrayU8 maskExpected = new GrayU8(width, height);
+	GrayU8 maskFound = new GrayU8(width, height);
+
+	InterpolatePixelMB<InterleavedF32> interp = FactoryInterpolation.bilinearPixelMB(
+			ImageType.il(3, InterleavedF32.class), BorderType.EXTENDED);
+
+	public TestImageDistortCache_IL() {
+		GImageMiscOps.fillUniform(input, rand, 0, 150);
+	}
+
+	protected ImageDistortCache_IL<InterleavedF32, InterleavedF32> createAlg() {
+		return new ImageDistortCache_IL<>(new AssignPixelValue_MB.F32(), interp.copy());
+	}
+
+	@Test
+	void compare() {
+		for (boolean renderAll : new boolean[]{true, false}) {
+			var standard = new ImageDistortBasic_IL<>(new AssignPixelValue_MB.F32(), interp.copy());
+			ImageDistortCache_IL<InterleavedF32, InterleavedF32> alg = createAlg();
+			standard.setRenderAll(renderAll);
+			alg.setRenderAll(renderAll);
+			standard.setModel(tran);
+			alg.setModel(tran);
+
+			GImageMiscOps.fill(expected, 0);
+			GImageMiscOps.fill(found, 0);
+			standard.apply(input, expected);
+			alg.apply(input, found);
+			BoofTesting.assertEquals(expected, found, 0.0);
+
+			// Call it again to make sure the cached results are used correctly
+			standard.apply(input, expected, maskExpected);
+			alg.apply(input, found, maskFound);
+			BoofTesting.assertEquals(expected, found, 0.0);
+			BoofTesting.assertEquals(maskExpected, maskFound, 0.0);
+
+			standard.apply(input, expected, 10, 30, 50, 60);
+			alg.apply(input, found, 10, 30, 50, 60);
+			BoofTesting.assertEquals(expected, found, 0.0);
+		}
+	}
+
+	/**
+	 * The output is a sub-image and the map must be indexed independently of the output's stride
+	 */
+	@Test
+	void subimage() {
+		var standard = new ImageDistortBasic_IL<>(new AssignPixelValue_MB.F32(), interp.copy());
+		ImageDistortCache_IL<InterleavedF32, InterleavedF32> alg = createAlg();
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		InterleavedF32 foundSub = BoofTesting.createSubImageOf(found);
+		standard.apply(input, expected);
+		alg.apply(input, foundSub);
+		BoofTesting.assertEquals(expected, foundSub, 0.0);
+	}
+
+	/**
+	 * Changing the model should cause the map to be recomputed
+	 */
+	@Test
+	void changeModel() {
+		var standard = new ImageDistortBasic_IL<>(new AssignPixelValue_MB.F32(), interp.copy());
+		ImageDistortCache_IL<InterleavedF32, InterleavedF32> alg = createAlg();
+		alg.setModel(tran);
+		alg.apply(input, found);
+
+		var tran2 = new PixelTransformAffine_F32(new Affine2D_F32(1.0f, 0.0f, 0.0f, 1.0f, 1, 1));
+		standard.setModel(tran2);
+		alg.setModel(tran2);
+		standard.apply(input, expected);
+		alg.apply(input, found);
+		BoofTesting.assertEquals(expected, found, 0.0);
+	}
+}
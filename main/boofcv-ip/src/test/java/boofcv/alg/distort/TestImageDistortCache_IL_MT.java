@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImageDistortCache_IL_MT extends TestImageDistortCache_IL {
+	@Override
+	protected ImageDistortCache_IL<InterleavedF32, InterleavedF32> createAlg() {
+		return new ImageDistortCache_IL_MT<>(new AssignPixelValue_MB.F32(), interp.copy());
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.FactoryImageBorder;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.border.BorderType;
+import boofcv.struct.border.ImageBorder_F32;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel2D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestConvolveImageFft extends BoofStandardJUnit {
+	// Images are small enough that ConvolveImage will always use the direct approach
+	int width = 35;
+	int height = 40;
+
+	/**
+	 * Compare against a direct convolution for several kernel shapes and border types
+	 */
+	@Test
+	void convolve() {
+		var alg = new ConvolveImageFft();
+		var input = new GrayF32(width, height);
+		var expected = new GrayF32(width, height);
+		var found = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 1);
+
+		BorderType[] borders = new BorderType[]{BorderType.EXTENDED, BorderType.REFLECT, BorderType.ZERO};
+		for (BorderType type : borders) {
+			ImageBorder_F32 border = FactoryImageBorder.single(type, GrayF32.class);
+			for (int kernelWidth : new int[]{1, 3, 6, 21}) {
+				// try the standard offset and one which is off center
+				for (int offset : new int[]{kernelWidth/2, kernelWidth - 1}) {
+					Kernel2D_F32 kernel = FactoryKernel.random2D_F32(kernelWidth, offset, -1, 1, rand);
+
+					ConvolveImage.convolve(kernel, input, expected, border);
+					alg.convolve(kernel, input, found, border);
+
+					BoofTesting.assertEquals(expected, found, 1e-3);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compare against a direct normalized convolution, including kernels which are larger than the image
+	 */
+	@Test
+	void convolveNormalized() {
+		var alg = new ConvolveImageFft();
+		var input = new GrayF32(width, height);
+		var storage = new GrayF32(width, height);
+		var expected = new GrayF32(width, height);
+		var found = new GrayF32(1, 1);
+		ImageMiscOps.fillUniform(input, rand, 0, 1);
+
+		for (int radius : new int[]{1, 4, 10, 25}) {
+			Kernel1D_F32 kernelX = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+			Kernel1D_F32 kernelY = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius + 2);
+
+			ConvolveImageNormalized.horizontal(kernelX, input, storage);
+			ConvolveImageNormalized.vertical(kernelY, storage, expected);
+			alg.convolveNormalized(kernelX, kernelY, input, found);
+
+			BoofTesting.assertEquals(expected, found, 1e-3);
+		}
+	}
+
+	/**
+	 * Sub-images should be handled correctly
+	 */
+	@Test
+	void subimage() {
+		var alg = new ConvolveImageFft();
+		GrayF32 input = BoofTesting.createSubImageOf(new GrayF32(width, height));
+		GrayF32 expected = new GrayF32(width, height);
+		GrayF32 found = BoofTesting.createSubImageOf(new GrayF32(width, height));
+		ImageMiscOps.fillUniform(input, rand, 0, 1);
+
+		ImageBorder_F32 border = FactoryImageBorder.single(BorderType.EXTENDED, GrayF32.class);
+		Kernel2D_F32 kernel = FactoryKernel.random2D_F32(7, 3, -1, 1, rand);
+
+		ConvolveImage.convolve(kernel, input, expected, border);
+		alg.convolve(kernel, input, found, border);
+		BoofTesting.assertEquals(expected, found, 1e-3);
+	}
+
+	@Test
+	void isFaster() {
+		var small = new GrayF32(10, 10);
+		var large = new GrayF32(640, 480);
+		int w = ConvolveImageFft.CROSSOVER_WIDTH_SEPARABLE;
+
+		// The FFT is never selected unless it has been turned on
+		assertFalse(ConvolveImageFft.AUTO_SWITCH);
+		assertFalse(ConvolveImageFft.isFaster(ConvolveImageFft.CROSSOVER_WIDTH_2D, large));
+		assertFalse(ConvolveImageFft.isFasterSeparable(w, w, large));
+
+		ConvolveImageFft.AUTO_SWITCH = true;
+		try {
+			assertFalse(ConvolveImageFft.isFaster(ConvolveImageFft.CROSSOVER_WIDTH_2D, small));
+			assertFalse(ConvolveImageFft.isFaster(ConvolveImageFft.CROSSOVER_WIDTH_2D - 1, large));
+			assertTrue(ConvolveImageFft.isFaster(ConvolveImageFft.CROSSOVER_WIDTH_2D, large));
+
+			assertFalse(ConvolveImageFft.isFasterSeparable(w, w, small));
+			assertFalse(ConvolveImageFft.isFasterSeparable(w - 1, w, large));
+			assertTrue(ConvolveImageFft.isFasterSeparable(w, w, large));
+		} finally {
+			ConvolveImageFft.AUTO_SWITCH = false;
+		}
+	}
+
+	/**
+	 * Each thread should get its own instance and it should be the same instance every time
+	 */
+	@Test
+	void getThreadInstance() throws InterruptedException {
+		ConvolveImageFft instance = ConvolveImageFft.getThreadInstance();
+		assertSame(instance, ConvolveImageFft.getThreadInstance());
+
+		var other = new ConvolveImageFft[1];
+		Thread thread = new Thread(() -> other[0] = ConvolveImageFft.getThreadInstance());
+		thread.start();
+		thread.join();
+		assertNotNull(other[0]);
+		assertNotSame(instance, other[0]);
+	}
+}
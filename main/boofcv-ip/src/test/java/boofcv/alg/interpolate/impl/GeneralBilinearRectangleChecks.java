@@ -142,6 +142,28 @@ public abstract class GeneralBilinearRectangleChecks<T extends ImageGray<T>> ext
 			}
 		}
 	}
+	/**
+	 * A copy should produce the same results as the original once its image has been set
+	 */
+	@Test
+	public void copy() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 200);
+
+		InterpolateRectangle<T> interpA = createRectangleInterpolate();
+		interpA.setImage(img);
+		InterpolateRectangle<T> interpB = interpA.copy();
+		assertNotSame(interpA, interpB);
+		interpB.setImage(img);
+
+		GrayF32 outA = new GrayF32(20, 25);
+		GrayF32 outB = new GrayF32(20, 25);
+		interpA.region(5.4f, 8.6f, outA);
+		interpB.region(5.4f, 8.6f, outB);
+
+		BoofTesting.assertEquals(outA, outB, 0.0);
+	}
+
 	/**
 	 * Compare region against the value returned by get ImplBilinearPixel_F32
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -61,6 +61,16 @@ public class TestDiscreteFourierTransformOps extends BoofStandardJUnit {
 		assertEquals(1024,DiscreteFourierTransformOps.nextPow2(1024));
 	}
 
+	@Test void nextFastSize() {
+		assertEquals(1,DiscreteFourierTransformOps.nextFastSize(1));
+		assertEquals(6,DiscreteFourierTransformOps.nextFastSize(6));
+		assertEquals(8,DiscreteFourierTransformOps.nextFastSize(7));
+		assertEquals(12,DiscreteFourierTransformOps.nextFastSize(11));
+		assertEquals(15,DiscreteFourierTransformOps.nextFastSize(13));
+		assertEquals(225,DiscreteFourierTransformOps.nextFastSize(217));
+		assertEquals(1024,DiscreteFourierTransformOps.nextFastSize(1024));
+	}
+
 	@Test void checkImageArguments() {
 		DiscreteFourierTransformOps.checkImageArguments(new GrayF64(10,12),new InterleavedF32(10,12,2));
 
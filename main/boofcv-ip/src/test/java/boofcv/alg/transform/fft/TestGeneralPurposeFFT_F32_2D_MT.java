@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+class TestGeneralPurposeFFT_F32_2D_MT extends BoofStandardJUnit {
+
+	float tol = 1e-4f;
+
+	int[] sizes = new int[]{1, 2, 3, 16, 32, 100, 103};
+
+	/**
+	 * Results should be the same as the single threaded implementation
+	 */
+	@Test
+	void compareToSingleThread() {
+		for (int i = 0; i < sizes.length; i++) {
+			for (int j = 0; j < sizes.length; j++) {
+				compareToSingleThread(sizes[i], sizes[j]);
+			}
+		}
+	}
+
+	private void compareToSingleThread( int numRows, int numColumns ) {
+		var single = new GeneralPurposeFFT_F32_2D(numRows, numColumns);
+		var concurrent = new GeneralPurposeFFT_F32_2D_MT(numRows, numColumns);
+
+		float[] input = new float[numRows*numColumns*2];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = (float)rand.nextGaussian();
+		}
+
+		float[] expected = input.clone();
+		float[] found = input.clone();
+		single.complexForward(expected);
+		concurrent.complexForward(found);
+		check(expected, found);
+
+		single.complexInverse(expected, true);
+		concurrent.complexInverse(found, true);
+		check(expected, found);
+
+		expected = input.clone();
+		found = input.clone();
+		single.realForwardFull(expected);
+		concurrent.realForwardFull(found);
+		check(expected, found);
+
+		expected = input.clone();
+		found = input.clone();
+		single.realInverseFull(expected, false);
+		concurrent.realInverseFull(found, false);
+		check(expected, found);
+	}
+
+	/**
+	 * Round off errors are relative to the magnitude of the largest element, so the tolerance is scaled by it
+	 */
+	private void check( float[] expected, float[] found ) {
+		float maxAbs = 1.0f;
+		for (int i = 0; i < expected.length; i++) {
+			maxAbs = Math.max(maxAbs, Math.abs(expected[i]));
+		}
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], found[i], tol*maxAbs);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2019, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -18,19 +18,34 @@
 
 package boofcv.abst.fiducial;
 
+import boofcv.alg.fiducial.qrcode.QrCode;
+import boofcv.alg.fiducial.qrcode.QrCodeEncoder;
+import boofcv.alg.fiducial.qrcode.QrCodeGeneratorImage;
+import boofcv.alg.fiducial.square.DetectFiducialSquareImage;
+import boofcv.alg.fiducial.square.SquareImageVpTree;
+import boofcv.alg.filter.binary.GThresholdImageOps;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.factory.fiducial.ConfigFiducialBinary;
+import boofcv.factory.fiducial.ConfigFiducialImage;
+import boofcv.factory.fiducial.ConfigQrCode;
 import boofcv.factory.fiducial.FactoryFiducial;
 import boofcv.factory.filter.binary.ConfigThreshold;
 import boofcv.io.UtilIO;
 import boofcv.io.calibration.CalibrationIO;
+import boofcv.io.image.ConvertBufferedImage;
 import boofcv.io.image.UtilImageIO;
 import boofcv.struct.calib.CameraPinholeBrown;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * @author Peter Abeles
@@ -78,7 +93,169 @@ public class BenchmarkFiducialDetector<T extends ImageGray<T>> {
 		System.out.println("FPS = "+benchmark.benchmark(600));
 	}
 
+	/**
+	 * Compares how long it takes to look up a square image fiducial in a large library using an exhaustive
+	 * search against the vantage point tree. Library descriptors are computed by the detector from rendered text
+	 * patterns. Matching queries are computed from the same patterns after they have been rotated and shifted by a
+	 * small amount, similar to what's seen after the detector removes perspective distortion. Other queries are
+	 * from patterns which are not in the library.
+	 */
+	private static void performLibraryLookup( int librarySize, int numQueries ) {
+		Random rand = new Random(234);
+
+		DetectFiducialSquareImage<GrayU8> library =
+				FactoryFiducial.squareImage(null, null, GrayU8.class).getAlgorithm();
+		DetectFiducialSquareImage<GrayU8> observed =
+				FactoryFiducial.squareImage(null, null, GrayU8.class).getAlgorithm();
+		DetectFiducialSquareImage<GrayU8> unknown =
+				FactoryFiducial.squareImage(null, null, GrayU8.class).getAlgorithm();
+
+		BufferedImage pattern = new BufferedImage(256, 256, BufferedImage.TYPE_BYTE_GRAY);
+		BufferedImage distorted = new BufferedImage(256, 256, BufferedImage.TYPE_BYTE_GRAY);
+		GrayU8 gray = new GrayU8(256, 256);
+		GrayU8 binary = new GrayU8(256, 256);
+		for (int i = 0; i < librarySize + numQueries; i++) {
+			renderPattern(rand, pattern);
+			ConvertBufferedImage.convertFrom(pattern, gray);
+			GThresholdImageOps.threshold(gray, binary, 128, false);
+			if (i >= librarySize) {
+				unknown.addPattern(binary, 1.0);
+				continue;
+			}
+			library.addPattern(binary, 1.0);
+
+			if (i >= numQueries)
+				continue;
+			Graphics2D g2 = distorted.createGraphics();
+			g2.setColor(Color.WHITE);
+			g2.fillRect(0, 0, 256, 256);
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			AffineTransform tran = new AffineTransform();
+			tran.translate(rand.nextGaussian()*2, rand.nextGaussian()*2);
+			tran.rotate(rand.nextGaussian()*0.03, 128, 128);
+			g2.drawImage(pattern, tran, null);
+			g2.dispose();
+			ConvertBufferedImage.convertFrom(distorted, gray);
+			GThresholdImageOps.threshold(gray, binary, 128, false);
+			observed.addPattern(binary, 1.0);
+		}
+
+		List<short[][]> queries = new ArrayList<>();
+		int[] trueDistances = new int[numQueries];
+		for (int i = 0; i < numQueries; i++) {
+			queries.add(observed.getTargets().get(i).desc);
+			trueDistances[i] = SquareImageVpTree.hamming(queries.get(i)[0], library.getTargets().get(i).desc[0]);
+		}
+		Arrays.sort(trueDistances);
+		System.out.printf("Library %6d: distance to true match, median %d max %d%n",
+				librarySize, trueDistances[numQueries/2], trueDistances[numQueries - 1]);
+
+		List<short[][]> unknownQueries = new ArrayList<>();
+		for (int i = 0; i < numQueries; i++) {
+			unknownQueries.add(unknown.getTargets().get(i).desc);
+		}
+
+		SquareImageVpTree index = library.getIndex();
+		index.setExhaustiveThreshold(0);
+		int maxDistance = (int)(queries.get(0)[0].length*16*new ConfigFiducialImage().maxErrorFraction);
+		// build the tree before timing starts
+		index.lookup(queries.get(0), maxDistance);
+
+		for (List<short[][]> set : List.of(queries, unknownQueries)) {
+			int[] expected = new int[numQueries];
+			long time0 = System.nanoTime();
+			for (int i = 0; i < numQueries; i++) {
+				index.lookupExhaustive(set.get(i), maxDistance);
+				expected[i] = index.getBestID();
+			}
+			long time1 = System.nanoTime();
+			int agree = 0;
+			int correct = 0;
+			for (int i = 0; i < numQueries; i++) {
+				index.lookup(set.get(i), maxDistance);
+				agree += index.getBestID() == expected[i] ? 1 : 0;
+				correct += index.getBestID() == i ? 1 : 0;
+			}
+			long time2 = System.nanoTime();
+
+			System.out.printf("    %-7s queries: exhaustive %8.4f ms, tree %8.4f ms per query. agree %d/%d correct %d%n",
+					set == queries ? "library" : "unknown",
+					(time1 - time0)*1e-6/numQueries, (time2 - time1)*1e-6/numQueries, agree, numQueries, correct);
+		}
+	}
+
+	/**
+	 * Renders a pattern made of random text and a shape, similar to what people use for image fiducials
+	 */
+	private static void renderPattern( Random rand, BufferedImage image ) {
+		Graphics2D g2 = image.createGraphics();
+		g2.setColor(Color.WHITE);
+		g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+		g2.setColor(Color.BLACK);
+		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+		int x = rand.nextInt(image.getWidth()/2);
+		int y = rand.nextInt(image.getHeight()/2);
+		int size = 40 + rand.nextInt(image.getWidth()/2);
+		if (rand.nextBoolean())
+			g2.fillOval(x, y, size, size);
+		else
+			g2.fillRect(x, y, size, size/2 + rand.nextInt(size));
+
+		for (int line = 0; line < 2; line++) {
+			var text = new StringBuilder();
+			int length = 2 + rand.nextInt(5);
+			for (int i = 0; i < length; i++) {
+				text.append((char)('A' + rand.nextInt(26)));
+			}
+			g2.setColor(rand.nextInt(4) == 0 ? Color.WHITE : Color.BLACK);
+			g2.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 40 + rand.nextInt(40)));
+			g2.drawString(text.toString(), rand.nextInt(60), 90 + line*100 + rand.nextInt(40));
+		}
+		g2.dispose();
+	}
+
+	/**
+	 * Renders an image with many QR Codes in it and compares the single threaded decoder against the
+	 * concurrent decoder
+	 */
+	private static void performQrCodes( int gridWidth, int numIterations ) {
+		GrayU8 image = new GrayU8(gridWidth*200, gridWidth*200);
+		ImageMiscOps.fill(image, 255);
+		for (int row = 0; row < gridWidth; row++) {
+			for (int col = 0; col < gridWidth; col++) {
+				QrCode qr = new QrCodeEncoder().setVersion(4).addAutomatic("Message " + row + " " + col).fixate();
+				GrayU8 rendered = new QrCodeGeneratorImage(4).render(qr).getGray();
+				ImageMiscOps.copy(0, 0, col*200, row*200, rendered.width, rendered.height, rendered, image);
+			}
+		}
+
+		for (boolean concurrent : new boolean[]{false, true}) {
+			ConfigQrCode config = new ConfigQrCode();
+			config.concurrent = concurrent;
+			QrCodePreciseDetector<GrayU8> detector = FactoryFiducial.qrcode(config, GrayU8.class);
+			detector.process(image); // warm up
+
+			long before = System.nanoTime();
+			for (int i = 0; i < numIterations; i++) {
+				detector.process(image);
+			}
+			long after = System.nanoTime();
+			System.out.printf("QR Codes %3d concurrent=%5s: found %3d, %7.2f ms per image%n",
+					gridWidth*gridWidth, concurrent, detector.getDetections().size(),
+					(after - before)*1e-6/numIterations);
+		}
+	}
+
 	public static void main(String[] args) {
+		for (int gridWidth : new int[]{2, 4, 6}) {
+			performQrCodes(gridWidth, 20);
+		}
+
+		for (int librarySize : new int[]{100, 1_000, 10_000}) {
+			performLibraryLookup(librarySize, 100);
+		}
+
 		String directory = UtilIO.pathExample("fiducial/binary/");
 
 		FiducialDetector detector = FactoryFiducial.squareBinary(
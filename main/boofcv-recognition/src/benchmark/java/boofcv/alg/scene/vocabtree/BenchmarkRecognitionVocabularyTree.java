@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.DogArray;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks querying an image database with a vocabulary tree. The tree has 10,000 leaves and is created
+ * randomly instead of being learned, since learning would dominate the setup time. Each image's descriptors are
+ * randomly sampled near the leaves.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4G")
+public class BenchmarkRecognitionVocabularyTree {
+
+	@Param({"10000", "100000"})
+	int numImages;
+
+	static final int DOF = 16;
+	static final int BRANCH_FACTOR = 10;
+	static final int LEVELS = 4;
+	static final int FEATURES_PER_IMAGE = 100;
+	static final int NUM_QUERIES = 100;
+
+	Random rand = new Random(234);
+	HierarchicalVocabularyTree tree;
+	RecognitionVocabularyTreeNister2006 database;
+	List<List<TupleDesc_F64>> queries = new ArrayList<>();
+	DogArray<RecognitionVocabularyTreeNister2006.Match> matches =
+			new DogArray<>(RecognitionVocabularyTreeNister2006.Match::new);
+	int queryIndex;
+
+	@Setup
+	public void setup() {
+		tree = new HierarchicalVocabularyTree(DOF, BRANCH_FACTOR, LEVELS);
+		// Each child is randomly offset from its parent with a smaller offset at each level
+		var mean = new double[DOF];
+		for (int parent = 0; parent < tree.nodes.size; parent++) {
+			HierarchicalVocabularyTree.Node node = tree.nodes.get(parent);
+			if (node.level == LEVELS)
+				break;
+			double[] parentMean = tree.descriptions.getTemp(parent).value;
+			double scale = Math.pow(0.25, node.level);
+			for (int child = 0; child < BRANCH_FACTOR; child++) {
+				for (int i = 0; i < DOF; i++) {
+					mean[i] = (node.level == 0 ? 0.0 : parentMean[i]) + rand.nextGaussian()*scale;
+				}
+				tree.addChild(parent, mean);
+			}
+		}
+		tree.assignLeafIDs();
+
+		database = new RecognitionVocabularyTreeNister2006(tree);
+		List<TupleDesc_F64> features = createFeatures();
+		for (int imageID = 0; imageID < numImages; imageID++) {
+			sampleImage(features);
+			database.addImage(imageID, features);
+			if (queries.size() < NUM_QUERIES) {
+				List<TupleDesc_F64> query = createFeatures();
+				for (int i = 0; i < FEATURES_PER_IMAGE; i++) {
+					query.get(i).setTo(features.get(i));
+				}
+				queries.add(query);
+			}
+		}
+		database.computeWeightsIdf();
+	}
+
+	private List<TupleDesc_F64> createFeatures() {
+		List<TupleDesc_F64> features = new ArrayList<>();
+		for (int i = 0; i < FEATURES_PER_IMAGE; i++) {
+			features.add(new TupleDesc_F64(DOF));
+		}
+		return features;
+	}
+
+	/**
+	 * Samples features that are near randomly selected leaves
+	 */
+	private void sampleImage( List<TupleDesc_F64> features ) {
+		int firstLeaf = tree.nodes.size - tree.numLeaves;
+		for (int i = 0; i < features.size(); i++) {
+			int leaf = firstLeaf + rand.nextInt(tree.numLeaves);
+			double[] leafMean = tree.descriptions.getTemp(leaf).value;
+			double[] value = features.get(i).value;
+			for (int j = 0; j < DOF; j++) {
+				value[j] = leafMean[j] + rand.nextGaussian()*0.001;
+			}
+		}
+	}
+
+	@Benchmark
+	public void query() {
+		database.query(queries.get(queryIndex), 10, matches);
+		queryIndex = (queryIndex + 1)%queries.size();
+	}
+
+	@Benchmark
+	public void addRemoveImage() {
+		database.addImage(-1, queries.get(queryIndex));
+		database.removeImage(-1);
+		queryIndex = (queryIndex + 1)%queries.size();
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkRecognitionVocabularyTree.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
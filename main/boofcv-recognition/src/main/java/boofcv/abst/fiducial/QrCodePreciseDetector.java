@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -55,9 +55,20 @@ public class QrCodePreciseDetector<T extends ImageGray<T>> implements QrCodeDete
 								 QrCodePositionPatternDetector<T> detectPositionPatterns,
 								 String defaultEncoding,
 								 boolean copyBinary, Class<T> imageType) {
+		this(inputToBinary, detectPositionPatterns, new QrCodeDecoderImage<>(defaultEncoding, imageType),
+				copyBinary, imageType);
+	}
+
+	/**
+	 * Constructor which lets the caller specify the decoder, e.g. {@link boofcv.alg.fiducial.qrcode.QrCodeDecoderImage_MT}
+	 */
+	public QrCodePreciseDetector(InputToBinary<T> inputToBinary,
+								 QrCodePositionPatternDetector<T> detectPositionPatterns,
+								 QrCodeDecoderImage<T> decoder,
+								 boolean copyBinary, Class<T> imageType) {
 		this.inputToBinary = inputToBinary;
 		this.detectPositionPatterns = detectPositionPatterns;
-		this.decoder = new QrCodeDecoderImage<>(defaultEncoding,imageType);
+		this.decoder = decoder;
 		this.imageType = imageType;
 		this.contourHelper = new BinaryContourHelper(detectPositionPatterns.getSquareDetector().getDetector().getContourFinder(),copyBinary);
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,6 +20,7 @@ package boofcv.abst.fiducial;
 
 import boofcv.alg.feature.describe.llah.LlahDocument;
 import boofcv.alg.feature.describe.llah.LlahOperations;
+import boofcv.alg.feature.describe.llah.LlahPackedHashTable;
 import boofcv.alg.fiducial.dots.UchiyaMarkerImageTracker;
 import boofcv.alg.fiducial.dots.UchiyaMarkerTracker;
 import boofcv.struct.geo.Point2D3D;
@@ -39,7 +40,8 @@ import java.util.List;
 
 /**
  * Wrapper around {@link UchiyaMarkerTracker} for {@link FiducialDetector}. To add documents call
- * {@link #addMarker(List)}
+ * {@link #addMarker(List)}. For large libraries of markers, {@link #saveMarkers(String)} will save the computed
+ * features and {@link #loadMarkers(List, String)} will memory-map them, which avoids recomputing them at startup.
  *
  * @author Peter Abeles
  */
@@ -191,8 +193,39 @@ implements FiducialTracker<T>
 	 * Creates a document from a set of points.
 	 */
 	public LlahDocument addMarker(List<Point2D_F64> locations2D ) {
+		checkMarkerBounds(locations2D);
+		return getLlahOperations().createDocument(locations2D);
+	}
+
+	/**
+	 * Saves the features of all the markers into a file which can be loaded using {@link #loadMarkers}.
+	 * After this has been called, features are stored in a {@link LlahPackedHashTable}.
+	 *
+	 * @param path Path to the output file
+	 */
+	public void saveMarkers( String path ) {
+		getLlahOperations().packHashTable().save(path);
+	}
 
-		// sanity check the document
+	/**
+	 * Replaces all markers with ones which were previously saved using {@link #saveMarkers}. The file is
+	 * memory-mapped, so it's fast and only the parts of the table which are used are read. Markers can't be
+	 * added after this has been called.
+	 *
+	 * @param markers Location of points in each marker. Must be in the same order as when they were saved.
+	 * @param path Path to the saved features
+	 */
+	public void loadMarkers( List<List<Point2D_F64>> markers, String path ) {
+		for (int i = 0; i < markers.size(); i++) {
+			checkMarkerBounds(markers.get(i));
+		}
+		getLlahOperations().setPackedTable(LlahPackedHashTable.map(path), markers);
+	}
+
+	/**
+	 * Sanity check the document by making sure all the points are inside the marker
+	 */
+	void checkMarkerBounds( List<Point2D_F64> locations2D ) {
 		double radiusX = markerWidth/2.0;
 		double radiusY = markerHeight/2.0;
 
@@ -202,8 +235,6 @@ implements FiducialTracker<T>
 				throw new IllegalArgumentException(
 						"Marker size is ("+markerWidth+","+markerHeight+") and "+p+" is out of bounds");
 		}
-
-		return getLlahOperations().createDocument(locations2D);
 	}
 
 	public LlahOperations getLlahOperations() {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -34,7 +34,7 @@ import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import lombok.Getter;
 import lombok.Setter;
-import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.VerbosePrint;
@@ -114,7 +114,7 @@ public class UchiyaMarkerTracker implements VerbosePrint {
 	@Getter double timeUpdate;
 
 	// Estimate the homography with noise
-	Ransac<Homography2D_F64, AssociatedPair> ransac;
+	ModelMatcher<Homography2D_F64, AssociatedPair> ransac;
 	// Estimate from a batch of observations
 	Estimate1ofEpipolar estimateHomography = FactoryMultiView.homographyTLS();
 	// Non-linear refinement with mixel errors
@@ -131,7 +131,7 @@ public class UchiyaMarkerTracker implements VerbosePrint {
 	 * Configures the tracker
 	 */
 	public UchiyaMarkerTracker( LlahOperations llahOps,
-								Ransac<Homography2D_F64, AssociatedPair> ransac ) {
+								ModelMatcher<Homography2D_F64, AssociatedPair> ransac ) {
 		this.llahOps = llahOps;
 		this.ransac = ransac;
 
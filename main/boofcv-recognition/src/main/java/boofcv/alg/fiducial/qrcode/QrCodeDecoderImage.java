@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -55,6 +55,10 @@ public class QrCodeDecoderImage<T extends ImageGray<T>> {
 	QrCodeAlignmentPatternLocator<T> alignmentLocator;
 	QrCodeBinaryGridReader<T> gridReader;
 
+	// Most recently specified lens distortion. Saved so that it can be passed to other decoders
+	protected int lensWidth, lensHeight;
+	protected @Nullable LensDistortionNarrowFOV lensModel;
+
 	/**
 	 * @param forceEncoding Force the default encoding to be this. Null for default
 	 */
@@ -86,16 +90,29 @@ public class QrCodeDecoderImage<T extends ImageGray<T>> {
 
 					setPositionPatterns(ppn, j, k, qr);
 					computeBoundingBox(qr);
-
-					// Decode the entire marker now
-					if (decode(gray, qr)) {
-						successes.add(qr);
-					} else {
-						failures.add(qr);
-					}
 				}
 			}
 		}
+
+		decodeCandidates(gray);
+	}
+
+	/**
+	 * Attempts to decode every candidate in {@link #storageQR} and sorts them into {@link #successes} and
+	 * {@link #failures}, preserving the order they were found in.
+	 *
+	 * @param gray Gray input image
+	 */
+	protected void decodeCandidates( T gray ) {
+		for (int i = 0; i < storageQR.size; i++) {
+			QrCode qr = storageQR.get(i);
+			// Decode the entire marker now
+			if (decode(gray, qr)) {
+				successes.add(qr);
+			} else {
+				failures.add(qr);
+			}
+		}
 	}
 
 	/**
@@ -108,6 +125,9 @@ public class QrCodeDecoderImage<T extends ImageGray<T>> {
 	 */
 	public void setLensDistortion( int width, int height,
 								   @Nullable LensDistortionNarrowFOV model ) {
+		this.lensWidth = width;
+		this.lensHeight = height;
+		this.lensModel = model;
 		alignmentLocator.setLensDistortion(width, height, model);
 		gridReader.setLensDistortion(width, height, model);
 	}
@@ -155,7 +175,12 @@ public class QrCodeDecoderImage<T extends ImageGray<T>> {
 		qr.bounds.get(3).setTo(qr.ppDown.get(3));
 	}
 
-	private boolean decode( T gray, QrCode qr ) {
+	/**
+	 * Attempts to decode a single candidate QR Code. The image must have already been passed to the grid reader.
+	 *
+	 * @return true if successful
+	 */
+	boolean decode( T gray, QrCode qr ) {
 		if (!extractFormatInfo(qr)) {
 			qr.failureCause = QrCode.Failure.FORMAT;
 			return false;
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.fiducial.qrcode;
+
+import boofcv.alg.distort.LensDistortionNarrowFOV;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.DogArray_B;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link QrCodeDecoderImage}. Candidates are found the same way but then decoded
+ * in parallel, with each thread having its own decoder. Results are identical to the single threaded version
+ * and are returned in the same order.
+ *
+ * @author Peter Abeles
+ */
+public class QrCodeDecoderImage_MT<T extends ImageGray<T>> extends QrCodeDecoderImage<T> {
+	// Decoder for each thread. Each one has its own grid reader, alignment locator, and bit decoder
+	GrowArray<QrCodeDecoderImage<T>> workspace;
+
+	// Indicates if the candidate at the same index in storageQR was successfully decoded
+	DogArray_B decoded = new DogArray_B();
+
+	/**
+	 * @param forceEncoding Force the default encoding to be this. Null for default
+	 */
+	public QrCodeDecoderImage_MT( @Nullable String forceEncoding, Class<T> imageType ) {
+		super(forceEncoding, imageType);
+		workspace = new GrowArray<>(() -> {
+			var decoder = new QrCodeDecoderImage<>(forceEncoding, imageType);
+			decoder.setLensDistortion(lensWidth, lensHeight, lensModel);
+			return decoder;
+		});
+	}
+
+	@Override
+	protected void decodeCandidates( T gray ) {
+		decoded.resize(storageQR.size);
+
+		BoofConcurrency.loopBlocks(0, storageQR.size, workspace, ( decoder, idx0, idx1 ) -> {
+			decoder.gridReader.setImage(gray);
+			for (int i = idx0; i < idx1; i++) {
+				decoded.data[i] = decoder.decode(gray, storageQR.get(i));
+			}
+		});
+
+		// Sort the results in the same order as the single threaded version
+		for (int i = 0; i < storageQR.size; i++) {
+			if (decoded.data[i]) {
+				successes.add(storageQR.get(i));
+			} else {
+				failures.add(storageQR.get(i));
+			}
+		}
+	}
+
+	@Override
+	public void setLensDistortion( int width, int height, @Nullable LensDistortionNarrowFOV model ) {
+		super.setLensDistortion(width, height, model);
+		for (int i = 0; i < workspace.size(); i++) {
+			workspace.get(i).setLensDistortion(width, height, model);
+		}
+	}
+}
@@ -20,7 +20,6 @@ package boofcv.alg.fiducial.square;
 
 import boofcv.abst.distort.FDistort;
 import boofcv.abst.filter.binary.InputToBinary;
-import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.alg.filter.binary.GThresholdImageOps;
 import boofcv.alg.filter.misc.AverageDownSampleOps;
 import boofcv.alg.misc.ImageMiscOps;
@@ -72,8 +71,13 @@ public class DetectFiducialSquareImage<T extends ImageGray<T>>
 	// list of all known targets
 	private List<FiducialDef> targets = new ArrayList<>();
 
-	// description of the current target candidate
-	private  short squareDef[] = new short[DESC_LENGTH];
+	// description of the current target candidate in each of the 4 orientations
+	private short[][] squareDef = new short[4][DESC_LENGTH];
+
+	// Used to quickly find which target the candidate matches
+	private SquareImageVpTree index = new SquareImageVpTree(DESC_LENGTH);
+	// If true the vantage point tree is used to find the best target. Otherwise every target is checked
+	private boolean useIndex = true;
 
 	// storage for no border sub-image
 	private GrayF32 grayNoBorder = new GrayF32();
@@ -152,9 +156,10 @@ public class DetectFiducialSquareImage<T extends ImageGray<T>>
 		ImageMiscOps.rotateCCW(binary);
 		binaryToDef(binary, def.desc[3]);
 
-		int index = targets.size();
+		// Only the nominal orientation is added to the index. The candidate is rotated instead
+		index.add(def.desc[0]);
 		targets.add( def );
-		return index;
+		return targets.size()-1;
 	}
 
 	/**
@@ -183,43 +188,55 @@ public class DetectFiducialSquareImage<T extends ImageGray<T>>
 		GThresholdImageOps.threshold(grayNoBorder,binary,threshold,false);
 
 //		binary.printBinary();
-		binaryToDef(binary, squareDef);
-
-		boolean matched = false;
-		int bestScore = hammingThreshold+1;
-		for (int i = 0; i < targets.size(); i++) {
-			FiducialDef def = targets.get(i);
-
-			for (int j = 0; j < 4; j++) {
-				int score = hamming(def.desc[j], squareDef);
-				if( score < bestScore ) {
-					bestScore = score;
-					result.rotation = j;
-					result.which = i;
-					result.lengthSide = def.lengthSide;
-					matched = true;
-				}
-			}
+
+		// Describe the candidate in each orientation. Rotating the candidate CW is equivalent to comparing it
+		// against the target rotated CCW, which is how the rotation is defined
+		binaryToDef(binary, squareDef[0]);
+		for (int i = 1; i < 4; i++) {
+			ImageMiscOps.rotateCW(binary);
+			binaryToDef(binary, squareDef[i]);
 		}
 
-		return matched;
+		boolean found = useIndex ?
+				index.lookup(squareDef, hammingThreshold) :
+				index.lookupExhaustive(squareDef, hammingThreshold);
+		if (!found)
+			return false;
+
+		result.rotation = index.getBestRotation();
+		result.which = index.getBestID();
+		result.lengthSide = targets.get(result.which).lengthSide;
+
+		return true;
 	}
 
 	/**
 	 * Computes the hamming score between two descriptions.  Larger the number better the fit
 	 */
 	protected int hamming(short[] a, short[] b) {
-		int distance = 0;
-		for (int i = 0; i < a.length; i++) {
-			distance += DescriptorDistance.hamming((a[i]&0xFFFF) ^ (b[i]&0xFFFF));
-		}
-		return distance;
+		return SquareImageVpTree.hamming(a, b);
 	}
 
 	public List<FiducialDef> getTargets() {
 		return targets;
 	}
 
+	public SquareImageVpTree getIndex() {
+		return index;
+	}
+
+	public boolean isUseIndex() {
+		return useIndex;
+	}
+
+	/**
+	 * If true then a vantage point tree is used to find which target matches. Otherwise every target is checked.
+	 * Results are the same. See {@link SquareImageVpTree}.
+	 */
+	public void setUseIndex( boolean useIndex ) {
+		this.useIndex = useIndex;
+	}
+
 	/**
 	 * description of an image in 4 different orientations
 	 */
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.fiducial.square;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.misc.BoofMiscOps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Vantage point tree [1] for quickly finding which binary descriptor in a large library is the closest match
+ * to a query. Hamming distance is a metric, so after the distance from the query to a node's vantage point has
+ * been computed the triangle inequality gives a lower bound on the distance to every descriptor below the node.
+ * Nodes are skipped if their lower bound is worse than the best match found so far. The results are identical
+ * to an exhaustive search.
+ * </p>
+ *
+ * <p>
+ * How much of the tree is skipped depends on how close the best match is. If the query is one of the targets
+ * then the bound quickly shrinks and most nodes are skipped. If the query isn't in the library then its best
+ * match is far away and much less of the tree can be skipped.
+ * </p>
+ *
+ * <p>
+ * Descriptors are packed into 64-bit words internally so that the distance can be computed with
+ * {@link Long#bitCount(long)}. This is used by the exhaustive search too.
+ * </p>
+ *
+ * <p>[1] Yianilos, Peter N. "Data structures and algorithms for nearest neighbor search in general metric
+ * spaces." SODA. Vol. 93. No. 194. 1993.</p>
+ *
+ * @author Peter Abeles
+ */
+public class SquareImageVpTree {
+	// Number of 16-bit words in a descriptor
+	final int descLength;
+	// Number of 64-bit words in a packed descriptor
+	final int packedLength;
+
+	// All the descriptors in the library
+	final List<short[]> descriptors = new ArrayList<>();
+	// Packed copy of every descriptor. Descriptor 'id' starts at id*packedLength
+	long[] packed = new long[0];
+	// Packed version of the query in each orientation
+	long[][] packedQueries = new long[0][];
+
+	// If the library has fewer than this number of descriptors then an exhaustive search is used
+	int exhaustiveThreshold = 100;
+
+	// Nodes with this many or fewer descriptors are leaves and every descriptor in them is checked. Must be 2 or more
+	int leafSize = 4;
+
+	// Used to select vantage points. Seeded so that the tree is the same every time it's built
+	final Random rand = new Random(0xBEEF);
+
+	// The tree is stored in 'order'. A node which covers elements lo to hi-1 has its vantage point at 'lo',
+	// children inside of the vantage point's radius from lo+1 to split-1 and outside from split to hi-1.
+	// All other arrays are indexed by 'lo'. The range of distances from the vantage point to each child is saved.
+	int[] order = new int[0];
+	int[] split = new int[0];
+	int[] insideMin = new int[0];
+	int[] insideMax = new int[0];
+	int[] outsideMin = new int[0];
+	int[] outsideMax = new int[0];
+	// true if the tree needs to be rebuilt
+	boolean dirty = false;
+
+	// Work space for building the tree. Distance in the upper bits and ID in the lower
+	long[] sortKeys = new long[0];
+
+	// Results from the most recent search
+	int bestID;
+	int bestRotation;
+	int bestDistance;
+	// Maximum distance for a match
+	int maxDistance;
+
+	/**
+	 * @param descLength Number of 16-bit words in each descriptor
+	 */
+	public SquareImageVpTree( int descLength ) {
+		this.descLength = descLength;
+		this.packedLength = (descLength + 3)/4;
+	}
+
+	/**
+	 * Removes all descriptors from the library
+	 */
+	public void reset() {
+		descriptors.clear();
+		dirty = true;
+	}
+
+	/**
+	 * Adds a descriptor to the library. A reference to the array is saved so don't modify it later on.
+	 *
+	 * @param desc Descriptor in its nominal orientation
+	 * @return The ID of the descriptor
+	 */
+	public int add( short[] desc ) {
+		if (desc.length != descLength)
+			throw new IllegalArgumentException("Descriptor has an unexpected length. " + desc.length);
+		int id = descriptors.size();
+		descriptors.add(desc);
+		if (packed.length < (id + 1)*packedLength)
+			packed = Arrays.copyOf(packed, Math.max(16, 2*(id + 1))*packedLength);
+		pack(desc, packed, id*packedLength);
+		dirty = true;
+		return id;
+	}
+
+	/**
+	 * Searches for the descriptor which best matches the query. The query is provided in multiple orientations.
+	 * If a match is found the results can be retrieved with {@link #getBestID()}, {@link #getBestRotation()},
+	 * and {@link #getBestDistance()}. If there is a tie the descriptor with the lowest ID then rotation is
+	 * selected.
+	 *
+	 * @param queries The query's descriptor in each orientation
+	 * @param maxDistance A match must have a hamming distance &le; this value
+	 * @return true if a match was found
+	 */
+	public boolean lookup( short[][] queries, int maxDistance ) {
+		if (descriptors.size() < exhaustiveThreshold) {
+			return lookupExhaustive(queries, maxDistance);
+		}
+
+		if (dirty)
+			buildTree();
+
+		initializeSearch(queries, maxDistance);
+		for (int rotation = 0; rotation < queries.length; rotation++) {
+			search(0, descriptors.size(), packedQueries[rotation], rotation);
+		}
+
+		return bestID >= 0;
+	}
+
+	/**
+	 * Searches for the best match by comparing the query against every descriptor in the library
+	 *
+	 * @see #lookup(short[][], int)
+	 */
+	public boolean lookupExhaustive( short[][] queries, int maxDistance ) {
+		initializeSearch(queries, maxDistance);
+
+		for (int id = 0; id < descriptors.size(); id++) {
+			for (int rotation = 0; rotation < queries.length; rotation++) {
+				checkCandidate(id, rotation, distance(id, packedQueries[rotation]));
+			}
+		}
+
+		return bestID >= 0;
+	}
+
+	private void initializeSearch( short[][] queries, int maxDistance ) {
+		if (packedQueries.length < queries.length) {
+			packedQueries = new long[queries.length][packedLength];
+		}
+		for (int rotation = 0; rotation < queries.length; rotation++) {
+			if (queries[rotation].length != descLength)
+				throw new IllegalArgumentException("Query has an unexpected length. " + queries[rotation].length);
+			pack(queries[rotation], packedQueries[rotation], 0);
+		}
+
+		this.maxDistance = maxDistance;
+		bestID = -1;
+		bestRotation = -1;
+		bestDistance = maxDistance + 1;
+	}
+
+	/**
+	 * Searches the node which covers elements lo to hi-1 in {@link #order} for a better match to the query
+	 */
+	private void search( int lo, int hi, long[] query, int rotation ) {
+		if (hi - lo <= leafSize) {
+			for (int i = lo; i < hi; i++) {
+				checkCandidate(order[i], rotation, distance(order[i], query));
+			}
+			return;
+		}
+
+		int d = distance(order[lo], query);
+		checkCandidate(order[lo], rotation, d);
+
+		// Lower bound on the distance to any descriptor in each child from the triangle inequality
+		int mid = split[lo];
+		int boundInside = Math.max(0, Math.max(insideMin[lo] - d, d - insideMax[lo]));
+		int boundOutside = Math.max(0, Math.max(outsideMin[lo] - d, d - outsideMax[lo]));
+
+		// Search the child which is most likely to contain the best match first so that the bound shrinks sooner
+		if (boundInside <= boundOutside) {
+			if (boundInside <= searchBound())
+				search(lo + 1, mid, query, rotation);
+			if (boundOutside <= searchBound())
+				search(mid, hi, query, rotation);
+		} else {
+			if (boundOutside <= searchBound())
+				search(mid, hi, query, rotation);
+			if (boundInside <= searchBound())
+				search(lo + 1, mid, query, rotation);
+		}
+	}
+
+	/**
+	 * Descriptors with a distance larger than this can't be a better match. Equal distances need to be checked
+	 * since ties are resolved using the ID.
+	 */
+	private int searchBound() {
+		return bestID >= 0 ? bestDistance : maxDistance;
+	}
+
+	/**
+	 * Saves the candidate if it's a better match. Ties are resolved the same way as in an exhaustive search.
+	 */
+	private void checkCandidate( int id, int rotation, int distance ) {
+		if (distance < bestDistance ||
+				(distance == bestDistance && bestID >= 0 &&
+						(id < bestID || (id == bestID && rotation < bestRotation)))) {
+			bestDistance = distance;
+			bestRotation = rotation;
+			bestID = id;
+		}
+	}
+
+	/**
+	 * Builds the tree from all the descriptors
+	 */
+	void buildTree() {
+		final int N = descriptors.size();
+
+		if (order.length < N) {
+			order = new int[N];
+			split = new int[N];
+			insideMin = new int[N];
+			insideMax = new int[N];
+			outsideMin = new int[N];
+			outsideMax = new int[N];
+			sortKeys = new long[N];
+		}
+		for (int i = 0; i < N; i++) {
+			order[i] = i;
+		}
+
+		rand.setSeed(0xBEEF);
+		buildNode(0, N);
+		dirty = false;
+	}
+
+	/**
+	 * Selects a vantage point for the node which covers elements lo to hi-1 and splits the remaining elements
+	 * in half by their distance to it
+	 */
+	private void buildNode( int lo, int hi ) {
+		if (hi - lo <= leafSize)
+			return;
+
+		// Randomly select the vantage point and move it to the start
+		int selected = lo + rand.nextInt(hi - lo);
+		int vp = order[selected];
+		order[selected] = order[lo];
+		order[lo] = vp;
+
+		// Sort the other elements by their distance to the vantage point
+		for (int i = lo + 1; i < hi; i++) {
+			sortKeys[i] = ((long)distance(vp, order[i]) << 32) | order[i];
+		}
+		Arrays.sort(sortKeys, lo + 1, hi);
+		for (int i = lo + 1; i < hi; i++) {
+			order[i] = (int)sortKeys[i];
+		}
+
+		int mid = lo + 1 + (hi - lo - 1)/2;
+		split[lo] = mid;
+		insideMin[lo] = (int)(sortKeys[lo + 1] >>> 32);
+		insideMax[lo] = (int)(sortKeys[mid - 1] >>> 32);
+		outsideMin[lo] = (int)(sortKeys[mid] >>> 32);
+		outsideMax[lo] = (int)(sortKeys[hi - 1] >>> 32);
+
+		buildNode(lo + 1, mid);
+		buildNode(mid, hi);
+	}
+
+	/**
+	 * Packs four 16-bit words into each 64-bit word
+	 */
+	private void pack( short[] desc, long[] output, int offset ) {
+		for (int i = 0; i < packedLength; i++) {
+			long value = 0;
+			for (int j = 0, word = i*4; j < 4 && word < descLength; j++, word++) {
+				value |= (desc[word] & 0xFFFFL) << (16*j);
+			}
+			output[offset + i] = value;
+		}
+	}
+
+	private int distance( int id, long[] query ) {
+		int offset = id*packedLength;
+		int distance = 0;
+		for (int i = 0; i < packedLength; i++) {
+			distance += Long.bitCount(packed[offset + i] ^ query[i]);
+		}
+		return distance;
+	}
+
+	private int distance( int idA, int idB ) {
+		int offsetA = idA*packedLength;
+		int offsetB = idB*packedLength;
+		int distance = 0;
+		for (int i = 0; i < packedLength; i++) {
+			distance += Long.bitCount(packed[offsetA + i] ^ packed[offsetB + i]);
+		}
+		return distance;
+	}
+
+	/**
+	 * Computes the hamming distance between two descriptors
+	 */
+	public static int hamming( short[] a, short[] b ) {
+		int distance = 0;
+		for (int i = 0; i < a.length; i++) {
+			distance += DescriptorDistance.hamming((a[i] & 0xFFFF) ^ (b[i] & 0xFFFF));
+		}
+		return distance;
+	}
+
+	public int size() {
+		return descriptors.size();
+	}
+
+	public short[] getDescriptor( int id ) {
+		return descriptors.get(id);
+	}
+
+	public int getBestID() {
+		return bestID;
+	}
+
+	public int getBestRotation() {
+		return bestRotation;
+	}
+
+	public int getBestDistance() {
+		return bestDistance;
+	}
+
+	public int getExhaustiveThreshold() {
+		return exhaustiveThreshold;
+	}
+
+	public void setExhaustiveThreshold( int exhaustiveThreshold ) {
+		this.exhaustiveThreshold = exhaustiveThreshold;
+	}
+
+	public int getLeafSize() {
+		return leafSize;
+	}
+
+	public void setLeafSize( int leafSize ) {
+		BoofMiscOps.checkTrue(leafSize >= 2, "Leaf size must be at least 2");
+		this.leafSize = leafSize;
+		dirty = true;
+	}
+}
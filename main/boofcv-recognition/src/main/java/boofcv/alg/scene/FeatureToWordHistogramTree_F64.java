@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.struct.feature.TupleDesc_F64;
+
+import java.util.Arrays;
+
+/**
+ * Creates a normalized histogram of visual words using the leaves of a {@link HierarchicalVocabularyTree} as the
+ * words. Each feature is assigned to a word by descending the tree, which is much faster than comparing it against
+ * every word when there are many words. Only hard assignment is supported.
+ *
+ * @author Peter Abeles
+ */
+public class FeatureToWordHistogramTree_F64 implements FeatureToWordHistogram<TupleDesc_F64> {
+	// Tree that the features are looked up in
+	private final HierarchicalVocabularyTree tree;
+
+	// total number of features which have been assigned to the histogram
+	private int total;
+	private final double[] histogram;
+
+	// used to catch a common bug
+	private boolean processed;
+
+	/**
+	 * @param tree Vocabulary tree. Leaf IDs must already be assigned.
+	 */
+	public FeatureToWordHistogramTree_F64( HierarchicalVocabularyTree tree ) {
+		if (tree.numLeaves == 0)
+			throw new IllegalArgumentException("Leaf IDs have not been assigned");
+		this.tree = tree;
+		this.histogram = new double[tree.numLeaves];
+	}
+
+	@Override
+	public void reset() {
+		total = 0;
+		processed = false;
+		Arrays.fill(histogram, 0);
+	}
+
+	@Override
+	public void addFeature( TupleDesc_F64 feature ) {
+		int leaf = tree.searchPathToLeaf(feature.value, null);
+		histogram[tree.nodes.get(leaf).leafID] += 1;
+		total += 1;
+	}
+
+	@Override
+	public void process() {
+		processed = true;
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] /= total;
+		}
+	}
+
+	@Override
+	public double[] getHistogram() {
+		if (!processed)
+			throw new RuntimeException("Must call process first before histogram is valid");
+		return histogram;
+	}
+
+	@Override
+	public int getTotalWords() {
+		return histogram.length;
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTreeNister2006;
+import boofcv.alg.sfm.structure.LookUpSimilarImages;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageDimension;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.FastAccess;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static boofcv.misc.BoofMiscOps.checkTrue;
+
+/**
+ * Implementation of {@link LookUpSimilarImages} for an unordered set of images. Similar images are found by querying
+ * a {@link RecognitionVocabularyTreeNister2006} image database, and features are matched using the provided
+ * association algorithm when matches are requested. This is intended for scene reconstruction from large
+ * collections of images, where it's too expensive to compare every pair of images.
+ *
+ * <ul>
+ *     <li>Add all the images with {@link #addImage} before searching for similar images</li>
+ *     <li>IDF weights are recomputed the first time similar images are searched for after images are added</li>
+ *     <li>Feature matches are computed every time they are requested and are not cached</li>
+ * </ul>
+ *
+ * @author Peter Abeles
+ */
+public class SimilarImagesVocabularyTree implements LookUpSimilarImages {
+	/** Maximum number of similar images that will be returned for an image */
+	public int limitMatches = 15;
+	/** Images with an L1 error larger than this are not similar. The error ranges from 0 to 2. */
+	public double maximumError = 1.9;
+
+	/** Database used to find similar images */
+	protected final RecognitionVocabularyTreeNister2006 database;
+	/** Used to associate features between two images */
+	protected final AssociateDescription<TupleDesc_F64> associator;
+
+	/** All the images which have been added */
+	public final DogArray<View> views;
+	/** Quick way to retrieve a view based on its ID */
+	public final Map<String, View> viewMap = new HashMap<>();
+
+	// true if images have been added since the weights were last computed
+	protected boolean dirty = false;
+
+	//------------------- Internal Workspace ------------------------------------
+	DogArray<RecognitionVocabularyTreeNister2006.Match> queryMatches =
+			new DogArray<>(RecognitionVocabularyTreeNister2006.Match::new);
+
+	public SimilarImagesVocabularyTree( HierarchicalVocabularyTree tree,
+										AssociateDescription<TupleDesc_F64> associator ) {
+		this.database = new RecognitionVocabularyTreeNister2006(tree);
+		this.associator = associator;
+		final int dof = tree.getDOF();
+		this.views = new DogArray<>(() -> new View(dof), View::reset);
+	}
+
+	/**
+	 * Discards all images
+	 */
+	public void reset() {
+		database.clearImages();
+		views.reset();
+		viewMap.clear();
+		dirty = false;
+	}
+
+	/**
+	 * Adds a new image
+	 *
+	 * @param id Unique ID for the image
+	 * @param width Image width
+	 * @param height Image height
+	 * @param pixels Pixel coordinates of each feature. Copied.
+	 * @param descriptors Descriptor of each feature. Copied.
+	 */
+	public void addImage( String id, int width, int height,
+						  List<Point2D_F64> pixels, List<TupleDesc_F64> descriptors ) {
+		checkTrue(!viewMap.containsKey(id), "Image ID has already been added");
+		checkTrue(pixels.size() == descriptors.size(), "Number of pixels and descriptors must match");
+
+		int index = views.size;
+		View v = views.grow();
+		v.id = id;
+		v.index = index;
+		v.width = width;
+		v.height = height;
+		for (int i = 0; i < pixels.size(); i++) {
+			v.pixels.grow().setTo(pixels.get(i));
+			v.descriptors.grow().setTo(descriptors.get(i));
+		}
+		viewMap.put(id, v);
+
+		database.addImage(index, v.descriptors.toList());
+		dirty = true;
+	}
+
+	@Override
+	public List<String> getImageIDs() {
+		var list = new ArrayList<String>();
+		for (int i = 0; i < views.size; i++) {
+			list.add(views.get(i).id);
+		}
+		return list;
+	}
+
+	@Override
+	public void findSimilar( String target, List<String> similar ) {
+		similar.clear();
+		View v = viewMap.get(target);
+		checkTrue(v != null, "Unknown image");
+
+		if (dirty) {
+			database.computeWeightsIdf();
+			dirty = false;
+		}
+
+		// The image will match itself, so ask for one more
+		database.query(v.descriptors.toList(), limitMatches + 1, queryMatches);
+		for (int i = 0; i < queryMatches.size; i++) {
+			RecognitionVocabularyTreeNister2006.Match m = queryMatches.get(i);
+			if (m.id == v.index || m.error > maximumError)
+				continue;
+			if (similar.size() == limitMatches)
+				break;
+			similar.add(views.get(m.id).id);
+		}
+	}
+
+	@Override
+	public void lookupPixelFeats( String target, DogArray<Point2D_F64> features ) {
+		features.reset();
+		View v = viewMap.get(target);
+		checkTrue(v != null, "Unknown image");
+
+		for (int i = 0; i < v.pixels.size; i++) {
+			features.grow().setTo(v.pixels.get(i));
+		}
+	}
+
+	@Override
+	public boolean lookupMatches( String viewA, String viewB, DogArray<AssociatedIndex> pairs ) {
+		// clear the set of pairs so that if it fails it will be empty
+		pairs.reset();
+
+		View src = viewMap.get(viewA);
+		View dst = viewMap.get(viewB);
+		if (src == null || dst == null)
+			return false;
+
+		associator.setSource(src.descriptors);
+		associator.setDestination(dst.descriptors);
+		associator.associate();
+
+		FastAccess<AssociatedIndex> matches = associator.getMatches();
+		for (int i = 0; i < matches.size; i++) {
+			pairs.grow().setTo(matches.get(i));
+		}
+
+		return pairs.size > 0;
+	}
+
+	@Override
+	public void lookupShape( String target, ImageDimension shape ) {
+		View v = viewMap.get(target);
+		checkTrue(v != null, "Unknown image");
+		shape.setTo(v.width, v.height);
+	}
+
+	public RecognitionVocabularyTreeNister2006 getDatabase() {
+		return database;
+	}
+
+	/**
+	 * Features and shape of an image
+	 */
+	public static class View {
+		/** Unique ID assigned to this image */
+		public String id = "";
+		/** Index of the view in the list of views and its ID in the database */
+		public int index;
+		/** Shape of the image */
+		public int width, height;
+		/** Pixel coordinate of each feature */
+		public final DogArray<Point2D_F64> pixels = new DogArray<>(Point2D_F64::new);
+		/** Descriptor of each feature */
+		public final DogArray<TupleDesc_F64> descriptors;
+
+		public View( int dof ) {
+			descriptors = new DogArray<>(() -> new TupleDesc_F64(dof));
+		}
+
+		public void reset() {
+			id = "";
+			index = -1;
+			width = height = 0;
+			pixels.reset();
+			descriptors.reset();
+		}
+	}
+}
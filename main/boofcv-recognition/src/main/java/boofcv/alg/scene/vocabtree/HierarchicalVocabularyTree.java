@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import static boofcv.misc.BoofMiscOps.checkTrue;
+
+/**
+ * A hierarchical vocabulary tree of visual words. Each node has up to {@link #branchFactor} children, and each
+ * child stores the mean of the descriptors assigned to it. To find the word that best describes a descriptor, the
+ * tree is descended from the root. At each level the child with the closest mean is picked. Compared to a flat
+ * vocabulary, the cost of looking up a word is O(branchFactor*maximumLevel) instead of O(number of words).
+ * The leaves are the most specific words. Every node can be used as a word when building an inverted file.
+ *
+ * The tree is stored as an array of nodes. All the children of a node are stored consecutively, which allows
+ * a node to reference its children with an index and a count. Use {@link LearnHierarchicalTree} to create the
+ * tree from example descriptors.
+ *
+ * <p>
+ * [1] Nister, David, and Henrik Stewenius. "Scalable recognition with a vocabulary tree."
+ * 2006 IEEE Computer Society Conference on Computer Vision and Pattern Recognition (CVPR'06). Vol. 2. 2006.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HierarchicalVocabularyTree {
+	/** Maximum number of children a node can have */
+	public int branchFactor;
+	/** Maximum number of levels in the tree. The root is at level 0 and is not included. */
+	public int maximumLevel;
+
+	/** Mean descriptor of each node. The index is the same as the node's index. The root's isn't used */
+	public final PackedTupleArray_F64 descriptions;
+
+	/** All the nodes in the tree. The root is always at index 0. */
+	public final DogArray<Node> nodes = new DogArray<>(Node::new, Node::reset);
+
+	/** Number of leaves in the tree. Updated by {@link #assignLeafIDs()} */
+	public int numLeaves;
+
+	public HierarchicalVocabularyTree( int dof, int branchFactor, int maximumLevel ) {
+		checkTrue(branchFactor >= 2, "Branch factor must be at least 2");
+		checkTrue(maximumLevel >= 1, "Maximum level must be at least 1");
+		this.branchFactor = branchFactor;
+		this.maximumLevel = maximumLevel;
+		this.descriptions = new PackedTupleArray_F64(dof);
+		reset();
+	}
+
+	/**
+	 * Discards all the nodes and creates a new root node
+	 */
+	public void reset() {
+		nodes.reset();
+		descriptions.reset();
+		numLeaves = 0;
+
+		Node root = nodes.grow();
+		root.index = 0;
+		root.parent = -1;
+		root.level = 0;
+		descriptions.grow();
+	}
+
+	/**
+	 * Adds a new child to the parent. All the children of a node must be added before children are added
+	 * to a different node.
+	 *
+	 * @param parentIndex Index of the parent node
+	 * @param mean Mean descriptor of the new node. Copied.
+	 * @return Index of the new node
+	 */
+	public int addChild( int parentIndex, double[] mean ) {
+		checkTrue(mean.length == descriptions.dof, "Descriptor has the wrong DOF");
+		Node parent = nodes.get(parentIndex);
+		checkTrue(parent.level < maximumLevel, "Parent is already at the maximum level");
+		checkTrue(parent.numChildren < branchFactor, "Parent already has the maximum number of children");
+
+		int index = nodes.size;
+		if (parent.numChildren == 0) {
+			parent.childrenIndex = index;
+		} else {
+			checkTrue(parent.childrenIndex + parent.numChildren == index,
+					"Children of a node must be added consecutively");
+		}
+		parent.numChildren++;
+
+		Node child = nodes.grow();
+		child.index = index;
+		child.parent = parentIndex;
+		child.level = parent.level + 1;
+
+		int offset = descriptions.grow();
+		System.arraycopy(mean, 0, descriptions.array.data, offset, mean.length);
+
+		return index;
+	}
+
+	/**
+	 * Assigns a unique ID to each leaf, starting from zero. These are the words used in flat histograms
+	 */
+	public void assignLeafIDs() {
+		numLeaves = 0;
+		for (int i = 0; i < nodes.size; i++) {
+			Node n = nodes.data[i];
+			n.leafID = n.isLeaf() ? numLeaves++ : -1;
+		}
+	}
+
+	/**
+	 * Descends the tree by selecting the child with the closest mean at each level until a leaf is reached.
+	 *
+	 * @param point (Input) The descriptor being looked up
+	 * @param path (Output) If not null then the index of every node along the path is written to it, excluding the
+	 * root. Cleared on each call.
+	 * @return Index of the leaf node
+	 */
+	public int searchPathToLeaf( double[] point, @Nullable DogArray_I32 path ) {
+		if (path != null)
+			path.reset();
+
+		final int dof = descriptions.dof;
+		final double[] means = descriptions.array.data;
+
+		Node node = nodes.data[0];
+		while (node.numChildren > 0) {
+			int bestChild = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int childIdx = 0; childIdx < node.numChildren; childIdx++) {
+				int child = node.childrenIndex + childIdx;
+				int offset = child*dof;
+				double distance = 0;
+				for (int i = 0; i < dof; i++) {
+					double d = point[i] - means[offset + i];
+					distance += d*d;
+				}
+				if (distance < bestDistance) {
+					bestDistance = distance;
+					bestChild = child;
+				}
+			}
+			node = nodes.data[bestChild];
+			if (path != null)
+				path.add(bestChild);
+		}
+		return node.index;
+	}
+
+	/**
+	 * Number of elements in each descriptor
+	 */
+	public int getDOF() {
+		return descriptions.dof;
+	}
+
+	/**
+	 * A node in the tree
+	 */
+	public static class Node {
+		/** Index of the node in the list of nodes */
+		public int index;
+		/** Index of the parent node. -1 for the root */
+		public int parent;
+		/** Level in the tree. The root is at level 0 */
+		public int level;
+		/** Index of the first child. All the children are stored consecutively */
+		public int childrenIndex;
+		/** Number of children */
+		public int numChildren;
+		/** Unique ID assigned to leaves or -1 if not a leaf */
+		public int leafID;
+		/** Weight of the node when scoring images, e.g. inverse document frequency */
+		public double weight;
+
+		public boolean isLeaf() {
+			return numChildren == 0;
+		}
+
+		public void reset() {
+			index = -1;
+			parent = -1;
+			level = -1;
+			childrenIndex = -1;
+			numChildren = 0;
+			leafID = -1;
+			weight = 1.0;
+		}
+	}
+}
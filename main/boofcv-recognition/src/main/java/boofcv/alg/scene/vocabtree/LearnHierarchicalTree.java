@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.clustering.AssignCluster;
+import org.ddogleg.clustering.ComputeClusters;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Learns a {@link HierarchicalVocabularyTree} by recursively clustering descriptors. The descriptors are first
+ * split into {@link HierarchicalVocabularyTree#branchFactor} clusters. Each cluster becomes a child of the root
+ * and is then clustered again using only the descriptors assigned to it. This is repeated until the maximum
+ * level is reached or there are too few descriptors to split. Clustering is done with {@link ComputeClusters},
+ * typically k-means, and the node's mean is computed from the descriptors assigned to it.
+ *
+ * @author Peter Abeles
+ */
+public class LearnHierarchicalTree {
+	/** A node needs at least this many descriptors for it to be split into children */
+	public int minimumPointsForChildren = 0;
+
+	// cluster finding algorithm
+	ComputeClusters<double[]> computeClusters;
+
+	//------------------- Internal Workspace ------------------------------------
+	final List<Work> queue = new ArrayList<>();
+	final DogArray_I32 assignments = new DogArray_I32();
+	final DogArray_I32 clusterCounts = new DogArray_I32();
+	double[] means = new double[0];
+
+	/**
+	 * @param computeClusters Cluster finding algorithm.
+	 * @param featureDOF Number of elements in the feature
+	 * @param randomSeed Seed for random number generator
+	 */
+	public LearnHierarchicalTree( ComputeClusters<double[]> computeClusters, int featureDOF, long randomSeed ) {
+		this.computeClusters = computeClusters;
+		computeClusters.init(featureDOF, randomSeed);
+	}
+
+	/**
+	 * Learns the tree from the set of descriptors. Any existing nodes in the tree are discarded.
+	 *
+	 * @param points (Input) Descriptors which are used to learn the tree. Not modified.
+	 * @param tree (Output) The learned tree
+	 */
+	public void process( List<TupleDesc_F64> points, HierarchicalVocabularyTree tree ) {
+		tree.reset();
+
+		final int dof = tree.getDOF();
+		final int branchFactor = tree.branchFactor;
+		means = new double[branchFactor*dof];
+		clusterCounts.resize(branchFactor);
+
+		List<double[]> rootPoints = new ArrayList<>(points.size());
+		for (int i = 0; i < points.size(); i++) {
+			rootPoints.add(points.get(i).value);
+		}
+
+		// Breadth first traversal so that each node's children are created together
+		queue.clear();
+		queue.add(new Work(0, rootPoints));
+		for (int workIdx = 0; workIdx < queue.size(); workIdx++) {
+			Work work = queue.get(workIdx);
+			List<double[]> nodePoints = work.points;
+			// release the reference so that the memory can be recycled as the tree is built
+			work.points = Collections.emptyList();
+			HierarchicalVocabularyTree.Node node = tree.nodes.get(work.node);
+			if (node.level >= tree.maximumLevel || nodePoints.size() <= branchFactor ||
+					nodePoints.size() < minimumPointsForChildren)
+				continue;
+
+			// Split the points into clusters
+			computeClusters.process(nodePoints, branchFactor);
+			AssignCluster<double[]> assign = computeClusters.getAssignment();
+
+			clusterCounts.fill(0);
+			Arrays.fill(means, 0.0);
+			assignments.resize(nodePoints.size());
+			for (int pointIdx = 0; pointIdx < nodePoints.size(); pointIdx++) {
+				double[] p = nodePoints.get(pointIdx);
+				int cluster = assign.assign(p);
+				assignments.data[pointIdx] = cluster;
+				clusterCounts.data[cluster]++;
+				int offset = cluster*dof;
+				for (int i = 0; i < dof; i++) {
+					means[offset + i] += p[i];
+				}
+			}
+
+			// It's not possible to split the points further
+			int nonEmpty = 0;
+			for (int cluster = 0; cluster < branchFactor; cluster++) {
+				if (clusterCounts.data[cluster] > 0)
+					nonEmpty++;
+			}
+			if (nonEmpty <= 1)
+				continue;
+
+			// Create a child for every cluster with points in it
+			List<List<double[]>> childPoints = new ArrayList<>();
+			double[] mean = new double[dof];
+			for (int cluster = 0; cluster < branchFactor; cluster++) {
+				int count = clusterCounts.data[cluster];
+				if (count == 0) {
+					childPoints.add(Collections.emptyList());
+					continue;
+				}
+				for (int i = 0; i < dof; i++) {
+					mean[i] = means[cluster*dof + i]/count;
+				}
+				int child = tree.addChild(work.node, mean);
+				List<double[]> list = new ArrayList<>(count);
+				childPoints.add(list);
+				queue.add(new Work(child, list));
+			}
+			for (int pointIdx = 0; pointIdx < nodePoints.size(); pointIdx++) {
+				childPoints.get(assignments.data[pointIdx]).add(nodePoints.get(pointIdx));
+			}
+		}
+		queue.clear();
+
+		tree.assignLeafIDs();
+	}
+
+	private static class Work {
+		int node;
+		List<double[]> points;
+
+		public Work( int node, List<double[]> points ) {
+			this.node = node;
+			this.points = points;
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree.Node;
+import boofcv.struct.feature.TupleDesc_F64;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.List;
+
+/**
+ * Image database for scene recognition that uses a {@link HierarchicalVocabularyTree} and an inverted file at
+ * every node [1]. Each image is described by the weighted frequency of the nodes its descriptors pass through.
+ * This vector is L1 normalized, and images are compared using the L1 distance. Each node's inverted file lists
+ * the images which have a descriptor passing through the node. Because of this, a query only touches images
+ * that share at least one node with it, and the cost does not depend on the total number of images.
+ *
+ * The L1 distance between two normalized vectors q and d is computed using only their common non-zero elements:
+ * |q - d| = 2 + &sum;<sub>i | q<sub>i</sub>&ne;0, d<sub>i</sub>&ne;0</sub> (|q<sub>i</sub> - d<sub>i</sub>| -
+ * q<sub>i</sub> - d<sub>i</sub>)
+ *
+ * Node weights are stored in the tree and are typically the inverse document frequency (IDF), which can be computed
+ * from the images in the database by calling {@link #computeWeightsIdf()}. Nodes with a weight of zero are ignored,
+ * which prunes words that appear in every image.
+ *
+ * <p>
+ * [1] Nister, David, and Henrik Stewenius. "Scalable recognition with a vocabulary tree."
+ * 2006 IEEE Computer Society Conference on Computer Vision and Pattern Recognition (CVPR'06). Vol. 2. 2006.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RecognitionVocabularyTreeNister2006 {
+	/** The vocabulary tree */
+	protected HierarchicalVocabularyTree tree;
+
+	/** Inverted file for every node in the tree. The index is the same as the node's */
+	public final DogArray<InvertedFile> invertedFiles = new DogArray<>(InvertedFile::new, InvertedFile::reset);
+
+	/** All the images in the database */
+	public final DogArray<ImageInfo> images = new DogArray<>(ImageInfo::new, ImageInfo::reset);
+
+	// Look up table from an image's ID to its index in the list of images
+	protected final TIntIntHashMap idToIndex = new TIntIntHashMap(10, 0.5f, -1, -1);
+
+	//------------------- Internal Workspace ------------------------------------
+	// Number of times each node has been observed in the current image
+	protected final DogArray_F32 nodeCounts = new DogArray_F32();
+	// List of nodes which have been observed in the current image
+	protected final DogArray_I32 observedNodes = new DogArray_I32();
+	// Path from the root to a leaf
+	protected final DogArray_I32 path = new DogArray_I32();
+	// Partial L1 distance of each image in the database to the query image
+	protected final DogArray_F64 imageScores = new DogArray_F64();
+	// List of images which have been touched by a query
+	protected final DogArray_I32 touchedImages = new DogArray_I32();
+
+	/**
+	 * @param tree Vocabulary tree. Must not be modified after images have been added.
+	 */
+	public RecognitionVocabularyTreeNister2006( HierarchicalVocabularyTree tree ) {
+		setTree(tree);
+	}
+
+	/**
+	 * Specifies the tree and discards all the images
+	 */
+	public void setTree( HierarchicalVocabularyTree tree ) {
+		this.tree = tree;
+		clearImages();
+	}
+
+	/**
+	 * Discards all the images in the database
+	 */
+	public void clearImages() {
+		images.reset();
+		idToIndex.clear();
+		invertedFiles.reset();
+		invertedFiles.resize(tree.nodes.size);
+		nodeCounts.resize(tree.nodes.size);
+		nodeCounts.fill(0.0f);
+	}
+
+	/**
+	 * Adds an image to the database.
+	 *
+	 * @param imageID Unique ID for the image
+	 * @param descriptors Descriptors of features inside the image
+	 */
+	public void addImage( int imageID, List<TupleDesc_F64> descriptors ) {
+		if (idToIndex.containsKey(imageID))
+			throw new IllegalArgumentException("Image ID already exists in the database: " + imageID);
+
+		int imageIndex = images.size;
+		ImageInfo info = images.grow();
+		info.id = imageID;
+		idToIndex.put(imageID, imageIndex);
+
+		info.norm = describe(descriptors);
+
+		info.nodes.resize(observedNodes.size);
+		for (int i = 0; i < observedNodes.size; i++) {
+			int node = observedNodes.data[i];
+			info.nodes.data[i] = node;
+			InvertedFile file = invertedFiles.data[node];
+			file.images.add(imageIndex);
+			file.frequency.add(nodeCounts.data[node]);
+			nodeCounts.data[node] = 0.0f;
+		}
+	}
+
+	/**
+	 * Removes the image from the database
+	 *
+	 * @param imageID ID of the image
+	 * @return true if the image was in the database and was removed
+	 */
+	public boolean removeImage( int imageID ) {
+		int imageIndex = idToIndex.get(imageID);
+		if (imageIndex < 0)
+			return false;
+		idToIndex.remove(imageID);
+
+		ImageInfo info = images.get(imageIndex);
+		for (int i = 0; i < info.nodes.size; i++) {
+			invertedFiles.data[info.nodes.data[i]].remove(imageIndex);
+		}
+
+		// Move the last image into the hole that was created so that indexes stay consecutive
+		int lastIndex = images.size - 1;
+		if (imageIndex != lastIndex) {
+			ImageInfo last = images.get(lastIndex);
+			for (int i = 0; i < last.nodes.size; i++) {
+				invertedFiles.data[last.nodes.data[i]].changeIndex(lastIndex, imageIndex);
+			}
+			images.data[imageIndex] = last;
+			images.data[lastIndex] = info;
+			idToIndex.put(last.id, imageIndex);
+		}
+		images.removeTail();
+		return true;
+	}
+
+	/**
+	 * Finds the images in the database that are the most similar to the query
+	 *
+	 * @param descriptors (Input) Descriptors of features inside the query image
+	 * @param limit Maximum number of matches that will be returned
+	 * @param matches (Output) The best matches, sorted from most to least similar
+	 */
+	public void query( List<TupleDesc_F64> descriptors, int limit, DogArray<Match> matches ) {
+		matches.reset();
+		double queryNorm = describe(descriptors);
+		if (queryNorm == 0.0) {
+			clearNodeCounts();
+			return;
+		}
+
+		imageScores.resize(images.size);
+		touchedImages.reset();
+
+		// Go through the inverted file of every node the query observed and compute the partial L1 distance
+		for (int i = 0; i < observedNodes.size; i++) {
+			int node = observedNodes.data[i];
+			double weight = tree.nodes.data[node].weight;
+			double q = weight*nodeCounts.data[node]/queryNorm;
+			nodeCounts.data[node] = 0.0f;
+
+			InvertedFile file = invertedFiles.data[node];
+			for (int fileIdx = 0; fileIdx < file.images.size; fileIdx++) {
+				int imageIndex = file.images.data[fileIdx];
+				double d = weight*file.frequency.data[fileIdx]/images.data[imageIndex].norm;
+
+				if (!images.data[imageIndex].touched) {
+					images.data[imageIndex].touched = true;
+					imageScores.data[imageIndex] = 0.0;
+					touchedImages.add(imageIndex);
+				}
+				imageScores.data[imageIndex] += Math.abs(q - d) - q - d;
+			}
+		}
+
+		// Select the best images, while keeping the list sorted
+		for (int i = 0; i < touchedImages.size; i++) {
+			int imageIndex = touchedImages.data[i];
+			ImageInfo info = images.data[imageIndex];
+			info.touched = false;
+			double error = 2.0 + imageScores.data[imageIndex];
+
+			if (matches.size == limit) {
+				if (error >= matches.getTail().error)
+					continue;
+				matches.removeTail();
+			}
+			Match m = matches.grow();
+			int location = matches.size - 1;
+			while (location > 0 && matches.data[location - 1].error > error) {
+				matches.data[location] = matches.data[location - 1];
+				location--;
+			}
+			matches.data[location] = m;
+			m.id = info.id;
+			m.error = error;
+		}
+	}
+
+	/**
+	 * Computes the weight for each node using the inverse document frequency, ln(N/N<sub>i</sub>), where N is the
+	 * number of images in the database and N<sub>i</sub> is the number of images which contain the node.
+	 * Image norms are then recomputed using the new weights.
+	 */
+	public void computeWeightsIdf() {
+		final int N = images.size;
+		for (int node = 1; node < tree.nodes.size; node++) {
+			int N_i = invertedFiles.data[node].images.size;
+			tree.nodes.data[node].weight = Math.log(N/(double)Math.max(1, N_i));
+		}
+
+		for (int i = 0; i < images.size; i++) {
+			images.data[i].norm = 0.0;
+		}
+		for (int node = 1; node < tree.nodes.size; node++) {
+			double weight = tree.nodes.data[node].weight;
+			if (weight == 0.0)
+				continue;
+			InvertedFile file = invertedFiles.data[node];
+			for (int fileIdx = 0; fileIdx < file.images.size; fileIdx++) {
+				images.data[file.images.data[fileIdx]].norm += weight*file.frequency.data[fileIdx];
+			}
+		}
+	}
+
+	/**
+	 * Finds the nodes that each descriptor passes through and counts how many times each node was observed.
+	 * Results are stored in {@link #observedNodes} and {@link #nodeCounts}.
+	 *
+	 * @return L1 norm of the weighted node frequencies
+	 */
+	protected double describe( List<TupleDesc_F64> descriptors ) {
+		observedNodes.reset();
+		for (int descIdx = 0; descIdx < descriptors.size(); descIdx++) {
+			tree.searchPathToLeaf(descriptors.get(descIdx).value, path);
+			for (int i = 0; i < path.size; i++) {
+				int node = path.data[i];
+				if (tree.nodes.data[node].weight == 0.0)
+					continue;
+				if (nodeCounts.data[node] == 0.0f)
+					observedNodes.add(node);
+				nodeCounts.data[node] += 1.0f;
+			}
+		}
+
+		double norm = 0.0;
+		for (int i = 0; i < observedNodes.size; i++) {
+			int node = observedNodes.data[i];
+			norm += tree.nodes.data[node].weight*nodeCounts.data[node];
+		}
+		return norm;
+	}
+
+	private void clearNodeCounts() {
+		for (int i = 0; i < observedNodes.size; i++) {
+			nodeCounts.data[observedNodes.data[i]] = 0.0f;
+		}
+	}
+
+	/**
+	 * Number of images in the database
+	 */
+	public int getImageCount() {
+		return images.size;
+	}
+
+	public HierarchicalVocabularyTree getTree() {
+		return tree;
+	}
+
+	/**
+	 * List of images which observed a node and how many times they observed it
+	 */
+	public static class InvertedFile {
+		/** Index of images which observed the node */
+		public final DogArray_I32 images = new DogArray_I32();
+		/** Number of times each image observed the node */
+		public final DogArray_F32 frequency = new DogArray_F32();
+
+		void remove( int imageIndex ) {
+			int location = images.indexOf(imageIndex);
+			int last = images.size - 1;
+			images.data[location] = images.data[last];
+			frequency.data[location] = frequency.data[last];
+			images.removeTail();
+			frequency.removeTail();
+		}
+
+		void changeIndex( int before, int after ) {
+			images.data[images.indexOf(before)] = after;
+		}
+
+		public void reset() {
+			images.reset();
+			frequency.reset();
+		}
+	}
+
+	/**
+	 * Information on an image in the database
+	 */
+	public static class ImageInfo {
+		/** The user provided ID */
+		public int id;
+		/** L1 norm of the weighted node frequencies */
+		public double norm;
+		/** Nodes which have this image in their inverted file */
+		public final DogArray_I32 nodes = new DogArray_I32();
+		// Used internally to mark images while processing a query
+		boolean touched;
+
+		public void reset() {
+			id = -1;
+			norm = 0.0;
+			nodes.reset();
+			touched = false;
+		}
+	}
+
+	/**
+	 * An image which matched the query
+	 */
+	public static class Match {
+		/** ID of the image */
+		public int id;
+		/** L1 distance between the query and the image. 0 = identical and 2 = nothing in common */
+		public double error;
+	}
+}
@@ -49,6 +49,12 @@ public class ConfigFiducialImage implements Configuration {
 	 */
 	public double minimumBlackBorderFraction = 0.65;
 
+	/**
+	 * If true then a vantage point tree is used to find which target a candidate matches. This is much faster
+	 * with large libraries and gives the same results as checking every target.
+	 */
+	public boolean useIndex = true;
+
 	/**
 	 * Configuration for square detector
 	 *
@@ -71,6 +77,7 @@ public class ConfigFiducialImage implements Configuration {
 		this.maxErrorFraction = src.maxErrorFraction;
 		this.borderWidthFraction = src.borderWidthFraction;
 		this.minimumBlackBorderFraction = src.minimumBlackBorderFraction;
+		this.useIndex = src.useIndex;
 		this.squareDetector.setTo(src.squareDetector);
 	}
 
@@ -101,6 +108,7 @@ public class ConfigFiducialImage implements Configuration {
 		return getClass().getSimpleName()+
 				"{ maxErrorFraction="+maxErrorFraction+
 				" borderWidthFraction="+borderWidthFraction+
+				" useIndex="+useIndex+
 				" squareDetector="+squareDetector+" }";
 	}
 }
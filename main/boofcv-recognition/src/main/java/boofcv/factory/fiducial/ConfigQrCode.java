@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -58,6 +58,12 @@ public class ConfigQrCode implements Configuration {
 	 */
 	public String forceEncoding = null;
 
+	/**
+	 * If true then a concurrent implementation will be used, if {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT}
+	 * is also true. Candidate QR Codes are decoded in parallel and the results are identical to the single threaded one.
+	 */
+	public boolean concurrent = true;
+
 	{
 
 		// 40% slower but better at detecting fiducials by a few percentage points
@@ -107,6 +113,7 @@ public class ConfigQrCode implements Configuration {
 		this.versionMinimum = src.versionMinimum;
 		this.versionMaximum = src.versionMaximum;
 		this.forceEncoding = src.forceEncoding;
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -25,12 +25,15 @@ import boofcv.alg.feature.describe.llah.LlahHasher;
 import boofcv.alg.feature.describe.llah.LlahOperations;
 import boofcv.alg.fiducial.dots.UchiyaMarkerImageTracker;
 import boofcv.alg.fiducial.dots.UchiyaMarkerTracker;
+import boofcv.alg.fiducial.qrcode.QrCodeDecoderImage;
+import boofcv.alg.fiducial.qrcode.QrCodeDecoderImage_MT;
 import boofcv.alg.fiducial.qrcode.QrCodePositionPatternDetector;
 import boofcv.alg.fiducial.square.DetectFiducialSquareBinary;
 import boofcv.alg.fiducial.square.DetectFiducialSquareImage;
 import boofcv.alg.shapes.ellipse.BinaryEllipseDetectorPixel;
 import boofcv.alg.shapes.ellipse.EdgeIntensityEllipse;
 import boofcv.alg.shapes.polygon.DetectPolygonBinaryGrayRefine;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.binary.ConfigThreshold;
 import boofcv.factory.filter.binary.FactoryThresholdBinary;
 import boofcv.factory.filter.binary.ThresholdType;
@@ -41,7 +44,7 @@ import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import georegression.struct.homography.Homography2D_F64;
-import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -118,6 +121,7 @@ public class FactoryFiducial {
 		DetectFiducialSquareImage<T> alg = new DetectFiducialSquareImage<>(binary,
 				squareDetector, configFiducial.borderWidthFraction, configFiducial.minimumBlackBorderFraction,
 				configFiducial.maxErrorFraction, imageType);
+		alg.setUseIndex(configFiducial.useIndex);
 
 		return new SquareImage_to_FiducialDetector<>(alg);
 	}
@@ -202,7 +206,14 @@ public class FactoryFiducial {
 		QrCodePositionPatternDetector<T> detectPositionPatterns =
 				new QrCodePositionPatternDetector<>(squareDetector,config.versionMaximum);
 
-		return new QrCodePreciseDetector<>(inputToBinary,detectPositionPatterns, config.forceEncoding,false, imageType);
+		QrCodeDecoderImage<T> decoder;
+		if (config.concurrent && BoofConcurrency.USE_CONCURRENT) {
+			decoder = new QrCodeDecoderImage_MT<>(config.forceEncoding, imageType);
+		} else {
+			decoder = new QrCodeDecoderImage<>(config.forceEncoding, imageType);
+		}
+
+		return new QrCodePreciseDetector<>(inputToBinary,detectPositionPatterns, decoder,false, imageType);
 	}
 
 	/**
@@ -254,7 +265,7 @@ public class FactoryFiducial {
 		}
 
 		LlahOperations ops = new LlahOperations(config.llah.numberOfNeighborsN, config.llah.sizeOfCombinationM,hasher);
-		Ransac<Homography2D_F64, AssociatedPair> ransac =
+		ModelMatcher<Homography2D_F64, AssociatedPair> ransac =
 				FactoryMultiViewRobust.homographyRansac(new ConfigHomography(false), config.ransac);
 		UchiyaMarkerTracker uchiya = new UchiyaMarkerTracker(ops,ransac);
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -27,11 +27,16 @@ import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_F64;
+import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @author Peter Abeles
  */
@@ -58,17 +63,43 @@ class TestUchiya_to_FiducialDetector extends GenericFiducialTrackerChecks {
 	public <T extends ImageBase<T>>
 	FiducialDetector<T> createDetector(ImageType<T> imageType)
 	{
+		Uchiya_to_FiducialDetector detector = createEmptyDetector(imageType);
+		for( var pts : documents ) {
+			detector.addMarker(pts);
+		}
+
+		return detector;
+	}
+
+	private Uchiya_to_FiducialDetector createEmptyDetector( ImageType imageType ) {
 		var config = new ConfigUchiyaMarker();
 		config.ransac.inlierThreshold = 1.0;
 		config.markerWidth = markerLength;
 		config.markerHeight = markerLength;
 
-		Uchiya_to_FiducialDetector detector = FactoryFiducial.randomDots(config,imageType.getImageClass());
-		for( var pts : documents ) {
-			detector.addMarker(pts);
-		}
+		return FactoryFiducial.randomDots(config,imageType.getImageClass());
+	}
 
-		return detector;
+	/**
+	 * Save the markers and load them into a new detector. It should still detect the marker
+	 */
+	@Test void saveMarkers_loadMarkers() throws IOException {
+		File file = File.createTempFile("uchiya", ".bin");
+		try {
+			Uchiya_to_FiducialDetector original = (Uchiya_to_FiducialDetector)createDetector(types.get(1));
+			original.saveMarkers(file.getPath());
+
+			Uchiya_to_FiducialDetector detector = createEmptyDetector(types.get(1));
+			detector.loadMarkers(documents, file.getPath());
+			assertEquals(documents.size(), detector.getLlahOperations().getDocuments().size);
+
+			ImageBase image = renderImage(loadDistortion(false), types.get(1));
+			detect(detector, image);
+			assertEquals(1, detector.totalFound());
+			assertEquals(3, detector.getId(0));
+		} finally {
+			file.delete();
+		}
 	}
 
 	@Override
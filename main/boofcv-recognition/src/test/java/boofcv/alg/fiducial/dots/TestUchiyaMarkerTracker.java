@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -31,7 +31,7 @@ import georegression.struct.homography.Homography2D_F64;
 import georegression.struct.point.Point2D_F64;
 import georegression.transform.affine.AffinePointOps_F64;
 import georegression.transform.homography.HomographyPointOps_F64;
-import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.struct.DogArray;
 import org.ejml.UtilEjml;
 import org.ejml.dense.fixed.CommonOps_DDF3;
@@ -193,7 +193,7 @@ class TestUchiyaMarkerTracker extends BoofStandardJUnit {
 
 	public static UchiyaMarkerTracker createTracker() {
 		var ops = new LlahOperations(7,5,new LlahHasher.Affine(100,500000));
-		Ransac<Homography2D_F64, AssociatedPair> ransac =
+		ModelMatcher<Homography2D_F64, AssociatedPair> ransac =
 				FactoryMultiViewRobust.homographyRansac(null,new ConfigRansac(100,1.0));
 		return new UchiyaMarkerTracker(ops,ransac);
 	}
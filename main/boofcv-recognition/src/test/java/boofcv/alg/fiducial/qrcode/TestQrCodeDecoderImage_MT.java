@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.fiducial.qrcode;
+
+import boofcv.abst.fiducial.QrCodePreciseDetector;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.fiducial.ConfigQrCode;
+import boofcv.factory.fiducial.FactoryFiducial;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.dense.fixed.MatrixFeatures_DDF3;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestQrCodeDecoderImage_MT extends BoofStandardJUnit {
+	/**
+	 * Render several QR Codes in one image and see if the single and multi threaded decoders produce
+	 * identical results
+	 */
+	@Test
+	void compareToSingleThread() {
+		GrayU8 image = new GrayU8(600, 600);
+		ImageMiscOps.fill(image, 255);
+
+		int numCodes = 0;
+		for (int row = 0; row < 3; row++) {
+			for (int col = 0; col < 3; col++) {
+				QrCode qr = new QrCodeEncoder().addAutomatic("Code " + numCodes++).fixate();
+				GrayU8 rendered = new QrCodeGeneratorImage(4).render(qr).getGray();
+				ImageMiscOps.copy(0, 0, col*200, row*200, rendered.width, rendered.height, rendered, image);
+			}
+		}
+
+		// Use the single threaded detector to find the position patterns
+		ConfigQrCode config = new ConfigQrCode();
+		config.concurrent = false;
+		QrCodePreciseDetector<GrayU8> detector = FactoryFiducial.qrcode(config, GrayU8.class);
+		detector.process(image);
+		assertEquals(numCodes, detector.getDetections().size());
+
+		QrCodeDecoderImage<GrayU8> single = detector.getDecoder();
+		var multi = new QrCodeDecoderImage_MT<>(null, GrayU8.class);
+
+		// Run it multiple times to make sure internal state is handled correctly
+		for (int trial = 0; trial < 2; trial++) {
+			multi.process(detector.getDetectPositionPatterns().getPositionPatterns(), image);
+
+			compare(single.getFound(), multi.getFound());
+			compare(single.getFailures(), multi.getFailures());
+		}
+	}
+
+	private void compare( List<QrCode> expected, List<QrCode> found ) {
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			QrCode a = expected.get(i);
+			QrCode b = found.get(i);
+
+			assertEquals(a.failureCause, b.failureCause);
+			assertEquals(a.version, b.version);
+			assertEquals(a.message, b.message);
+			for (int j = 0; j < 4; j++) {
+				assertTrue(a.bounds.get(j).isIdentical(b.bounds.get(j), UtilEjml.TEST_F64));
+			}
+			assertTrue(MatrixFeatures_DDF3.isIdentical(a.Hinv, b.Hinv, UtilEjml.TEST_F64));
+		}
+	}
+}
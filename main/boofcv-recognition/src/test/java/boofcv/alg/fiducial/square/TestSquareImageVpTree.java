@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.fiducial.square;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestSquareImageVpTree extends BoofStandardJUnit {
+	// Same length as the descriptor used by DetectFiducialSquareImage
+	int descLength = 256;
+
+	/**
+	 * Creates a library with clusters of similar descriptors then searches for noisy versions of them and for
+	 * random descriptors. The results should be identical to an exhaustive search
+	 */
+	@Test
+	void compareToExhaustive() {
+		for (int leafSize : new int[]{2, 4, 20}) {
+			SquareImageVpTree alg = new SquareImageVpTree(descLength);
+			alg.setExhaustiveThreshold(0);
+			alg.setLeafSize(leafSize);
+
+			List<short[]> centers = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				centers.add(randomDesc());
+			}
+			for (int i = 0; i < 500; i++) {
+				alg.add(addNoise(centers.get(rand.nextInt(centers.size())), 0.05));
+			}
+
+			for (int trial = 0; trial < 100; trial++) {
+				short[][] queries = new short[4][];
+				for (int i = 0; i < 4; i++) {
+					queries[i] = randomDesc();
+				}
+				// Most queries are a noisy version of a target
+				if (trial%4 != 0)
+					queries[rand.nextInt(4)] = addNoise(alg.getDescriptor(rand.nextInt(alg.size())), 0.05);
+
+				for (int maxDistance : new int[]{100, 400, 819, 4096}) {
+					boolean found = alg.lookup(queries, maxDistance);
+					int foundID = alg.getBestID();
+					int foundRotation = alg.getBestRotation();
+					int foundDistance = alg.getBestDistance();
+
+					assertEquals(alg.lookupExhaustive(queries, maxDistance), found);
+					assertEquals(alg.getBestID(), foundID);
+					assertEquals(alg.getBestRotation(), foundRotation);
+					assertEquals(alg.getBestDistance(), foundDistance);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A match can have a distance equal to the maximum distance but not more
+	 */
+	@Test
+	void matchAtMaxDistance() {
+		SquareImageVpTree alg = new SquareImageVpTree(descLength);
+		alg.setExhaustiveThreshold(0);
+		for (int i = 0; i < 200; i++) {
+			alg.add(randomDesc());
+		}
+
+		short[] query = alg.getDescriptor(45).clone();
+		for (int word = 0; word < descLength; word++) {
+			query[word] ^= (short)(1 << rand.nextInt(16));
+		}
+		short[][] queries = new short[][]{randomDesc(), randomDesc(), query, randomDesc()};
+
+		assertTrue(alg.lookup(queries, descLength));
+		assertEquals(45, alg.getBestID());
+		assertEquals(2, alg.getBestRotation());
+		assertEquals(descLength, alg.getBestDistance());
+
+		assertFalse(alg.lookup(queries, descLength - 1));
+		assertEquals(-1, alg.getBestID());
+	}
+
+	/**
+	 * When several targets and rotations are equally good the lowest ID and then rotation should be selected,
+	 * which is what an exhaustive search does
+	 */
+	@Test
+	void ties() {
+		SquareImageVpTree alg = new SquareImageVpTree(descLength);
+		alg.setExhaustiveThreshold(0);
+		short[] target = randomDesc();
+		for (int i = 0; i < 200; i++) {
+			alg.add(i == 60 || i == 150 ? target : randomDesc());
+		}
+
+		short[][] queries = new short[][]{randomDesc(), target, randomDesc(), target};
+		assertTrue(alg.lookup(queries, 10));
+		assertEquals(60, alg.getBestID());
+		assertEquals(1, alg.getBestRotation());
+		assertEquals(0, alg.getBestDistance());
+	}
+
+	/**
+	 * No match should be found if the query is random
+	 */
+	@Test
+	void noMatch() {
+		SquareImageVpTree alg = new SquareImageVpTree(descLength);
+		alg.setExhaustiveThreshold(0);
+		for (int i = 0; i < 200; i++) {
+			alg.add(randomDesc());
+		}
+
+		short[][] queries = new short[4][];
+		for (int i = 0; i < 4; i++) {
+			queries[i] = randomDesc();
+		}
+		assertFalse(alg.lookup(queries, descLength*16/10));
+		assertEquals(-1, alg.getBestID());
+	}
+
+	/**
+	 * Adding descriptors after a look up should cause the tree to be rebuilt
+	 */
+	@Test
+	void addAfterLookup() {
+		SquareImageVpTree alg = new SquareImageVpTree(descLength);
+		alg.setExhaustiveThreshold(0);
+		for (int i = 0; i < 50; i++) {
+			alg.add(randomDesc());
+		}
+		short[] target = randomDesc();
+		short[][] queries = new short[][]{target, randomDesc(), randomDesc(), randomDesc()};
+		assertFalse(alg.lookup(queries, 10));
+		assertFalse(alg.dirty);
+
+		alg.add(target);
+		assertTrue(alg.dirty);
+		assertTrue(alg.lookup(queries, 10));
+		assertEquals(50, alg.getBestID());
+		assertEquals(0, alg.getBestDistance());
+	}
+
+	/**
+	 * A small library is searched exhaustively and the tree is never built
+	 */
+	@Test
+	void smallLibrary() {
+		SquareImageVpTree alg = new SquareImageVpTree(descLength);
+		for (int i = 0; i < 50; i++) {
+			alg.add(randomDesc());
+		}
+
+		short[][] queries = new short[][]{randomDesc(), randomDesc(), alg.getDescriptor(20), randomDesc()};
+		assertTrue(alg.lookup(queries, 10));
+		assertEquals(20, alg.getBestID());
+		assertEquals(2, alg.getBestRotation());
+		assertTrue(alg.dirty);
+	}
+
+	@Test
+	void hamming() {
+		short[] a = randomDesc();
+		short[] b = randomDesc();
+
+		int expected = 0;
+		for (int i = 0; i < descLength*16; i++) {
+			int valA = (a[i/16] >> (i%16)) & 1;
+			int valB = (b[i/16] >> (i%16)) & 1;
+			expected += valA != valB ? 1 : 0;
+		}
+
+		assertEquals(expected, SquareImageVpTree.hamming(a, b));
+	}
+
+	private short[] randomDesc() {
+		short[] desc = new short[descLength];
+		for (int i = 0; i < descLength; i++) {
+			desc[i] = (short)rand.nextInt();
+		}
+		return desc;
+	}
+
+	private short[] addNoise( short[] desc, double probability ) {
+		short[] out = desc.clone();
+		for (int bit = 0; bit < descLength*16; bit++) {
+			if (rand.nextDouble() < probability)
+				out[bit/16] ^= (short)(1 << (bit%16));
+		}
+		return out;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.alg.scene.vocabtree.TestHierarchicalVocabularyTree;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFeatureToWordHistogramTree_F64 extends BoofStandardJUnit {
+	@Test
+	void simpleTest() {
+		HierarchicalVocabularyTree tree = TestHierarchicalVocabularyTree.createTree();
+		var alg = new FeatureToWordHistogramTree_F64(tree);
+		assertEquals(4, alg.getTotalWords());
+
+		alg.reset();
+		alg.addFeature(new TupleDesc_F64(new double[]{-11, 0}));
+		alg.addFeature(new TupleDesc_F64(new double[]{-11.5, 0}));
+		alg.addFeature(new TupleDesc_F64(new double[]{9, 0}));
+		alg.addFeature(new TupleDesc_F64(new double[]{12, 0}));
+		alg.process();
+
+		double[] histogram = alg.getHistogram();
+		assertEquals(0.5, histogram[0], 1e-8);
+		assertEquals(0.0, histogram[1], 1e-8);
+		assertEquals(0.25, histogram[2], 1e-8);
+		assertEquals(0.25, histogram[3], 1e-8);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene;
+
+import boofcv.abst.feature.associate.ScoreAssociateEuclideanSq;
+import boofcv.alg.scene.vocabtree.TestHierarchicalVocabularyTree;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageDimension;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSimilarImagesVocabularyTree extends BoofStandardJUnit {
+	/**
+	 * Images are created using features from two distinct groups. Images should only be similar to images in the
+	 * same group
+	 */
+	@Test
+	void findSimilar() {
+		SimilarImagesVocabularyTree alg = createAlg();
+		alg.maximumError = 1.5;
+
+		for (int i = 0; i < 6; i++) {
+			addImage(alg, "" + i, i < 3 ? -10 : 10);
+		}
+
+		List<String> similar = new ArrayList<>();
+		alg.findSimilar("1", similar);
+		assertEquals(2, similar.size());
+		assertTrue(similar.contains("0"));
+		assertTrue(similar.contains("2"));
+
+		alg.findSimilar("4", similar);
+		assertEquals(2, similar.size());
+		assertTrue(similar.contains("3"));
+		assertTrue(similar.contains("5"));
+
+		alg.limitMatches = 1;
+		alg.findSimilar("4", similar);
+		assertEquals(1, similar.size());
+	}
+
+	@Test
+	void lookupMatches() {
+		SimilarImagesVocabularyTree alg = createAlg();
+		addImage(alg, "a", -10);
+		addImage(alg, "b", -10);
+
+		// The features are identical so they should all be associated to themselves
+		var pairs = new DogArray<>(AssociatedIndex::new);
+		assertTrue(alg.lookupMatches("a", "b", pairs));
+		assertEquals(4, pairs.size);
+		for (int i = 0; i < pairs.size; i++) {
+			assertEquals(pairs.get(i).src, pairs.get(i).dst);
+		}
+
+		assertFalse(alg.lookupMatches("a", "c", pairs));
+		assertEquals(0, pairs.size);
+	}
+
+	@Test
+	void lookupPixelFeats_shape() {
+		SimilarImagesVocabularyTree alg = createAlg();
+		addImage(alg, "a", -10);
+
+		var features = new DogArray<>(Point2D_F64::new);
+		alg.lookupPixelFeats("a", features);
+		assertEquals(4, features.size);
+		assertEquals(2.0, features.get(2).x, 1e-8);
+
+		var shape = new ImageDimension();
+		alg.lookupShape("a", shape);
+		assertEquals(100, shape.width);
+		assertEquals(120, shape.height);
+
+		assertEquals(1, alg.getImageIDs().size());
+		assertEquals("a", alg.getImageIDs().get(0));
+	}
+
+	private SimilarImagesVocabularyTree createAlg() {
+		return new SimilarImagesVocabularyTree(TestHierarchicalVocabularyTree.createTree(),
+				FactoryAssociation.greedy(null, new ScoreAssociateEuclideanSq.F64()));
+	}
+
+	/**
+	 * Adds an image with features that are all close to the specified x-coordinate
+	 */
+	private void addImage( SimilarImagesVocabularyTree alg, String id, double x ) {
+		List<Point2D_F64> pixels = new ArrayList<>();
+		List<TupleDesc_F64> descs = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			pixels.add(new Point2D_F64(i, 2*i));
+			descs.add(new TupleDesc_F64(new double[]{x + i - 1.5, i*3}));
+		}
+		alg.addImage(id, 100, 120, pixels, descs);
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.errors.BoofCheckFailure;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_I32;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHierarchicalVocabularyTree extends BoofStandardJUnit {
+	/**
+	 * Creates a tree with two levels. Level 1 at x=-10 and x=10. Level 2 at +-1 around the parent's x
+	 */
+	public static HierarchicalVocabularyTree createTree() {
+		var tree = new HierarchicalVocabularyTree(2, 2, 2);
+		int a = tree.addChild(0, new double[]{-10, 0});
+		int b = tree.addChild(0, new double[]{10, 0});
+		tree.addChild(a, new double[]{-11, 0});
+		tree.addChild(a, new double[]{-9, 0});
+		tree.addChild(b, new double[]{9, 0});
+		tree.addChild(b, new double[]{11, 0});
+		tree.assignLeafIDs();
+		return tree;
+	}
+
+	@Test
+	void addChild() {
+		HierarchicalVocabularyTree tree = createTree();
+		assertEquals(7, tree.nodes.size);
+		assertEquals(7, tree.descriptions.size());
+
+		HierarchicalVocabularyTree.Node root = tree.nodes.get(0);
+		assertEquals(1, root.childrenIndex);
+		assertEquals(2, root.numChildren);
+
+		HierarchicalVocabularyTree.Node b = tree.nodes.get(2);
+		assertEquals(0, b.parent);
+		assertEquals(1, b.level);
+		assertEquals(5, b.childrenIndex);
+		assertEquals(2, b.numChildren);
+		assertEquals(10.0, tree.descriptions.getTemp(2).value[0]);
+
+		HierarchicalVocabularyTree.Node leaf = tree.nodes.get(6);
+		assertEquals(2, leaf.parent);
+		assertEquals(2, leaf.level);
+		assertTrue(leaf.isLeaf());
+	}
+
+	/**
+	 * Children must be added consecutively and the tree's limits must be enforced
+	 */
+	@Test
+	void addChild_illegal() {
+		var tree = new HierarchicalVocabularyTree(2, 2, 1);
+		int a = tree.addChild(0, new double[]{-10, 0});
+		tree.addChild(0, new double[]{10, 0});
+		// branch factor is exceeded
+		assertThrows(BoofCheckFailure.class, () -> tree.addChild(0, new double[]{5, 0}));
+		// maximum level is exceeded
+		assertThrows(BoofCheckFailure.class, () -> tree.addChild(a, new double[]{5, 0}));
+
+		var tree2 = new HierarchicalVocabularyTree(2, 2, 2);
+		int c = tree2.addChild(0, new double[]{-10, 0});
+		int d = tree2.addChild(0, new double[]{10, 0});
+		tree2.addChild(c, new double[]{-10, 0});
+		tree2.addChild(d, new double[]{-10, 0});
+		// children of 'c' would no longer be consecutive
+		assertThrows(BoofCheckFailure.class, () -> tree2.addChild(c, new double[]{5, 0}));
+	}
+
+	@Test
+	void assignLeafIDs() {
+		HierarchicalVocabularyTree tree = createTree();
+		assertEquals(4, tree.numLeaves);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(-1, tree.nodes.get(i).leafID);
+		}
+		for (int i = 3; i < 7; i++) {
+			assertEquals(i - 3, tree.nodes.get(i).leafID);
+		}
+	}
+
+	@Test
+	void searchPathToLeaf() {
+		HierarchicalVocabularyTree tree = createTree();
+		var path = new DogArray_I32();
+
+		assertEquals(4, tree.searchPathToLeaf(new double[]{-8.5, 1}, path));
+		assertEquals(2, path.size);
+		assertEquals(1, path.get(0));
+		assertEquals(4, path.get(1));
+
+		assertEquals(6, tree.searchPathToLeaf(new double[]{20, -1}, null));
+		assertEquals(5, tree.searchPathToLeaf(new double[]{9.5, 0}, path));
+		assertEquals(2, path.get(0));
+		assertEquals(5, path.get(1));
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.clustering.FactoryClustering;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLearnHierarchicalTree extends BoofStandardJUnit {
+	/**
+	 * Points are in clusters of clusters. See if it learns that structure
+	 */
+	@Test
+	void clustersOfClusters() {
+		List<TupleDesc_F64> points = new ArrayList<>();
+		List<double[]> centers = new ArrayList<>();
+		for (int major = 0; major < 3; major++) {
+			for (int minor = 0; minor < 3; minor++) {
+				double[] center = new double[]{major*1000 + minor*10, -major*500};
+				centers.add(center);
+				for (int i = 0; i < 20; i++) {
+					var p = new TupleDesc_F64(2);
+					p.value[0] = center[0] + rand.nextGaussian()*0.5;
+					p.value[1] = center[1] + rand.nextGaussian()*0.5;
+					points.add(p);
+				}
+			}
+		}
+
+		var tree = new HierarchicalVocabularyTree(2, 3, 2);
+		var alg = new LearnHierarchicalTree(FactoryClustering.kMeans_F64(null, 200, 20, 1e-8), 2, 0xBEEF);
+		alg.process(points, tree);
+
+		// 1 root + 3 + 9
+		assertEquals(13, tree.nodes.size);
+		assertEquals(9, tree.numLeaves);
+
+		// Every point in the same cluster should be assigned to the same leaf and each cluster gets a unique leaf
+		var leaves = new ArrayList<Integer>();
+		for (int cluster = 0; cluster < centers.size(); cluster++) {
+			int leaf = tree.searchPathToLeaf(centers.get(cluster), null);
+			assertFalse(leaves.contains(leaf));
+			leaves.add(leaf);
+
+			// leaf should be at the mean of the points
+			double[] mean = tree.descriptions.getTemp(leaf).value;
+			assertEquals(centers.get(cluster)[0], mean[0], 0.5);
+			assertEquals(centers.get(cluster)[1], mean[1], 0.5);
+
+			for (int i = 0; i < 20; i++) {
+				assertEquals(leaf, tree.searchPathToLeaf(points.get(cluster*20 + i).value, null));
+			}
+		}
+	}
+
+	/**
+	 * Too few points to split a node
+	 */
+	@Test
+	void tooFewPoints() {
+		List<TupleDesc_F64> points = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			points.add(new TupleDesc_F64(new double[]{i, 0}));
+		}
+
+		var tree = new HierarchicalVocabularyTree(2, 3, 2);
+		var alg = new LearnHierarchicalTree(FactoryClustering.kMeans_F64(null, 200, 20, 1e-8), 2, 0xBEEF);
+		alg.process(points, tree);
+
+		assertEquals(1, tree.nodes.size);
+		assertEquals(1, tree.numLeaves);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRecognitionVocabularyTreeNister2006 extends BoofStandardJUnit {
+	HierarchicalVocabularyTree tree;
+	List<List<TupleDesc_F64>> imageDescs = new ArrayList<>();
+	DogArray<RecognitionVocabularyTreeNister2006.Match> matches =
+			new DogArray<>(RecognitionVocabularyTreeNister2006.Match::new);
+
+	@BeforeEach
+	void before() {
+		tree = TestHierarchicalVocabularyTree.createTree();
+
+		// Images with random descriptors that are near the leaves
+		imageDescs.clear();
+		for (int imageIdx = 0; imageIdx < 20; imageIdx++) {
+			List<TupleDesc_F64> descs = new ArrayList<>();
+			int count = 1 + rand.nextInt(10);
+			for (int i = 0; i < count; i++) {
+				double x = (rand.nextBoolean() ? -10 : 10) + (rand.nextBoolean() ? -1 : 1);
+				descs.add(new TupleDesc_F64(new double[]{x + rand.nextGaussian()*0.1, rand.nextGaussian()}));
+			}
+			imageDescs.add(descs);
+		}
+	}
+
+	/**
+	 * Compare the found error against a brute force computation using dense vectors
+	 */
+	@Test
+	void query_compareToBruteForce() {
+		var alg = new RecognitionVocabularyTreeNister2006(tree);
+		for (int i = 0; i < imageDescs.size(); i++) {
+			alg.addImage(i*2 + 1, imageDescs.get(i));
+		}
+		alg.computeWeightsIdf();
+
+		List<TupleDesc_F64> query = imageDescs.get(3).subList(0, 1);
+		alg.query(query, 100, matches);
+		assertTrue(matches.size > 0);
+
+		double[] vectorQuery = bruteForceVector(query);
+		for (int i = 0; i < matches.size; i++) {
+			RecognitionVocabularyTreeNister2006.Match m = matches.get(i);
+			double[] vectorImage = bruteForceVector(imageDescs.get((m.id - 1)/2));
+			double expected = 0;
+			for (int j = 0; j < vectorQuery.length; j++) {
+				expected += Math.abs(vectorQuery[j] - vectorImage[j]);
+			}
+			assertEquals(expected, m.error, 1e-8);
+
+			// Sorted from best to worst
+			if (i > 0)
+				assertTrue(matches.get(i - 1).error <= m.error);
+		}
+	}
+
+	/**
+	 * Only returns the best matches and an image matches itself perfectly
+	 */
+	@Test
+	void query_limit() {
+		var alg = new RecognitionVocabularyTreeNister2006(tree);
+		for (int i = 0; i < imageDescs.size(); i++) {
+			alg.addImage(i, imageDescs.get(i));
+		}
+
+		alg.query(imageDescs.get(5), 3, matches);
+		assertEquals(3, matches.size);
+		// Images could be identical by chance, so just check the error
+		assertEquals(0.0, matches.get(0).error, 1e-8);
+
+		// Make sure the workspace is cleaned up between queries
+		var copy = new DogArray<>(RecognitionVocabularyTreeNister2006.Match::new);
+		copy.resize(3);
+		for (int i = 0; i < 3; i++) {
+			copy.get(i).id = matches.get(i).id;
+			copy.get(i).error = matches.get(i).error;
+		}
+		alg.query(imageDescs.get(5), 3, matches);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(copy.get(i).error, matches.get(i).error, 1e-8);
+		}
+	}
+
+	@Test
+	void removeImage() {
+		var alg = new RecognitionVocabularyTreeNister2006(tree);
+		for (int i = 0; i < imageDescs.size(); i++) {
+			alg.addImage(i, imageDescs.get(i));
+		}
+
+		assertTrue(alg.removeImage(4));
+		assertFalse(alg.removeImage(4));
+		assertTrue(alg.removeImage(0));
+		assertEquals(imageDescs.size() - 2, alg.getImageCount());
+
+		// Removed images should never be returned
+		for (int i = 0; i < imageDescs.size(); i++) {
+			alg.query(imageDescs.get(i), 100, matches);
+			for (int j = 0; j < matches.size; j++) {
+				assertNotEquals(4, matches.get(j).id);
+				assertNotEquals(0, matches.get(j).id);
+			}
+		}
+
+		// Compare against a database where they were never added
+		var expected = new RecognitionVocabularyTreeNister2006(tree);
+		for (int i = 0; i < imageDescs.size(); i++) {
+			if (i == 0 || i == 4)
+				continue;
+			expected.addImage(i, imageDescs.get(i));
+		}
+		var expectedMatches = new DogArray<>(RecognitionVocabularyTreeNister2006.Match::new);
+		for (int i = 0; i < imageDescs.size(); i++) {
+			alg.query(imageDescs.get(i), 100, matches);
+			expected.query(imageDescs.get(i), 100, expectedMatches);
+			assertEquals(expectedMatches.size, matches.size);
+			for (int j = 0; j < matches.size; j++) {
+				assertEquals(expectedMatches.get(j).error, matches.get(j).error, 1e-8);
+			}
+		}
+	}
+
+	@Test
+	void computeWeightsIdf() {
+		var alg = new RecognitionVocabularyTreeNister2006(tree);
+		// node 1 and 3 are in both images. node 4 is only in the second image
+		List<TupleDesc_F64> descsA = new ArrayList<>();
+		descsA.add(new TupleDesc_F64(new double[]{-11, 0}));
+		List<TupleDesc_F64> descsB = new ArrayList<>();
+		descsB.add(new TupleDesc_F64(new double[]{-11, 0}));
+		descsB.add(new TupleDesc_F64(new double[]{-9, 0}));
+		descsB.add(new TupleDesc_F64(new double[]{-9, 0}));
+		alg.addImage(0, descsA);
+		alg.addImage(1, descsB);
+		alg.computeWeightsIdf();
+
+		assertEquals(0.0, tree.nodes.get(1).weight, 1e-8);
+		assertEquals(0.0, tree.nodes.get(3).weight, 1e-8);
+		assertEquals(Math.log(2.0), tree.nodes.get(4).weight, 1e-8);
+		assertEquals(Math.log(2.0), tree.nodes.get(6).weight, 1e-8);
+
+		assertEquals(0.0, alg.images.get(0).norm, 1e-8);
+		assertEquals(2*Math.log(2.0), alg.images.get(1).norm, 1e-8);
+	}
+
+	@Test
+	void addImage_duplicateID() {
+		var alg = new RecognitionVocabularyTreeNister2006(tree);
+		alg.addImage(2, imageDescs.get(0));
+		assertThrows(IllegalArgumentException.class, () -> alg.addImage(2, imageDescs.get(1)));
+	}
+
+	/**
+	 * Computes the normalized weighted vector for all the nodes
+	 */
+	private double[] bruteForceVector( List<TupleDesc_F64> descs ) {
+		double[] vector = new double[tree.nodes.size];
+		var path = new DogArray_I32();
+		for (TupleDesc_F64 d : descs) {
+			tree.searchPathToLeaf(d.value, path);
+			for (int i = 0; i < path.size; i++) {
+				vector[path.get(i)] += tree.nodes.get(path.get(i)).weight;
+			}
+		}
+		double sum = 0;
+		for (double v : vector) {
+			sum += v;
+		}
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] /= sum;
+		}
+		return vector;
+	}
+}
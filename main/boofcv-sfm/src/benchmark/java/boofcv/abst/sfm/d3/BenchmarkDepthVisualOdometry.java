@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.abst.feature.detect.interest.ConfigPointDetector;
+import boofcv.abst.tracker.PointTracker;
+import boofcv.alg.sfm.DepthSparse3D;
+import boofcv.alg.sfm.d3.direct.PyramidDirectColorDepth;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.ConvertImageFilter;
+import boofcv.factory.sfm.ConfigVisOdomTrackPnP;
+import boofcv.factory.sfm.FactoryVisualOdometry;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.distort.DoNothing2Transform2_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU16;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DepthVisualOdometry} implementations on a synthetic sequence. Each operation is one frame.
+ *
+ * @author Peter Abeles
+ * @see BenchmarkStereoVisualOdometry
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDepthVisualOdometry {
+
+	@Param({"DEPTH_PNP_KLT", "DIRECT"})
+	String algorithm;
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	/** Number of frames in the simulated loop */
+	int numFrames = 60;
+
+	SimulatedVisualOdometryScene scene;
+	DepthVisualOdometry<GrayF32, GrayU16> vo;
+
+	// index of the next frame to process
+	int frame;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		scene = new SimulatedVisualOdometryScene(numFrames, false, true, 0xBEEF);
+		DepthSparse3D<GrayU16> sparse3D = new DepthSparse3D.I<>(scene.depthUnits);
+
+		vo = switch (algorithm) {
+			case "DEPTH_PNP_KLT" -> createDepthPnP(sparse3D);
+			case "DIRECT" -> createDirect(sparse3D);
+			default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+		};
+		vo.setCalibration(scene.stereo.left, new DoNothing2Transform2_F32());
+		frame = 0;
+	}
+
+	@Benchmark
+	public boolean process() {
+		int idx = frame++%numFrames;
+		return vo.process(scene.left.get(idx), scene.depth.get(idx));
+	}
+
+	DepthVisualOdometry<GrayF32, GrayU16> createDepthPnP( DepthSparse3D<GrayU16> sparse3D ) {
+		var configPnP = new ConfigVisOdomTrackPnP();
+		configPnP.ransac.iterations = 200;
+
+		var configKLT = new ConfigPKlt();
+		configKLT.pyramidLevels = ConfigDiscreteLevels.levels(4);
+		configKLT.templateRadius = 3;
+
+		var configDetector = new ConfigPointDetector();
+		configDetector.general.maxFeatures = 600;
+		configDetector.general.radius = 3;
+		configDetector.general.threshold = 1;
+		configDetector.shiTomasi.radius = 3;
+
+		PointTracker<GrayF32> tracker = FactoryPointTracker.klt(configKLT, configDetector, GrayF32.class, GrayF32.class);
+
+		return FactoryVisualOdometry.depthDepthPnP(configPnP, sparse3D, tracker, GrayF32.class, GrayU16.class);
+	}
+
+	DepthVisualOdometry<GrayF32, GrayU16> createDirect( DepthSparse3D<GrayU16> sparse3D ) {
+		ImagePyramid<Planar<GrayF32>> pyramid = FactoryPyramid.discreteGaussian(ConfigDiscreteLevels.levels(3),
+				-1, 2, false, ImageType.pl(1, GrayF32.class));
+
+		var alg = new PyramidDirectColorDepth<>(pyramid);
+
+		var convertInput = new ConvertImageFilter<GrayF32, Planar<GrayF32>>(
+				ImageType.single(GrayF32.class), ImageType.pl(1, GrayF32.class));
+
+		return new PyramidDirectColorDepth_to_DepthVisualOdometry<>(sparse3D, convertInput, alg, GrayU16.class);
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkDepthVisualOdometry.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
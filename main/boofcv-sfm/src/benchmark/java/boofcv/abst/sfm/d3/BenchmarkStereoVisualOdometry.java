@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.abst.disparity.StereoDisparitySparse;
+import boofcv.abst.feature.detect.interest.ConfigPointDetector;
+import boofcv.abst.tracker.PointTracker;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.disparity.ConfigDisparityBM;
+import boofcv.factory.disparity.FactoryStereoDisparity;
+import boofcv.factory.feature.describe.ConfigDescribeRegionPoint;
+import boofcv.factory.feature.detect.interest.ConfigDetectInterestPoint;
+import boofcv.factory.sfm.ConfigStereoDualTrackPnP;
+import boofcv.factory.sfm.ConfigStereoQuadPnP;
+import boofcv.factory.sfm.ConfigVisOdomTrackPnP;
+import boofcv.factory.sfm.FactoryVisualOdometry;
+import boofcv.factory.tracker.ConfigPointTracker;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link StereoVisualOdometry} implementations on a synthetic sequence. Each operation is one frame.
+ * Sample mode reports per-frame latency percentiles, throughput mode reports frames per millisecond, and the GC
+ * profiler reports allocation per frame (gc.alloc.rate.norm).
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkStereoVisualOdometry {
+
+	@Param({"DUAL_TRACK_KLT", "DUAL_TRACK_DDA", "QUAD", "MONO_DEPTH_KLT"})
+	String algorithm;
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	/** Number of frames in the simulated loop */
+	int numFrames = 60;
+
+	SimulatedVisualOdometryScene scene;
+	StereoVisualOdometry<GrayF32> vo;
+
+	// index of the next frame to process
+	int frame;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		scene = new SimulatedVisualOdometryScene(numFrames, true, false, 0xBEEF);
+
+		vo = switch (algorithm) {
+			case "DUAL_TRACK_KLT" -> createDualTrack(true);
+			case "DUAL_TRACK_DDA" -> createDualTrack(false);
+			case "QUAD" -> FactoryVisualOdometry.stereoQuadPnP(new ConfigStereoQuadPnP(), GrayF32.class);
+			case "MONO_DEPTH_KLT" -> createMonoDepth();
+			default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+		};
+		vo.setCalibration(scene.stereo);
+		frame = 0;
+	}
+
+	@Benchmark
+	public boolean process() {
+		int idx = frame++%numFrames;
+		return vo.process(scene.left.get(idx), scene.right.get(idx));
+	}
+
+	StereoVisualOdometry<GrayF32> createDualTrack( boolean klt ) {
+		var config = new ConfigStereoDualTrackPnP();
+		config.scene.ransac.iterations = 200;
+		config.scene.ransac.inlierThreshold = 1.5;
+
+		if (klt) {
+			config.tracker.typeTracker = ConfigPointTracker.TrackerType.KLT;
+			config.tracker.klt.pyramidLevels = ConfigDiscreteLevels.levels(4);
+			config.tracker.klt.templateRadius = 3;
+			config.tracker.detDesc.detectPoint.shiTomasi.radius = 3;
+			config.tracker.detDesc.detectPoint.general.radius = 3;
+		} else {
+			config.tracker.typeTracker = ConfigPointTracker.TrackerType.DDA;
+			config.tracker.detDesc.typeDetector = ConfigDetectInterestPoint.DetectorType.POINT;
+			config.tracker.detDesc.detectPoint.general.maxFeatures = 300;
+			config.tracker.detDesc.detectPoint.scaleRadius = 12;
+			config.tracker.detDesc.detectPoint.general.radius = 3;
+			config.tracker.detDesc.detectPoint.general.threshold = 0;
+			config.tracker.detDesc.detectPoint.shiTomasi.radius = 2;
+			config.tracker.detDesc.typeDescribe = ConfigDescribeRegionPoint.DescriptorType.BRIEF;
+			config.tracker.detDesc.describeBrief.fixed = true;
+		}
+
+		return FactoryVisualOdometry.stereoDualTrackerPnP(config, GrayF32.class);
+	}
+
+	StereoVisualOdometry<GrayF32> createMonoDepth() {
+		var configBM = new ConfigDisparityBM();
+		configBM.disparityMin = 0;
+		configBM.disparityRange = 60;
+		configBM.regionRadiusX = 2;
+		configBM.regionRadiusY = 2;
+		configBM.maxPerPixelError = 30;
+		configBM.texture = -1;
+		configBM.validateRtoL = 1;
+		configBM.subpixel = true;
+
+		var configPnP = new ConfigVisOdomTrackPnP();
+		configPnP.ransac.iterations = 200;
+
+		var configKLT = new ConfigPKlt();
+		configKLT.pyramidLevels = ConfigDiscreteLevels.levels(4);
+		configKLT.templateRadius = 3;
+
+		var configDetector = new ConfigPointDetector();
+		configDetector.general.maxFeatures = 600;
+		configDetector.general.radius = 3;
+		configDetector.general.threshold = 1;
+		configDetector.shiTomasi.radius = 3;
+
+		StereoDisparitySparse<GrayF32> disparity = FactoryStereoDisparity.sparseRectifiedBM(configBM, GrayF32.class);
+		PointTracker<GrayF32> tracker = FactoryPointTracker.klt(configKLT, configDetector, GrayF32.class, GrayF32.class);
+
+		return FactoryVisualOdometry.stereoMonoPnP(configPnP, disparity, tracker, GrayF32.class);
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkStereoVisualOdometry.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
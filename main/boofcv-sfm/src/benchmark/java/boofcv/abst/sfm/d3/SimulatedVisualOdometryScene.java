@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.sfm.d3;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.simulation.SimulatePlanarWorld;
+import boofcv.struct.calib.CameraPinholeBrown;
+import boofcv.struct.calib.StereoParameters;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU16;
+import georegression.geometry.ConvertRotation3D_F64;
+import georegression.struct.EulerType;
+import georegression.struct.se.Se3_F64;
+import georegression.struct.se.SpecialEuclideanOps_F64;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Renders a synthetic image sequence for benchmarking visual odometry. The scene is composed of randomly
+ * textured planes in front of the camera. The camera moves along a closed loop so that the sequence can be
+ * processed over and over again without a discontinuity when it wraps around.
+ *
+ * @author Peter Abeles
+ */
+public class SimulatedVisualOdometryScene {
+	public final int width = 320;
+	public final int height = 240;
+
+	/** Stereo calibration. The left camera is used for monocular and depth sequences */
+	public final StereoParameters stereo = new StereoParameters();
+
+	/** Conversion from depth image values to meters */
+	public final double depthUnits = 0.002;
+
+	/** Rendered images in each frame. Lists are empty if they were not requested */
+	public final List<GrayF32> left = new ArrayList<>();
+	public final List<GrayF32> right = new ArrayList<>();
+	public final List<GrayU16> depth = new ArrayList<>();
+
+	final SimulatePlanarWorld sim = new SimulatePlanarWorld();
+	final Random rand;
+
+	/**
+	 * Renders the sequence
+	 *
+	 * @param numFrames Number of frames in the loop
+	 * @param renderRight If true the right stereo camera is rendered
+	 * @param renderDepth If true a depth image is rendered for the left camera
+	 * @param seed Seed for the random number generator
+	 */
+	public SimulatedVisualOdometryScene( int numFrames, boolean renderRight, boolean renderDepth, long seed ) {
+		rand = new Random(seed);
+
+		stereo.setRightToLeft(new Se3_F64());
+		stereo.getRightToLeft().getT().setTo(-0.2, 0.001, -0.012);
+		ConvertRotation3D_F64.eulerToMatrix(EulerType.XYZ, 0.001, -0.01, 0.0023, stereo.getRightToLeft().getR());
+		stereo.left = new CameraPinholeBrown(200, 201, 0, width/2, height/2, width, height).fsetRadial(0, 0);
+		stereo.right = new CameraPinholeBrown(199, 200, 0, width/2 + 2, height/2 - 6, width, height).fsetRadial(0, 0);
+
+		createScene(100);
+
+		Se3_F64 leftToRight = stereo.getRightToLeft().invert(null);
+		Se3_F64 worldToRight = new Se3_F64();
+
+		for (int frame = 0; frame < numFrames; frame++) {
+			Se3_F64 worldToLeft = cameraToWorld(frame, numFrames).invert(null);
+
+			sim.setCamera(stereo.left);
+			sim.setWorldToCamera(worldToLeft);
+			left.add(sim.render().clone());
+
+			if (renderDepth) {
+				depth.add(convertDepth(sim.getDepthMap()));
+			}
+
+			if (renderRight) {
+				worldToLeft.concat(leftToRight, worldToRight);
+				sim.setCamera(stereo.right);
+				sim.setWorldToCamera(worldToRight);
+				right.add(sim.render().clone());
+			}
+		}
+	}
+
+	/**
+	 * Adds randomly textured squares in front of the camera
+	 */
+	void createScene( int numSquares ) {
+		for (int i = 0; i < numSquares; i++) {
+			var texture = new GrayF32(60, 60);
+			ImageMiscOps.fillUniform(texture, rand, 0, 255);
+			texture = BlurImageOps.gaussian(texture, null, -1, 2, null);
+
+			double x = (rand.nextDouble() - 0.5)*4.0;
+			double y = (rand.nextDouble() - 0.5)*3.0;
+			double z = 1.5 + rand.nextDouble()*2.5;
+
+			// Rotated so that the surface is facing the camera
+			sim.addSurface(SpecialEuclideanOps_F64.eulerXyz(x, y, z, 0, Math.PI, 0, null), 0.4, texture);
+		}
+	}
+
+	/**
+	 * Location of the left camera along the closed loop
+	 */
+	Se3_F64 cameraToWorld( int frame, int numFrames ) {
+		double theta = 2.0*Math.PI*frame/numFrames;
+		double radius = 0.15;
+		return SpecialEuclideanOps_F64.eulerXyz(radius*Math.sin(theta), 0, radius*(1.0 - Math.cos(theta)),
+				0, 0.02*Math.sin(theta), 0, null);
+	}
+
+	/**
+	 * Converts the depth map from meters into the integer units used by depth sensors. Zero indicates no depth.
+	 */
+	GrayU16 convertDepth( GrayF32 depthMeters ) {
+		var output = new GrayU16(depthMeters.width, depthMeters.height);
+		for (int y = 0; y < depthMeters.height; y++) {
+			for (int x = 0; x < depthMeters.width; x++) {
+				float d = depthMeters.get(x, y);
+				if (Float.isNaN(d) || d == Float.MAX_VALUE)
+					continue;
+				output.set(x, y, Math.min(0xFFFF, (int)Math.round(d/depthUnits)));
+			}
+		}
+		return output;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.structure;
+
+import boofcv.alg.geo.PerspectiveOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.calib.CameraPinhole;
+import boofcv.struct.geo.PointIndex2D_F64;
+import georegression.struct.point.Point2D_F64;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.struct.se.SpecialEuclideanOps_F64;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creation of the pairwise graph and projective reconstruction from the pairwise graph on synthetic
+ * scenes with different numbers of views. The camera moves sideways along a wall of points, similar to a
+ * street-level scan. Each operation processes the entire scene. Run with the GC profiler to see allocation
+ * per reconstruction. NOTE: The 5000 view case takes several minutes to set up.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkReconstructionPairwiseGraph {
+
+	@Param({"50", "500", "5000"})
+	int numViews;
+
+	@Param({"true", "false"})
+	boolean concurrent;
+
+	/** Distance the camera moves between views */
+	double stepSize = 0.3;
+	/** Number of points per meter along the wall */
+	double pointDensity = 25;
+	/** Standard deviation of pixel noise */
+	double pixelNoise = 0.3;
+	/** Maximum number of similar images for each view */
+	int maxSimilar = 6;
+
+	CameraPinhole intrinsic = new CameraPinhole(200, 200, 0, 160, 120, 320, 240);
+
+	LookUpSimilarGivenTracks<PointIndex2D_F64> db;
+	PairwiseImageGraph graph;
+
+	GeneratePairwiseImageGraph generateGraph;
+	ProjectiveReconstructionFromPairwiseGraph projective;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		db = createScene(new Random(0xBEEF));
+		generateGraph = concurrent ? new GeneratePairwiseImageGraph_MT() : new GeneratePairwiseImageGraph();
+		projective = new ProjectiveReconstructionFromPairwiseGraph();
+
+		// Graph is needed as input for reconstruction
+		generateGraph.process(db);
+		graph = generateGraph.getGraph();
+		// make sure the benchmark isn't modifying the graph used by reconstruction
+		generateGraph = concurrent ? new GeneratePairwiseImageGraph_MT() : new GeneratePairwiseImageGraph();
+	}
+
+	@Benchmark
+	public PairwiseImageGraph pairwiseGraph() {
+		generateGraph.process(db);
+		return generateGraph.getGraph();
+	}
+
+	@Benchmark
+	public boolean projectiveReconstruction() {
+		return projective.process(db, graph);
+	}
+
+	/**
+	 * Renders observations of points on a wall as the camera moves sideways along it
+	 */
+	LookUpSimilarGivenTracks<PointIndex2D_F64> createScene( Random rand ) {
+		var db = new LookUpSimilarGivenTracks<PointIndex2D_F64>(a -> a.index, ( a, dst ) -> dst.setTo(a.p));
+
+		double length = numViews*stepSize + 8.0;
+		int numPoints = (int)(length*pointDensity);
+		List<Point3D_F64> cloud = new ArrayList<>();
+		for (int i = 0; i < numPoints; i++) {
+			double x = rand.nextDouble()*length - 4.0;
+			double y = (rand.nextDouble() - 0.5)*2.0;
+			double z = 3.0 + rand.nextDouble()*2.0;
+			cloud.add(new Point3D_F64(x, y, z));
+		}
+
+		var pixel = new Point2D_F64();
+		for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+			// Small changes in orientation to make it less degenerate
+			Se3_F64 cameraToWorld = SpecialEuclideanOps_F64.eulerXyz(viewIdx*stepSize, 0.1*Math.sin(viewIdx*0.3), 0,
+					0.02*Math.sin(viewIdx*0.7), 0.03*Math.cos(viewIdx*0.5), 0, null);
+			Se3_F64 worldToCamera = cameraToWorld.invert(null);
+
+			List<PointIndex2D_F64> observations = new ArrayList<>();
+			for (int pointIdx = 0; pointIdx < cloud.size(); pointIdx++) {
+				Point3D_F64 X = cloud.get(pointIdx);
+				// skip points which can't possibly be visible
+				if (Math.abs(X.x - cameraToWorld.T.x) > 5.0)
+					continue;
+				if (null == PerspectiveOps.renderPixel(worldToCamera, intrinsic, X, pixel))
+					continue;
+				pixel.x += rand.nextGaussian()*pixelNoise;
+				pixel.y += rand.nextGaussian()*pixelNoise;
+				if (!intrinsic.isInside(pixel.x, pixel.y))
+					continue;
+				observations.add(new PointIndex2D_F64(pixel.x, pixel.y, pointIdx));
+			}
+			db.addFrame(intrinsic.width, intrinsic.height, observations);
+		}
+		db.computeSimilarRelationships(true, 30, maxSimilar);
+
+		return db;
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkReconstructionPairwiseGraph.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		new Runner(opt).run();
+	}
+}
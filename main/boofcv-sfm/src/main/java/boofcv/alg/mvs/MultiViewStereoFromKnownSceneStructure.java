@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -312,8 +312,13 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 
 		// Use the computed disparity to add to the common point cloud while not adding points already in
 		// the cloud
+		int startIndex = disparityCloud.cloud.size;
 		disparityCloud.addDisparity(disparity, dummyMask, world_to_view1, computeFused.fusedParam,
 				norm_to_pixel, new PointToPixelTransform_F64(pixel_to_norm));
+
+		if (listener != null) {
+			listener.handleCloudAdded(center.relations.id, disparityCloud.cloud.toList(), startIndex);
+		}
 	}
 
 	/**
@@ -400,5 +405,14 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		 */
 		void handleFusedDisparity( String centerViewName, GrayF32 disparity, GrayU8 mask,
 								   DisparityParameters parameters );
+
+		/**
+		 * After points from a fused disparity image have been added to the cloud, this function is called. Points
+		 * are only appended to the cloud, so this can be used to save it to disk incrementally.
+		 *
+		 * @param cloud The entire point cloud
+		 * @param startIndex Index of the first point which was just added
+		 */
+		default void handleCloudAdded( String centerViewName, List<Point3D_F64> cloud, int startIndex ) {}
 	}
 }
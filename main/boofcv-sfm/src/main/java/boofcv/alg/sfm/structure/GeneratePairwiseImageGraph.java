@@ -29,6 +29,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.VerbosePrint;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.ops.DConvertMatrixStruct;
@@ -47,6 +48,15 @@ import java.util.*;
  * a value of 1 just requires equality, greater than one means there must be more features from F (fundamental) than
  * H (homography). See [1] for more details on this test.
  *
+ * Before the expensive robust model fitting is performed, pairs are checked with a fast test that's designed
+ * to reject obviously bad pairs. RANSAC with only a few iterations is applied to an evenly spaced subsample
+ * of the matches for F and H. If neither inlier fraction predicts enough inliers the pair is rejected. See
+ * {@link #earlyRejectSampleSize} and {@link #earlyRejectFraction}.
+ *
+ * Robust model fitting is done independently for each pair of views and the random number generator is reset
+ * before each pair. The found graph is thus independent of the order pairs are evaluated in, which allows
+ * {@link GeneratePairwiseImageGraph_MT} to produce the same results as this class.
+ *
  * <p>[1] Pollefeys, Marc, et al. "Visual modeling with a hand-held camera." International Journal of Computer
  * Vision 59.3 (2004): 207-232.</p>
  *
@@ -56,9 +66,15 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	public final @Getter PairwiseImageGraph graph = new PairwiseImageGraph();
 	private List<String> imageIds;
 
-	// concensus matching algorithms
-	ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D;
-	ModelMatcher<Homography2D_F64, AssociatedPair> ransacH;
+	// Configurations for robust model fitting
+	protected final ConfigFundamental configF = new ConfigFundamental();
+	protected final ConfigRansac configRansacF = new ConfigRansac();
+	protected final ConfigRansac configRansacH = new ConfigRansac();
+	protected final ConfigRansac configRansacRejectF = new ConfigRansac();
+	protected final ConfigRansac configRansacRejectH = new ConfigRansac();
+
+	// concensus matching algorithms used when processing in a single thread
+	protected final RobustFit robust;
 
 	/**
 	 * The minimum number of inliers for an edge to be accepted
@@ -69,27 +85,61 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	 */
 	public @Getter @Setter double ratio3D = 1.5;
 
+	/**
+	 * Number of matches which are sampled when checking to see if a pair should be rejected early. If a pair has
+	 * this many matches or fewer then the check is skipped. Set to a value &le; 0 to disable early rejection.
+	 */
+	public @Getter @Setter int earlyRejectSampleSize = 50;
+
+	/**
+	 * A pair is rejected early if the number of inliers predicted from the subsample is less than this fraction
+	 * of {@link #minimumInliers}. Smaller values are more conservative.
+	 */
+	public @Getter @Setter double earlyRejectFraction = 0.5;
+
+	/**
+	 * Number of candidate pairs which are collected before they are evaluated. Larger values give a
+	 * concurrent implementation more work to split up at the cost of more memory.
+	 */
+	public @Getter @Setter int candidatesPerBatch = 100;
+
+	// Pairs of views which have been looked up and are waiting to be evaluated
+	protected final DogArray<Candidate> candidates = new DogArray<>(Candidate::new, Candidate::reset);
+
 	private PrintStream verbose;
 
 	/**
 	 * Configures and declares concensum matching algorithms
 	 */
 	public GeneratePairwiseImageGraph() {
-		ConfigRansac configRansacF = new ConfigRansac();
 		configRansacF.iterations = 500;
 		configRansacF.inlierThreshold = 1;
 
 		// F computes epipolar error, which isn't as strict as reprojection error for H, so give H a larger error tol
-		ConfigRansac configRansacH = new ConfigRansac();
 		configRansacH.iterations = 500;
 		configRansacH.inlierThreshold = 2.0;
 
-		ConfigFundamental configF = new ConfigFundamental();
+		// Early rejection only needs a rough estimate of the inlier fraction
+		configRansacRejectF.iterations = 100;
+		configRansacRejectF.inlierThreshold = configRansacF.inlierThreshold;
+		configRansacRejectH.iterations = 100;
+		configRansacRejectH.inlierThreshold = configRansacH.inlierThreshold;
+
 		configF.errorModel = ConfigFundamental.ErrorModel.GEOMETRIC;
 		configF.numResolve = 1;
 
-		ransac3D = FactoryMultiViewRobust.fundamentalRansac(configF, configRansacF);
-		ransacH = FactoryMultiViewRobust.homographyRansac(null, configRansacH);
+		robust = createRobustFit();
+	}
+
+	/**
+	 * Creates a new set of robust model estimators. Needed for each thread.
+	 */
+	protected RobustFit createRobustFit() {
+		return new RobustFit(
+				FactoryMultiViewRobust.fundamentalRansac(configF, configRansacF),
+				FactoryMultiViewRobust.homographyRansac(null, configRansacH),
+				FactoryMultiViewRobust.fundamentalRansac(configF, configRansacRejectF),
+				FactoryMultiViewRobust.homographyRansac(null, configRansacRejectH));
 	}
 
 	/**
@@ -101,12 +151,11 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	public void process( LookUpSimilarImages db ) {
 		this.imageIds = db.getImageIDs();
 		this.graph.reset();
+		this.candidates.reset();
 
 		List<String> similar = new ArrayList<>();
 		DogArray<Point2D_F64> srcFeats = new DogArray<>(Point2D_F64::new);
 		DogArray<Point2D_F64> dstFeats = new DogArray<>(Point2D_F64::new);
-		DogArray<AssociatedIndex> matches = new DogArray<>(AssociatedIndex::new);
-		DogArray<AssociatedPair> pairs = new DogArray<>(AssociatedPair::new);
 
 		// map to quickly look up the ID of a view
 		Map<String, Integer> imageToIndex = new HashMap<>();
@@ -140,17 +189,41 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 					continue;
 
 				// get information on the features and association
+				Candidate c = candidates.grow();
+				c.src = src;
+				c.dst = dst;
 				db.lookupPixelFeats(dst, dstFeats);
-				db.lookupMatches(src, dst, matches);
+				db.lookupMatches(src, dst, c.matches);
 
-				pairs.reset();
-				for (int i = 0; i < matches.size; i++) {
-					AssociatedIndex m = matches.get(i);
-					pairs.grow().setTo(srcFeats.get(m.src), dstFeats.get(m.dst));
+				for (int i = 0; i < c.matches.size; i++) {
+					AssociatedIndex m = c.matches.get(i);
+					c.pairs.grow().setTo(srcFeats.get(m.src), dstFeats.get(m.dst));
 				}
-
-				createEdge(src, dst, pairs, matches);
 			}
+
+			if (candidates.size >= candidatesPerBatch)
+				processCandidates();
+		}
+		processCandidates();
+	}
+
+	/**
+	 * Evaluates all the candidates then adds edges to the graph in the same order candidates were found
+	 */
+	private void processCandidates() {
+		evaluateCandidates();
+		for (int i = 0; i < candidates.size; i++) {
+			saveEdge(candidates.get(i));
+		}
+		candidates.reset();
+	}
+
+	/**
+	 * Robustly fits models to all the candidates. This is where almost all the computations are spent.
+	 */
+	protected void evaluateCandidates() {
+		for (int i = 0; i < candidates.size; i++) {
+			evaluate(robust, candidates.get(i));
 		}
 	}
 
@@ -165,64 +238,111 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	 */
 	protected void createEdge( String src, String dst,
 							   DogArray<AssociatedPair> pairs, DogArray<AssociatedIndex> matches ) {
+		var c = new Candidate();
+		c.src = src;
+		c.dst = dst;
+		c.pairs.copyAll(pairs.toList(), ( a, b ) -> b.setTo(a));
+		c.matches.copyAll(matches.toList(), ( a, b ) -> b.setTo(a));
+		evaluate(robust, c);
+		saveEdge(c);
+	}
+
+	/**
+	 * Decides if there's a geometric relationship between the two views in the candidate. All the results
+	 * are saved in the candidate so that this function can be called independently for each candidate.
+	 *
+	 * @param robust Robust model fitting
+	 * @param c (Input) pairs of observations (Output) Found geometric relationship
+	 */
+	protected void evaluate( RobustFit robust, Candidate c ) {
+		c.countF = 0;
+		c.countH = 0;
+		c.inliers.reset();
+
+		// There can't be enough inliers if there aren't enough matches
+		if (c.pairs.size < minimumInliers)
+			return;
+
+		if (!robust.passesEarlyCheck(c.pairs)) {
+			c.rejectedEarly = true;
+			return;
+		}
+
+		// Reset so that the results only depend on this pair and not on what pairs were evaluated before
+		robust.ransac3D.reset();
+		robust.ransacH.reset();
+
 		// Fitting Essential/Fundamental works when the scene is not planar and not pure rotation
-		int countF = 0;
-		if (ransac3D.process(pairs.toList())) {
-			countF = ransac3D.getMatchSet().size();
+		if (robust.ransac3D.process(c.pairs.toList())) {
+			c.countF = robust.ransac3D.getMatchSet().size();
 		}
 
 		// Fitting homography will work when all or part of the scene is planar or motion is pure rotation
-		int countH = 0;
-		if (ransacH.process(pairs.toList())) {
-			countH = ransacH.getMatchSet().size();
+		if (robust.ransacH.process(c.pairs.toList())) {
+			c.countH = robust.ransacH.getMatchSet().size();
 		}
 
-		if( verbose != null ) verbose.println("   dst='"+dst+"' ransac F="+countF+" H="+countH+" pairs.size="+pairs.size());
-
 		// fail if not enough features are remaining after RANSAC
-		if (Math.max(countF, countH) < minimumInliers)
+		if (Math.max(c.countF, c.countH) < minimumInliers)
 			return;
 
 		// The idea here is that if the number features for F is greater than H then it's a 3D scene.
 		// If they are similar then it might be a plane
-		boolean is3D = countF > countH * ratio3D;
+		c.is3D = c.countF > c.countH*ratio3D;
+
+		if (c.is3D) {
+			saveInliers(robust.ransac3D, c.inliers);
+			c.F.setTo(robust.ransac3D.getModelParameters());
+		} else {
+			saveInliers(robust.ransacH, c.inliers);
+			Homography2D_F64 H = robust.ransacH.getModelParameters();
+			DConvertMatrixStruct.convert(H, c.F);
+		}
+	}
+
+	/**
+	 * Adds an edge to the graph if the candidate has enough inliers
+	 */
+	protected void saveEdge( Candidate c ) {
+		if (verbose != null) {
+			if (c.rejectedEarly)
+				verbose.println("   src='" + c.src + "' dst='" + c.dst + "' rejected early pairs.size=" + c.pairs.size());
+			else
+				verbose.println("   src='" + c.src + "' dst='" + c.dst + "' ransac F=" + c.countF + " H=" + c.countH +
+						" pairs.size=" + c.pairs.size());
+		}
+
+		// fail if not enough features are remaining after RANSAC
+		if (Math.max(c.countF, c.countH) < minimumInliers)
+			return;
 
 		PairwiseImageGraph.Motion edge = graph.edges.grow();
-		edge.is3D = is3D;
-		edge.countF = countF;
-		edge.countH = countH;
+		edge.is3D = c.is3D;
+		edge.countF = c.countF;
+		edge.countH = c.countH;
 		edge.index = graph.edges.size - 1;
-		edge.src = graph.lookupNode(src);
-		edge.dst = graph.lookupNode(dst);
+		edge.src = graph.lookupNode(c.src);
+		edge.dst = graph.lookupNode(c.dst);
 		edge.src.connections.add(edge);
 		edge.dst.connections.add(edge);
+		edge.F.setTo(c.F);
 
-		if (is3D) {
-			saveInlierMatches(ransac3D, matches, edge);
-			edge.F.setTo(ransac3D.getModelParameters());
-		} else {
-			saveInlierMatches(ransacH, matches, edge);
-			Homography2D_F64 H = ransacH.getModelParameters();
-			DConvertMatrixStruct.convert(H, edge.F);
+		// Puts the inliers from RANSAC into the edge's list of associated features
+		edge.inliers.reset();
+		edge.inliers.resize(c.inliers.size);
+		for (int i = 0; i < c.inliers.size; i++) {
+			edge.inliers.get(i).setTo(c.matches.get(c.inliers.get(i)));
 		}
 	}
 
 	/**
-	 * Puts the inliers from RANSAC into the edge's list of associated features
-	 *
-	 * @param ransac RANSAC
-	 * @param matches List of matches from feature association
-	 * @param edge The edge that the inliers are to be saved to
+	 * Saves the index of each inlier in the input list
 	 */
-	private void saveInlierMatches( ModelMatcher<?, ?> ransac,
-									DogArray<AssociatedIndex> matches, PairwiseImageGraph.Motion edge ) {
-
+	private static void saveInliers( ModelMatcher<?, ?> ransac, DogArray_I32 inliers ) {
 		int N = ransac.getMatchSet().size();
-		edge.inliers.reset();
-		edge.inliers.resize(N);
+		inliers.resize(N);
 		for (int i = 0; i < N; i++) {
-			int idx = ransac.getInputIndex(i);
-			edge.inliers.get(i).setTo(matches.get(idx));
+			inliers.data[i] = ransac.getInputIndex(i);
 		}
 	}
 
@@ -230,4 +350,97 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	public void setVerbose( @Nullable PrintStream out, @Nullable Set<String> configuration ) {
 		this.verbose = out;
 	}
+
+	/**
+	 * Robust model estimators and their workspace. Each thread needs its own instance.
+	 */
+	protected class RobustFit {
+		final ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D;
+		final ModelMatcher<Homography2D_F64, AssociatedPair> ransacH;
+		// Cheap versions of ransac3D and ransacH used to reject pairs early
+		final ModelMatcher<DMatrixRMaj, AssociatedPair> rejectF;
+		final ModelMatcher<Homography2D_F64, AssociatedPair> rejectH;
+		// Subsample of matches used for early rejection
+		final List<AssociatedPair> sample = new ArrayList<>();
+
+		public RobustFit( ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D,
+						  ModelMatcher<Homography2D_F64, AssociatedPair> ransacH,
+						  ModelMatcher<DMatrixRMaj, AssociatedPair> rejectF,
+						  ModelMatcher<Homography2D_F64, AssociatedPair> rejectH ) {
+			this.ransac3D = ransac3D;
+			this.ransacH = ransacH;
+			this.rejectF = rejectF;
+			this.rejectH = rejectH;
+		}
+
+		/**
+		 * Runs a fast RANSAC on a subsample of the pairs and uses it to predict the number of inliers. Both
+		 * models are considered since F can't be estimated well for planar scenes or pure rotation.
+		 *
+		 * @return false if the pair should be rejected
+		 */
+		boolean passesEarlyCheck( DogArray<AssociatedPair> pairs ) {
+			final int N = pairs.size;
+			if (earlyRejectSampleSize <= 0 || N <= earlyRejectSampleSize)
+				return true;
+
+			// Evenly spaced samples so that the results are deterministic
+			sample.clear();
+			for (int i = 0; i < earlyRejectSampleSize; i++) {
+				sample.add(pairs.get((int)((long)i*N/earlyRejectSampleSize)));
+			}
+
+			return predictsEnoughInliers(rejectF, N) || predictsEnoughInliers(rejectH, N);
+		}
+
+		private boolean predictsEnoughInliers( ModelMatcher<?, AssociatedPair> ransac, int totalPairs ) {
+			// Points in the minimal sample are always inliers and would inflate the estimate
+			int minimum = ransac.getMinimumSize();
+			if (sample.size() <= minimum)
+				return true;
+
+			ransac.reset();
+			if (!ransac.process(sample))
+				return false;
+
+			double fractionInliers = (ransac.getMatchSet().size() - minimum)/(double)(sample.size() - minimum);
+			return fractionInliers*totalPairs >= earlyRejectFraction*minimumInliers;
+		}
+	}
+
+	/**
+	 * A pair of views which might be connected by an edge and the results of robustly fitting models to them
+	 */
+	protected static class Candidate {
+		// ID of the two views
+		String src = "";
+		String dst = "";
+		// Observations of associated features
+		final DogArray<AssociatedPair> pairs = new DogArray<>(AssociatedPair::new);
+		// Index of the associated features
+		final DogArray<AssociatedIndex> matches = new DogArray<>(AssociatedIndex::new);
+
+		// number of inliers for the fundamental matrix and homography
+		int countF, countH;
+		// If true the pair was rejected before the full robust fit was performed
+		boolean rejectedEarly;
+		// If the edge has 3D information
+		boolean is3D;
+		// Found fundamental matrix or homography
+		final DMatrixRMaj F = new DMatrixRMaj(3, 3);
+		// Index of inliers in the matches list
+		final DogArray_I32 inliers = new DogArray_I32();
+
+		public void reset() {
+			src = "";
+			dst = "";
+			pairs.reset();
+			matches.reset();
+			countF = countH = 0;
+			rejectedEarly = false;
+			is3D = false;
+			F.zero();
+			inliers.reset();
+		}
+	}
 }
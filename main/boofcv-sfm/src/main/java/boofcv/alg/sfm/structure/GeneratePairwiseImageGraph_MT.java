@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.structure;
+
+import boofcv.concurrency.BoofConcurrency;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link GeneratePairwiseImageGraph}. Candidate pairs of views are evaluated in
+ * parallel, with each thread having its own robust model estimators. Looking up features and adding edges
+ * to the graph is done in a single thread in the same order as the single threaded version. Since each pair is
+ * evaluated independently the output does not depend on the number of threads.
+ *
+ * @author Peter Abeles
+ */
+public class GeneratePairwiseImageGraph_MT extends GeneratePairwiseImageGraph {
+	// Robust model fitting for each thread
+	private final GrowArray<RobustFit> workspace = new GrowArray<>(this::createRobustFit);
+
+	@Override
+	protected void evaluateCandidates() {
+		BoofConcurrency.loopBlocks(0, candidates.size, workspace, ( robust, idx0, idx1 ) -> {
+			for (int i = idx0; i < idx1; i++) {
+				evaluate(robust, candidates.get(i));
+			}
+		});
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -39,7 +39,7 @@ import georegression.geometry.ConvertRotation3D_F64;
 import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.struct.so.Rodrigues_F64;
-import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.fitting.modelset.ModelMatcher;
 import org.ddogleg.optimization.lm.ConfigLevenbergMarquardt;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.VerbosePrint;
@@ -94,7 +94,7 @@ public class ThreeViewEstimateMetricScene implements VerbosePrint {
 	public ConfigConverge convergeSBA = new ConfigConverge(1e-6, 1e-6, 100);
 
 	// estimating the trifocal tensor and storing which observations are in the inlier set
-	public Ransac<TrifocalTensor, AssociatedTriple> ransac;
+	public ModelMatcher<TrifocalTensor, AssociatedTriple> ransac;
 	public List<AssociatedTriple> inliers;
 	public Estimate1ofTrifocalTensor trifocalEstimator;
 
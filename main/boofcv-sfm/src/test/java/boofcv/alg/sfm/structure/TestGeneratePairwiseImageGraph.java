@@ -29,6 +29,7 @@ import georegression.struct.point.Point3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.struct.se.SpecialEuclideanOps_F64;
 import org.ddogleg.struct.DogArray;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -94,6 +95,100 @@ class TestGeneratePairwiseImageGraph extends BoofStandardJUnit {
 		}
 	}
 
+	/**
+	 * The size of each batch should have no influence on the output
+	 */
+	@Test
+	void process_batchSizeIndependent() {
+		var similar = new MockLookupSimilarImages(5, 123123);
+
+		var expected = new GeneratePairwiseImageGraph();
+		expected.process(similar);
+		assertTrue(expected.graph.edges.size > 0);
+
+		var alg = new GeneratePairwiseImageGraph();
+		alg.candidatesPerBatch = 1;
+		alg.process(similar);
+
+		checkIdentical(expected.graph, alg.graph);
+	}
+
+	/**
+	 * Matches which are pure noise should be rejected by the early check and no edge created
+	 */
+	@Test
+	void evaluate_rejectEarly() {
+		var alg = new GeneratePairwiseImageGraph();
+
+		var c = new GeneratePairwiseImageGraph.Candidate();
+		for (int i = 0; i < 200; i++) {
+			c.pairs.grow().setTo(rand.nextDouble()*1000, rand.nextDouble()*1000,
+					rand.nextDouble()*1000, rand.nextDouble()*1000);
+			c.matches.grow().setTo(i, i, 1);
+		}
+		alg.evaluate(alg.robust, c);
+		assertTrue(c.rejectedEarly);
+		assertEquals(0, c.countF);
+		assertEquals(0, c.countH);
+
+		// If early rejection is turned off then it should go through RANSAC and still fail
+		c.rejectedEarly = false;
+		alg.earlyRejectSampleSize = 0;
+		alg.evaluate(alg.robust, c);
+		assertFalse(c.rejectedEarly);
+		assertTrue(Math.max(c.countF, c.countH) < alg.minimumInliers);
+	}
+
+	/**
+	 * Good matches should pass the early check
+	 */
+	@Test
+	void evaluate_passEarly() {
+		var alg = new GeneratePairwiseImageGraph();
+
+		var c = new GeneratePairwiseImageGraph.Candidate();
+		DogArray<AssociatedPair> associated = createAssociations(200, false, false);
+		for (int i = 0; i < associated.size; i++) {
+			c.pairs.grow().setTo(associated.get(i));
+			c.matches.grow().setTo(i, i, 1);
+		}
+		alg.evaluate(alg.robust, c);
+		assertFalse(c.rejectedEarly);
+		assertTrue(c.is3D);
+		assertTrue(c.countF > 170);
+		assertEquals(c.countF, c.inliers.size);
+	}
+
+	/**
+	 * Checks to see if the two graphs are identical
+	 */
+	static void checkIdentical( PairwiseImageGraph expected, PairwiseImageGraph found ) {
+		assertEquals(expected.nodes.size, found.nodes.size);
+		for (int i = 0; i < expected.nodes.size; i++) {
+			assertEquals(expected.nodes.get(i).id, found.nodes.get(i).id);
+			assertEquals(expected.nodes.get(i).totalObservations, found.nodes.get(i).totalObservations);
+			assertEquals(expected.nodes.get(i).connections.size, found.nodes.get(i).connections.size);
+		}
+
+		assertEquals(expected.edges.size, found.edges.size);
+		for (int i = 0; i < expected.edges.size; i++) {
+			PairwiseImageGraph.Motion a = expected.edges.get(i);
+			PairwiseImageGraph.Motion b = found.edges.get(i);
+
+			assertEquals(a.src.id, b.src.id);
+			assertEquals(a.dst.id, b.dst.id);
+			assertEquals(a.is3D, b.is3D);
+			assertEquals(a.countF, b.countF);
+			assertEquals(a.countH, b.countH);
+			assertTrue(MatrixFeatures_DDRM.isIdentical(a.F, b.F, 0.0));
+			assertEquals(a.inliers.size, b.inliers.size);
+			for (int j = 0; j < a.inliers.size; j++) {
+				assertEquals(a.inliers.get(j).src, b.inliers.get(j).src);
+				assertEquals(a.inliers.get(j).dst, b.inliers.get(j).dst);
+			}
+		}
+	}
+
 	@Test
 	void createEdge_3D() {
 		var alg = new GeneratePairwiseImageGraph();
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.structure;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+class TestGeneratePairwiseImageGraph_MT extends BoofStandardJUnit {
+	/**
+	 * Compare to single threaded implementation with different batch sizes
+	 */
+	@Test
+	void compare() {
+		var similar = new MockLookupSimilarImages(6, 123123);
+
+		var expected = new GeneratePairwiseImageGraph();
+		expected.process(similar);
+		assertTrue(expected.graph.edges.size > 0);
+
+		for (int batchSize : new int[]{1, 4, 100}) {
+			var alg = new GeneratePairwiseImageGraph_MT();
+			alg.candidatesPerBatch = batchSize;
+			alg.process(similar);
+
+			TestGeneratePairwiseImageGraph.checkIdentical(expected.graph, alg.graph);
+		}
+	}
+}
@@ -183,7 +183,7 @@ public class SimulatePlanarWorld {
 			r.rectInCamera();
 		}
 
-		if (BoofConcurrency.USE_CONCURRENT && output.width*output.height > 100*100) {
+		if (BoofConcurrency.USE_CONCURRENT && output.width*output.height > BoofConcurrency.getSmallImage()) {
 			renderMultiThread();
 		} else {
 			renderSingleThread();
@@ -396,4 +396,12 @@ public class SimulatePlanarWorld {
 	public GrayF32 getOutput() {
 		return output;
 	}
+
+	/**
+	 * Depth of each pixel along the camera's z-axis from the most recent call to {@link #render()}. Pixels which
+	 * do not see a surface are set to Float.MAX_VALUE.
+	 */
+	public GrayF32 getDepthMap() {
+		return depthMap;
+	}
 }
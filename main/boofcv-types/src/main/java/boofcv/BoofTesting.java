@@ -27,6 +27,7 @@ import org.ejml.UtilEjml;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.CommonOps_DDRM;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -57,6 +58,53 @@ public class BoofTesting {
 		return new Random(0xBEEF + offset);
 	}
 
+	/**
+	 * Returns the number of bytes which were allocated on the heap by the current thread while the operation
+	 * was running. The overhead of measuring allocation is subtracted, so a value &le; 0 means nothing was
+	 * allocated. If the JVM doesn't support this measurement then Long.MIN_VALUE is returned.
+	 *
+	 * @param operation The operation being measured
+	 * @return Number of bytes allocated or Long.MIN_VALUE if unknown
+	 */
+	public static long allocatedBytes( Runnable operation ) {
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+			return Long.MIN_VALUE;
+		var bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled())
+			return Long.MIN_VALUE;
+
+		long threadID = Thread.currentThread().getId();
+
+		// Depending on the JVM, asking for the allocated bytes can allocate memory itself
+		long overhead0 = bean.getThreadAllocatedBytes(threadID);
+		long overhead1 = bean.getThreadAllocatedBytes(threadID);
+
+		long before = bean.getThreadAllocatedBytes(threadID);
+		operation.run();
+		long after = bean.getThreadAllocatedBytes(threadID);
+
+		return after - before - (overhead1 - overhead0);
+	}
+
+	/**
+	 * Measures the bytes allocated by the operation several times and returns the smallest. The JVM can
+	 * occasionally allocate memory while it compiles or deoptimizes code, this filters out those one time events.
+	 *
+	 * @param trials Number of times the operation is measured
+	 * @param operation The operation being measured
+	 * @return Smallest number of bytes allocated or Long.MIN_VALUE if unknown
+	 */
+	public static long minAllocatedBytes( int trials, Runnable operation ) {
+		long best = Long.MAX_VALUE;
+		for (int trial = 0; trial < trials; trial++) {
+			long allocated = allocatedBytes(operation);
+			if (allocated == Long.MIN_VALUE)
+				return Long.MIN_VALUE;
+			best = Math.min(best, allocated);
+		}
+		return best;
+	}
+
 	/**
 	 * Recommended tolerance by image data type. Useful when processing images but the type isn't known at compile
 	 * time.
@@ -18,11 +18,29 @@
 
 package boofcv.concurrency;
 
-import pabeles.concurrency.ConcurrencyOps;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * Central class for controlling concurrency in BoofCV.
  *
+ * <p>By default all concurrent algorithms share a single global thread pool. A different thread pool can be
+ * bound to the calling thread using {@link #bind(ForkJoinPool)}. While bound, all the concurrent loops invoked
+ * from that thread, including nested loops invoked from inside the pool, will run inside that pool. This allows
+ * independent pipelines in the same JVM to be isolated from each other.</p>
+ *
+ * <pre>
+ * try (var ignore = BoofConcurrency.bind(cameraPool)) {
+ *     detector.process(image);
+ * }
+ * </pre>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"CatchAndPrintStackTrace"})
@@ -48,4 +66,322 @@ public class BoofConcurrency extends ConcurrencyOps {
 	public static boolean isUseConcurrent() {
 		return USE_CONCURRENT;
 	}
+
+	/** Context which has been bound to the current thread. null if the global pool is used */
+	private static final ThreadLocal<Context> local = new ThreadLocal<>();
+
+	/**
+	 * Binds the thread pool to the calling thread. Until the returned binding is closed, concurrent code which is
+	 * invoked from this thread will run inside of the specified pool.
+	 *
+	 * @param pool Thread pool which concurrent code will be run inside of
+	 * @return Binding which restores the previous settings when closed
+	 */
+	public static Binding bind( ForkJoinPool pool ) {
+		return bind(pool, -1);
+	}
+
+	/**
+	 * Binds the thread pool to the calling thread and specifies the small image threshold. The threshold replaces
+	 * the default threshold of every size check which goes through {@link #getSmallImage(int)}, e.g.
+	 * {@link #SMALL_IMAGE} and PixelMath.SMALL_IMAGE.
+	 *
+	 * @param pool Thread pool which concurrent code will be run inside of
+	 * @param smallImage Images with fewer pixels than this will be processed using a single thread. If &lt; 0 then
+	 * each check uses its own default threshold.
+	 * @return Binding which restores the previous settings when closed
+	 * @see #bind(ForkJoinPool)
+	 */
+	public static Binding bind( ForkJoinPool pool, int smallImage ) {
+		Binding binding = new Binding(local.get(), Thread.currentThread());
+		local.set(new Context(pool, smallImage));
+		return binding;
+	}
+
+	/**
+	 * Returns the thread pool bound to the calling thread or null if the global pool is being used.
+	 */
+	public static @Nullable ForkJoinPool getBoundPool() {
+		Context context = local.get();
+		return context == null ? null : context.pool;
+	}
+
+	/**
+	 * Returns the small image threshold for the calling thread. If no threshold is bound then {@link #SMALL_IMAGE}
+	 * is returned.
+	 */
+	public static int getSmallImage() {
+		return getSmallImage(SMALL_IMAGE);
+	}
+
+	/**
+	 * Returns the small image threshold for the calling thread. If no threshold is bound then the default
+	 * threshold for the calling algorithm is returned.
+	 *
+	 * @param defaultSmallImage Threshold used by the caller when one has not been bound to the thread
+	 */
+	public static int getSmallImage( int defaultSmallImage ) {
+		Context context = local.get();
+		return context == null || context.smallImage < 0 ? defaultSmallImage : context.smallImage;
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopFor(int, int, IntConsumer)} but will use the bound thread pool if there is one
+	 */
+	public static void loopFor( int start, int endExclusive, IntConsumer consumer ) {
+		Context context = local.get();
+		if (context == null) {
+			ConcurrencyOps.loopFor(start, endExclusive, consumer);
+			return;
+		}
+		context.run(() -> IntStream.range(start, endExclusive).parallel().forEach(i -> {
+			Context prev = context.enter();
+			try {
+				consumer.accept(i);
+			} finally {
+				local.set(prev);
+			}
+		}));
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopFor(int, int, int, IntConsumer)} but will use the bound thread pool if
+	 * there is one
+	 */
+	public static void loopFor( int start, int endExclusive, int step, IntConsumer consumer ) {
+		Context context = local.get();
+		if (context == null) {
+			ConcurrencyOps.loopFor(start, endExclusive, step, consumer);
+			return;
+		}
+		if (step <= 0)
+			throw new IllegalArgumentException("Step must be a positive number.");
+		if (start >= endExclusive)
+			return;
+		int range = endExclusive - start;
+		int iterations = range/step + ((range%step == 0) ? 0 : 1);
+		loopFor(0, iterations, i -> consumer.accept(start + i*step));
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopBlocks(int, int, int, IntRangeConsumer)} but will use the bound thread pool
+	 * if there is one
+	 */
+	public static void loopBlocks( int start, int endExclusive, int minBlock, IntRangeConsumer consumer ) {
+		Context context = local.get();
+		if (context == null) {
+			ConcurrencyOps.loopBlocks(start, endExclusive, minBlock, consumer);
+			return;
+		}
+		int numBlocks = context.selectNumBlocks(start, endExclusive, minBlock);
+		if (numBlocks == 0)
+			return;
+		loopFor(0, numBlocks, i -> consumer.accept(
+				blockBoundary(start, endExclusive, numBlocks, i),
+				blockBoundary(start, endExclusive, numBlocks, i + 1)));
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopBlocks(int, int, IntRangeConsumer)} but will use the bound thread pool
+	 * if there is one
+	 */
+	public static void loopBlocks( int start, int endExclusive, IntRangeConsumer consumer ) {
+		if (local.get() == null) {
+			ConcurrencyOps.loopBlocks(start, endExclusive, consumer);
+			return;
+		}
+		loopBlocks(start, endExclusive, 1, consumer);
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopBlocks(int, int, int, GrowArray, IntRangeObjectConsumer)} but will use
+	 * the bound thread pool if there is one
+	 */
+	public static <T> void loopBlocks( int start, int endExclusive, int minBlock,
+									   GrowArray<T> workspace, IntRangeObjectConsumer<T> consumer ) {
+		Context context = local.get();
+		if (context == null) {
+			ConcurrencyOps.loopBlocks(start, endExclusive, minBlock, workspace, consumer);
+			return;
+		}
+		int numBlocks = context.selectNumBlocks(start, endExclusive, minBlock);
+		// declare all the workspace before hand to avoid race conditions
+		workspace.reset();
+		for (int i = 0; i < numBlocks; i++) {
+			workspace.grow();
+		}
+		if (numBlocks == 0)
+			return;
+		loopFor(0, numBlocks, i -> consumer.accept(workspace.get(i),
+				blockBoundary(start, endExclusive, numBlocks, i),
+				blockBoundary(start, endExclusive, numBlocks, i + 1)));
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#loopBlocks(int, int, GrowArray, IntRangeObjectConsumer)} but will use
+	 * the bound thread pool if there is one
+	 */
+	public static <T> void loopBlocks( int start, int endExclusive,
+									   GrowArray<T> workspace, IntRangeObjectConsumer<T> consumer ) {
+		if (local.get() == null) {
+			ConcurrencyOps.loopBlocks(start, endExclusive, workspace, consumer);
+			return;
+		}
+		loopBlocks(start, endExclusive, 1, workspace, consumer);
+	}
+
+	/**
+	 * Same as {@link ConcurrencyOps#sum(int, int, Class, IntProducerNumber)} but will use the bound thread pool
+	 * if there is one. Each block is summed using a primitive of the requested type and then the block sums are added.
+	 */
+	@SuppressWarnings({"rawtypes"})
+	public static Number sum( int start, int endExclusive, Class type, IntProducerNumber producer ) {
+		Context context = local.get();
+		if (context == null)
+			return ConcurrencyOps.sum(start, endExclusive, type, producer);
+
+		// Perform the sum in the same type as the output to avoid overflow and precision issues
+		int numBlocks = context.selectNumBlocks(start, endExclusive, 1);
+		if (type == int.class || type == Integer.class) {
+			int[] blockSums = new int[numBlocks];
+			loopFor(0, numBlocks, block -> {
+				int end = blockBoundary(start, endExclusive, numBlocks, block + 1);
+				int total = 0;
+				for (int i = blockBoundary(start, endExclusive, numBlocks, block); i < end; i++)
+					total += producer.accept(i).intValue();
+				blockSums[block] = total;
+			});
+			int total = 0;
+			for (int i = 0; i < numBlocks; i++) total += blockSums[i];
+			return total;
+		} else if (type == long.class || type == Long.class) {
+			long[] blockSums = new long[numBlocks];
+			loopFor(0, numBlocks, block -> {
+				int end = blockBoundary(start, endExclusive, numBlocks, block + 1);
+				long total = 0;
+				for (int i = blockBoundary(start, endExclusive, numBlocks, block); i < end; i++)
+					total += producer.accept(i).longValue();
+				blockSums[block] = total;
+			});
+			long total = 0;
+			for (int i = 0; i < numBlocks; i++) total += blockSums[i];
+			return total;
+		} else if (type == float.class || type == Float.class) {
+			float[] blockSums = new float[numBlocks];
+			loopFor(0, numBlocks, block -> {
+				int end = blockBoundary(start, endExclusive, numBlocks, block + 1);
+				float total = 0;
+				for (int i = blockBoundary(start, endExclusive, numBlocks, block); i < end; i++)
+					total += producer.accept(i).floatValue();
+				blockSums[block] = total;
+			});
+			float total = 0;
+			for (int i = 0; i < numBlocks; i++) total += blockSums[i];
+			return total;
+		} else if (type == double.class || type == Double.class) {
+			double[] blockSums = new double[numBlocks];
+			loopFor(0, numBlocks, block -> {
+				int end = blockBoundary(start, endExclusive, numBlocks, block + 1);
+				double total = 0;
+				for (int i = blockBoundary(start, endExclusive, numBlocks, block); i < end; i++)
+					total += producer.accept(i).doubleValue();
+				blockSums[block] = total;
+			});
+			double total = 0;
+			for (int i = 0; i < numBlocks; i++) total += blockSums[i];
+			return total;
+		} else {
+			throw new IllegalArgumentException("Unknown primitive type: " + type.getSimpleName());
+		}
+	}
+
+	/**
+	 * Returns the first index in the block
+	 */
+	static int blockBoundary( int start, int endExclusive, int numBlocks, int block ) {
+		return start + (int)((endExclusive - start)*(long)block/numBlocks);
+	}
+
+	/**
+	 * Thread pool and settings which have been bound to a thread
+	 */
+	private static class Context {
+		final ForkJoinPool pool;
+		// small image threshold. &lt; 0 if one was not specified
+		final int smallImage;
+
+		Context( ForkJoinPool pool, int smallImage ) {
+			this.pool = pool;
+			this.smallImage = smallImage;
+		}
+
+		/**
+		 * Sets this as the context for the current thread and returns the previous context.
+		 * Needed so that nested loops invoked by pool threads also use this context.
+		 */
+		@Nullable Context enter() {
+			Context prev = local.get();
+			local.set(this);
+			return prev;
+		}
+
+		/**
+		 * Runs the task inside of the pool and blocks until it finishes
+		 */
+		void run( Runnable task ) {
+			// Already inside this pool. Running it directly will cause it to be forked inside the pool
+			if (ForkJoinTask.getPool() == pool) {
+				task.run();
+				return;
+			}
+
+			try {
+				pool.submit(task).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException)e.getCause();
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		/**
+		 * Selects the number of blocks the range is broken up into. Each block will be at least minBlock in size
+		 * unless the range is smaller than that.
+		 */
+		int selectNumBlocks( int start, int endExclusive, int minBlock ) {
+			int range = endExclusive - start;
+			if (range < 0)
+				throw new IllegalArgumentException("end must be more than start. " + start + " -> " + endExclusive);
+			if (range == 0)
+				return 0;
+			int numBlocks = Math.min(pool.getParallelism(), range/Math.max(1, minBlock));
+			return Math.max(1, numBlocks);
+		}
+	}
+
+	/**
+	 * Returned by {@link #bind}. Restores the previously bound thread pool when closed.
+	 */
+	public static class Binding implements AutoCloseable {
+		private final @Nullable Context previous;
+		private final Thread owner;
+		private boolean closed = false;
+
+		Binding( @Nullable Context previous, Thread owner ) {
+			this.previous = previous;
+			this.owner = owner;
+		}
+
+		@Override public void close() {
+			if (closed)
+				return;
+			if (Thread.currentThread() != owner)
+				throw new IllegalStateException("A binding must be closed by the thread which created it");
+			closed = true;
+			local.set(previous);
+		}
+	}
 }
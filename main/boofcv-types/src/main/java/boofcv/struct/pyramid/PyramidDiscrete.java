@@ -67,7 +67,10 @@ public abstract class PyramidDiscrete<T extends ImageBase<T>> extends ImagePyram
 	}
 
 	protected void computeScales( int width, int height ) {
-		levelScales = new int[configLayers.computeLayers(width, height)];
+		int numLayers = configLayers.computeLayers(width, height);
+		// Avoid creating garbage when the same sized image is processed every frame
+		if (levelScales == null || levelScales.length != numLayers)
+			levelScales = new int[numLayers];
 		levelScales[0] = 1;
 		for (int i = 1; i < levelScales.length; i++) {
 			levelScales[i] = 2*levelScales[i - 1];
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestBoofConcurrency extends BoofStandardJUnit {
+	ForkJoinPool pool = new ForkJoinPool(3);
+
+	@AfterEach
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Binding should change the pool and closing it should restore the previous one
+	 */
+	@Test
+	void bind_close() {
+		assertNull(BoofConcurrency.getBoundPool());
+		assertEquals(BoofConcurrency.SMALL_IMAGE, BoofConcurrency.getSmallImage());
+
+		var poolB = new ForkJoinPool(2);
+		try (var ignoreA = BoofConcurrency.bind(pool, 20)) {
+			assertSame(pool, BoofConcurrency.getBoundPool());
+			assertEquals(20, BoofConcurrency.getSmallImage());
+			try (var ignoreB = BoofConcurrency.bind(poolB)) {
+				assertSame(poolB, BoofConcurrency.getBoundPool());
+				assertEquals(BoofConcurrency.SMALL_IMAGE, BoofConcurrency.getSmallImage());
+			}
+			assertSame(pool, BoofConcurrency.getBoundPool());
+		} finally {
+			poolB.shutdownNow();
+		}
+		assertNull(BoofConcurrency.getBoundPool());
+	}
+
+	/**
+	 * All iterations should be run and they should be run inside the bound pool, including nested loops
+	 */
+	@Test
+	void loopFor() {
+		int[] counts = new int[200];
+		var outside = new AtomicInteger();
+		try (var ignore = BoofConcurrency.bind(pool)) {
+			BoofConcurrency.loopFor(0, 20, i -> {
+				if (ForkJoinTask.getPool() != pool)
+					outside.incrementAndGet();
+				BoofConcurrency.loopFor(i*10, i*10 + 10, j -> {
+					if (ForkJoinTask.getPool() != pool)
+						outside.incrementAndGet();
+					counts[j]++;
+				});
+			});
+		}
+		assertEquals(0, outside.get());
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(1, counts[i]);
+		}
+	}
+
+	@Test
+	void loopFor_step() {
+		int[] counts = new int[20];
+		try (var ignore = BoofConcurrency.bind(pool)) {
+			BoofConcurrency.loopFor(1, 20, 3, i -> counts[i]++);
+		}
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(i >= 1 && (i - 1)%3 == 0 ? 1 : 0, counts[i]);
+		}
+	}
+
+	@Test
+	void loopBlocks() {
+		int[] counts = new int[103];
+		var outside = new AtomicInteger();
+		try (var ignore = BoofConcurrency.bind(pool)) {
+			BoofConcurrency.loopBlocks(2, 103, 10, ( i0, i1 ) -> {
+				if (ForkJoinTask.getPool() != pool)
+					outside.incrementAndGet();
+				assertTrue(i1 - i0 >= 10);
+				for (int i = i0; i < i1; i++) {
+					counts[i]++;
+				}
+			});
+		}
+		assertEquals(0, outside.get());
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(i >= 2 ? 1 : 0, counts[i]);
+		}
+	}
+
+	@Test
+	void loopBlocks_workspace() {
+		int[] counts = new int[100];
+		var workspace = new GrowArray<>(AtomicInteger::new);
+		try (var ignore = BoofConcurrency.bind(pool)) {
+			BoofConcurrency.loopBlocks(0, 100, workspace, ( work, i0, i1 ) -> {
+				work.addAndGet(i1 - i0);
+				for (int i = i0; i < i1; i++) {
+					counts[i]++;
+				}
+			});
+		}
+		// one workspace for each thread in the pool
+		assertEquals(3, workspace.size());
+		int total = 0;
+		for (int i = 0; i < workspace.size(); i++) {
+			total += workspace.get(i).get();
+		}
+		assertEquals(100, total);
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(1, counts[i]);
+		}
+	}
+
+	@Test
+	void sum() {
+		try (var ignore = BoofConcurrency.bind(pool)) {
+			assertEquals(4950, BoofConcurrency.sum(0, 100, int.class, i -> i).intValue());
+			assertEquals(4950.0, BoofConcurrency.sum(0, 100, double.class, i -> (double)i).doubleValue(), 1e-8);
+			assertEquals(4950L, BoofConcurrency.sum(0, 100, long.class, i -> (long)i).longValue());
+			assertEquals(4950.0f, BoofConcurrency.sum(0, 100, float.class, i -> (float)i).floatValue(), 1e-4f);
+			assertEquals(0, BoofConcurrency.sum(5, 5, int.class, i -> i).intValue());
+			assertEquals(12, BoofConcurrency.sum(12, 13, int.class, i -> i).intValue());
+		}
+	}
+
+	/**
+	 * A bound threshold should replace the caller's default threshold and an unspecified one should not
+	 */
+	@Test
+	void getSmallImage_default() {
+		assertEquals(55, BoofConcurrency.getSmallImage(55));
+		try (var ignoreA = BoofConcurrency.bind(pool)) {
+			assertEquals(55, BoofConcurrency.getSmallImage(55));
+			try (var ignoreB = BoofConcurrency.bind(pool, 20)) {
+				assertEquals(20, BoofConcurrency.getSmallImage(55));
+				assertEquals(20, BoofConcurrency.getSmallImage());
+			}
+		}
+	}
+}